@@ -7,11 +7,19 @@
 import dev.ikm.komet.app.aboutdialog.AboutDialog;
 import dev.ikm.komet.framework.graphics.Icon;
 import dev.ikm.komet.framework.preferences.KometPreferencesStage;
+import dev.ikm.komet.framework.progress.ProgressHelper;
+import dev.ikm.komet.framework.rulebase.RuleService;
+import dev.ikm.komet.framework.rulebase.RuleStatisticsView;
+import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.komet.framework.window.WindowSettings;
 import dev.ikm.komet.kview.mvvm.view.changeset.ExportController;
 import dev.ikm.komet.kview.mvvm.view.changeset.ImportController;
 import dev.ikm.komet.preferences.KometPreferences;
 import dev.ikm.komet.preferences.KometPreferencesImpl;
+import dev.ikm.komet.rules.evrete.EvreteRulesService;
+import dev.ikm.komet.rules.evrete.RuleValidationTask;
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.common.util.text.NaturalOrder;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
@@ -41,6 +49,8 @@
 
 import java.io.IOException;
 import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.prefs.BackingStoreException;
 
 import static dev.ikm.komet.app.App.*;
@@ -196,7 +206,7 @@ public void createMenuOptions(BorderPane landingPageRoot) {
         Menu viewMenu = new Menu("View");
         MenuItem classicKometMenuItem = createClassicKometMenuItem();
         MenuItem resourceUsageMenuItem = createResourceUsageItem();
-        viewMenu.getItems().addAll(classicKometMenuItem, resourceUsageMenuItem);
+        viewMenu.getItems().addAll(classicKometMenuItem, resourceUsageMenuItem, createRuleMetricsItem());
 
         Menu windowMenu = new Menu("Window");
         MenuItem minimizeWindow = new MenuItem("Minimize");
@@ -341,7 +351,7 @@ private Menu createViewMenu() {
                 throw new RuntimeException(e);
             }
         });
-        viewMenu.getItems().add(classicKometMenuItem);
+        viewMenu.getItems().addAll(classicKometMenuItem, createRuleMetricsItem(), createRuleValidationItem());
         return viewMenu;
     }
 
@@ -467,6 +477,70 @@ private MenuItem createResourceUsageItem() {
         return resourceUsageItem;
     }
 
+    /**
+     * Create a menu item that opens the rule metrics view, to find rules that slow down rule evaluation.
+     *
+     * @return The menu item for opening the rule metrics view.
+     */
+    private MenuItem createRuleMetricsItem() {
+        MenuItem ruleMetricsItem = new MenuItem("Rule Metrics");
+        ruleMetricsItem.setOnAction(actionEvent -> RuleStatisticsView.show(getFocusedWindow()));
+        return ruleMetricsItem;
+    }
+
+    /**
+     * Create a menu item that validates every semantic of a chosen pattern against the rules, and shows which
+     * rules fired for them.
+     *
+     * @return The menu item for validating a pattern against the rules.
+     */
+    private MenuItem createRuleValidationItem() {
+        MenuItem ruleValidationItem = new MenuItem("Validate Pattern Against Rules...");
+        ruleValidationItem.setOnAction(actionEvent -> validatePatternAgainstRules());
+        return ruleValidationItem;
+    }
+
+    private void validatePatternAgainstRules() {
+        if (!(RuleService.get() instanceof EvreteRulesService rulesService)) {
+            LOG.warn("Rule validation is not supported by {}", RuleService.get());
+            return;
+        }
+        Map<String, Integer> patternNids = new TreeMap<>(NaturalOrder::compareStrings);
+        PrimitiveData.get().forEachPatternNid(patternNid -> patternNids.put(PrimitiveData.text(patternNid), patternNid));
+        if (patternNids.isEmpty()) {
+            return;
+        }
+        ChoiceDialog<String> patternDialog = new ChoiceDialog<>(patternNids.keySet().iterator().next(),
+                patternNids.keySet());
+        patternDialog.initOwner(getFocusedWindow());
+        patternDialog.setTitle("Validate Pattern Against Rules");
+        patternDialog.setHeaderText("Evaluate the rules for every semantic of the pattern");
+        patternDialog.setContentText("Pattern:");
+        patternDialog.showAndWait().ifPresent(patternName -> {
+            KometPreferences windowPreferences =
+                    KometPreferencesImpl.getConfigurationRootPreferences().node(MAIN_KOMET_WINDOW);
+            ViewProperties viewProperties = new WindowSettings(windowPreferences).getView()
+                    .makeOverridableViewProperties("AppMenu.validatePatternAgainstRules");
+            RuleValidationTask validationTask = rulesService.validationTask("Knowledge base name",
+                    RuleValidationTask.Scope.pattern(patternNids.get(patternName)), viewProperties,
+                    viewProperties.nodeView().editCoordinate());
+            ProgressHelper.progress(validationTask).whenComplete((report, throwable) -> Platform.runLater(() -> {
+                if (throwable != null) {
+                    LOG.error("Rule validation of " + patternName + " failed", throwable);
+                    return;
+                }
+                TextArea reportText = new TextArea(report.toString());
+                reportText.setEditable(false);
+                Alert reportAlert = new Alert(Alert.AlertType.INFORMATION);
+                reportAlert.initOwner(getFocusedWindow());
+                reportAlert.setTitle("Rule Validation");
+                reportAlert.setHeaderText("Rules fired for the semantics of " + patternName);
+                reportAlert.getDialogPane().setContent(reportText);
+                reportAlert.show();
+            }));
+        });
+    }
+
     /**
      * Show the resource usage overlay.
      */
@@ -15,6 +15,7 @@
  */
 package dev.ikm.komet.app;
 
+import dev.ikm.komet.reasoner.ClassificationWatermark;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleObjectProperty;
 import dev.ikm.tinkar.common.service.PrimitiveData;
@@ -40,6 +41,9 @@ protected Void compute() throws Exception {
             LOG.info("LoadDataSourceTask starting...");
             PrimitiveData.start();
             LOG.info("PrimitiveData.start() completed successfully");
+            // If switched on, classify eagerly in the background while the user signs in, so the first user run is
+            // incremental.
+            ClassificationWatermark.classifyInBackground();
             LOG.info("Scheduling state transition to SELECT_USER");
             Platform.runLater(() -> {
                 LOG.info("Platform.runLater executing - setting state to SELECT_USER");
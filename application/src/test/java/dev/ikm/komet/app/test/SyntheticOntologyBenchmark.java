@@ -0,0 +1,276 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.app.test;
+
+import dev.ikm.komet.builder.SyntheticOntologyGenerator;
+import dev.ikm.komet.framework.builder.AxiomBuilderRecord;
+import dev.ikm.komet.framework.builder.ConceptEntityBuilder;
+import dev.ikm.komet.navigator.graph.ChildPager;
+import dev.ikm.komet.navigator.graph.DescendantCountIndex;
+import dev.ikm.komet.navigator.graph.Navigator;
+import dev.ikm.komet.navigator.graph.PathToRootIndex;
+import dev.ikm.komet.navigator.graph.ViewNavigator;
+import dev.ikm.komet.reasoner.ReasonerMetrics;
+import dev.ikm.komet.reasoner.ReasonerRunMetrics;
+import dev.ikm.komet.reasoner.SharedReasonerServices;
+import dev.ikm.tinkar.common.service.CachingService;
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.common.service.TrackingCallable;
+import dev.ikm.tinkar.coordinate.Calculators;
+import dev.ikm.tinkar.coordinate.navigation.calculator.Edge;
+import dev.ikm.tinkar.coordinate.stamp.calculator.Latest;
+import dev.ikm.tinkar.coordinate.view.ViewCoordinateRecord;
+import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.SemanticEntity;
+import dev.ikm.tinkar.entity.SemanticEntityVersion;
+import dev.ikm.tinkar.entity.StampEntity;
+import dev.ikm.tinkar.entity.load.LoadEntitiesFromProtobufFile;
+import dev.ikm.tinkar.entity.transaction.Transaction;
+import dev.ikm.tinkar.reasoner.service.ReasonerService;
+import dev.ikm.tinkar.terms.EntityFacade;
+import dev.ikm.tinkar.terms.EntityProxy;
+import dev.ikm.tinkar.terms.State;
+import dev.ikm.tinkar.terms.TinkarTerm;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.primitive.ImmutableIntList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark harness that measures classification and navigation on a synthetic ontology, written by
+ * {@link SyntheticOntologyGenerator} into an ephemeral store loaded with the Tinkar starter data.
+ * <p>
+ * The harness runs a full classification, an incremental classification of newly added concepts, and the
+ * navigator fetch paths: child edges across the whole taxonomy, sorted child paging, descendant counts and
+ * paths to the root. Reasoner timings are recorded by {@link ReasonerMetrics} and written as JSON.
+ * <p>
+ * Usage: {@code SyntheticOntologyBenchmark <starter-data-pb.zip> [depth fanOut multiParentRatio roleDensity
+ * maxConcepts [metrics.json]]}
+ */
+public class SyntheticOntologyBenchmark {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SyntheticOntologyBenchmark.class);
+
+    private static final String SOURCE = "Synthetic benchmark";
+    private static final int INCREMENTAL_CONCEPTS = 100;
+    private static final int PATH_SAMPLES = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        File starterData = new File(args.length > 0 ? args[0] : "target/data/tinkar-starter-data-reasoned-pb.zip");
+        SyntheticOntologyGenerator.Parameters defaults = SyntheticOntologyGenerator.Parameters.defaults();
+        SyntheticOntologyGenerator.Parameters parameters = args.length >= 6
+                ? new SyntheticOntologyGenerator.Parameters(Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+                        Double.parseDouble(args[3]), Double.parseDouble(args[4]), defaults.definedRatio(),
+                        Integer.parseInt(args[5]), defaults.seed(), defaults.roleTypes())
+                : defaults;
+        Path metricsFile = Path.of(args.length >= 7 ? args[6] : "target/synthetic-benchmark-metrics.json");
+
+        CachingService.clearAll();
+        PrimitiveData.selectControllerByName("Load Ephemeral Store");
+        PrimitiveData.start();
+        try {
+            LOG.info("Loading starter data from {}", starterData.getAbsolutePath());
+            new LoadEntitiesFromProtobufFile(starterData).compute();
+
+            LOG.info("Generating synthetic ontology: {}", parameters);
+            SyntheticOntologyGenerator.Result ontology = new SyntheticOntologyGenerator(parameters).call();
+
+            ReasonerService reasonerService = SharedReasonerServices.all().detectIfNone(
+                    rs -> rs.getClass().getSimpleName().equals("ElkSnomedReasonerService"),
+                    () -> SharedReasonerServices.all().getFirst());
+            classifyFull(reasonerService, ontology);
+            classifyIncremental(reasonerService, ontology.conceptNids());
+            benchmarkNavigation(ontology);
+
+            ReasonerMetrics.exportJson(metricsFile);
+            LOG.info("Wrote reasoner metrics to {}", metricsFile.toAbsolutePath());
+        } finally {
+            PrimitiveData.stop();
+        }
+    }
+
+    private static void classifyFull(ReasonerService reasonerService, SyntheticOntologyGenerator.Result ontology)
+            throws Exception {
+        TrackingCallable<Object> progress = noProgress();
+        ReasonerMetrics.Recorder metrics = ReasonerMetrics.start(reasonerService, ReasonerRunMetrics.Mode.FULL, SOURCE);
+        try {
+            metrics.phase("load");
+            reasonerService.init(Calculators.View.Default(), TinkarTerm.EL_PLUS_PLUS_STATED_AXIOMS_PATTERN,
+                    TinkarTerm.EL_PLUS_PLUS_INFERRED_AXIOMS_PATTERN);
+            reasonerService.extractData(progress);
+            reasonerService.loadData(progress);
+            metrics.phase("compute");
+            reasonerService.computeInferences();
+            metrics.phase("nnf");
+            reasonerService.buildNecessaryNormalForm(progress);
+            metrics.phase("write");
+            reasonerService.writeInferredResults(progress);
+            // One parent axiom per synthetic concept, plus its existential restrictions.
+            metrics.finish(reasonerService.getConceptCount(), ontology.conceptCount() + ontology.roleCount());
+        } finally {
+            metrics.failed();
+        }
+    }
+
+    /**
+     * Adds concepts below randomly chosen synthetic concepts, and classifies just their axioms.
+     */
+    private static void classifyIncremental(ReasonerService reasonerService, ImmutableIntList conceptNids)
+            throws Exception {
+        Random random = new Random(1);
+        Transaction transaction = Transaction.make("Synthetic benchmark incremental concepts");
+        StampEntity stampEntity = transaction.getStamp(State.ACTIVE, TinkarTerm.USER.nid(),
+                TinkarTerm.PRIMORDIAL_MODULE.nid(), TinkarTerm.DEVELOPMENT_PATH.nid());
+        Entity.provider().putStamp(stampEntity);
+        MutableIntList axiomNids = IntLists.mutable.empty();
+        for (int i = 0; i < INCREMENTAL_CONCEPTS; i++) {
+            ConceptEntityBuilder builder = ConceptEntityBuilder.builder(stampEntity);
+            builder.makeRegularName("Synthetic incremental " + (i + 1));
+            AxiomBuilderRecord ab = builder.axiomBuilder();
+            ab.withNecessarySet(ab.makeConceptReference(
+                    EntityProxy.Concept.make(conceptNids.get(random.nextInt(conceptNids.size())))));
+            ImmutableList<EntityFacade> built = builder.build();
+            built.forEach(entity -> {
+                if (entity instanceof SemanticEntity<?> semantic
+                        && semantic.patternNid() == TinkarTerm.EL_PLUS_PLUS_STATED_AXIOMS_PATTERN.nid()) {
+                    axiomNids.add(semantic.nid());
+                }
+            });
+        }
+        transaction.commit();
+
+        ViewCalculator viewCalculator = reasonerService.getViewCalculator();
+        List<SemanticEntityVersion> updates = new ArrayList<>();
+        axiomNids.forEach(nid -> {
+            Latest<SemanticEntityVersion> latest = viewCalculator.latest(nid);
+            latest.ifPresent(updates::add);
+        });
+
+        TrackingCallable<Object> progress = noProgress();
+        ReasonerMetrics.Recorder metrics = ReasonerMetrics.start(reasonerService, ReasonerRunMetrics.Mode.INCREMENTAL,
+                SOURCE);
+        try {
+            metrics.phase("load");
+            reasonerService.processIncremental(List.of(), updates);
+            metrics.phase("compute");
+            reasonerService.computeInferences();
+            metrics.phase("nnf");
+            reasonerService.buildNecessaryNormalForm(progress);
+            metrics.phase("write");
+            reasonerService.writeInferredResults(progress);
+            metrics.finish(reasonerService.getConceptCount(), updates.size());
+        } finally {
+            metrics.failed();
+        }
+    }
+
+    private static void benchmarkNavigation(SyntheticOntologyGenerator.Result ontology) {
+        ViewCoordinateRecord viewCoordinate = Calculators.View.Default().viewCoordinateRecord();
+        Navigator navigator = new ViewNavigator(viewCoordinate);
+        ViewCalculator viewCalculator = navigator.getViewCalculator();
+
+        // Child edges of every synthetic concept, as expanding the whole taxonomy would fetch them.
+        long start = System.nanoTime();
+        long edgeCount = 0;
+        int widestNid = ontology.rootNid();
+        int widestCount = 0;
+        for (int i = 0; i < ontology.conceptNids().size(); i++) {
+            int conceptNid = ontology.conceptNids().get(i);
+            ImmutableList<Edge> childEdges = navigator.getChildEdges(conceptNid);
+            edgeCount += childEdges.size();
+            if (childEdges.size() > widestCount) {
+                widestCount = childEdges.size();
+                widestNid = conceptNid;
+            }
+        }
+        report("Child edges", start, String.format("%,d concepts, %,d edges", ontology.conceptCount(), edgeCount));
+
+        // Sorted paging of the widest concept's children, as the navigator shows them.
+        start = System.nanoTime();
+        ChildPager<Integer> pager = ChildPager.sorted(navigator.getChildEdges(widestNid),
+                viewCalculator::getDescriptionTextOrNid, ChildPager.DEFAULT_PAGE_SIZE,
+                edges -> edges.collect(Edge::destinationNid).castToList());
+        int pages = 0;
+        while (pager.hasMore()) {
+            pager.nextPage();
+            pages++;
+        }
+        report("Sorted child paging", start, String.format("%,d children in %,d pages", widestCount, pages));
+
+        // Descendant count of the synthetic root, which walks the whole synthetic taxonomy.
+        start = System.nanoTime();
+        DescendantCountIndex.SubtreeStats rootStats = DescendantCountIndex.forNavigator(navigator)
+                .getOrCompute(ontology.rootNid());
+        report("Descendant count", start, String.format("%,d descendants, height %d",
+                rootStats.descendantCount(), rootStats.height()));
+
+        // Paths to the root of a sample of concepts, computed and then read from the index.
+        Random random = new Random(2);
+        int[] sample = new int[Math.min(PATH_SAMPLES, ontology.conceptCount())];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = ontology.conceptNids().get(random.nextInt(ontology.conceptCount()));
+        }
+        PathToRootIndex.get().clear();
+        start = System.nanoTime();
+        for (int conceptNid : sample) {
+            PathToRootIndex.get().preferredPath(conceptNid, viewCoordinate,
+                    () -> firstParentPath(navigator, conceptNid));
+        }
+        report("Paths to root, computed", start, String.format("%,d concepts", sample.length));
+        start = System.nanoTime();
+        for (int conceptNid : sample) {
+            PathToRootIndex.get().preferredPath(conceptNid, viewCoordinate,
+                    () -> firstParentPath(navigator, conceptNid));
+        }
+        report("Paths to root, indexed", start, String.format("%,d concepts", sample.length));
+    }
+
+    private static int[] firstParentPath(Navigator navigator, int conceptNid) {
+        MutableIntList path = IntLists.mutable.of(conceptNid);
+        int current = conceptNid;
+        while (current != TinkarTerm.ROOT_VERTEX.nid()) {
+            int[] parents = navigator.getParentNids(current);
+            if (parents.length == 0) {
+                break;
+            }
+            current = parents[0];
+            path.add(current);
+        }
+        return path.asReversed().toArray();
+    }
+
+    private static void report(String measurement, long startNanos, String detail) {
+        LOG.info(String.format("%s: %,d ms (%s)", measurement, (System.nanoTime() - startNanos) / 1_000_000, detail));
+    }
+
+    private static TrackingCallable<Object> noProgress() {
+        return new TrackingCallable<>() {
+            @Override
+            protected Object compute() {
+                return null;
+            }
+        };
+    }
+}
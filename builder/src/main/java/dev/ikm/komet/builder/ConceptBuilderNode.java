@@ -25,9 +25,11 @@
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.komet.preferences.KometPreferences;
 import dev.ikm.tinkar.terms.EntityFacade;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
 import javafx.scene.control.ToolBar;
 import javafx.scene.layout.BorderPane;
@@ -35,15 +37,21 @@
 import org.controlsfx.control.action.ActionUtils;
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.list.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
 
 // TODO change to entity builder node...
 public class ConceptBuilderNode extends ExplorationNodeAbstract {
+    private static final Logger LOG = LoggerFactory.getLogger(ConceptBuilderNode.class);
     protected static final String STYLE_ID = "concept-builder-node";
     protected static final String TITLE = "Concept Builder";
     protected final BorderPane builderPane = new BorderPane();
     protected TextField conceptText = new TextField();
     protected Button requestNewConcept = new Button("request proposal");
     protected final ToolBar toolBar = new ToolBar(conceptText, requestNewConcept);
+    private CompletableFuture<ImmutableList<Consequence<?>>> pendingProposal;
 
     public ConceptBuilderNode(ViewProperties viewProperties, KometPreferences nodePreferences) {
         super(viewProperties, nodePreferences);
@@ -55,11 +63,37 @@ private void requestConceptProposal(ActionEvent actionEvent) {
         toolBar.getItems().clear();
         toolBar.getItems().addAll(conceptText, requestNewConcept);
         RequestRecord request = RequestRecord.make(Topic.NEW_CONCEPT_REQUEST, conceptText.getText());
-        ImmutableList<Consequence<?>> consequences =
-                RuleService.get().execute("Knowledge Base Name",
+        // cancel a proposal still being evaluated for the previous text
+        cancelPendingProposal();
+        Label evaluating = new Label("Evaluating rules...");
+        toolBar.getItems().add(evaluating);
+        CompletableFuture<ImmutableList<Consequence<?>>> evaluation =
+                RuleService.get().executeAsync("Knowledge Base Name",
                         Lists.immutable.of(request),
                         viewProperties,
                         viewProperties.nodeView().editCoordinate());
+        pendingProposal = evaluation;
+        evaluation.whenComplete((consequences, throwable) -> Platform.runLater(() -> {
+            if (evaluation.isCancelled()) {
+                return;
+            }
+            toolBar.getItems().remove(evaluating);
+            if (throwable != null) {
+                LOG.error("Rule evaluation failed", throwable);
+            } else {
+                addProposalButtons(consequences);
+            }
+        }));
+    }
+
+    private void cancelPendingProposal() {
+        if (pendingProposal != null) {
+            pendingProposal.cancel(false);
+            pendingProposal = null;
+        }
+    }
+
+    private void addProposalButtons(ImmutableList<Consequence<?>> consequences) {
         for (Consequence consequence : consequences) {
             switch (consequence.get()) {
                 case Action action
@@ -114,7 +148,7 @@ public Node getNode() {
 
     @Override
     public void close() {
-
+        cancelPendingProposal();
     }
 
     @Override
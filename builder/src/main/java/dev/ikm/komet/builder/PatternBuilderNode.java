@@ -25,9 +25,11 @@
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.komet.preferences.KometPreferences;
 import dev.ikm.tinkar.terms.EntityFacade;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
 import javafx.scene.control.ToolBar;
 import javafx.scene.layout.BorderPane;
@@ -35,12 +37,17 @@
 import org.controlsfx.control.action.ActionUtils;
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.list.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * an implementation of a KometNode for creating patterns
  * this integrates into the UI
  */
 public class PatternBuilderNode extends ExplorationNodeAbstract {
+    private static final Logger LOG = LoggerFactory.getLogger(PatternBuilderNode.class);
 
     protected static final String STYLE_ID = "pattern-builder-node";
     protected static final String TITLE = "Pattern Builder";
@@ -50,6 +57,7 @@ public class PatternBuilderNode extends ExplorationNodeAbstract {
     protected Button requestNewPattern = new Button("request proposal");
 
     protected final ToolBar toolBar = new ToolBar(patternText, requestNewPattern);
+    private CompletableFuture<ImmutableList<Consequence<?>>> pendingProposal;
 
     /**
      * construct the PatternBuilderNode
@@ -68,12 +76,38 @@ private void requestPatternProposal(ActionEvent actionEvent) {
         toolBar.getItems().addAll(patternText, requestNewPattern);
         // create the request to pass to the rules engine
         RequestRecord request = RequestRecord.make(Topic.NEW_PATTERN_REQUEST, patternText.getText());
-        ImmutableList<Consequence<?>> consequences =
-                RuleService.get().execute("Knowledge Base Name",
+        // cancel a proposal still being evaluated for the previous text
+        cancelPendingProposal();
+        Label evaluating = new Label("Evaluating rules...");
+        toolBar.getItems().add(evaluating);
+        CompletableFuture<ImmutableList<Consequence<?>>> evaluation =
+                RuleService.get().executeAsync("Knowledge Base Name",
                         Lists.immutable.of(request),
                         viewProperties,
                         viewProperties.nodeView().editCoordinate());
-        // display buttons in the UI to add the pattern request
+        pendingProposal = evaluation;
+        evaluation.whenComplete((consequences, throwable) -> Platform.runLater(() -> {
+            if (evaluation.isCancelled()) {
+                return;
+            }
+            toolBar.getItems().remove(evaluating);
+            if (throwable != null) {
+                LOG.error("Rule evaluation failed", throwable);
+            } else {
+                addProposalButtons(consequences);
+            }
+        }));
+    }
+
+    private void cancelPendingProposal() {
+        if (pendingProposal != null) {
+            pendingProposal.cancel(false);
+            pendingProposal = null;
+        }
+    }
+
+    // display buttons in the UI to add the pattern request
+    private void addProposalButtons(ImmutableList<Consequence<?>> consequences) {
         for (Consequence consequence : consequences) {
             switch (consequence.get()) {
                 case Action action
@@ -127,5 +161,7 @@ public Class factoryClass() {
     }
 
     @Override
-    public void close() {  }
+    public void close() {
+        cancelPendingProposal();
+    }
 }
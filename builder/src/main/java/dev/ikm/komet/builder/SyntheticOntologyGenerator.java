@@ -0,0 +1,259 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.builder;
+
+import dev.ikm.komet.framework.builder.AxiomBuilderRecord;
+import dev.ikm.komet.framework.builder.ConceptEntityBuilder;
+import dev.ikm.tinkar.common.service.TrackingCallable;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.StampEntity;
+import dev.ikm.tinkar.entity.transaction.Transaction;
+import dev.ikm.tinkar.terms.ConceptFacade;
+import dev.ikm.tinkar.terms.EntityFacade;
+import dev.ikm.tinkar.terms.EntityProxy;
+import dev.ikm.tinkar.terms.State;
+import dev.ikm.tinkar.terms.TinkarTerm;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.primitive.ImmutableIntList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Writes a synthetic EL++ ontology into the running data store, so that classification and navigation can be
+ * measured reproducibly without a production dataset.
+ * <p>
+ * The ontology is a taxonomy below a single synthetic root, itself a child of the navigation root. Every
+ * concept of a level has {@link Parameters#fanOut()} children in the next level, down to
+ * {@link Parameters#depth()} levels or until {@link Parameters#maxConcepts()} concepts have been written. A
+ * {@link Parameters#multiParentRatio()} fraction of the concepts have a second parent in the level above, each
+ * concept has on average {@link Parameters#roleDensity()} existential restrictions whose fillers are concepts
+ * written earlier, and a {@link Parameters#definedRatio()} fraction of the concepts are defined with a
+ * sufficient set rather than a necessary set. A defined concept has at least one restriction, so that it is not
+ * equivalent to its parent; without role types no concept is defined. The same parameters, including the seed,
+ * produce the same ontology shape.
+ * <p>
+ * Concepts are built with {@link ConceptEntityBuilder} and {@link AxiomBuilderRecord}, and committed in
+ * transactions of {@link #CONCEPTS_PER_TRANSACTION} concepts.
+ */
+public class SyntheticOntologyGenerator extends TrackingCallable<SyntheticOntologyGenerator.Result> {
+    private static final Logger LOG = LoggerFactory.getLogger(SyntheticOntologyGenerator.class);
+
+    /**
+     * Number of concepts written per committed transaction.
+     */
+    public static final int CONCEPTS_PER_TRANSACTION = 10_000;
+
+    /**
+     * The shape of a synthetic ontology.
+     *
+     * @param depth            the number of levels below the synthetic root
+     * @param fanOut           the number of children of each concept above the last level
+     * @param multiParentRatio the fraction of concepts with a second parent, from 0 to 1
+     * @param roleDensity      the mean number of existential restrictions per concept
+     * @param definedRatio     the fraction of concepts defined by a sufficient set, from 0 to 1, if there are
+     *                         role types
+     * @param maxConcepts      the maximum number of concepts written, including the root
+     * @param seed             the seed of the random choices
+     * @param roleTypes        the role types of the existential restrictions
+     */
+    public record Parameters(int depth, int fanOut, double multiParentRatio, double roleDensity,
+                             double definedRatio, int maxConcepts, long seed, List<ConceptFacade> roleTypes) {
+        public Parameters {
+            if (depth < 1 || fanOut < 1 || maxConcepts < 1) {
+                throw new IllegalArgumentException("Depth, fan-out and maximum concepts must be positive");
+            }
+            if (multiParentRatio < 0 || multiParentRatio > 1 || definedRatio < 0 || definedRatio > 1) {
+                throw new IllegalArgumentException("Ratios must be between 0 and 1");
+            }
+            if (roleDensity < 0 || (roleDensity > 0 && roleTypes.isEmpty())) {
+                throw new IllegalArgumentException("Role density must not be negative, and needs role types");
+            }
+            roleTypes = List.copyOf(roleTypes);
+        }
+
+        /**
+         * @return about 100,000 concepts, 6 levels deep, with part-of restrictions
+         */
+        public static Parameters defaults() {
+            return new Parameters(6, 7, 0.1, 1.0, 0.05, 100_000, 42L, List.of(TinkarTerm.PART_OF));
+        }
+
+        /**
+         * @return the number of concepts the parameters produce, including the root
+         */
+        public int plannedConceptCount() {
+            long count = 1;
+            long levelCount = 1;
+            for (int level = 1; level <= depth && count < maxConcepts; level++) {
+                levelCount *= fanOut;
+                count += levelCount;
+            }
+            return (int) Math.min(count, maxConcepts);
+        }
+    }
+
+    /**
+     * @param rootNid          the synthetic root concept
+     * @param conceptNids      every concept written, in the order written, starting with the root
+     * @param multiParentCount the number of concepts with a second parent
+     * @param roleCount        the number of existential restrictions written
+     * @param definedCount     the number of concepts defined by a sufficient set
+     * @param durationMillis   the time taken to write and commit the ontology
+     */
+    public record Result(int rootNid, ImmutableIntList conceptNids, int multiParentCount, int roleCount,
+                         int definedCount, long durationMillis) {
+        public int conceptCount() {
+            return conceptNids.size();
+        }
+    }
+
+    private final Parameters parameters;
+    private final Random random;
+    private final MutableIntList conceptNids = IntLists.mutable.empty();
+    private Transaction transaction;
+    private StampEntity stampEntity;
+    private int conceptsInTransaction;
+    private int multiParentCount;
+    private int roleCount;
+    private int definedCount;
+
+    public SyntheticOntologyGenerator(Parameters parameters) {
+        super(true, true);
+        this.parameters = parameters;
+        this.random = new Random(parameters.seed());
+        updateTitle("Generating synthetic ontology");
+    }
+
+    @Override
+    protected Result compute() throws Exception {
+        long start = System.currentTimeMillis();
+        int planned = parameters.plannedConceptCount();
+        addToTotalWork(planned);
+        updateMessage(String.format("Writing %,d concepts", planned));
+
+        int rootNid = writeConcept("Synthetic root", TinkarTerm.ROOT_VERTEX, null, false, 0);
+        MutableIntList level = IntLists.mutable.of(rootNid);
+        for (int depth = 1; depth <= parameters.depth() && !full(); depth++) {
+            MutableIntList nextLevel = IntLists.mutable.empty();
+            for (int parentIndex = 0; parentIndex < level.size() && !full(); parentIndex++) {
+                for (int child = 0; child < parameters.fanOut() && !full(); child++) {
+                    if (isCancelled()) {
+                        commit();
+                        throw new InterruptedException("Synthetic ontology generation cancelled");
+                    }
+                    ConceptFacade secondParent = null;
+                    if (level.size() > 1 && random.nextDouble() < parameters.multiParentRatio()) {
+                        int other = random.nextInt(level.size() - 1);
+                        secondParent = EntityProxy.Concept.make(level.get(other >= parentIndex ? other + 1 : other));
+                        multiParentCount++;
+                    }
+                    int restrictions = roleCountForConcept();
+                    boolean defined = !parameters.roleTypes().isEmpty()
+                            && random.nextDouble() < parameters.definedRatio();
+                    if (defined) {
+                        // A sufficient set of only its parents would make the concept equivalent to its parent.
+                        restrictions = Math.max(1, restrictions);
+                    }
+                    String name = "Synthetic L" + depth + " " + (nextLevel.size() + 1);
+                    nextLevel.add(writeConcept(name, EntityProxy.Concept.make(level.get(parentIndex)),
+                            secondParent, defined, restrictions));
+                }
+            }
+            level = nextLevel;
+        }
+        commit();
+
+        Result result = new Result(rootNid, conceptNids.toImmutable(), multiParentCount, roleCount, definedCount,
+                System.currentTimeMillis() - start);
+        String msg = String.format("Wrote %,d concepts, %,d with two parents, %,d defined, %,d roles in %s",
+                result.conceptCount(), multiParentCount, definedCount, roleCount, durationString());
+        updateMessage(msg);
+        LOG.info(msg);
+        return result;
+    }
+
+    private boolean full() {
+        return conceptNids.size() >= parameters.maxConcepts();
+    }
+
+    /**
+     * @return the number of restrictions for a concept, with a mean of the role density
+     */
+    private int roleCountForConcept() {
+        double density = parameters.roleDensity();
+        int count = (int) density;
+        if (random.nextDouble() < density - count) {
+            count++;
+        }
+        return count;
+    }
+
+    private int writeConcept(String name, ConceptFacade parent, ConceptFacade secondParent, boolean defined,
+                             int restrictions) {
+        if (transaction == null) {
+            transaction = Transaction.make("Synthetic ontology " + (conceptNids.size() / CONCEPTS_PER_TRANSACTION + 1));
+            stampEntity = transaction.getStamp(State.ACTIVE, TinkarTerm.USER.nid(),
+                    TinkarTerm.PRIMORDIAL_MODULE.nid(), TinkarTerm.DEVELOPMENT_PATH.nid());
+            Entity.provider().putStamp(stampEntity);
+        }
+        ConceptEntityBuilder builder = ConceptEntityBuilder.builder(stampEntity);
+        builder.makeRegularName(name);
+
+        AxiomBuilderRecord ab = builder.axiomBuilder();
+        List<AxiomBuilderRecord> setElements = new ArrayList<>();
+        setElements.add(ab.makeConceptReference(parent));
+        if (secondParent != null) {
+            setElements.add(ab.makeConceptReference(secondParent));
+        }
+        for (int i = 0; i < restrictions && !conceptNids.isEmpty(); i++) {
+            ConceptFacade roleType = parameters.roleTypes().get(random.nextInt(parameters.roleTypes().size()));
+            ConceptFacade filler = EntityProxy.Concept.make(conceptNids.get(random.nextInt(conceptNids.size())));
+            setElements.add(ab.makeRoleGroup(ab.makeSome(roleType, filler)));
+            roleCount++;
+        }
+        AxiomBuilderRecord[] elements = setElements.toArray(new AxiomBuilderRecord[0]);
+        if (defined) {
+            ab.withSufficientSet(elements);
+            definedCount++;
+        } else {
+            ab.withNecessarySet(elements);
+        }
+
+        ImmutableList<EntityFacade> built = builder.build();
+        int conceptNid = built.getFirst().nid();
+        conceptNids.add(conceptNid);
+        completedUnitOfWork();
+        if (++conceptsInTransaction == CONCEPTS_PER_TRANSACTION) {
+            commit();
+        }
+        return conceptNid;
+    }
+
+    private void commit() {
+        if (transaction != null) {
+            transaction.commit();
+            transaction = null;
+            stampEntity = null;
+            conceptsInTransaction = 0;
+        }
+    }
+}
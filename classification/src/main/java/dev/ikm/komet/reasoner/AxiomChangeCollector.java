@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.reasoner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.collections.api.set.primitive.ImmutableIntSet;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.factory.primitive.IntSets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import dev.ikm.tinkar.common.util.broadcast.Subscriber;
+import dev.ikm.tinkar.coordinate.stamp.calculator.Latest;
+import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.SemanticEntity;
+import dev.ikm.tinkar.entity.SemanticEntityVersion;
+
+/**
+ * Records the axiom semantics written while it is open, so that a bulk load, such as loading the changesets
+ * of a Git pull, can be classified incrementally rather than with a full reasoner run.
+ * <p>
+ * Every entity change broadcast while the collector is open is counted, and those that are semantics of the
+ * stated axiom pattern are retained. A caller that loaded data but observed no changes at all cannot rely on
+ * the collected axioms, see {@link #observedChangeCount()}, and should fall back to a full run.
+ */
+public final class AxiomChangeCollector implements AutoCloseable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(AxiomChangeCollector.class);
+
+	private final int statedAxiomPatternNid;
+	private final MutableIntSet changedAxiomNids = IntSets.mutable.empty();
+	private final AtomicLong observedChanges = new AtomicLong();
+	private volatile boolean open = true;
+	// Held strongly for as long as the collector is, since the provider only keeps a weak reference.
+	private final Subscriber<Integer> entityChangeSubscriber = this::entityChanged;
+
+	private AxiomChangeCollector(int statedAxiomPatternNid) {
+		this.statedAxiomPatternNid = statedAxiomPatternNid;
+		Entity.provider().addSubscriberWithWeakReference(entityChangeSubscriber);
+	}
+
+	/**
+	 * @param statedAxiomPatternNid the pattern of the stated axiom semantics to collect
+	 * @return a collector that records changes from now until it is closed
+	 */
+	public static AxiomChangeCollector start(int statedAxiomPatternNid) {
+		return new AxiomChangeCollector(statedAxiomPatternNid);
+	}
+
+	private void entityChanged(Integer nid) {
+		if (!open) {
+			return;
+		}
+		observedChanges.incrementAndGet();
+		try {
+			if (Entity.getFast(nid) instanceof SemanticEntity<?> semanticEntity
+					&& semanticEntity.patternNid() == statedAxiomPatternNid) {
+				synchronized (changedAxiomNids) {
+					changedAxiomNids.add(nid);
+				}
+			}
+		} catch (RuntimeException e) {
+			LOG.debug("Unable to resolve changed component " + nid, e);
+		}
+	}
+
+	/**
+	 * Stops collecting changes.
+	 */
+	@Override
+	public void close() {
+		open = false;
+	}
+
+	/**
+	 * @return the number of entity changes observed while open, of any kind
+	 */
+	public long observedChangeCount() {
+		return observedChanges.get();
+	}
+
+	/**
+	 * @return the nids of the stated axiom semantics written while open
+	 */
+	public ImmutableIntSet changedAxiomNids() {
+		synchronized (changedAxiomNids) {
+			return changedAxiomNids.toImmutable();
+		}
+	}
+
+	/**
+	 * @param viewCalculator the calculator used to choose the latest version of each axiom semantic
+	 * @return the latest version of each stated axiom semantic written while open
+	 */
+	public List<SemanticEntityVersion> latestVersions(ViewCalculator viewCalculator) {
+		List<SemanticEntityVersion> versions = new ArrayList<>();
+		changedAxiomNids().forEach(nid -> {
+			Latest<SemanticEntityVersion> latest = viewCalculator.latest(nid);
+			latest.ifPresent(versions::add);
+		});
+		return versions;
+	}
+
+}
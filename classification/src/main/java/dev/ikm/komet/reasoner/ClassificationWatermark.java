@@ -0,0 +1,336 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.reasoner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.prefs.BackingStoreException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import dev.ikm.komet.preferences.KometPreferences;
+import dev.ikm.komet.preferences.KometPreferencesImpl;
+import dev.ikm.komet.reasoner.ui.EagerClassificationTask;
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.common.service.ServiceKeys;
+import dev.ikm.tinkar.common.service.ServiceProperties;
+import dev.ikm.tinkar.common.service.TinkExecutor;
+import dev.ikm.tinkar.entity.SemanticEntityVersion;
+import dev.ikm.tinkar.reasoner.service.ReasonerService;
+import dev.ikm.tinkar.terms.TinkarTerm;
+
+/**
+ * The record, kept in the data store, of the last classification whose inferred results a reasoner service wrote,
+ * and the eager background classification that uses it at startup.
+ * <p>
+ * The reasoner services do not expose their axiom and taxonomy state for serialization, so nothing of that state
+ * is persisted. A watermark only records which data store, reasoner and axiom patterns were classified, and beside
+ * it the {@link StatedAxiomState} of the stated axioms that were read. If switched on, see
+ * {@link #setClassifyAtStartup(boolean)}, each reasoner with a watermark for the current data store runs a full
+ * classification in the background at startup, see {@link EagerClassificationTask}. That costs as much as any full
+ * classification, but it is paid while the user signs in rather than on the first run, which is then incremental.
+ * The stated axioms changed since the recorded state are queued as edits for that run.
+ *
+ * @param formatVersion           the version of the watermark format
+ * @param dataStoreId             the identity of the data store that was classified, see {@link #currentDataStoreId()}
+ * @param reasonerName            the name of the reasoner service
+ * @param statedAxiomPatternNid   the pattern of the classified stated axioms
+ * @param inferredAxiomPatternNid the pattern the inferred axioms were written to
+ * @param classifiedTime          the time at which the classified axioms were read
+ * @param conceptCount            the number of concepts classified
+ */
+public record ClassificationWatermark(int formatVersion, String dataStoreId, String reasonerName,
+		int statedAxiomPatternNid, int inferredAxiomPatternNid, long classifiedTime, int conceptCount) {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ClassificationWatermark.class);
+
+	/**
+	 * The version of the watermark format written by this class. Watermarks of other versions are ignored.
+	 */
+	public static final int FORMAT_VERSION = 2;
+
+	/**
+	 * The configuration preference that switches on the eager background classification at startup. It is off by
+	 * default, since the classification costs as much as a full run on every launch.
+	 */
+	public static final String CLASSIFY_AT_STARTUP_KEY = "classifyAtStartup";
+
+	private static final String PREFERENCES_NODE = "reasoner";
+	private static final String WATERMARK_DIRECTORY = "reasoner-watermark";
+	private static final String WATERMARK_SUFFIX = ".watermark";
+	private static final String AXIOM_STATE_SUFFIX = ".axioms";
+
+	private static final List<Future<ReasonerService>> eagerClassifications = new ArrayList<>();
+
+	private static final Map<Path, StatedAxiomState> classifiedAxioms = new ConcurrentHashMap<>();
+
+	/**
+	 * Records the last classification of a reasoner after its inferred results have been written.
+	 *
+	 * @param reasonerService  the reasoner service that classified
+	 * @param classifiedTime   the time at which the reasoner read the axioms it classified
+	 * @param classifiedAxioms the state of the stated axioms the reasoner classified, or null if it is not known,
+	 *                         in which case the watermark of the reasoner is removed
+	 */
+	public static void save(ReasonerService reasonerService, long classifiedTime, StatedAxiomState classifiedAxioms) {
+		Optional<Path> file = watermarkFile(reasonerService.getName());
+		if (file.isEmpty()) {
+			return;
+		}
+		if (classifiedAxioms == null) {
+			remove(file.get());
+			return;
+		}
+		ClassificationWatermark watermark = new ClassificationWatermark(FORMAT_VERSION, currentDataStoreId(),
+				reasonerService.getName(), reasonerService.getStatedAxiomPattern().nid(),
+				reasonerService.getInferredAxiomPattern().nid(), classifiedTime, reasonerService.getConceptCount());
+		Properties properties = new Properties();
+		properties.setProperty("formatVersion", Integer.toString(watermark.formatVersion()));
+		properties.setProperty("dataStoreId", watermark.dataStoreId());
+		properties.setProperty("reasonerName", watermark.reasonerName());
+		properties.setProperty("statedAxiomPatternNid", Integer.toString(watermark.statedAxiomPatternNid()));
+		properties.setProperty("inferredAxiomPatternNid", Integer.toString(watermark.inferredAxiomPatternNid()));
+		properties.setProperty("classifiedTime", Long.toString(watermark.classifiedTime()));
+		properties.setProperty("conceptCount", Integer.toString(watermark.conceptCount()));
+		Path axiomStateFile = axiomStateFile(file.get());
+		try {
+			Files.createDirectories(file.get().getParent());
+			// Write beside the watermark and move into place, so a crash never leaves a partial watermark. The
+			// axiom state goes first: a watermark is only read with the state of the axioms it classified.
+			Path temporaryState = axiomStateFile.resolveSibling(axiomStateFile.getFileName() + ".tmp");
+			classifiedAxioms.write(temporaryState);
+			Files.move(temporaryState, axiomStateFile, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			ClassificationWatermark.classifiedAxioms.put(file.get(), classifiedAxioms);
+			Path temporary = file.get().resolveSibling(file.get().getFileName() + ".tmp");
+			try (Writer writer = Files.newBufferedWriter(temporary)) {
+				properties.store(writer, "Komet reasoner classification watermark");
+			}
+			Files.move(temporary, file.get(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			LOG.info("Saved reasoner classification watermark: {}", watermark);
+		} catch (IOException e) {
+			LOG.warn("Unable to save reasoner classification watermark " + file.get(), e);
+			remove(file.get());
+		}
+	}
+
+	/**
+	 * The state of the stated axioms after an incremental classification: the state recorded by the last
+	 * classification with the edits applied. To be called when the edits are taken, before they are loaded into
+	 * the reasoner.
+	 *
+	 * @param reasonerService the reasoner service that classifies the edits
+	 * @param edits           the edits it classifies
+	 * @return the state of the classified axioms, or null if the last classification recorded none
+	 */
+	public static StatedAxiomState classifiedAxiomsAfter(ReasonerService reasonerService,
+			Collection<SemanticEntityVersion> edits) {
+		return classifiedAxioms(reasonerService.getName()).map(state -> state.withEdits(edits)).orElse(null);
+	}
+
+	/**
+	 * @param reasonerName the name of a reasoner service
+	 * @return the state of the stated axioms read by the last classification of the reasoner, if it is recorded
+	 */
+	public static Optional<StatedAxiomState> classifiedAxioms(String reasonerName) {
+		Optional<Path> file = watermarkFile(reasonerName);
+		if (file.isEmpty()) {
+			return Optional.empty();
+		}
+		StatedAxiomState cached = classifiedAxioms.get(file.get());
+		if (cached != null) {
+			return Optional.of(cached);
+		}
+		Path axiomStateFile = axiomStateFile(file.get());
+		if (!Files.isRegularFile(axiomStateFile)) {
+			return Optional.empty();
+		}
+		try {
+			StatedAxiomState state = StatedAxiomState.read(axiomStateFile);
+			classifiedAxioms.put(file.get(), state);
+			return Optional.of(state);
+		} catch (IOException e) {
+			LOG.warn("Ignoring unreadable stated axiom state " + axiomStateFile, e);
+			return Optional.empty();
+		}
+	}
+
+	private static void remove(Path file) {
+		classifiedAxioms.remove(file);
+		try {
+			Files.deleteIfExists(file);
+			Files.deleteIfExists(axiomStateFile(file));
+		} catch (IOException e) {
+			LOG.warn("Unable to remove reasoner classification watermark " + file, e);
+		}
+	}
+
+	/**
+	 * @param reasonerName the name of a reasoner service
+	 * @return the watermark of the last classification by the reasoner, if there is one for the current data store
+	 */
+	public static Optional<ClassificationWatermark> load(String reasonerName) {
+		Optional<Path> file = watermarkFile(reasonerName);
+		if (file.isEmpty() || !Files.isRegularFile(file.get())) {
+			return Optional.empty();
+		}
+		Properties properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(file.get())) {
+			properties.load(reader);
+			ClassificationWatermark watermark = new ClassificationWatermark(
+					Integer.parseInt(properties.getProperty("formatVersion")), properties.getProperty("dataStoreId"),
+					properties.getProperty("reasonerName"),
+					Integer.parseInt(properties.getProperty("statedAxiomPatternNid")),
+					Integer.parseInt(properties.getProperty("inferredAxiomPatternNid")),
+					Long.parseLong(properties.getProperty("classifiedTime")),
+					Integer.parseInt(properties.getProperty("conceptCount")));
+			if (watermark.isCurrent(reasonerName)) {
+				return Optional.of(watermark);
+			}
+			LOG.info("Ignoring reasoner classification watermark that is not current: {}", watermark);
+		} catch (IOException | RuntimeException e) {
+			LOG.warn("Ignoring unreadable reasoner classification watermark " + file.get(), e);
+		}
+		return Optional.empty();
+	}
+
+	private boolean isCurrent(String expectedReasonerName) {
+		return formatVersion == FORMAT_VERSION && currentDataStoreId().equals(dataStoreId)
+				&& expectedReasonerName.equals(reasonerName)
+				&& statedAxiomPatternNid == TinkarTerm.EL_PLUS_PLUS_STATED_AXIOMS_PATTERN.nid()
+				&& inferredAxiomPatternNid == TinkarTerm.EL_PLUS_PLUS_INFERRED_AXIOMS_PATTERN.nid();
+	}
+
+	/**
+	 * The identity of the running data store: its name, the canonical path of its root directory, and the time
+	 * that directory was created. A data store that is recreated or replaced in the same place, or a watermark
+	 * copied with a data store's files to another place, therefore does not match.
+	 *
+	 * @return the identity of the running data store
+	 */
+	public static String currentDataStoreId() {
+		StringBuilder id = new StringBuilder(PrimitiveData.get().name());
+		Optional<File> dataStoreRoot = ServiceProperties.get(ServiceKeys.DATA_STORE_ROOT);
+		if (dataStoreRoot.isPresent()) {
+			try {
+				Path root = dataStoreRoot.get().toPath().toRealPath();
+				id.append('@').append(root).append('@')
+						.append(Files.readAttributes(root, BasicFileAttributes.class).creationTime().toMillis());
+			} catch (IOException e) {
+				id.append('@').append(dataStoreRoot.get().getAbsolutePath());
+			}
+		}
+		return id.toString();
+	}
+
+	/**
+	 * @return true if the eager background classification at startup is switched on
+	 */
+	public static boolean isClassifyAtStartup() {
+		return preferences().getBoolean(CLASSIFY_AT_STARTUP_KEY, false);
+	}
+
+	/**
+	 * @param classifyAtStartup true to classify in the background at the next startups
+	 */
+	public static void setClassifyAtStartup(boolean classifyAtStartup) {
+		KometPreferences preferences = preferences();
+		preferences.putBoolean(CLASSIFY_AT_STARTUP_KEY, classifyAtStartup);
+		try {
+			preferences.flush();
+		} catch (BackingStoreException e) {
+			LOG.warn("Unable to save the reasoner startup preference", e);
+		}
+	}
+
+	private static KometPreferences preferences() {
+		return KometPreferencesImpl.getConfigurationRootPreferences().node(PREFERENCES_NODE);
+	}
+
+	/**
+	 * Classifies, in the background, every shared reasoner service that has a watermark for the current data store,
+	 * if switched on, see {@link #isClassifyAtStartup()}. To be called once the data store has started.
+	 */
+	public static synchronized void classifyInBackground() {
+		try {
+			if (!isClassifyAtStartup()) {
+				return;
+			}
+			for (ReasonerService reasonerService : SharedReasonerServices.all()) {
+				load(reasonerService.getName()).ifPresent(watermark -> eagerClassifications.add(
+						TinkExecutor.threadPool().submit(new EagerClassificationTask(reasonerService, watermark))));
+			}
+		} catch (RuntimeException e) {
+			// Without an eager classification the first classification is simply a full one.
+			LOG.warn("Unable to start eager reasoner classification", e);
+		}
+	}
+
+	/**
+	 * @return true if a reasoner is still running its eager background classification
+	 */
+	public static synchronized boolean isEagerClassificationRunning() {
+		eagerClassifications.removeIf(Future::isDone);
+		return !eagerClassifications.isEmpty();
+	}
+
+	/**
+	 * Waits until every eager background classification has completed, or failed, so that another classification
+	 * does not start while a reasoner is being loaded.
+	 */
+	public static void awaitEagerClassification() throws InterruptedException {
+		List<Future<ReasonerService>> pending;
+		synchronized (ClassificationWatermark.class) {
+			pending = List.copyOf(eagerClassifications);
+		}
+		for (Future<ReasonerService> eagerClassification : pending) {
+			try {
+				eagerClassification.get();
+			} catch (ExecutionException e) {
+				// The failure was logged by the task, and the reasoner will run a full classification.
+			}
+		}
+	}
+
+	private static Path axiomStateFile(Path watermarkFile) {
+		String name = watermarkFile.getFileName().toString();
+		return watermarkFile.resolveSibling(name.substring(0, name.length() - WATERMARK_SUFFIX.length())
+				+ AXIOM_STATE_SUFFIX);
+	}
+
+	private static Optional<Path> watermarkFile(String reasonerName) {
+		Optional<File> dataStoreRoot = ServiceProperties.get(ServiceKeys.DATA_STORE_ROOT);
+		return dataStoreRoot.map(root -> root.toPath().resolve(WATERMARK_DIRECTORY)
+				.resolve(reasonerName.replaceAll("[^A-Za-z0-9._-]", "_") + WATERMARK_SUFFIX));
+	}
+
+}
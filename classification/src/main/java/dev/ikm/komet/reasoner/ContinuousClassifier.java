@@ -0,0 +1,239 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.reasoner;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import dev.ikm.komet.framework.EditedConceptTracker;
+import dev.ikm.tinkar.common.service.TrackingCallable;
+import dev.ikm.tinkar.entity.SemanticEntityVersion;
+import dev.ikm.tinkar.reasoner.elksnomed.ElkSnomedReasonerService;
+import dev.ikm.tinkar.reasoner.service.ClassifierResults;
+import dev.ikm.tinkar.reasoner.service.ReasonerService;
+
+/**
+ * Classifies axiom edits incrementally, in the background, shortly after they are made, so that the inferred
+ * hierarchy follows editing without a manual reasoner run.
+ * <p>
+ * Each edit recorded by the {@link EditedConceptTracker} restarts a short delay, so that a burst of edits is
+ * classified in one run once editing pauses. The run is made on a low priority background thread, and only if
+ * the reasoner holds the state of a previous classification; until a full classification has been run, either
+ * by the user or eagerly at startup from a {@link ClassificationWatermark}, edits are left for the next run.
+ * Edits made while a run is in progress are classified by a following run, and the edits of a run that fails are
+ * returned to the tracker for the next one.
+ * <p>
+ * Continuous classification is off until switched on, for instance from the reasoner results view.
+ * <p>
+ * The results of each run are passed to the results listeners, such as the reasoner results view.
+ */
+public final class ContinuousClassifier {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ContinuousClassifier.class);
+
+	/**
+	 * Delay after the last edit of a burst before it is classified.
+	 */
+	public static final long DEFAULT_DEBOUNCE_MILLIS = 1500;
+
+	private static final ContinuousClassifier SINGLETON = new ContinuousClassifier();
+
+	private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+			Thread.ofPlatform()
+					.name("Komet-continuous-classifier-", 1)
+					.daemon(true)
+					.priority(Thread.MIN_PRIORITY)
+					.factory());
+
+	private final List<Consumer<ClassifierResults>> resultsListeners = new CopyOnWriteArrayList<>();
+	private final Runnable editListener = this::schedule;
+
+	private volatile boolean enabled;
+	private volatile long debounceMillis = DEFAULT_DEBOUNCE_MILLIS;
+	private volatile ReasonerService reasonerService;
+	private ScheduledFuture<?> pendingRun;
+
+	private ContinuousClassifier() {
+	}
+
+	public static ContinuousClassifier get() {
+		return SINGLETON;
+	}
+
+	/**
+	 * Starts classifying edits as they are made. Edits already waiting are classified after the debounce delay.
+	 */
+	public synchronized void start() {
+		if (!enabled) {
+			enabled = true;
+			EditedConceptTracker.addEditListener(editListener);
+			LOG.info("Continuous classification started");
+			schedule();
+		}
+	}
+
+	/**
+	 * Stops classifying edits as they are made. Edits not yet classified remain with the tracker.
+	 */
+	public synchronized void stop() {
+		if (enabled) {
+			enabled = false;
+			EditedConceptTracker.removeEditListener(editListener);
+			if (pendingRun != null) {
+				pendingRun.cancel(false);
+				pendingRun = null;
+			}
+			LOG.info("Continuous classification stopped");
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @param debounceMillis delay after the last edit of a burst before it is classified
+	 */
+	public void setDebounceMillis(long debounceMillis) {
+		this.debounceMillis = debounceMillis;
+	}
+
+	/**
+	 * @param reasonerService the shared reasoner service that classifies edits, such as the one selected in
+	 *                        the reasoner results view
+	 */
+	public void setReasonerService(ReasonerService reasonerService) {
+		this.reasonerService = reasonerService;
+	}
+
+	public void addResultsListener(Consumer<ClassifierResults> listener) {
+		resultsListeners.add(listener);
+	}
+
+	public void removeResultsListener(Consumer<ClassifierResults> listener) {
+		resultsListeners.remove(listener);
+	}
+
+	private synchronized void schedule() {
+		if (!enabled) {
+			return;
+		}
+		if (pendingRun != null) {
+			pendingRun.cancel(false);
+		}
+		pendingRun = executor.schedule(this::classify, debounceMillis, TimeUnit.MILLISECONDS);
+	}
+
+	private ReasonerService reasonerService() {
+		ReasonerService selected = reasonerService;
+		if (selected == null) {
+			selected = SharedReasonerServices.all().detectIfNone(
+					rs -> rs.getClass() == ElkSnomedReasonerService.class,
+					() -> SharedReasonerServices.all().getFirst());
+		}
+		return selected;
+	}
+
+	private void classify() {
+		if (!enabled || EditedConceptTracker.getEdits().isEmpty()) {
+			return;
+		}
+		if (ClassificationWatermark.isEagerClassificationRunning()) {
+			// Classify once the eager background classification has completed.
+			schedule();
+			return;
+		}
+		ReasonerService rs = reasonerService();
+		if (rs == null || !rs.isIncrementalReady()) {
+			// Left with the tracker for a later run, or for a manual full run.
+			return;
+		}
+		if (!SharedReasonerServices.classificationLock().tryLock()) {
+			// Another classification is running, which may take the edits; check again later.
+			schedule();
+			return;
+		}
+		try {
+			ClassificationTask task = new ClassificationTask(rs);
+			ClassifierResults results = task.call();
+			resultsListeners.forEach(listener -> listener.accept(results));
+		} catch (Exception e) {
+			// The edits were returned to the tracker; they are retried with the next edit, or by a manual run.
+			LOG.error("Continuous classification failed", e);
+			return;
+		} finally {
+			SharedReasonerServices.classificationLock().unlock();
+		}
+		if (!EditedConceptTracker.getEdits().isEmpty()) {
+			schedule();
+		}
+	}
+
+	/**
+	 * One incremental classification of the edits waiting with the tracker.
+	 */
+	private static final class ClassificationTask extends TrackingCallable<ClassifierResults> {
+		private final ReasonerService reasonerService;
+
+		private ClassificationTask(ReasonerService reasonerService) {
+			super(false, true);
+			this.reasonerService = reasonerService;
+			updateTitle("Continuous classification (" + reasonerService.getName() + ")");
+		}
+
+		@Override
+		protected ClassifierResults compute() throws Exception {
+			ReasonerMetrics.Recorder metrics = ReasonerMetrics.start(reasonerService,
+					ReasonerRunMetrics.Mode.INCREMENTAL, "Continuous classification");
+			try {
+				long classifiedTime = System.currentTimeMillis();
+				metrics.phase("load");
+				List<SemanticEntityVersion> edits = EditedConceptTracker.takeEdits();
+				StatedAxiomState classifiedAxioms = ClassificationWatermark.classifiedAxiomsAfter(reasonerService,
+						edits);
+				ClassifierResults results;
+				try {
+					reasonerService.processIncremental(List.of(), edits);
+					metrics.phase("compute");
+					reasonerService.computeInferences();
+					metrics.phase("nnf");
+					reasonerService.buildNecessaryNormalForm(this);
+					metrics.phase("write");
+					results = reasonerService.writeInferredResults(this);
+				} catch (Exception e) {
+					// Not classified, leave them for the next run.
+					EditedConceptTracker.requeueEdits(edits);
+					throw e;
+				}
+				metrics.finish(reasonerService.getConceptCount(), edits.size());
+				ClassificationWatermark.save(reasonerService, classifiedTime, classifiedAxioms);
+				LOG.info("Classified {} edits in {}", edits.size(), durationString());
+				return results;
+			} finally {
+				metrics.failed();
+			}
+		}
+	}
+
+}
@@ -25,7 +25,8 @@
 import dev.ikm.tinkar.common.service.TrackingCallable;
 import dev.ikm.tinkar.common.util.text.NaturalOrder;
 
-import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.Arrays;
+import java.util.stream.IntStream;
 
 public class PrepareConceptSetTask extends TrackingCallable<Void> {
 
@@ -54,40 +55,43 @@ public PrepareConceptSetTask(String title, ImmutableIntList affectedConcepts,
 
     @Override
     protected Void compute() throws Exception {
-
-        // TODO: Remove performance hack, and get sorting to work better/faster.
-        if (affectedConceptList.size() < 5000) {
-            //TODO: This sorting needs much more efficient algorithms and data structures...
-            //TODO: we need an iterator that will go through the descriptions in concept order, for cache locality.
-            ConcurrentSkipListSet<Integer> concurrentSortedSet = new ConcurrentSkipListSet<>(this::compare);
-
-            this.affectedConceptList.primitiveParallelStream().forEach(nid -> {
-                concurrentSortedSet.add(nid);
-                this.completedUnitOfWork();
-            });
-            Platform.runLater(() -> {
-                if (affectedConceptsForDisplay instanceof ObservableIntList observableIntList) {
-                    observableIntList.setAll(
-                            concurrentSortedSet.stream()
-                                    .mapToInt(Integer::intValue)
-                                    .toArray()
-                    );
-                } else {
-                    this.affectedConceptsForDisplay.setAll(concurrentSortedSet);
-                }
-            });
-        } else {
+        int[] nids = this.affectedConceptList.toArray();
+        // Compute each description once, in parallel, rather than twice per comparison.
+        SortKey[] sortKeys = new SortKey[nids.length];
+        IntStream.range(0, nids.length).parallel().forEach(i -> {
+            sortKeys[i] = new SortKey(
+                    this.viewProperties.calculator().getFullyQualifiedDescriptionTextWithFallbackOrNid(nids[i]),
+                    nids[i]);
+            this.completedUnitOfWork();
+        });
+        Arrays.parallelSort(sortKeys);
+        int[] sortedNids = new int[sortKeys.length];
+        for (int i = 0; i < sortKeys.length; i++) {
+            sortedNids[i] = sortKeys[i].nid();
+        }
+        Platform.runLater(() -> {
             if (affectedConceptsForDisplay instanceof ObservableIntList observableIntList) {
-                observableIntList.setAll(affectedConceptList);
+                observableIntList.setAll(sortedNids);
+            } else {
+                this.affectedConceptsForDisplay.setAll(Arrays.stream(sortedNids).boxed().toList());
             }
-        }
-            return null;
+        });
+        this.updateMessage("Sorted " + sortedNids.length + " concepts in " + durationString());
+        return null;
     }
 
-    private int compare(Integer o1, Integer o2) {
-
-        return NaturalOrder.compareStrings(
-                this.viewProperties.calculator().getFullyQualifiedDescriptionTextWithFallbackOrNid(o1),
-                this.viewProperties.calculator().getFullyQualifiedDescriptionTextWithFallbackOrNid(o2));
+    /**
+     * Description text of a concept, computed once for sorting. Concepts with the same text are
+     * ordered by nid, so that none are lost and the order is stable.
+     */
+    private record SortKey(String text, int nid) implements Comparable<SortKey> {
+        @Override
+        public int compareTo(SortKey other) {
+            int comparison = NaturalOrder.compareStrings(text, other.text);
+            if (comparison != 0) {
+                return comparison;
+            }
+            return Integer.compare(nid, other.nid);
+        }
     }
 }
@@ -0,0 +1,318 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.reasoner;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.common.service.ServiceKeys;
+import dev.ikm.tinkar.common.service.ServiceProperties;
+import dev.ikm.tinkar.reasoner.service.ReasonerService;
+
+/**
+ * Records the phase timings, counts and peak heap use of reasoner runs, so that a change in classification
+ * performance, for example after ontology content changes, can be seen.
+ * <p>
+ * The most recent runs are kept in memory, where they can be queried, shown and exported as JSON. Each run is
+ * also appended, as a line of JSON, to a log in the data store, which keeps the history across sessions: the most
+ * recent runs of the log are read back into memory at first use.
+ * <p>
+ * A run is recorded with a {@link Recorder}:
+ * <pre>{@code
+ * ReasonerMetrics.Recorder recorder = ReasonerMetrics.start(reasonerService, Mode.FULL, "Git pull");
+ * recorder.phase("load");
+ * ...
+ * recorder.phase("compute");
+ * ...
+ * recorder.finish(reasonerService.getConceptCount(), axiomCount);
+ * }</pre>
+ */
+public final class ReasonerMetrics {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ReasonerMetrics.class);
+
+	/**
+	 * Number of runs kept in memory.
+	 */
+	public static final int HISTORY_SIZE = 500;
+
+	private static final String METRICS_LOG = "reasoner-state/metrics.jsonl";
+
+	/**
+	 * The runs in memory, oldest first, guarded by itself.
+	 */
+	private static final Deque<ReasonerRunMetrics> history = new ArrayDeque<>();
+
+	/**
+	 * True once the runs of earlier sessions have been read from the log, guarded by the history.
+	 */
+	private static boolean logRead;
+
+	private static final List<Consumer<ReasonerRunMetrics>> listeners = new CopyOnWriteArrayList<>();
+
+	private ReasonerMetrics() {
+	}
+
+	/**
+	 * Starts recording a run. Runs of the shared reasoners are serialized, so peak heap use is measured from here
+	 * for this run alone.
+	 *
+	 * @param reasonerService the reasoner service that runs
+	 * @param mode            the kind of run
+	 * @param source          what started the run
+	 * @return the recorder of the run
+	 */
+	public static Recorder start(ReasonerService reasonerService, ReasonerRunMetrics.Mode mode, String source) {
+		return new Recorder(reasonerService.getName(), mode, source);
+	}
+
+	/**
+	 * Counts the stated axioms loaded by a full classification: the semantics of the reasoner's stated axiom
+	 * pattern. Only the semantic index of the pattern is read; no semantic is decoded.
+	 *
+	 * @param reasonerService the reasoner service, initialized with its axiom patterns
+	 * @return the number of stated axioms, for {@link Recorder#finish(int, int)}
+	 */
+	public static int statedAxiomCount(ReasonerService reasonerService) {
+		LongAdder count = new LongAdder();
+		PrimitiveData.get().forEachSemanticNidOfPattern(reasonerService.getStatedAxiomPattern().nid(),
+				semanticNid -> count.increment());
+		return count.intValue();
+	}
+
+	/**
+	 * @return the most recent runs, of this session and of earlier ones, oldest first, up to {@link #HISTORY_SIZE}
+	 */
+	public static List<ReasonerRunMetrics> history() {
+		synchronized (history) {
+			readLog();
+			return List.copyOf(history);
+		}
+	}
+
+	/**
+	 * @param filter selects the runs wanted, for example by reasoner or mode
+	 * @return the selected runs of the history, oldest first
+	 */
+	public static List<ReasonerRunMetrics> history(Predicate<ReasonerRunMetrics> filter) {
+		return history().stream().filter(filter).toList();
+	}
+
+	/**
+	 * @return the runs of the history as a JSON array
+	 */
+	public static String toJson() {
+		List<ReasonerRunMetrics> runs = history();
+		StringBuilder sb = new StringBuilder("[\n");
+		for (int i = 0; i < runs.size(); i++) {
+			sb.append("  ").append(runs.get(i).toJson());
+			sb.append(i < runs.size() - 1 ? ",\n" : "\n");
+		}
+		return sb.append("]\n").toString();
+	}
+
+	/**
+	 * @param file the file to write the runs of the history to, as a JSON array
+	 */
+	public static void exportJson(Path file) throws IOException {
+		Files.writeString(file, toJson(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @param listener called, on the thread of the run, when a run is recorded
+	 */
+	public static void addListener(Consumer<ReasonerRunMetrics> listener) {
+		listeners.add(listener);
+	}
+
+	public static void removeListener(Consumer<ReasonerRunMetrics> listener) {
+		listeners.remove(listener);
+	}
+
+	private static void record(ReasonerRunMetrics run) {
+		synchronized (history) {
+			readLog();
+			addToHistory(run);
+		}
+		LOG.info("Reasoner run: {}", run.summary());
+		appendToLog(run);
+		listeners.forEach(listener -> listener.accept(run));
+	}
+
+	private static void addToHistory(ReasonerRunMetrics run) {
+		history.addLast(run);
+		while (history.size() > HISTORY_SIZE) {
+			history.removeFirst();
+		}
+	}
+
+	/**
+	 * Reads the most recent runs of earlier sessions from the log, once a data store is running. Lines that are
+	 * not runs, such as one cut short by a crash, are skipped. To be called holding the history.
+	 */
+	private static void readLog() {
+		if (logRead) {
+			return;
+		}
+		Optional<Path> log = logFile();
+		if (log.isEmpty()) {
+			return;
+		}
+		logRead = true;
+		if (!Files.isRegularFile(log.get())) {
+			return;
+		}
+		Deque<String> lines = new ArrayDeque<>();
+		try (BufferedReader reader = Files.newBufferedReader(log.get(), StandardCharsets.UTF_8)) {
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				if (!line.isBlank()) {
+					lines.addLast(line);
+					if (lines.size() > HISTORY_SIZE) {
+						lines.removeFirst();
+					}
+				}
+			}
+		} catch (IOException e) {
+			LOG.warn("Unable to read reasoner metrics log " + log.get(), e);
+			return;
+		}
+		int skipped = 0;
+		for (String line : lines) {
+			try {
+				addToHistory(ReasonerRunMetrics.fromJson(line));
+			} catch (IllegalArgumentException e) {
+				skipped++;
+			}
+		}
+		if (skipped > 0) {
+			LOG.warn("Skipped {} unreadable lines of reasoner metrics log {}", skipped, log.get());
+		}
+	}
+
+	private static Optional<Path> logFile() {
+		Optional<File> dataStoreRoot = ServiceProperties.get(ServiceKeys.DATA_STORE_ROOT);
+		return dataStoreRoot.map(root -> root.toPath().resolve(METRICS_LOG));
+	}
+
+	private static void appendToLog(ReasonerRunMetrics run) {
+		Optional<Path> logFile = logFile();
+		if (logFile.isEmpty()) {
+			return;
+		}
+		Path log = logFile.get();
+		try {
+			Files.createDirectories(log.getParent());
+			Files.writeString(log, run.toJson() + System.lineSeparator(), StandardCharsets.UTF_8,
+					StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		} catch (IOException e) {
+			LOG.warn("Unable to append to reasoner metrics log " + log, e);
+		}
+	}
+
+	private static List<MemoryPoolMXBean> heapPools() {
+		return ManagementFactory.getMemoryPoolMXBeans().stream()
+				.filter(pool -> pool.getType() == MemoryType.HEAP && pool.isValid()).toList();
+	}
+
+	/**
+	 * Records the phases of one run. Not thread safe; a run is recorded by the thread that runs it.
+	 */
+	public static final class Recorder {
+		private final String reasonerName;
+		private final ReasonerRunMetrics.Mode mode;
+		private final String source;
+		private final long startTime = System.currentTimeMillis();
+		private final List<ReasonerRunMetrics.PhaseTiming> phases = new ArrayList<>();
+		private String phase;
+		private long phaseStart;
+		private boolean recorded;
+
+		private Recorder(String reasonerName, ReasonerRunMetrics.Mode mode, String source) {
+			this.reasonerName = reasonerName;
+			this.mode = mode;
+			this.source = source;
+			heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+		}
+
+		/**
+		 * Ends the current phase, if any, and starts the next.
+		 *
+		 * @param name the name of the phase started
+		 */
+		public void phase(String name) {
+			endPhase();
+			phase = name;
+			phaseStart = System.nanoTime();
+		}
+
+		private void endPhase() {
+			if (phase != null) {
+				phases.add(new ReasonerRunMetrics.PhaseTiming(phase, (System.nanoTime() - phaseStart) / 1_000_000));
+				phase = null;
+			}
+		}
+
+		/**
+		 * Ends the current phase and records the run as succeeded.
+		 *
+		 * @param conceptCount the number of concepts in the reasoner after the run
+		 * @param axiomCount   the number of stated axioms loaded by the run
+		 */
+		public void finish(int conceptCount, int axiomCount) {
+			record(conceptCount, axiomCount, true);
+		}
+
+		/**
+		 * Ends the current phase and records the run as failed, unless it has already been recorded.
+		 */
+		public void failed() {
+			record(0, 0, false);
+		}
+
+		private void record(int conceptCount, int axiomCount, boolean succeeded) {
+			if (recorded) {
+				return;
+			}
+			recorded = true;
+			endPhase();
+			long peakHeapBytes = heapPools().stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+			ReasonerMetrics.record(new ReasonerRunMetrics(reasonerName, mode, source, startTime, phases,
+					conceptCount, axiomCount, peakHeapBytes, succeeded));
+		}
+	}
+
+}
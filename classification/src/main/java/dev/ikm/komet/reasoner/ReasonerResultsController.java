@@ -17,8 +17,10 @@
 
 import java.net.URL;
 import java.text.NumberFormat;
+import java.util.List;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import dev.ikm.komet.framework.observable.collection.ObservableIntList;
@@ -102,6 +104,14 @@ public class ReasonerResultsController {
 
     @FXML
     private TextArea editTextArea;
+
+    @FXML
+    private TitledPane metricsPane;
+
+    @FXML
+    private TextArea metricsTextArea;
+
+    private final Consumer<ReasonerRunMetrics> metricsListener = _ -> Platform.runLater(this::showMetrics);
     private ViewProperties viewProperties;
     private ActivityStream activityStream;
 
@@ -122,6 +132,8 @@ void initialize() {
         assert logicTextArea != null : "fx:id=\"logicTextArea\" was not injected: check your FXML file 'ClassifierResultsInterface.fxml'.";
         assert editCoordinatePane != null : "fx:id=\"editCoordinatePane\" was not injected: check your FXML file 'ClassifierResultsInterface.fxml'.";
         assert editTextArea != null : "fx:id=\"editTextArea\" was not injected: check your FXML file 'ClassifierResultsInterface.fxml'.";
+        assert metricsPane != null : "fx:id=\"metricsPane\" was not injected: check your FXML file 'ClassifierResultsInterface.fxml'.";
+        assert metricsTextArea != null : "fx:id=\"metricsTextArea\" was not injected: check your FXML file 'ClassifierResultsInterface.fxml'.";
 
         inferredChangesList.setItems(new ObservableIntList());
         inferredChangesList.setCellFactory(conceptCellFactory());
@@ -137,6 +149,25 @@ void initialize() {
         cyclesTree.getSelectionModel().getSelectedItems().addListener(this::onTreeSelectionChanged);
         cyclesTree.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
 
+        showMetrics();
+        ReasonerMetrics.addListener(metricsListener);
+    }
+
+    /**
+     * Stops following the reasoner metrics.
+     */
+    public void dispose() {
+        ReasonerMetrics.removeListener(metricsListener);
+    }
+
+    private void showMetrics() {
+        List<ReasonerRunMetrics> runs = ReasonerMetrics.history();
+        StringBuilder sb = new StringBuilder();
+        for (int i = runs.size() - 1; i >= 0; i--) {
+            sb.append(runs.get(i).summary()).append('\n');
+        }
+        metricsTextArea.setText(sb.toString());
+        metricsPane.setText("Run metrics: " + runs.size() + " runs");
     }
     private void onTreeSelectionChanged(ListChangeListener.Change<? extends TreeItem<StringWithOptionalConceptFacade>> change) {
         if (!change.getList().isEmpty()) {
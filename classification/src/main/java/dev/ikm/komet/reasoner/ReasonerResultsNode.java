@@ -15,16 +15,15 @@
  */
 package dev.ikm.komet.reasoner;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
-import java.util.ServiceLoader.Provider;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 import org.eclipse.collections.api.list.ImmutableList;
 import org.slf4j.Logger;
@@ -41,9 +40,9 @@
 import dev.ikm.komet.reasoner.ui.RunReasonerFullTask;
 import dev.ikm.komet.reasoner.ui.RunReasonerIncrementalTask;
 import dev.ikm.tinkar.common.alert.AlertStreams;
-import dev.ikm.tinkar.common.service.PluggableService;
 import dev.ikm.tinkar.common.service.TinkExecutor;
 import dev.ikm.tinkar.reasoner.elksnomed.ElkSnomedReasonerService;
+import dev.ikm.tinkar.reasoner.service.ClassifierResults;
 import dev.ikm.tinkar.reasoner.service.ReasonerService;
 import dev.ikm.tinkar.terms.EntityFacade;
 import dev.ikm.tinkar.terms.TinkarTerm;
@@ -59,6 +58,7 @@
 import javafx.scene.control.SeparatorMenuItem;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
+import javafx.stage.FileChooser;
 
 public class ReasonerResultsNode extends ExplorationNodeAbstract {
 
@@ -75,6 +75,8 @@ public class ReasonerResultsNode extends ExplorationNodeAbstract {
 
 	private ReasonerResultsController resultsController;
 
+	private Consumer<ClassifierResults> continuousResultsListener;
+
 	public ReasonerResultsNode(ViewProperties viewProperties, KometPreferences nodePreferences) {
 		super(viewProperties, nodePreferences);
 		this.centerBox = new HBox(5, new Label("   Reasoner "));
@@ -87,9 +89,8 @@ public ReasonerResultsNode(ViewProperties viewProperties, KometPreferences nodeP
 				ArrayList<MenuItem> menuItems = new ArrayList<>();
 				ArrayList<CheckMenuItem> reasonerServiceMenuItems = new ArrayList<>();
 				menuItems.add(new SeparatorMenuItem());
-				List<ReasonerService> rss = PluggableService.load(ReasonerService.class).stream().map(Provider::get)
-						.sorted(Comparator.comparing(ReasonerService::getName))
-						.collect(Collectors.toCollection(ArrayList::new));
+				// Shared instances, so that incremental runs can build on a full run made elsewhere.
+				List<ReasonerService> rss = new ArrayList<>(SharedReasonerServices.all().castToList());
 				ReasonerService rs_sel = rss.stream().filter(rs -> rs.getClass() == ElkSnomedReasonerService.class)
 						.findFirst().orElse(null);
 				if (rs_sel != null) {
@@ -102,6 +103,7 @@ public ReasonerResultsNode(ViewProperties viewProperties, KometPreferences nodeP
 					CheckMenuItem item = new CheckMenuItem("Use " + rs.getName());
 					item.setOnAction(_ -> {
 						this.reasonerService = rs;
+						ContinuousClassifier.get().setReasonerService(rs);
 						reasonerServiceMenuItems.forEach(xi -> xi.setSelected(false));
 						item.setSelected(true);
 						LOG.info("Reasoner service selected: " + rs.getName());
@@ -125,6 +127,7 @@ public ReasonerResultsNode(ViewProperties viewProperties, KometPreferences nodeP
 				if (this.reasonerService == null)
 					throw new RuntimeException("No ReasonerService available");
 				LOG.info("Default ReasonerService: " + this.reasonerService.getName());
+				ContinuousClassifier.get().setReasonerService(this.reasonerService);
 				menuItems.add(new SeparatorMenuItem());
 				{
 					MenuItem item = new MenuItem("Run reasoner");
@@ -133,6 +136,33 @@ public ReasonerResultsNode(ViewProperties viewProperties, KometPreferences nodeP
 					});
 					menuItems.add(item);
 				}
+				{
+					CheckMenuItem item = new CheckMenuItem("Classify edits automatically");
+					item.setSelected(ContinuousClassifier.get().isEnabled());
+					item.setOnAction(_ -> {
+						if (item.isSelected()) {
+							ContinuousClassifier.get().start();
+						} else {
+							ContinuousClassifier.get().stop();
+						}
+					});
+					menuItems.add(item);
+				}
+				{
+					CheckMenuItem item = new CheckMenuItem("Classify in the background at startup");
+					item.setSelected(ClassificationWatermark.isClassifyAtStartup());
+					item.setOnAction(_ -> {
+						ClassificationWatermark.setClassifyAtStartup(item.isSelected());
+					});
+					menuItems.add(item);
+				}
+				{
+					MenuItem item = new MenuItem("Export reasoner metrics...");
+					item.setOnAction(_ -> {
+						exportMetrics();
+					});
+					menuItems.add(item);
+				}
 				if (enable_test_menu_items) {
 					menuItems.add(new SeparatorMenuItem());
 					{
@@ -163,6 +193,8 @@ public ReasonerResultsNode(ViewProperties viewProperties, KometPreferences nodeP
 
 			resultsController.setViewProperties(this.viewProperties, ActivityStreams.get(ActivityStreams.REASONER));
 			contentPane.setCenter(loader.getRoot());
+			this.continuousResultsListener = resultsController::setResults;
+			ContinuousClassifier.get().addResultsListener(continuousResultsListener);
 		} catch (IOException e) {
 			AlertStreams.dispatchToRoot(e);
 		}
@@ -180,6 +212,14 @@ private boolean confirmRun(String reasoner_msg) {
 	}
 
 	private void runReasoner() {
+		if (ClassificationWatermark.isEagerClassificationRunning()) {
+			Alert dlg = new Alert(Alert.AlertType.INFORMATION,
+					"The reasoner is classifying in the background, try again shortly",
+					ButtonType.OK);
+			dlg.setHeaderText(null);
+			dlg.showAndWait();
+			return;
+		}
 		if (reasonerService.isIncrementalReady()) {
 			runIncrementalReasoner();
 		} else {
@@ -259,6 +299,21 @@ private void runIncrementalReasoner() {
 		});
 	}
 
+	private void exportMetrics() {
+		FileChooser fileChooser = new FileChooser();
+		fileChooser.setTitle("Export reasoner metrics");
+		fileChooser.setInitialFileName("reasoner-metrics.json");
+		fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("JSON", "*.json"));
+		File file = fileChooser.showSaveDialog(contentPane.getScene().getWindow());
+		if (file != null) {
+			try {
+				ReasonerMetrics.exportJson(file.toPath());
+			} catch (IOException e) {
+				AlertStreams.dispatchToRoot(e);
+			}
+		}
+	}
+
 	@Override
 	public String getDefaultTitle() {
 		return TITLE;
@@ -291,7 +346,12 @@ public Node getNode() {
 
 	@Override
 	public void close() {
-
+		if (continuousResultsListener != null) {
+			ContinuousClassifier.get().removeResultsListener(continuousResultsListener);
+		}
+		if (resultsController != null) {
+			resultsController.dispose();
+		}
 	}
 
 	@Override
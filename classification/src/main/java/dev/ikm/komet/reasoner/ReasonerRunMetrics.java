@@ -0,0 +1,331 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.reasoner;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timings and counts of one reasoner run, recorded by {@link ReasonerMetrics}.
+ *
+ * @param reasonerName  the name of the reasoner service
+ * @param mode          the kind of run
+ * @param source        what started the run, such as the reasoner results view or a Git pull
+ * @param startTime     the time the run started, in epoch milliseconds
+ * @param phases        the duration of each phase of the run, in the order they ran
+ * @param conceptCount  the number of concepts in the reasoner after the run
+ * @param axiomCount    the number of stated axioms loaded by the run: every axiom for a full run, the changed
+ *                      axioms for an incremental run
+ * @param peakHeapBytes the peak heap use during the run
+ * @param succeeded     false if the run failed or was cancelled
+ */
+public record ReasonerRunMetrics(String reasonerName, Mode mode, String source, long startTime,
+		List<PhaseTiming> phases, int conceptCount, int axiomCount, long peakHeapBytes, boolean succeeded) {
+
+	public enum Mode {
+		FULL, INCREMENTAL, EAGER
+	}
+
+	/**
+	 * @param phase          the name of the phase, such as load, compute, nnf or write
+	 * @param durationMillis the duration of the phase
+	 */
+	public record PhaseTiming(String phase, long durationMillis) {
+	}
+
+	public ReasonerRunMetrics {
+		phases = List.copyOf(phases);
+	}
+
+	/**
+	 * @return the sum of the phase durations
+	 */
+	public long totalMillis() {
+		return phases.stream().mapToLong(PhaseTiming::durationMillis).sum();
+	}
+
+	/**
+	 * @param phase the name of a phase
+	 * @return the duration of the phase, or -1 if the run did not have the phase
+	 */
+	public long phaseMillis(String phase) {
+		return phases.stream().filter(timing -> timing.phase().equals(phase)).mapToLong(PhaseTiming::durationMillis)
+				.findFirst().orElse(-1);
+	}
+
+	public double axiomsPerSecond() {
+		return axiomCount * 1000.0 / Math.max(1, totalMillis());
+	}
+
+	/**
+	 * @return a one line summary of the run
+	 */
+	public String summary() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(Instant.ofEpochMilli(startTime)).append(' ').append(mode).append(' ').append(reasonerName)
+				.append(" (").append(source).append(')');
+		if (!succeeded) {
+			sb.append(" FAILED");
+		}
+		sb.append(String.format(": %,d ms", totalMillis()));
+		for (PhaseTiming timing : phases) {
+			sb.append(String.format(", %s %,d ms", timing.phase(), timing.durationMillis()));
+		}
+		sb.append(String.format("; %,d concepts, %,d axioms, %,.0f axioms/s, peak heap %,d MB", conceptCount,
+				axiomCount, axiomsPerSecond(), peakHeapBytes / (1024 * 1024)));
+		return sb.toString();
+	}
+
+	/**
+	 * @return the run as a JSON object
+	 */
+	public String toJson() {
+		StringBuilder sb = new StringBuilder("{");
+		sb.append("\"reasoner\":").append(jsonString(reasonerName));
+		sb.append(",\"mode\":").append(jsonString(mode.name()));
+		sb.append(",\"source\":").append(jsonString(source));
+		sb.append(",\"startTime\":").append(jsonString(Instant.ofEpochMilli(startTime).toString()));
+		sb.append(",\"succeeded\":").append(succeeded);
+		sb.append(",\"totalMillis\":").append(totalMillis());
+		sb.append(",\"phases\":[");
+		for (int i = 0; i < phases.size(); i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append("{\"phase\":").append(jsonString(phases.get(i).phase())).append(",\"millis\":")
+					.append(phases.get(i).durationMillis()).append('}');
+		}
+		sb.append("],\"conceptCount\":").append(conceptCount);
+		sb.append(",\"axiomCount\":").append(axiomCount);
+		sb.append(",\"axiomsPerSecond\":").append(Math.round(axiomsPerSecond()));
+		sb.append(",\"peakHeapBytes\":").append(peakHeapBytes);
+		return sb.append('}').toString();
+	}
+
+	/**
+	 * @param json a run as written by {@link #toJson()}
+	 * @return the run
+	 * @throws IllegalArgumentException if the text is not a run as written by {@link #toJson()}
+	 */
+	public static ReasonerRunMetrics fromJson(String json) {
+		try {
+			Map<?, ?> run = (Map<?, ?>) new JsonParser(json).parseDocument();
+			List<PhaseTiming> phases = new ArrayList<>();
+			for (Object phase : (List<?>) run.get("phases")) {
+				Map<?, ?> timing = (Map<?, ?>) phase;
+				phases.add(new PhaseTiming((String) timing.get("phase"), ((Number) timing.get("millis")).longValue()));
+			}
+			return new ReasonerRunMetrics((String) run.get("reasoner"), Mode.valueOf((String) run.get("mode")),
+					(String) run.get("source"), Instant.parse((String) run.get("startTime")).toEpochMilli(), phases,
+					((Number) run.get("conceptCount")).intValue(), ((Number) run.get("axiomCount")).intValue(),
+					((Number) run.get("peakHeapBytes")).longValue(), (Boolean) run.get("succeeded"));
+		} catch (ClassCastException | NullPointerException | DateTimeParseException e) {
+			throw new IllegalArgumentException("Not a reasoner run: " + json, e);
+		}
+	}
+
+	/**
+	 * Reads the JSON written by {@link #toJson()}: objects, arrays, strings, integers and booleans.
+	 */
+	private static final class JsonParser {
+		private final String json;
+		private int position;
+
+		private JsonParser(String json) {
+			this.json = json;
+		}
+
+		private Object parseDocument() {
+			Object value = parseValue();
+			skipWhitespace();
+			if (position != json.length()) {
+				throw error("Unexpected text");
+			}
+			return value;
+		}
+
+		private Object parseValue() {
+			skipWhitespace();
+			if (position >= json.length()) {
+				throw error("Unexpected end");
+			}
+			char c = json.charAt(position);
+			return switch (c) {
+				case '{' -> parseObject();
+				case '[' -> parseArray();
+				case '"' -> parseString();
+				case 't' -> parseLiteral("true", Boolean.TRUE);
+				case 'f' -> parseLiteral("false", Boolean.FALSE);
+				default -> parseNumber();
+			};
+		}
+
+		private Map<String, Object> parseObject() {
+			Map<String, Object> object = new LinkedHashMap<>();
+			position++;
+			skipWhitespace();
+			if (peek() == '}') {
+				position++;
+				return object;
+			}
+			do {
+				skipWhitespace();
+				String key = parseString();
+				skipWhitespace();
+				expect(':');
+				object.put(key, parseValue());
+				skipWhitespace();
+			} while (consume(','));
+			expect('}');
+			return object;
+		}
+
+		private List<Object> parseArray() {
+			List<Object> array = new ArrayList<>();
+			position++;
+			skipWhitespace();
+			if (peek() == ']') {
+				position++;
+				return array;
+			}
+			do {
+				array.add(parseValue());
+				skipWhitespace();
+			} while (consume(','));
+			expect(']');
+			return array;
+		}
+
+		private String parseString() {
+			expect('"');
+			StringBuilder sb = new StringBuilder();
+			while (true) {
+				char c = next();
+				if (c == '"') {
+					return sb.toString();
+				}
+				if (c != '\\') {
+					sb.append(c);
+					continue;
+				}
+				char escaped = next();
+				switch (escaped) {
+					case 'n' -> sb.append('\n');
+					case 'r' -> sb.append('\r');
+					case 't' -> sb.append('\t');
+					case 'b' -> sb.append('\b');
+					case 'f' -> sb.append('\f');
+					case 'u' -> {
+						if (position + 4 > json.length()) {
+							throw error("Unexpected end");
+						}
+						try {
+							sb.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+						} catch (NumberFormatException e) {
+							throw error("Invalid escape");
+						}
+						position += 4;
+					}
+					default -> sb.append(escaped);
+				}
+			}
+		}
+
+		private Long parseNumber() {
+			int start = position;
+			if (peek() == '-') {
+				position++;
+			}
+			while (position < json.length() && Character.isDigit(json.charAt(position))) {
+				position++;
+			}
+			try {
+				return Long.parseLong(json.substring(start, position));
+			} catch (NumberFormatException e) {
+				throw error("Invalid number");
+			}
+		}
+
+		private Boolean parseLiteral(String literal, Boolean value) {
+			if (!json.startsWith(literal, position)) {
+				throw error("Invalid literal");
+			}
+			position += literal.length();
+			return value;
+		}
+
+		private void skipWhitespace() {
+			while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+				position++;
+			}
+		}
+
+		private char peek() {
+			return position < json.length() ? json.charAt(position) : 0;
+		}
+
+		private char next() {
+			if (position >= json.length()) {
+				throw error("Unexpected end");
+			}
+			return json.charAt(position++);
+		}
+
+		private boolean consume(char c) {
+			if (peek() == c) {
+				position++;
+				return true;
+			}
+			return false;
+		}
+
+		private void expect(char c) {
+			if (!consume(c)) {
+				throw error("Expected '" + c + "'");
+			}
+		}
+
+		private IllegalArgumentException error(String message) {
+			return new IllegalArgumentException(message + " at " + position + " of: " + json);
+		}
+	}
+
+	private static String jsonString(String value) {
+		StringBuilder sb = new StringBuilder("\"");
+		for (char c : value.toCharArray()) {
+			switch (c) {
+				case '"' -> sb.append("\\\"");
+				case '\\' -> sb.append("\\\\");
+				case '\n' -> sb.append("\\n");
+				case '\r' -> sb.append("\\r");
+				case '\t' -> sb.append("\\t");
+				default -> {
+					if (c < 0x20) {
+						sb.append(String.format("\\u%04x", (int) c));
+					} else {
+						sb.append(c);
+					}
+				}
+			}
+		}
+		return sb.append('"').toString();
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.reasoner;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ServiceLoader.Provider;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import dev.ikm.tinkar.common.service.PluggableService;
+import dev.ikm.tinkar.reasoner.service.ReasonerService;
+
+/**
+ * Reasoner service instances shared by everything in the application that classifies.
+ * <p>
+ * A reasoner service holds the axioms and taxonomy of its last full classification, which is what makes
+ * incremental classification possible. Loading a new instance for every run discards that state, so the
+ * reasoner results view and the changeset exchange obtain their instances here, and an incremental run is
+ * available to either once a full run has completed in either.
+ */
+public final class SharedReasonerServices {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SharedReasonerServices.class);
+
+	private static List<ReasonerService> services;
+
+	private static final ReentrantLock classificationLock = new ReentrantLock();
+
+	private SharedReasonerServices() {
+	}
+
+	/**
+	 * @return the shared instance of every available reasoner service, sorted by name
+	 */
+	public static synchronized ImmutableList<ReasonerService> all() {
+		if (services == null) {
+			services = new ArrayList<>(PluggableService.load(ReasonerService.class).stream().map(Provider::get)
+					.sorted(Comparator.comparing(ReasonerService::getName)).toList());
+			LOG.info("Loaded {} reasoner services", services.size());
+		}
+		return Lists.immutable.ofAll(services);
+	}
+
+	/**
+	 * @param reasonerType text contained in the name of the wanted reasoner services
+	 * @return the shared instances whose name contains the text, sorted by name
+	 */
+	public static ImmutableList<ReasonerService> named(String reasonerType) {
+		return all().select(reasoner -> reasoner.getName().contains(reasonerType));
+	}
+
+	/**
+	 * The shared instances are not safe for concurrent classifications, so whatever loads, classifies or writes
+	 * the results of a shared instance holds this lock while doing so.
+	 *
+	 * @return the lock held while a shared reasoner service classifies
+	 */
+	public static ReentrantLock classificationLock() {
+		return classificationLock;
+	}
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.reasoner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Optional;
+
+import org.eclipse.collections.api.map.primitive.ImmutableIntIntMap;
+import org.eclipse.collections.api.map.primitive.MutableIntIntMap;
+import org.eclipse.collections.api.set.primitive.ImmutableIntSet;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.factory.primitive.IntIntMaps;
+import org.eclipse.collections.impl.factory.primitive.IntSets;
+
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.EntityVersion;
+import dev.ikm.tinkar.entity.SemanticEntity;
+import dev.ikm.tinkar.entity.SemanticEntityVersion;
+
+/**
+ * The stated axiom semantics read by a classification, each with a fingerprint of the stamps of its versions.
+ * <p>
+ * Comparing the state of a classification with the current state finds the axioms written since, whatever their
+ * stamp times: content imported after a classification may carry stamp times older than the classification, but
+ * each version written has its own stamp, and so changes the fingerprint of its semantic.
+ */
+public final class StatedAxiomState {
+
+	private static final int FILE_MAGIC = 0x4B415853;
+
+	private final int statedAxiomPatternNid;
+
+	private final ImmutableIntIntMap fingerprints;
+
+	StatedAxiomState(int statedAxiomPatternNid, ImmutableIntIntMap fingerprints) {
+		this.statedAxiomPatternNid = statedAxiomPatternNid;
+		this.fingerprints = fingerprints;
+	}
+
+	/**
+	 * Reads the current state of every stated axiom semantic. To be called before the axioms are loaded into the
+	 * reasoner, so that an axiom written meanwhile is found changed later rather than missed.
+	 *
+	 * @param statedAxiomPatternNid the pattern of the stated axioms
+	 * @return the current state of the stated axioms
+	 */
+	public static StatedAxiomState scan(int statedAxiomPatternNid) {
+		MutableIntIntMap fingerprints = IntIntMaps.mutable.empty();
+		PrimitiveData.get().forEachSemanticNidOfPattern(statedAxiomPatternNid, semanticNid -> {
+			SemanticEntity<?> semantic = Entity.getFast(semanticNid);
+			int fingerprint = fingerprint(semantic);
+			synchronized (fingerprints) {
+				fingerprints.put(semanticNid, fingerprint);
+			}
+		});
+		return new StatedAxiomState(statedAxiomPatternNid, fingerprints.toImmutable());
+	}
+
+	/**
+	 * @param edits the stated axiom versions classified incrementally on top of this state
+	 * @return this state, with the current state of each edited semantic
+	 */
+	public StatedAxiomState withEdits(Collection<SemanticEntityVersion> edits) {
+		MutableIntIntMap withEdits = IntIntMaps.mutable.empty();
+		withEdits.putAll(fingerprints);
+		for (SemanticEntityVersion edit : edits) {
+			SemanticEntity<?> semantic = Entity.getFast(edit.nid());
+			withEdits.put(edit.nid(), fingerprint(semantic));
+		}
+		return new StatedAxiomState(statedAxiomPatternNid, withEdits.toImmutable());
+	}
+
+	/**
+	 * @param classified the state read by an earlier classification
+	 * @return the nids of the stated axiom semantics added or changed since the earlier classification, or empty if
+	 * the difference cannot be classified as edits, because the axiom pattern differs or axioms were removed
+	 */
+	public Optional<ImmutableIntSet> changedSince(StatedAxiomState classified) {
+		if (classified.statedAxiomPatternNid != statedAxiomPatternNid
+				|| classified.fingerprints.keysView().anySatisfy(nid -> !fingerprints.containsKey(nid))) {
+			return Optional.empty();
+		}
+		MutableIntSet changed = IntSets.mutable.empty();
+		fingerprints.forEachKeyValue((nid, fingerprint) -> {
+			if (!classified.fingerprints.containsKey(nid) || classified.fingerprints.get(nid) != fingerprint) {
+				changed.add(nid);
+			}
+		});
+		return Optional.of(changed.toImmutable());
+	}
+
+	public int statedAxiomPatternNid() {
+		return statedAxiomPatternNid;
+	}
+
+	/**
+	 * @return the number of stated axiom semantics
+	 */
+	public int size() {
+		return fingerprints.size();
+	}
+
+	/**
+	 * @param file the file to write this state to
+	 */
+	public void write(Path file) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+			out.writeInt(FILE_MAGIC);
+			out.writeInt(statedAxiomPatternNid);
+			out.writeInt(fingerprints.size());
+			IOException[] failure = new IOException[1];
+			fingerprints.forEachKeyValue((nid, fingerprint) -> {
+				if (failure[0] == null) {
+					try {
+						out.writeInt(nid);
+						out.writeInt(fingerprint);
+					} catch (IOException e) {
+						failure[0] = e;
+					}
+				}
+			});
+			if (failure[0] != null) {
+				throw failure[0];
+			}
+		}
+	}
+
+	/**
+	 * @param file a file written by {@link #write(Path)}
+	 * @return the state read from the file
+	 */
+	public static StatedAxiomState read(Path file) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != FILE_MAGIC) {
+				throw new IOException("Not a stated axiom state: " + file);
+			}
+			int statedAxiomPatternNid = in.readInt();
+			int size = in.readInt();
+			MutableIntIntMap fingerprints = IntIntMaps.mutable.empty();
+			for (int i = 0; i < size; i++) {
+				fingerprints.put(in.readInt(), in.readInt());
+			}
+			return new StatedAxiomState(statedAxiomPatternNid, fingerprints.toImmutable());
+		}
+	}
+
+	/**
+	 * @return a fingerprint of the stamps of the versions of a semantic, independent of their order
+	 */
+	private static int fingerprint(SemanticEntity<?> semantic) {
+		int fingerprint = semantic.versions().size();
+		for (EntityVersion version : semantic.versions()) {
+			int mixed = version.stampNid() * 0x9E3779B9;
+			fingerprint += mixed ^ (mixed >>> 16);
+		}
+		return fingerprint;
+	}
+
+}
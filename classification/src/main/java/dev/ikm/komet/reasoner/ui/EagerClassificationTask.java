@@ -0,0 +1,139 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.reasoner.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.collections.api.set.primitive.ImmutableIntSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import dev.ikm.komet.framework.EditedConceptTracker;
+import dev.ikm.komet.reasoner.ClassificationWatermark;
+import dev.ikm.komet.reasoner.ReasonerMetrics;
+import dev.ikm.komet.reasoner.ReasonerRunMetrics;
+import dev.ikm.komet.reasoner.SharedReasonerServices;
+import dev.ikm.komet.reasoner.StatedAxiomState;
+import dev.ikm.tinkar.common.service.TrackingCallable;
+import dev.ikm.tinkar.coordinate.Calculators;
+import dev.ikm.tinkar.coordinate.stamp.calculator.Latest;
+import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
+import dev.ikm.tinkar.entity.SemanticEntityVersion;
+import dev.ikm.tinkar.reasoner.service.ReasonerService;
+import dev.ikm.tinkar.terms.TinkarTerm;
+
+/**
+ * An eager, background, full classification of a reasoner service at startup, so that the first classification the
+ * user runs can be incremental. This is not a restore: the axioms are loaded, classified and normalized exactly as
+ * in a full run, at the same cost, but the inferred results, which were written by the classification recorded in
+ * the {@link ClassificationWatermark}, are not written again.
+ * <p>
+ * The stated axioms added or changed since the {@link StatedAxiomState} recorded with the watermark are queued with
+ * the {@link EditedConceptTracker}, so that the next incremental run writes their inferred results. If there are
+ * none, the inferred results are current and the watermark is moved up to this classification. If the changes
+ * cannot be found, because no state was recorded or axioms were removed, this is a full run: the inferred results
+ * are written.
+ */
+public class EagerClassificationTask extends TrackingCallable<ReasonerService> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(EagerClassificationTask.class);
+
+	private final ReasonerService reasonerService;
+
+	private final ClassificationWatermark watermark;
+
+	public EagerClassificationTask(ReasonerService reasonerService, ClassificationWatermark watermark) {
+		super(true, true);
+		this.reasonerService = reasonerService;
+		this.watermark = watermark;
+		updateTitle("Classifying in the background (" + reasonerService.getName() + ")");
+	}
+
+	@Override
+	protected ReasonerService compute() throws Exception {
+		SharedReasonerServices.classificationLock().lockInterruptibly();
+		ReasonerMetrics.Recorder metrics = ReasonerMetrics.start(reasonerService, ReasonerRunMetrics.Mode.EAGER,
+				"Startup");
+		try {
+			ViewCalculator viewCalculator = Calculators.View.Default();
+			reasonerService.init(viewCalculator, TinkarTerm.EL_PLUS_PLUS_STATED_AXIOMS_PATTERN,
+					TinkarTerm.EL_PLUS_PLUS_INFERRED_AXIOMS_PATTERN);
+			long classifiedTime = System.currentTimeMillis();
+			updateMessage("Loading data into reasoner");
+			metrics.phase("load");
+			StatedAxiomState classifiedAxioms = StatedAxiomState.scan(watermark.statedAxiomPatternNid());
+			reasonerService.extractData(this);
+			reasonerService.loadData(this);
+			int axiomCount = ReasonerMetrics.statedAxiomCount(reasonerService);
+			updateMessage("Computing inferences");
+			metrics.phase("compute");
+			reasonerService.computeInferences();
+			updateMessage("Building necessary normal form");
+			metrics.phase("nnf");
+			reasonerService.buildNecessaryNormalForm(this);
+			Optional<ImmutableIntSet> changedNids = ClassificationWatermark
+					.classifiedAxioms(reasonerService.getName())
+					.flatMap(classifiedAxioms::changedSince);
+			String msg = "Classified " + String.format("%,d", reasonerService.getConceptCount())
+					+ " concepts in the background in ";
+			if (changedNids.isEmpty()) {
+				updateMessage("Writing inferred results");
+				metrics.phase("write");
+				reasonerService.writeInferredResults(this);
+				metrics.finish(reasonerService.getConceptCount(), axiomCount);
+				ClassificationWatermark.save(reasonerService, classifiedTime, classifiedAxioms);
+				msg += durationString() + ", and wrote the inferred results, since the axioms changed since the "
+						+ "last written classification are not known";
+			} else {
+				metrics.phase("replay");
+				List<SemanticEntityVersion> changed = latestVersions(changedNids.get(), viewCalculator);
+				changed.forEach(EditedConceptTracker::addEdit);
+				metrics.finish(reasonerService.getConceptCount(), axiomCount);
+				if (changed.isEmpty()) {
+					ClassificationWatermark.save(reasonerService, classifiedTime, classifiedAxioms);
+				}
+				msg += durationString() + ", " + changed.size()
+						+ " axioms changed since the last written classification";
+			}
+			updateMessage(msg);
+			LOG.info(msg);
+			return reasonerService;
+		} catch (Exception e) {
+			LOG.error("Unable to classify in the background from " + watermark, e);
+			throw e;
+		} finally {
+			metrics.failed();
+			SharedReasonerServices.classificationLock().unlock();
+		}
+	}
+
+	/**
+	 * @return the latest version of each of the stated axiom semantics
+	 */
+	private static List<SemanticEntityVersion> latestVersions(ImmutableIntSet semanticNids,
+			ViewCalculator viewCalculator) {
+		List<SemanticEntityVersion> versions = new ArrayList<>();
+		semanticNids.forEach(semanticNid -> {
+			Latest<SemanticEntityVersion> latest = viewCalculator.latest(semanticNid);
+			latest.ifPresent(versions::add);
+		});
+		return versions;
+	}
+
+}
@@ -18,12 +18,19 @@
 import java.util.concurrent.Future;
 import java.util.function.Consumer;
 
+import dev.ikm.komet.reasoner.ReasonerMetrics;
+import dev.ikm.komet.reasoner.ReasonerRunMetrics;
+import dev.ikm.komet.reasoner.StatedAxiomState;
 import dev.ikm.tinkar.common.service.TinkExecutor;
 import dev.ikm.tinkar.reasoner.service.ClassifierResults;
 import dev.ikm.tinkar.reasoner.service.ReasonerService;
 
 public class RunReasonerFullTask extends RunReasonerTaskBase {
 
+	private int loadedAxiomCount;
+
+	private StatedAxiomState classifiedAxioms;
+
 	public RunReasonerFullTask(ReasonerService reasonerService, Consumer<ClassifierResults> classifierResultsConsumer) {
 		super(reasonerService, classifierResultsConsumer);
 
@@ -31,10 +38,27 @@ public RunReasonerFullTask(ReasonerService reasonerService, Consumer<ClassifierR
 
 	protected void loadData(int workDone) throws Exception {
 		updateMessage("Step " + workDone + ": Loading data into reasoner");
+		classifiedAxioms = StatedAxiomState.scan(reasonerService.getStatedAxiomPattern().nid());
 		LoadDataTask task = new LoadDataTask(reasonerService);
 		Future<ReasonerService> future = TinkExecutor.threadPool().submit(task);
 		future.get();
+		loadedAxiomCount = ReasonerMetrics.statedAxiomCount(reasonerService);
 		updateProgress(workDone);
 	}
 
+	@Override
+	protected ReasonerRunMetrics.Mode metricsMode() {
+		return ReasonerRunMetrics.Mode.FULL;
+	}
+
+	@Override
+	protected int loadedAxiomCount() {
+		return loadedAxiomCount;
+	}
+
+	@Override
+	protected StatedAxiomState classifiedAxioms() {
+		return classifiedAxioms;
+	}
+
 }
@@ -22,6 +22,9 @@
 import org.slf4j.LoggerFactory;
 
 import dev.ikm.komet.framework.EditedConceptTracker;
+import dev.ikm.komet.reasoner.ClassificationWatermark;
+import dev.ikm.komet.reasoner.ReasonerRunMetrics;
+import dev.ikm.komet.reasoner.StatedAxiomState;
 import dev.ikm.tinkar.common.service.PrimitiveData;
 import dev.ikm.tinkar.entity.SemanticEntityVersion;
 import dev.ikm.tinkar.reasoner.service.ClassifierResults;
@@ -42,24 +45,57 @@ protected ReasonerService compute() throws Exception {
 			throw new Exception("Need to run full reasoner first");
 		if (EditedConceptTracker.getEdits().isEmpty())
 			throw new Exception("No edits to process");
-		return super.compute();
+		try {
+			return super.compute();
+		} catch (Exception e) {
+			if (takenEdits != null) {
+				// Not classified, leave them for the next run.
+				EditedConceptTracker.requeueEdits(takenEdits);
+			}
+			throw e;
+		}
 	}
 
 	private final boolean logParents = false;
 
+	private int loadedAxiomCount;
+
+	private List<SemanticEntityVersion> takenEdits;
+
+	private StatedAxiomState classifiedAxioms;
+
 	protected void loadData(int workDone) {
 		updateMessage("Step " + workDone + ": Build changes");
 		if (logParents)
 			logParents();
-		for (SemanticEntityVersion edit : EditedConceptTracker.getEdits()) {
+		// Taken rather than read and removed, so edits made while classifying are kept for the next run.
+		List<SemanticEntityVersion> edits = EditedConceptTracker.takeEdits();
+		takenEdits = edits;
+		classifiedAxioms = ClassificationWatermark.classifiedAxiomsAfter(reasonerService, edits);
+		for (SemanticEntityVersion edit : edits) {
 			LOG.info("\nEdit: " + edit.referencedComponentNid() + " "
 					+ PrimitiveData.text(edit.referencedComponentNid()) + "\n" + edit);
 		}
-		reasonerService.processIncremental(List.of(), EditedConceptTracker.getEdits());
-		EditedConceptTracker.removeEdits();
+		reasonerService.processIncremental(List.of(), edits);
+		loadedAxiomCount = edits.size();
 		updateProgress(workDone);
 	}
 
+	@Override
+	protected ReasonerRunMetrics.Mode metricsMode() {
+		return ReasonerRunMetrics.Mode.INCREMENTAL;
+	}
+
+	@Override
+	protected int loadedAxiomCount() {
+		return loadedAxiomCount;
+	}
+
+	@Override
+	protected StatedAxiomState classifiedAxioms() {
+		return classifiedAxioms;
+	}
+
 	private void logParents() {
 		LOG.info(">>>>>");
 		for (SemanticEntityVersion edit : EditedConceptTracker.getEdits()) {
@@ -19,6 +19,11 @@
 import java.util.function.Consumer;
 
 import dev.ikm.komet.framework.concurrent.TaskWrapper;
+import dev.ikm.komet.reasoner.ReasonerMetrics;
+import dev.ikm.komet.reasoner.ReasonerRunMetrics;
+import dev.ikm.komet.reasoner.ClassificationWatermark;
+import dev.ikm.komet.reasoner.SharedReasonerServices;
+import dev.ikm.komet.reasoner.StatedAxiomState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,18 +63,48 @@ protected void updateProgress(int workDone) {
 
 	@Override
 	protected ReasonerService compute() throws Exception {
-		int workDone = 0;
-		updateProgress(workDone++);
-		loadData(workDone++);
-		computeInferences(workDone++);
-		buildNecessaryNormalForm(workDone++);
-		processResults(workDone++);
-		updateMessage("Reasoner run complete in " + durationString());
-		return reasonerService;
+		SharedReasonerServices.classificationLock().lockInterruptibly();
+		ReasonerMetrics.Recorder metrics = ReasonerMetrics.start(reasonerService, metricsMode(), "Reasoner results");
+		try {
+			int workDone = 0;
+			updateProgress(workDone++);
+			long classifiedTime = System.currentTimeMillis();
+			metrics.phase("load");
+			loadData(workDone++);
+			metrics.phase("compute");
+			computeInferences(workDone++);
+			metrics.phase("nnf");
+			buildNecessaryNormalForm(workDone++);
+			metrics.phase("write");
+			processResults(workDone++);
+			metrics.finish(reasonerService.getConceptCount(), loadedAxiomCount());
+			ClassificationWatermark.save(reasonerService, classifiedTime, classifiedAxioms());
+			updateMessage("Reasoner run complete in " + durationString());
+			return reasonerService;
+		} finally {
+			metrics.failed();
+			SharedReasonerServices.classificationLock().unlock();
+		}
 	}
 
 	protected abstract void loadData(int workDone) throws Exception;
 
+	/**
+	 * @return the kind of run, for the reasoner metrics
+	 */
+	protected abstract ReasonerRunMetrics.Mode metricsMode();
+
+	/**
+	 * @return the number of stated axioms loaded by {@link #loadData(int)}, for the reasoner metrics
+	 */
+	protected abstract int loadedAxiomCount();
+
+	/**
+	 * @return the state of the stated axioms classified by {@link #loadData(int)}, read when they were loaded, or
+	 * null if it is not known, for the {@link ClassificationWatermark}
+	 */
+	protected abstract StatedAxiomState classifiedAxioms();
+
 	protected void computeInferences(int workDone) throws Exception {
 		updateMessage("Step " + workDone + " of " + maxWork + ": Computing inferences");
 		ComputeInferencesTask task = new ComputeInferencesTask(reasonerService);
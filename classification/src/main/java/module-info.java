@@ -23,6 +23,7 @@
 	requires roaringbitmap;
 	requires org.jgrapht.core;
 	requires org.slf4j;
+	requires java.management;
 	
 	requires dev.ikm.tinkar.collection;
 	requires dev.ikm.tinkar.entity;
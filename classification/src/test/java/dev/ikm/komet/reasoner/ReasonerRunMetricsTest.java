@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.reasoner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import dev.ikm.komet.reasoner.ReasonerRunMetrics.PhaseTiming;
+
+class ReasonerRunMetricsTest {
+
+	private static ReasonerRunMetrics run(String source, boolean succeeded) {
+		return new ReasonerRunMetrics("ElkSnomedReasoner", ReasonerRunMetrics.Mode.FULL, source, 0L,
+				List.of(new PhaseTiming("load", 1500), new PhaseTiming("compute", 2500)), 350_000, 400_000,
+				1024L * 1024 * 1024, succeeded);
+	}
+
+	@Test
+	void toJson() {
+		assertEquals("{\"reasoner\":\"ElkSnomedReasoner\",\"mode\":\"FULL\",\"source\":\"Git pull\","
+				+ "\"startTime\":\"1970-01-01T00:00:00Z\",\"succeeded\":true,\"totalMillis\":4000,"
+				+ "\"phases\":[{\"phase\":\"load\",\"millis\":1500},{\"phase\":\"compute\",\"millis\":2500}],"
+				+ "\"conceptCount\":350000,\"axiomCount\":400000,\"axiomsPerSecond\":100000,"
+				+ "\"peakHeapBytes\":1073741824}", run("Git pull", true).toJson());
+	}
+
+	@Test
+	void toJsonEscapesStrings() {
+		String json = run("Pull \"main\"\\\n\t\u0001", false).toJson();
+		assertTrue(json.contains("\"source\":\"Pull \\\"main\\\"\\\\\\n\\t\\u0001\""), json);
+		assertTrue(json.contains("\"succeeded\":false"), json);
+	}
+
+	@Test
+	void toJsonWithoutPhases() {
+		ReasonerRunMetrics run = new ReasonerRunMetrics("r", ReasonerRunMetrics.Mode.INCREMENTAL, "s", 0L,
+				List.of(), 1, 0, 0, true);
+		assertTrue(run.toJson().contains("\"totalMillis\":0,\"phases\":[],\"conceptCount\":1,\"axiomCount\":0,"
+				+ "\"axiomsPerSecond\":0"), run.toJson());
+	}
+
+	@Test
+	void fromJson() {
+		ReasonerRunMetrics run = run("Pull \"main\"\\\n\t\u0001", false);
+		assertEquals(run, ReasonerRunMetrics.fromJson(run.toJson()));
+		ReasonerRunMetrics noPhases = new ReasonerRunMetrics("r", ReasonerRunMetrics.Mode.INCREMENTAL, "s", 0L,
+				List.of(), 1, 0, 0, true);
+		assertEquals(noPhases, ReasonerRunMetrics.fromJson(noPhases.toJson()));
+	}
+
+	@Test
+	void fromJsonCutShort() {
+		String json = run("s", true).toJson();
+		assertThrows(IllegalArgumentException.class, () -> ReasonerRunMetrics.fromJson(json.substring(0, 40)));
+		assertThrows(IllegalArgumentException.class, () -> ReasonerRunMetrics.fromJson(""));
+	}
+
+	@Test
+	void phaseMillis() {
+		ReasonerRunMetrics run = run("s", true);
+		assertEquals(4000, run.totalMillis());
+		assertEquals(2500, run.phaseMillis("compute"));
+		assertEquals(-1, run.phaseMillis("write"));
+		assertEquals(100_000.0, run.axiomsPerSecond());
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.reasoner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.eclipse.collections.impl.factory.primitive.IntIntMaps;
+import org.eclipse.collections.impl.factory.primitive.IntSets;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StatedAxiomStateTest {
+
+	private static final int PATTERN_NID = -2000;
+
+	private static final StatedAxiomState CLASSIFIED = new StatedAxiomState(PATTERN_NID,
+			IntIntMaps.immutable.empty().newWithKeyValue(-101, 11).newWithKeyValue(-102, 12).newWithKeyValue(-103, 13));
+
+	@Test
+	void unchanged() {
+		assertEquals(IntSets.immutable.empty(), CLASSIFIED.changedSince(CLASSIFIED).orElseThrow());
+	}
+
+	@Test
+	void changedAndAdded() {
+		StatedAxiomState current = new StatedAxiomState(PATTERN_NID, IntIntMaps.immutable.empty()
+				.newWithKeyValue(-101, 11).newWithKeyValue(-102, 99).newWithKeyValue(-103, 13)
+				.newWithKeyValue(-104, 14));
+		assertEquals(IntSets.immutable.of(-102, -104), current.changedSince(CLASSIFIED).orElseThrow());
+	}
+
+	@Test
+	void removedIsNotEdits() {
+		StatedAxiomState current = new StatedAxiomState(PATTERN_NID,
+				IntIntMaps.immutable.empty().newWithKeyValue(-101, 11).newWithKeyValue(-102, 12));
+		assertTrue(current.changedSince(CLASSIFIED).isEmpty());
+	}
+
+	@Test
+	void otherPatternIsNotEdits() {
+		StatedAxiomState current = new StatedAxiomState(PATTERN_NID - 1,
+				IntIntMaps.immutable.empty().newWithKeyValue(-101, 11).newWithKeyValue(-102, 12)
+						.newWithKeyValue(-103, 13));
+		assertTrue(current.changedSince(CLASSIFIED).isEmpty());
+	}
+
+	@Test
+	void writeAndRead(@TempDir Path directory) throws IOException {
+		Path file = directory.resolve("reasoner.axioms");
+		CLASSIFIED.write(file);
+		StatedAxiomState read = StatedAxiomState.read(file);
+		assertEquals(PATTERN_NID, read.statedAxiomPatternNid());
+		assertEquals(CLASSIFIED.size(), read.size());
+		assertEquals(IntSets.immutable.empty(), read.changedSince(CLASSIFIED).orElseThrow());
+	}
+
+}
@@ -16,24 +16,85 @@
 package dev.ikm.komet.framework;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.factory.primitive.IntSets;
 
 import dev.ikm.tinkar.entity.SemanticEntityVersion;
 
+/**
+ * Tracks the axiom edits that have not yet been classified. Edits are made on whatever thread commits them, so
+ * the tracker is synchronized, and listeners are told of each edit so that classification can follow editing.
+ */
 public class EditedConceptTracker {
 
 	private static ArrayList<SemanticEntityVersion> edits = new ArrayList<>();
 
-	public static ArrayList<SemanticEntityVersion> getEdits() {
-		return edits;
+	private static final List<Runnable> editListeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * @return a copy of the edits not yet classified
+	 */
+	public static synchronized ArrayList<SemanticEntityVersion> getEdits() {
+		return new ArrayList<>(edits);
 	}
 
 	public static void addEdit(SemanticEntityVersion edit) {
-		edits.removeIf(ex_edit -> ex_edit.referencedComponentNid() == edit.referencedComponentNid());
-		edits.add(edit);
+		synchronized (EditedConceptTracker.class) {
+			edits.removeIf(ex_edit -> ex_edit.referencedComponentNid() == edit.referencedComponentNid());
+			edits.add(edit);
+		}
+		editListeners.forEach(Runnable::run);
+	}
+
+	public static synchronized void removeEdits() {
+		edits = new ArrayList<>();
 	}
 
-	public static void removeEdits() {
+	/**
+	 * Removes and returns the edits not yet classified, so that edits made while they are classified are kept
+	 * for the next classification.
+	 *
+	 * @return the edits removed
+	 */
+	public static synchronized ArrayList<SemanticEntityVersion> takeEdits() {
+		ArrayList<SemanticEntityVersion> taken = edits;
 		edits = new ArrayList<>();
+		return taken;
+	}
+
+	/**
+	 * Returns edits taken with {@link #takeEdits()} whose classification failed, ahead of the edits made since, so
+	 * that the next classification includes them. A returned edit of a concept that was edited again after it was
+	 * taken is dropped in favor of the newer edit. Edit listeners are not told, so that a classification that keeps
+	 * failing is not retried in a loop.
+	 *
+	 * @param taken the edits to return
+	 */
+	public static synchronized void requeueEdits(List<SemanticEntityVersion> taken) {
+		MutableIntSet editedSince = IntSets.mutable.empty();
+		edits.forEach(edit -> editedSince.add(edit.referencedComponentNid()));
+		ArrayList<SemanticEntityVersion> requeued = new ArrayList<>(taken.size() + edits.size());
+		for (SemanticEntityVersion edit : taken) {
+			if (!editedSince.contains(edit.referencedComponentNid())) {
+				requeued.add(edit);
+			}
+		}
+		requeued.addAll(edits);
+		edits = requeued;
+	}
+
+	/**
+	 * @param listener called, on the thread that made the edit, after each edit is added
+	 */
+	public static void addEditListener(Runnable listener) {
+		editListeners.add(listener);
+	}
+
+	public static void removeEditListener(Runnable listener) {
+		editListeners.remove(listener);
 	}
 
 }
@@ -2,9 +2,14 @@
 
 import javafx.collections.ModifiableObservableListBase;
 import org.eclipse.collections.api.list.primitive.ImmutableIntList;
+import org.eclipse.collections.api.list.primitive.IntList;
 import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.set.primitive.IntSet;
 import org.eclipse.collections.impl.factory.primitive.IntLists;
 
+import java.util.AbstractList;
+import java.util.List;
+
 /**
  * An observable list implementation that stores primitive int values using Eclipse Collections' 
  * {@link MutableIntList} as the backing collection, while providing JavaFX observable capabilities
@@ -301,7 +306,6 @@ public boolean removeInt(int value) {
     public void setAll(int... values) {
         beginChange();
         try {
-            int oldSize = backingList.size();
             // Capture old values before clearing
             MutableIntList oldValues = IntLists.mutable.withAll(backingList);
             
@@ -310,10 +314,7 @@ public void setAll(int... values) {
 
             // Notify listeners of the change
             if (oldValues.notEmpty()) {
-                // Convert to java.util.List<Integer>
-                java.util.List<Integer> removedList = new java.util.ArrayList<>(oldValues.size());
-                oldValues.forEach(removedList::add);
-                nextRemove(0, removedList);
+                nextRemove(0, boxedView(oldValues));
             }
             if (values.length > 0) {
                 nextAdd(0, values.length);
@@ -342,10 +343,7 @@ public void setAll(ImmutableIntList values) {
 
             // Notify listeners of the change
             if (oldValues.notEmpty()) {
-                // Convert to java.util.List<Integer>
-                java.util.List<Integer> removedList = new java.util.ArrayList<>(oldValues.size());
-                oldValues.forEach(removedList::add);
-                nextRemove(0, removedList);
+                nextRemove(0, boxedView(oldValues));
             }
             if (values.notEmpty()) {
                 nextAdd(0, values.size());
@@ -354,5 +352,113 @@ public void setAll(ImmutableIntList values) {
             endChange();
         }
     }
-}
 
+    /**
+     * Appends all the specified primitive int values to the end of this list, firing a single
+     * change notification to listeners.
+     *
+     * @param values the primitive int values to append
+     * @return true if the list changed as a result of the call
+     */
+    public boolean addAllInts(int... values) {
+        if (values.length == 0) {
+            return false;
+        }
+        beginChange();
+        try {
+            int from = backingList.size();
+            backingList.addAll(values);
+            nextAdd(from, backingList.size());
+            return true;
+        } finally {
+            endChange();
+        }
+    }
+
+    /**
+     * Removes the elements at the specified indices, firing a single change notification to listeners.
+     * <p>
+     * The indices may be in any order and may contain duplicates. The remaining elements are compacted
+     * in one pass, so removing many elements from a large list is linear in the size of the list rather
+     * than proportional to the product of the list size and the number of removed elements.
+     *
+     * @param indices the indices of the elements to remove
+     * @return the number of elements removed
+     * @throws IndexOutOfBoundsException if any index is out of range
+     */
+    public int removeIndices(int... indices) {
+        if (indices.length == 0) {
+            return 0;
+        }
+        int size = backingList.size();
+        boolean[] remove = new boolean[size];
+        for (int index : indices) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            remove[index] = true;
+        }
+        return removeMarked(remove);
+    }
+
+    /**
+     * Removes every occurrence of the specified primitive int values from this list, firing a single
+     * change notification to listeners.
+     *
+     * @param values the primitive int values to remove
+     * @return the number of elements removed
+     */
+    public int removeAllInts(IntSet values) {
+        if (values.isEmpty() || backingList.isEmpty()) {
+            return 0;
+        }
+        boolean[] remove = new boolean[backingList.size()];
+        for (int i = 0; i < remove.length; i++) {
+            remove[i] = values.contains(backingList.get(i));
+        }
+        return removeMarked(remove);
+    }
+
+    private int removeMarked(boolean[] remove) {
+        beginChange();
+        try {
+            MutableIntList kept = IntLists.mutable.withInitialCapacity(remove.length);
+            int removedCount = 0;
+            for (int i = 0; i < remove.length; i++) {
+                int value = backingList.get(i);
+                if (remove[i]) {
+                    // Positions of removals are reported relative to the list after prior removals.
+                    nextRemove(i - removedCount, value);
+                    removedCount++;
+                } else {
+                    kept.add(value);
+                }
+            }
+            if (removedCount > 0) {
+                backingList.clear();
+                backingList.addAll(kept);
+            }
+            return removedCount;
+        } finally {
+            endChange();
+        }
+    }
+
+    /**
+     * Read only boxed view of a primitive list, used to report removed elements to listeners
+     * without copying them into a list of {@code Integer}.
+     */
+    private static List<Integer> boxedView(IntList values) {
+        return new AbstractList<>() {
+            @Override
+            public Integer get(int index) {
+                return values.get(index);
+            }
+
+            @Override
+            public int size() {
+                return values.size();
+            }
+        };
+    }
+}
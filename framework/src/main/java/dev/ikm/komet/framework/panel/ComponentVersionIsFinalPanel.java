@@ -45,11 +45,14 @@
 import dev.ikm.tinkar.entity.transaction.CommitVersionTask;
 import dev.ikm.tinkar.entity.transaction.Transaction;
 import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
+import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.MenuButton;
+import javafx.scene.control.MenuItem;
 import javafx.scene.control.TitledPane;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
@@ -61,6 +64,7 @@
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 
 public abstract class ComponentVersionIsFinalPanel<OV extends ObservableEntityVersion> {
@@ -69,6 +73,8 @@
 	protected final TitledPane collapsiblePane = new TitledPane("version", versionDetailsPane);
 	private final OV observableVersion;
 	private final ViewProperties viewProperties;
+	private final ChangeListener<Scene> sceneListener;
+	private CompletableFuture<ImmutableList<Consequence<?>>> evaluation;
 
 	public ComponentVersionIsFinalPanel(OV observableVersion, ViewProperties viewProperties) {
 		this.observableVersion = observableVersion;
@@ -99,61 +105,92 @@ public ComponentVersionIsFinalPanel(OV observableVersion, ViewProperties viewPro
 				observableVersion.uncommitted());
 		this.collapsiblePane.getStyleClass().add(COMPONENT_VERSION_PANEL.toString());
 
-		// Don't block on computation of actions for component version...
-		TinkExecutor.threadPool().execute(() -> {
-			ObservationRecord observation = new ObservationRecord(Topic.COMPONENT_FOCUSED,
-					observableVersion.getVersionRecord(), Measures.present());
-			ImmutableList<Consequence<?>> consequences = RuleService.get().execute("Knowledge base name",
-					Lists.immutable.of(observation), viewProperties, viewProperties.nodeView().editCoordinate());
-			if (consequences.notEmpty()) {
-				Platform.runLater(() -> {
-					MenuButton menuButton = new MenuButton("", Icon.EDIT_PENCIL.makeIcon());
-					menuButton.getStyleClass().add(EDIT_COMPONENT_BUTTON.toString());
-					for (Consequence<?> consequence : consequences) {
-						switch (consequence) {
-						case ConsequenceMenu consequenceMenu -> {
-							menuButton.getItems().add(consequenceMenu.generatedMenu());
-						}
-						case ConsequenceAction consequenceAction -> {
-							if (consequenceAction.generatedAction() instanceof Action action) {
-								menuButton.getItems().add(ActionUtils.createMenuItem(action));
-							} else {
-								LOG.error("Can't handle action of type: "
-										+ consequenceAction.generatedAction().getClass().getName() + "\n\n"
-										+ consequenceAction.generatedAction());
-							}
-						}
-						default -> LOG.error("Can't handle consequence of type: " + consequence);
-						}
-					}
-					menuButton.getItems().sort((o1, o2) -> NaturalOrder.compareStrings(o1.getText(), o2.getText()));
-					ArrayList<Node> buttonList = new ArrayList<>(3);
-					buttonList.add(menuButton);
-					if (observableVersion.uncommitted()) {
-						buttonList.add(newCancelComponentButton(observableVersion));
-						if (observableVersion instanceof SemanticEntityVersion semanticEntityVersion) {
-							Latest<EntityVersion> latestReferencedEntity = viewProperties.calculator()
-									.latest(semanticEntityVersion.referencedComponentNid());
-							if (latestReferencedEntity.isPresentAnd(entityVersion -> entityVersion.committed())) {
-								buttonList.add(newCommitVersionButton(observableVersion));
-							}
-						} else {
-							buttonList.add(newCommitVersionButton(observableVersion));
-						}
-						buttonList.add(newCancelTransactionButton(observableVersion));
-						buttonList.add(newCommitTransactionButton(observableVersion));
-					}
-					if (buttonList.size() == 1) {
-						stampLabel.setGraphic(buttonList.get(0));
+		// Don't block on computation of actions for component version: show the edit menu with a placeholder,
+		// and fill it in when the rules have been evaluated.
+		MenuButton menuButton = new MenuButton("", Icon.EDIT_PENCIL.makeIcon());
+		menuButton.getStyleClass().add(EDIT_COMPONENT_BUTTON.toString());
+		MenuItem evaluating = new MenuItem("Evaluating rules...");
+		evaluating.setDisable(true);
+		menuButton.getItems().add(evaluating);
+		ArrayList<Node> buttonList = new ArrayList<>(3);
+		buttonList.add(menuButton);
+		if (observableVersion.uncommitted()) {
+			buttonList.add(newCancelComponentButton(observableVersion));
+			if (observableVersion instanceof SemanticEntityVersion semanticEntityVersion) {
+				Latest<EntityVersion> latestReferencedEntity = viewProperties.calculator()
+						.latest(semanticEntityVersion.referencedComponentNid());
+				if (latestReferencedEntity.isPresentAnd(entityVersion -> entityVersion.committed())) {
+					buttonList.add(newCommitVersionButton(observableVersion));
+				}
+			} else {
+				buttonList.add(newCommitVersionButton(observableVersion));
+			}
+			buttonList.add(newCancelTransactionButton(observableVersion));
+			buttonList.add(newCommitTransactionButton(observableVersion));
+		}
+		HBox buttonsBox = new HBox();
+		buttonsBox.getChildren().addAll(buttonList);
+		stampLabel.setGraphic(buttonList.size() == 1 ? menuButton : buttonsBox);
+
+		// The panel leaves the scene when the focus moves to another component, or while its parent is
+		// rebuilt; stop evaluating while detached, and evaluate again if it is attached before the menu is filled.
+		this.sceneListener = (observable, oldScene, newScene) -> {
+			if (newScene == null) {
+				if (this.evaluation != null) {
+					this.evaluation.cancel(false);
+					this.evaluation = null;
+				}
+			} else if (this.evaluation == null) {
+				evaluateRules(menuButton, buttonList, buttonsBox, stampLabel);
+			}
+		};
+		this.collapsiblePane.sceneProperty().addListener(this.sceneListener);
+		evaluateRules(menuButton, buttonList, buttonsBox, stampLabel);
+		this.collapsiblePane.setGraphic(stampLabel);
+	}
+
+	private void evaluateRules(MenuButton menuButton, ArrayList<Node> buttonList, HBox buttonsBox, Label stampLabel) {
+		ObservationRecord observation = new ObservationRecord(Topic.COMPONENT_FOCUSED,
+				observableVersion.getVersionRecord(), Measures.present());
+		CompletableFuture<ImmutableList<Consequence<?>>> submitted = RuleService.get().executeAsync(
+				"Knowledge base name", Lists.immutable.of(observation), viewProperties,
+				viewProperties.nodeView().editCoordinate());
+		this.evaluation = submitted;
+		submitted.whenComplete((consequences, throwable) -> Platform.runLater(() -> {
+			if (submitted.isCancelled() || this.evaluation != submitted) {
+				return;
+			}
+			// The menu is final now; detaching the panel no longer needs to cancel anything.
+			this.collapsiblePane.sceneProperty().removeListener(this.sceneListener);
+			if (throwable != null) {
+				LOG.error("Rule evaluation failed", throwable);
+			}
+			if (throwable != null || consequences.isEmpty()) {
+				// Nothing to edit; keep only the transaction buttons, if any.
+				buttonsBox.getChildren().remove(menuButton);
+				stampLabel.setGraphic(buttonList.size() == 1 ? null : buttonsBox);
+				return;
+			}
+			menuButton.getItems().clear();
+			for (Consequence<?> consequence : consequences) {
+				switch (consequence) {
+				case ConsequenceMenu consequenceMenu -> {
+					menuButton.getItems().add(consequenceMenu.generatedMenu());
+				}
+				case ConsequenceAction consequenceAction -> {
+					if (consequenceAction.generatedAction() instanceof Action action) {
+						menuButton.getItems().add(ActionUtils.createMenuItem(action));
 					} else {
-						HBox buttonsBox = new HBox();
-						buttonsBox.getChildren().addAll(buttonList);
-						stampLabel.setGraphic(buttonsBox);
+						LOG.error("Can't handle action of type: "
+								+ consequenceAction.generatedAction().getClass().getName() + "\n\n"
+								+ consequenceAction.generatedAction());
 					}
-				});
+				}
+				default -> LOG.error("Can't handle consequence of type: " + consequence);
+				}
 			}
-		});
-		this.collapsiblePane.setGraphic(stampLabel);
+			menuButton.getItems().sort((o1, o2) -> NaturalOrder.compareStrings(o1.getText(), o2.getText()));
+		}));
 	}
 
 	protected abstract Node makeCenterNode(OV version, ViewProperties viewProperties);
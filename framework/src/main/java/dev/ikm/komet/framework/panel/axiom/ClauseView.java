@@ -62,6 +62,7 @@
 import dev.ikm.tinkar.terms.EntityFacade;
 import dev.ikm.tinkar.terms.State;
 import dev.ikm.tinkar.terms.TinkarTerm;
+import javafx.application.Platform;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.event.Event;
 import javafx.geometry.Bounds;
@@ -104,6 +105,7 @@
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Each clause in an axiom is presented with the ClauseView.
@@ -111,6 +113,11 @@
 public class ClauseView {
     private static final Logger LOG = LoggerFactory.getLogger(ClauseView.class);
 
+    /**
+     * The rule evaluation for the edit menu most recently opened, by any clause; accessed on the FX thread.
+     */
+    private static CompletableFuture<ImmutableList<Consequence<?>>> pendingEvaluation;
+
     protected final AxiomView axiomView;
     protected final EntityVertex axiomVertex;
     protected final Label titleLabel = new Label();
@@ -704,9 +711,13 @@ private void toggleExpansion() {
     }
 
     protected final void handleEditClick(MouseEvent mouseEvent) {
+        // A new edit menu makes the evaluation for any other menu stale.
+        cancelPendingEvaluation();
+
         ContextMenu contextMenu = new ContextMenu();
-        MenuItem doNothing = new MenuItemWithText("");
-        contextMenu.getItems().addAll(doNothing);
+        MenuItem evaluating = new MenuItemWithText("Evaluating rules...");
+        evaluating.setDisable(true);
+        contextMenu.getItems().addAll(evaluating);
 
         AxiomSubjectRecord axiomSubjectRecord = new AxiomSubjectRecord(this.axiomVertex.vertexIndex(),
                 this.axiomView.axiomTree,
@@ -716,54 +727,77 @@ protected final void handleEditClick(MouseEvent mouseEvent) {
         ObservationRecord observation = new ObservationRecord(Topic.AXIOM_FOCUSED,
                 axiomSubjectRecord, Measures.present());
 
-        ImmutableList<Consequence<?>> consequences =
-                RuleService.get().execute("Knowledge base name",
+        CompletableFuture<ImmutableList<Consequence<?>>> evaluation =
+                RuleService.get().executeAsync("Knowledge base name",
                         Lists.immutable.of(observation),
                         axiomView.viewProperties,
                         axiomView.viewProperties.nodeView().editCoordinate());
+        pendingEvaluation = evaluation;
+        // The menu hides when it loses focus, or when an item is chosen; either way the evaluation is stale.
+        contextMenu.setOnHidden(event -> evaluation.cancel(false));
+        evaluation.whenComplete((consequences, throwable) -> Platform.runLater(() -> {
+            if (evaluation.isCancelled() || !contextMenu.isShowing()) {
+                return;
+            }
+            if (throwable != null) {
+                LOG.error("Rule evaluation failed", throwable);
+                contextMenu.hide();
+            } else if (consequences.isEmpty()) {
+                contextMenu.hide();
+            } else {
+                fillEditMenu(contextMenu, consequences);
+            }
+        }));
 
+        mouseEvent.consume();
+        contextMenu.show(editButton, mouseEvent.getScreenX(), mouseEvent.getScreenY());
+    }
 
-        if (consequences.notEmpty()) {
-            contextMenu.getItems().clear();
-            contextMenu.getItems().add(new SeparatorMenuItem());
-            for (Consequence<?> consequence : consequences) {
-                switch (consequence) {
-                    case ConsequenceAction consequenceAction -> {
-                        if (consequenceAction.generatedAction() instanceof Action action) {
-                            if (action instanceof ActionGroup) {
-                                ActionGroup actionGroup = (ActionGroup) action;
-                                Menu menu = ActionUtils.createMenu(action);
-                                //menu.setGraphic(actionGroup.getGraphic());
-                                for (Action actionInGroup : actionGroup.getActions()) {
-                                    if (actionInGroup == ActionUtils.ACTION_SEPARATOR) {
-                                        menu.getItems().add(new SeparatorMenuItem());
-                                    } else {
-                                        menu.getItems().add(ActionUtils.createMenuItem(actionInGroup));
-                                    }
-                                }
-                                contextMenu.getItems().add(menu);
-                            } else {
-                                if (action == ActionUtils.ACTION_SEPARATOR) {
-                                    contextMenu.getItems().add(new SeparatorMenuItem());
+    private static void cancelPendingEvaluation() {
+        CompletableFuture<ImmutableList<Consequence<?>>> evaluation = pendingEvaluation;
+        if (evaluation != null) {
+            evaluation.cancel(false);
+            pendingEvaluation = null;
+        }
+    }
+
+    private void fillEditMenu(ContextMenu contextMenu, ImmutableList<Consequence<?>> consequences) {
+        contextMenu.getItems().clear();
+        contextMenu.getItems().add(new SeparatorMenuItem());
+        for (Consequence<?> consequence : consequences) {
+            switch (consequence) {
+                case ConsequenceAction consequenceAction -> {
+                    if (consequenceAction.generatedAction() instanceof Action action) {
+                        if (action instanceof ActionGroup) {
+                            ActionGroup actionGroup = (ActionGroup) action;
+                            Menu menu = ActionUtils.createMenu(action);
+                            //menu.setGraphic(actionGroup.getGraphic());
+                            for (Action actionInGroup : actionGroup.getActions()) {
+                                if (actionInGroup == ActionUtils.ACTION_SEPARATOR) {
+                                    menu.getItems().add(new SeparatorMenuItem());
                                 } else {
-                                    contextMenu.getItems().add(ActionUtils.createMenuItem(action));
+                                    menu.getItems().add(ActionUtils.createMenuItem(actionInGroup));
                                 }
                             }
+                            contextMenu.getItems().add(menu);
                         } else {
-                            LOG.error("Can't handle action of type: " + consequenceAction.generatedAction().getClass().getName() + "\n\n" + consequenceAction.generatedAction());
+                            if (action == ActionUtils.ACTION_SEPARATOR) {
+                                contextMenu.getItems().add(new SeparatorMenuItem());
+                            } else {
+                                contextMenu.getItems().add(ActionUtils.createMenuItem(action));
+                            }
                         }
+                    } else {
+                        LOG.error("Can't handle action of type: " + consequenceAction.generatedAction().getClass().getName() + "\n\n" + consequenceAction.generatedAction());
                     }
+                }
 
-                    case ConsequenceMenu consequenceMenu -> {
-                        contextMenu.getItems().add(consequenceMenu.generatedMenu());
-                    }
-
-                    default -> LOG.error("Can't handle consequence of type: " + consequence);
+                case ConsequenceMenu consequenceMenu -> {
+                    contextMenu.getItems().add(consequenceMenu.generatedMenu());
                 }
-            }
 
-            mouseEvent.consume();
-            contextMenu.show(editButton, mouseEvent.getScreenX(), mouseEvent.getScreenY());
+                default -> LOG.error("Can't handle consequence of type: " + consequence);
+            }
         }
     }
 
@@ -16,14 +16,31 @@
 package dev.ikm.komet.framework.performance;
 
 import org.eclipse.collections.api.list.ImmutableList;
-import dev.ikm.komet.framework.performance.impl.StatementHashStore;
+import dev.ikm.komet.framework.performance.impl.ConcurrentStatementStore;
 
+/**
+ * Statements, indexed for the rules that read them. Implementations are thread safe, and the lists returned
+ * are snapshots that later additions do not change.
+ */
 public interface StatementStore {
     static StatementStore make(Statement... statements) {
-        return new StatementHashStore(statements);
+        return new ConcurrentStatementStore(statements);
     }
 
     ImmutableList<Statement> statementsForTopic(Topic topic);
 
+    /**
+     * @param subjectNid the nid of a component
+     * @return the statements whose subject is the component, or a version of it
+     */
+    ImmutableList<Statement> statementsForSubject(int subjectNid);
+
+    /**
+     * @return all statements, in the order added
+     */
+    ImmutableList<Statement> statements();
+
+    int size();
+
     void addStatement(Statement statement);
 }
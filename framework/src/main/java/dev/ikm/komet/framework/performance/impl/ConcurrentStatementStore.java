@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.performance.impl;
+
+import dev.ikm.komet.framework.performance.Statement;
+import dev.ikm.komet.framework.performance.StatementStore;
+import dev.ikm.komet.framework.performance.Topic;
+import dev.ikm.tinkar.entity.EntityVersion;
+import dev.ikm.tinkar.terms.EntityFacade;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread safe {@link StatementStore}, indexed by topic and by the nid of the statement subject.
+ * <p>
+ * Each index entry is an append only log of statements. Adding a statement appends it to the logs of the
+ * store, its topic and its subject, which takes constant time however many statements the logs hold. A read
+ * returns an immutable snapshot of the log, made by the first read after an addition and shared by the reads
+ * that follow until the next one, so callers may iterate it without copying or locking. Rules read far more
+ * often than they add statements, so most reads return a snapshot already made, and adding many statements
+ * between reads costs one copy, not one per statement.
+ * <p>
+ * A statement is added to the log of all statements first, then to the topic index, then to the subject
+ * index; a reader may briefly see it in the first and not yet in the others.
+ */
+public class ConcurrentStatementStore implements StatementStore {
+    private final StatementLog statements = new StatementLog();
+    private final ConcurrentHashMap<Topic, StatementLog> statementsByTopic = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, StatementLog> statementsBySubjectNid = new ConcurrentHashMap<>();
+
+    public ConcurrentStatementStore(Statement... statements) {
+        for (Statement statement : statements) {
+            addStatement(statement);
+        }
+    }
+
+    @Override
+    public ImmutableList<Statement> statementsForTopic(Topic topic) {
+        StatementLog log = statementsByTopic.get(topic);
+        return log == null ? Lists.immutable.empty() : log.snapshot();
+    }
+
+    @Override
+    public ImmutableList<Statement> statementsForSubject(int subjectNid) {
+        StatementLog log = statementsBySubjectNid.get(subjectNid);
+        return log == null ? Lists.immutable.empty() : log.snapshot();
+    }
+
+    @Override
+    public ImmutableList<Statement> statements() {
+        return statements.snapshot();
+    }
+
+    @Override
+    public int size() {
+        return statements.size();
+    }
+
+    @Override
+    public void addStatement(Statement statement) {
+        statements.add(statement);
+        statementsByTopic.computeIfAbsent(statement.topic(), _ -> new StatementLog()).add(statement);
+        subjectNid(statement).ifPresent(nid ->
+                statementsBySubjectNid.computeIfAbsent(nid, _ -> new StatementLog()).add(statement));
+    }
+
+    /**
+     * @return the nid of the statement subject, if the subject is a component or a component version
+     */
+    public static OptionalInt subjectNid(Statement statement) {
+        return switch (statement.subject()) {
+            case EntityVersion entityVersion -> OptionalInt.of(entityVersion.nid());
+            case EntityFacade entityFacade -> OptionalInt.of(entityFacade.nid());
+            case null, default -> OptionalInt.empty();
+        };
+    }
+
+    /**
+     * Statements in the order added, with the snapshot of them made by the last read, if none have been added
+     * since.
+     */
+    private static final class StatementLog {
+        private final ArrayList<Statement> statements = new ArrayList<>();
+        private volatile ImmutableList<Statement> snapshot = Lists.immutable.empty();
+
+        synchronized void add(Statement statement) {
+            statements.add(statement);
+            snapshot = null;
+        }
+
+        ImmutableList<Statement> snapshot() {
+            ImmutableList<Statement> current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            synchronized (this) {
+                if (snapshot == null) {
+                    snapshot = Lists.immutable.withAll(statements);
+                }
+                return snapshot;
+            }
+        }
+
+        synchronized int size() {
+            return statements.size();
+        }
+    }
+}
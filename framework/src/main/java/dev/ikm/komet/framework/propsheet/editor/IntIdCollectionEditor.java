@@ -30,14 +30,13 @@
 import javafx.scene.layout.CornerRadii;
 import javafx.scene.paint.Color;
 import org.controlsfx.property.editor.PropertyEditor;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
 import dev.ikm.komet.framework.PseudoClasses;
 import dev.ikm.komet.framework.dnd.DragImageMaker;
 import dev.ikm.komet.framework.dnd.KometClipboard;
+import dev.ikm.komet.framework.observable.collection.ObservableIntList;
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.tinkar.common.id.IntIdCollection;
-import dev.ikm.tinkar.common.id.IntIdList;
-import dev.ikm.tinkar.common.id.IntIdSet;
-import dev.ikm.tinkar.common.id.IntIds;
 import dev.ikm.tinkar.coordinate.stamp.calculator.Latest;
 import dev.ikm.tinkar.entity.Entity;
 import dev.ikm.tinkar.entity.EntityVersion;
@@ -55,7 +54,12 @@
     private static final Logger LOG = LoggerFactory.getLogger(IntIdCollectionEditor.class);
     protected final BorderPane editorPane = new BorderPane();
     protected final ToolBar editorToolbar = new ToolBar();
-    protected final ListView<Integer> listView = new ListView();
+    /**
+     * Nids of the items, stored unboxed. The list view only creates cells, and computes descriptions,
+     * for the visible rows.
+     */
+    protected final ObservableIntList items = new ObservableIntList();
+    protected final ListView<Integer> listView = new ListView<>(items);
     protected final ViewProperties viewProperties;
     SimpleObjectProperty<T> entitiesCollectionProperty;
     TransferMode[] transferMode = null;
@@ -93,7 +97,7 @@ private void handleDragDetected(MouseEvent event) {
         LOG.debug("Drag detected: " + event);
 
         if (!listView.getSelectionModel().getSelectedIndices().isEmpty()) {
-            int nid = listView.getSelectionModel().getSelectedIndices().get(0);
+            int nid = items.getInt(listView.getSelectionModel().getSelectedIndices().get(0));
             Dragboard db = listView.startDragAndDrop(TransferMode.COPY);
             DragImageMaker dragImageMaker = new DragImageMaker(listView);
             db.setDragView(dragImageMaker.getDragImage());
@@ -171,18 +175,7 @@ private void dragDropped(DragEvent event) {
          * transferred and used */
         optionalNid.ifPresentOrElse(nid -> {
             event.setDropCompleted(true);
-            T oldIds = entitiesCollectionProperty.getValue();
-            switch (oldIds) {
-                case IntIdList oldList -> {
-                    IntIdList newList = IntIds.list.of(oldList, nid);
-                    setValue((T) newList);
-                }
-                case IntIdSet oldSet -> {
-                    IntIdSet newSet = IntIds.set.of(oldSet, nid);
-                    setValue((T) newSet);
-                }
-                default -> throw new IllegalStateException("Unexpected value: " + oldIds);
-            }
+            addNids(nid);
         }, () -> event.setDropCompleted(false));
 
         event.consume();
@@ -190,6 +183,30 @@ private void dragDropped(DragEvent event) {
 
     abstract void deleteSelectedItems(MultipleSelectionModel<Integer> selectionModel);
 
+    /**
+     * Adds items to the collection, updating the list view with a single change event.
+     *
+     * @param nids the nids of the items to add
+     */
+    public abstract void addNids(int... nids);
+
+    /**
+     * Removes the selected items from the collection, updating the list view with a single change event.
+     */
+    public void removeSelectedItems() {
+        deleteSelectedItems(listView.getSelectionModel());
+    }
+
+    /**
+     * Replaces the items with the nids of a new value, unless the items already hold them, as they do after
+     * an in place bulk update. Must be called on the FX application thread.
+     */
+    void setItems(int[] nids) {
+        if (!items.getBackingList().equals(IntLists.mutable.with(nids))) {
+            items.setAll(nids);
+        }
+    }
+
     public MultipleSelectionModel<Integer> getSelectionModel() {
         return this.listView.getSelectionModel();
     }
@@ -213,6 +230,25 @@ public ObservableList<Integer> getItems() {
         return this.listView.getItems();
     }
 
+    /**
+     * @return the nids of the items, for primitive access without boxing
+     */
+    public ObservableIntList getIntItems() {
+        return this.items;
+    }
+
+    /**
+     * @return the nids of the selected items, in selection order
+     */
+    public int[] getSelectedNids() {
+        ObservableList<Integer> selectedIndices = listView.getSelectionModel().getSelectedIndices();
+        int[] selectedNids = new int[selectedIndices.size()];
+        for (int i = 0; i < selectedNids.length; i++) {
+            selectedNids[i] = items.getInt(selectedIndices.get(i));
+        }
+        return selectedNids;
+    }
+
     class EntityCell extends ListCell<Integer> {
 
         int entityNid = Integer.MIN_VALUE;
@@ -18,12 +18,9 @@
 import javafx.application.Platform;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.scene.control.MultipleSelectionModel;
-import org.eclipse.collections.api.list.primitive.MutableIntList;
-import org.eclipse.collections.impl.factory.primitive.IntLists;
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.tinkar.common.id.IntIdList;
 import dev.ikm.tinkar.common.id.IntIds;
-import dev.ikm.tinkar.common.service.TinkExecutor;
 
 public class IntIdListEditor extends IntIdCollectionEditor<IntIdList> {
 
@@ -33,22 +30,27 @@ public IntIdListEditor(ViewProperties viewProperties, SimpleObjectProperty<IntId
     }
 
     void updateListView(IntIdList newValue) {
-        TinkExecutor.threadPool().execute(() -> {
-            Platform.runLater(() -> {
-                listView.getItems().clear();
-                if (newValue != null) {
-                    listView.getItems().addAll(newValue.intStream().mapToObj(nid -> nid).toList());
-                }
-            });
-        });
+        int[] nids = newValue == null ? new int[0] : newValue.toArray();
+        if (Platform.isFxApplicationThread()) {
+            setItems(nids);
+        } else {
+            Platform.runLater(() -> setItems(nids));
+        }
     }
 
     @Override
     void deleteSelectedItems(MultipleSelectionModel<Integer> selectionModel) {
-        MutableIntList currentList = IntLists.mutable.of(getValue().toArray());
-        for (Integer index : listView.getSelectionModel().getSelectedIndices().sorted((x, y) -> Integer.compare(y, x))) {
-            currentList.removeAtIndex(index);
+        int[] selectedIndices = selectionModel.getSelectedIndices().stream().mapToInt(Integer::intValue).toArray();
+        selectionModel.clearSelection();
+        if (items.removeIndices(selectedIndices) > 0) {
+            setValue(IntIds.list.of(items.getBackingList().toArray()));
+        }
+    }
+
+    @Override
+    public void addNids(int... nids) {
+        if (items.addAllInts(nids)) {
+            setValue(IntIds.list.of(items.getBackingList().toArray()));
         }
-        setValue(IntIds.list.of(currentList.toArray()));
     }
 }
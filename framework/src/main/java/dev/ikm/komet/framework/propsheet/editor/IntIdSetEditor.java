@@ -18,9 +18,7 @@
 import javafx.application.Platform;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.scene.control.MultipleSelectionModel;
-import org.eclipse.collections.api.list.primitive.MutableIntList;
 import org.eclipse.collections.api.set.primitive.MutableIntSet;
-import org.eclipse.collections.impl.factory.primitive.IntLists;
 import org.eclipse.collections.impl.factory.primitive.IntSets;
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.tinkar.common.id.IntIdSet;
@@ -28,6 +26,8 @@
 import dev.ikm.tinkar.common.service.TinkExecutor;
 import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
 
+import java.util.Arrays;
+
 public class IntIdSetEditor extends IntIdCollectionEditor<IntIdSet> {
 
     public IntIdSetEditor(ViewProperties viewProperties, SimpleObjectProperty<IntIdSet> intIdSetProperty) {
@@ -37,33 +37,40 @@ public IntIdSetEditor(ViewProperties viewProperties, SimpleObjectProperty<IntIdS
 
     void updateListView(IntIdSet newValue) {
         TinkExecutor.threadPool().execute(() -> {
-            MutableIntList nidList;
-            if (newValue == null) {
-                nidList = IntLists.mutable.empty();
-            } else {
-                nidList = IntLists.mutable.ofAll(newValue.intStream());
-            }
-
+            int[] nids = newValue == null ? new int[0] : newValue.toArray();
+            // Compute each description once, rather than twice per comparison.
             ViewCalculator calculator = viewProperties.calculator();
-            nidList.sortThis((nid1, nid2) -> calculator.getDescriptionTextOrNid(nid1)
-                    .compareTo(calculator.getDescriptionTextOrNid(nid2)));
-            Platform.runLater(() -> {
-                listView.getItems().clear();
-                listView.getItems().addAll(nidList.toList().primitiveStream().mapToObj(nid -> nid).toList());
-
-            });
+            String[] descriptions = new String[nids.length];
+            Integer[] order = new Integer[nids.length];
+            for (int i = 0; i < nids.length; i++) {
+                descriptions[i] = calculator.getDescriptionTextOrNid(nids[i]);
+                order[i] = i;
+            }
+            Arrays.sort(order, (i1, i2) -> descriptions[i1].compareTo(descriptions[i2]));
+            int[] sortedNids = new int[nids.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedNids[i] = nids[order[i]];
+            }
+            Platform.runLater(() -> setItems(sortedNids));
         });
     }
 
     @Override
     void deleteSelectedItems(MultipleSelectionModel<Integer> selectionModel) {
-        MutableIntSet intsToDelete = IntSets.mutable.empty();
-        for (Integer nid : listView.getSelectionModel().getSelectedItems()) {
-            intsToDelete.add(nid);
+        MutableIntSet intsToDelete = IntSets.mutable.of(getSelectedNids());
+        selectionModel.clearSelection();
+        // Removing keeps the remaining items sorted, so the list view is not sorted again.
+        if (items.removeAllInts(intsToDelete) > 0) {
+            setValue(IntIds.set.of(items.getBackingList().toArray()));
         }
-        IntIdSet remainingNidSet = IntIds.set.of(IntSets.mutable.ofAll(getValue().intStream()).withoutAll(intsToDelete).toArray());
-        setValue(remainingNidSet);
     }
-}
-
 
+    @Override
+    public void addNids(int... nids) {
+        MutableIntSet nidSet = IntSets.mutable.of(getValue().toArray());
+        if (nidSet.addAll(nids)) {
+            // The list view is sorted again, and set with a single change event, in updateListView.
+            setValue(IntIds.set.of(nidSet.toArray()));
+        }
+    }
+}
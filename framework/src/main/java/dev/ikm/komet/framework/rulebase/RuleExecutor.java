@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.rulebase;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The executor that evaluates rules for {@link RuleService#executeAsync}. Rule evaluation is kept off the
+ * JavaFX application thread, and off the general thread pool, so that menus waiting for rule results are not
+ * queued behind long running tasks such as imports or classification.
+ */
+public final class RuleExecutor {
+
+    /**
+     * Number of rule evaluations that run at once. Evaluations are short and started by user gestures, so a
+     * few threads are enough.
+     */
+    public static final int THREAD_COUNT = Math.max(2, Runtime.getRuntime().availableProcessors() / 4);
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREAD_COUNT,
+            Thread.ofPlatform()
+                    .name("Komet-rules-", 1)
+                    .daemon(true)
+                    .factory());
+
+    private RuleExecutor() {
+    }
+
+    public static ExecutorService get() {
+        return EXECUTOR;
+    }
+}
@@ -18,14 +18,66 @@
 import dev.ikm.komet.framework.performance.Statement;
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.tinkar.coordinate.edit.EditCoordinate;
+import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.list.ImmutableList;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface RuleService {
     static RuleService get() {
         return RuleServiceFinder.INSTANCE.get();
     }
+
+    /**
+     * Evaluates the statements against the rules, and returns the consequences, on the calling thread.
+     */
     ImmutableList<Consequence<?>> execute(String knowledgeBaseName,
                                           ImmutableList<Statement> statements,
                                           ViewProperties viewProperties,
                                           EditCoordinate editCoordinate);
+
+    /**
+     * Evaluates the statements against the rules on the {@link RuleExecutor}, so that the caller, typically the
+     * JavaFX application thread, is not blocked while the rules fire.
+     * <p>
+     * Cancelling the returned future before the evaluation starts skips the evaluation; cancelling it later
+     * discards the result, so that a menu is not filled with the consequences of a stale request.
+     *
+     * @return a future completed with the consequences, on a rule executor thread
+     */
+    default CompletableFuture<ImmutableList<Consequence<?>>> executeAsync(String knowledgeBaseName,
+                                                                          ImmutableList<Statement> statements,
+                                                                          ViewProperties viewProperties,
+                                                                          EditCoordinate editCoordinate) {
+        return CompletableFuture.supplyAsync(
+                () -> execute(knowledgeBaseName, statements, viewProperties, editCoordinate),
+                RuleExecutor.get());
+    }
+
+    /**
+     * @return the execution counts and timings of each rule, or an empty list if the service does not record them
+     */
+    default ImmutableList<RuleStatistics> ruleStatistics() {
+        return Lists.immutable.empty();
+    }
+
+    /**
+     * @return true if execution counts and timings are being recorded
+     */
+    default boolean isRecordingRuleStatistics() {
+        return false;
+    }
+
+    /**
+     * Switches the recording of execution counts and timings on or off. Recording is off by default, as it
+     * adds to the time of every evaluation; services that do not record them ignore this.
+     */
+    default void setRecordingRuleStatistics(boolean recording) {
+    }
+
+    /**
+     * Discards the recorded execution counts and timings.
+     */
+    default void resetRuleStatistics() {
+    }
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.rulebase;
+
+/**
+ * Execution counts and timings of one rule, accumulated since the rule service started or was last reset.
+ * <p>
+ * There is no condition time per rule: rules share conditions, which the rule engine evaluates once for all the
+ * rules that use them, so the time of a condition does not belong to any one rule.
+ *
+ * @param ruleSet      the name of the rule set of the rule
+ * @param rule         the name of the rule
+ * @param activations  the number of times the rule's action ran
+ * @param actionNanos  the time spent in the rule's action
+ * @param consequences the number of consequences the rule's action produced
+ */
+public record RuleStatistics(String ruleSet, String rule, long activations, long actionNanos, long consequences) {
+
+    /**
+     * @return the mean time of an action, in microseconds, or 0 if the rule has not been activated
+     */
+    public double meanActionMicros() {
+        return activations == 0 ? 0 : actionNanos / 1000.0 / activations;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.rulebase;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.ToolBar;
+import javafx.scene.layout.BorderPane;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.util.function.Function;
+
+/**
+ * A small diagnostic view of the {@link RuleStatistics} of the {@link RuleService}, listing each rule with its
+ * activations, action time, and consequences, slowest first. Recording is switched on and off from the view.
+ * Condition time is not listed, since conditions are shared by rules, see {@link RuleStatistics}.
+ */
+public class RuleStatisticsView {
+    private final BorderPane root = new BorderPane();
+    private final TableView<RuleStatistics> table = new TableView<>();
+    private final Label summary = new Label();
+
+    public RuleStatisticsView() {
+        table.getColumns().add(textColumn("Rule set", RuleStatistics::ruleSet, 160));
+        table.getColumns().add(textColumn("Rule", RuleStatistics::rule, 220));
+        table.getColumns().add(numberColumn("Activations", RuleStatistics::activations));
+        table.getColumns().add(numberColumn("Action ms", statistics -> statistics.actionNanos() / 1_000_000));
+        table.getColumns().add(numberColumn("Mean action µs", statistics -> Math.round(statistics.meanActionMicros())));
+        table.getColumns().add(numberColumn("Consequences", RuleStatistics::consequences));
+        table.setColumnResizePolicy(TableView.UNCONSTRAINED_RESIZE_POLICY);
+
+        Button refresh = new Button("Refresh");
+        refresh.setOnAction(event -> refresh());
+        Button reset = new Button("Reset");
+        reset.setOnAction(event -> {
+            RuleService.get().resetRuleStatistics();
+            refresh();
+        });
+        CheckBox record = new CheckBox("Record");
+        record.setSelected(RuleService.get().isRecordingRuleStatistics());
+        record.selectedProperty().addListener((observable, wasRecording, recording) ->
+                RuleService.get().setRecordingRuleStatistics(recording));
+        root.setTop(new ToolBar(record, refresh, reset, summary));
+        root.setCenter(table);
+        BorderPane.setMargin(table, new Insets(4));
+        Label conditionNote = new Label("Condition time is not shown per rule: rules share conditions, which "
+                + "are evaluated once for all the rules that use them.");
+        root.setBottom(conditionNote);
+        BorderPane.setMargin(conditionNote, new Insets(0, 4, 4, 4));
+        refresh();
+    }
+
+    /**
+     * Opens the view in its own window.
+     *
+     * @param owner the window the view belongs to, or null
+     */
+    public static void show(Window owner) {
+        Stage stage = new Stage();
+        if (owner != null) {
+            stage.initOwner(owner);
+        }
+        stage.setTitle("Rule metrics");
+        stage.setScene(new Scene(new RuleStatisticsView().getNode(), 1000, 400));
+        stage.show();
+    }
+
+    public BorderPane getNode() {
+        return root;
+    }
+
+    public void refresh() {
+        table.getItems().setAll(RuleService.get().ruleStatistics().castToList());
+        long totalNanos = table.getItems().stream().mapToLong(RuleStatistics::actionNanos).sum();
+        long activations = table.getItems().stream().mapToLong(RuleStatistics::activations).sum();
+        summary.setText(String.format("%,d rules, %,d activations, %,d ms in actions",
+                table.getItems().size(), activations, totalNanos / 1_000_000));
+    }
+
+    private static TableColumn<RuleStatistics, String> textColumn(String title,
+                                                                  Function<RuleStatistics, String> value,
+                                                                  double width) {
+        TableColumn<RuleStatistics, String> column = new TableColumn<>(title);
+        column.setCellValueFactory(cell -> new ReadOnlyStringWrapper(value.apply(cell.getValue())));
+        column.setPrefWidth(width);
+        return column;
+    }
+
+    private static TableColumn<RuleStatistics, Long> numberColumn(String title,
+                                                                  Function<RuleStatistics, Long> value) {
+        TableColumn<RuleStatistics, Long> column = new TableColumn<>(title);
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(value.apply(cell.getValue())));
+        column.setStyle("-fx-alignment: CENTER-RIGHT;");
+        return column;
+    }
+}
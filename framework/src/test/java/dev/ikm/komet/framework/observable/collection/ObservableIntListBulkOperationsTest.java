@@ -0,0 +1,120 @@
+package dev.ikm.komet.framework.observable.collection;
+
+import javafx.collections.ListChangeListener;
+import org.eclipse.collections.impl.factory.primitive.IntSets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ObservableIntList Bulk Operations Tests")
+class ObservableIntListBulkOperationsTest {
+
+    private ObservableIntList list;
+    private int changeEvents;
+    private List<String> changeLog;
+
+    @BeforeEach
+    void setUp() {
+        list = new ObservableIntList(10, 20, 30, 40, 50);
+        changeEvents = 0;
+        changeLog = new ArrayList<>();
+        list.addListener((ListChangeListener<Integer>) change -> {
+            changeEvents++;
+            while (change.next()) {
+                if (change.wasRemoved()) {
+                    changeLog.add("REMOVED:" + change.getRemoved() + " at " + change.getFrom());
+                }
+                if (change.wasAdded()) {
+                    changeLog.add("ADDED:" + change.getAddedSize() + " at " + change.getFrom());
+                }
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("addAllInts appends values with a single change event")
+    void testAddAllInts() {
+        assertTrue(list.addAllInts(60, 70, 80));
+
+        assertEquals(8, list.size());
+        assertEquals(80, list.getInt(7));
+        assertEquals(1, changeEvents);
+        assertEquals(List.of("ADDED:3 at 5"), changeLog);
+    }
+
+    @Test
+    @DisplayName("addAllInts with no values does not fire")
+    void testAddAllIntsEmpty() {
+        assertFalse(list.addAllInts());
+
+        assertEquals(5, list.size());
+        assertEquals(0, changeEvents);
+    }
+
+    @Test
+    @DisplayName("removeIndices removes unordered, duplicate indices with a single change event")
+    void testRemoveIndices() {
+        assertEquals(3, list.removeIndices(4, 0, 2, 2));
+
+        assertArrayEquals(new int[]{20, 40}, list.getBackingList().toArray());
+        assertEquals(1, changeEvents);
+        assertEquals(List.of("REMOVED:[10] at 0", "REMOVED:[30] at 1", "REMOVED:[50] at 2"), changeLog);
+    }
+
+    @Test
+    @DisplayName("removeIndices rejects an out of range index without changing the list")
+    void testRemoveIndicesOutOfRange() {
+        assertThrows(IndexOutOfBoundsException.class, () -> list.removeIndices(1, 5));
+
+        assertEquals(5, list.size());
+        assertEquals(0, changeEvents);
+    }
+
+    @Test
+    @DisplayName("removeAllInts removes every occurrence of the values with a single change event")
+    void testRemoveAllInts() {
+        list.addAllInts(20, 60);
+        changeEvents = 0;
+        changeLog.clear();
+
+        assertEquals(3, list.removeAllInts(IntSets.immutable.of(20, 40, 99)));
+
+        assertArrayEquals(new int[]{10, 30, 50, 60}, list.getBackingList().toArray());
+        assertEquals(1, changeEvents);
+    }
+
+    @Test
+    @DisplayName("setAll reports the removed values")
+    void testSetAllReportsRemoved() {
+        list.setAll(1, 2);
+
+        assertEquals(1, changeEvents);
+        assertTrue(changeLog.contains("REMOVED:[10, 20, 30, 40, 50] at 0"));
+    }
+
+    @Test
+    @DisplayName("Bulk operations on 100k elements fire a single change event each")
+    void testLargeBulkOperations() {
+        int[] values = new int[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        list.setAll(values);
+        assertEquals(1, changeEvents);
+
+        int[] everyOther = new int[values.length / 2];
+        for (int i = 0; i < everyOther.length; i++) {
+            everyOther[i] = i * 2;
+        }
+        assertEquals(everyOther.length, list.removeIndices(everyOther));
+
+        assertEquals(2, changeEvents);
+        assertEquals(values.length / 2, list.size());
+        assertEquals(1, list.getInt(0));
+    }
+}
@@ -0,0 +1,175 @@
+package dev.ikm.komet.framework.performance.impl;
+
+import dev.ikm.komet.framework.performance.Measures;
+import dev.ikm.komet.framework.performance.Statement;
+import dev.ikm.komet.framework.performance.StatementStore;
+import dev.ikm.komet.framework.performance.Topic;
+import dev.ikm.tinkar.terms.EntityProxy;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConcurrentStatementStore Tests")
+class ConcurrentStatementStoreTest {
+
+    private static final int WRITER_THREADS = 8;
+    private static final int READER_THREADS = 8;
+    private static final int STATEMENTS_PER_WRITER = 1_000;
+    private static final int SUBJECT_COUNT = 97;
+
+    private static Statement observation(Topic topic, int subjectNid) {
+        return new ObservationRecord(topic, EntityProxy.Concept.make(subjectNid), Measures.present());
+    }
+
+    @Test
+    @DisplayName("Statements are indexed by topic and subject nid")
+    void testIndexes() {
+        Statement focused = observation(Topic.COMPONENT_FOCUSED, 1);
+        Statement axiom = observation(Topic.AXIOM_FOCUSED, 1);
+        Statement other = observation(Topic.COMPONENT_FOCUSED, 2);
+        Statement request = RequestRecord.make(Topic.NEW_CONCEPT_REQUEST, "text");
+        StatementStore store = StatementStore.make(focused, axiom, other, request);
+
+        assertEquals(4, store.size());
+        assertEquals(List.of(focused, axiom, other, request), store.statements().castToList());
+        assertEquals(List.of(focused, other), store.statementsForTopic(Topic.COMPONENT_FOCUSED).castToList());
+        assertEquals(List.of(focused, axiom), store.statementsForSubject(1).castToList());
+        assertEquals(List.of(request), store.statementsForTopic(Topic.NEW_CONCEPT_REQUEST).castToList());
+        assertTrue(store.statementsForTopic(Topic.NEW_PATTERN_REQUEST).isEmpty());
+        assertTrue(store.statementsForSubject(3).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Returned lists are snapshots unchanged by later additions")
+    void testSnapshots() {
+        StatementStore store = StatementStore.make(observation(Topic.COMPONENT_FOCUSED, 1));
+        ImmutableList<Statement> topicSnapshot = store.statementsForTopic(Topic.COMPONENT_FOCUSED);
+        ImmutableList<Statement> subjectSnapshot = store.statementsForSubject(1);
+        ImmutableList<Statement> allSnapshot = store.statements();
+
+        store.addStatement(observation(Topic.COMPONENT_FOCUSED, 1));
+
+        assertEquals(1, topicSnapshot.size());
+        assertEquals(1, subjectSnapshot.size());
+        assertEquals(1, allSnapshot.size());
+        assertEquals(2, store.statementsForTopic(Topic.COMPONENT_FOCUSED).size());
+        assertEquals(2, store.statementsForSubject(1).size());
+    }
+
+    @Test
+    @DisplayName("Reads between additions share a snapshot, and bulk additions keep their order")
+    void testBulkAdditions() {
+        StatementStore store = StatementStore.make();
+        List<Statement> added = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            Statement statement = observation(Topic.COMPONENT_FOCUSED, i % SUBJECT_COUNT + 1);
+            added.add(statement);
+            store.addStatement(statement);
+        }
+        ImmutableList<Statement> snapshot = store.statements();
+        assertSame(snapshot, store.statements());
+        assertSame(store.statementsForSubject(1), store.statementsForSubject(1));
+        assertEquals(added, snapshot.castToList());
+        assertEquals(added.size(), store.statementsForTopic(Topic.COMPONENT_FOCUSED).size());
+
+        store.addStatement(observation(Topic.COMPONENT_FOCUSED, 1));
+        assertNotSame(snapshot, store.statements());
+        assertEquals(added.size() + 1, store.size());
+    }
+
+    @Test
+    @DisplayName("Concurrent writers and readers neither lose statements nor see torn lists")
+    void testContention() throws Exception {
+        StatementStore store = StatementStore.make();
+        Topic[] topics = {Topic.COMPONENT_FOCUSED, Topic.AXIOM_FOCUSED, Topic.PROPOSED_COMPONENT_CHANGE};
+        ExecutorService executor = Executors.newFixedThreadPool(WRITER_THREADS + READER_THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < WRITER_THREADS; writer++) {
+                final int writerIndex = writer;
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < STATEMENTS_PER_WRITER; i++) {
+                        int sequence = writerIndex * STATEMENTS_PER_WRITER + i;
+                        store.addStatement(observation(topics[sequence % topics.length], sequence % SUBJECT_COUNT + 1));
+                    }
+                    return null;
+                }));
+            }
+            List<Future<Long>> readers = new ArrayList<>();
+            for (int reader = 0; reader < READER_THREADS; reader++) {
+                final int readerIndex = reader;
+                readers.add(executor.submit(() -> {
+                    start.await();
+                    long reads = 0;
+                    int previousSize = 0;
+                    while (writing.get()) {
+                        // Snapshots only grow, and every element of a snapshot matches its index.
+                        ImmutableList<Statement> all = store.statements();
+                        assertTrue(all.size() >= previousSize);
+                        previousSize = all.size();
+                        Topic topic = topics[(int) (reads % topics.length)];
+                        for (Statement statement : store.statementsForTopic(topic)) {
+                            assertSame(topic, statement.topic());
+                        }
+                        int subjectNid = (int) ((reads + readerIndex) % SUBJECT_COUNT) + 1;
+                        for (Statement statement : store.statementsForSubject(subjectNid)) {
+                            assertEquals(subjectNid, ConcurrentStatementStore.subjectNid(statement).getAsInt());
+                        }
+                        reads++;
+                    }
+                    return reads;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            long totalReads = 0;
+            for (Future<Long> reader : readers) {
+                totalReads += reader.get(60, TimeUnit.SECONDS);
+            }
+            assertTrue(totalReads > 0);
+        } finally {
+            writing.set(false);
+            executor.shutdownNow();
+        }
+
+        int expected = WRITER_THREADS * STATEMENTS_PER_WRITER;
+        assertEquals(expected, store.size());
+        // Statements with the same topic and subject are equal, so count distinct instances.
+        Set<Statement> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinct.addAll(store.statements().castToList());
+        assertEquals(expected, distinct.size());
+
+        int topicTotal = 0;
+        for (Topic topic : topics) {
+            topicTotal += store.statementsForTopic(topic).size();
+        }
+        assertEquals(expected, topicTotal);
+
+        int subjectTotal = 0;
+        for (int nid = 1; nid <= SUBJECT_COUNT; nid++) {
+            subjectTotal += store.statementsForSubject(nid).size();
+        }
+        assertEquals(expected, subjectTotal);
+    }
+}
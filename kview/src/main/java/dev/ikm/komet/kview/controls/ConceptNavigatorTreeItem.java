@@ -1,5 +1,6 @@
 package dev.ikm.komet.kview.controls;
 
+import dev.ikm.komet.navigator.graph.ChildPager;
 import dev.ikm.komet.navigator.graph.Navigator;
 import dev.ikm.tinkar.common.service.TinkExecutor;
 import dev.ikm.tinkar.terms.ConceptFacade;
@@ -274,6 +275,31 @@ public final InvertedTree getInvertedTree() {
         return invertedTree;
     }
 
+    private ChildPager<ConceptNavigatorTreeItem> childPager;
+
+    /**
+     * <p>Gets the {@link ChildPager} that supplies the children of this concept TreeItem that
+     * have not been added yet, or null if all its children have been added.
+     * </p>
+     * @return a {@link ChildPager}, or null
+     */
+    public final ChildPager<ConceptNavigatorTreeItem> getChildPager() {
+        return childPager;
+    }
+
+    /**
+     * <p>Sets the {@link ChildPager} that supplies the remaining children of this concept TreeItem,
+     * cancelling any previous pager.
+     * </p>
+     * @param childPager a {@link ChildPager}, or null
+     */
+    final void setChildPager(ChildPager<ConceptNavigatorTreeItem> childPager) {
+        if (this.childPager != null && this.childPager != childPager) {
+            this.childPager.cancel();
+        }
+        this.childPager = childPager;
+    }
+
     private BitSet bitset;
 
     /**
@@ -1,5 +1,6 @@
 package dev.ikm.komet.kview.controls;
 
+import dev.ikm.komet.navigator.graph.DescendantCountIndex;
 import dev.ikm.komet.navigator.graph.Navigator;
 import dev.ikm.tinkar.coordinate.navigation.calculator.Edge;
 import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
@@ -102,9 +103,6 @@ public static WritableImage getTileSnapshot(ConceptTile tile) {
         return tile.snapshot(p, null);
     }
 
-    private static int levelCounter = 0;
-    private static int deepestNid;
-
     /**
      * <p>Recursive method that for a given nid, finds all of its parents, and for
      * each parent nid, repeats the process, until all ancestors are discovered. As
@@ -212,9 +210,9 @@ public static InvertedTree buildInvertedTree(int nid, Navigator navigator) {
      * @param navigator the {@link Navigator} that holds the dataset
      */
     public static void getConceptNavigatorDepth(int rootNid, Navigator navigator) {
-        levelCounter = 0;
-        deepestNid = 0;
-        getChildrenNid(rootNid, 0, navigator);
+        DescendantCountIndex index = DescendantCountIndex.forNavigator(navigator);
+        int levelCounter = index.getOrCompute(rootNid).height();
+        int deepestNid = findDeepestNid(rootNid, navigator, index);
 
         System.out.println("\n\nTree =======");
         printInvertedTree(deepestNid, navigator);
@@ -223,21 +221,36 @@ public static void getConceptNavigatorDepth(int rootNid, Navigator navigator) {
     }
 
     /**
-     * <p>Iterate recursively the dataset from top to bottom to find the deepest nid and
-     * its depth level.
+     * <p>Finds the deepest nid below a given nid, by following, from the top, the child with the
+     * highest subtree, as recorded by the {@link DescendantCountIndex}, instead of walking the whole dataset.
      * </p>
      * @param nid The nid of the concept
-     * @param level The level of the concept
      * @param navigator The {@link Navigator} that holds the dataset
+     * @param index The {@link DescendantCountIndex} for the navigator
+     * @return the nid of one of the deepest descendants, or the given nid if it is a leaf
      */
-    private static void getChildrenNid(int nid, int level, Navigator navigator) {
-        if (level > levelCounter) {
-            deepestNid = nid;
-        }
-        levelCounter = Math.max(levelCounter, level++);
-        for (Edge edge : navigator.getChildEdges(nid)) {
-            getChildrenNid(edge.destinationNid(), level, navigator);
+    private static int findDeepestNid(int nid, Navigator navigator, DescendantCountIndex index) {
+        int deepestNid = nid;
+        int height = index.getOrCompute(nid).height();
+        while (height > 0) {
+            int nextNid = deepestNid;
+            for (Edge edge : navigator.getChildEdges(deepestNid)) {
+                int childHeight = index.knownHeight(edge.destinationNid());
+                if (childHeight < 0) {
+                    childHeight = index.getOrCompute(edge.destinationNid()).height();
+                }
+                if (childHeight == height - 1) {
+                    nextNid = edge.destinationNid();
+                    break;
+                }
+            }
+            if (nextNid == deepestNid) {
+                break;
+            }
+            deepestNid = nextNid;
+            height--;
         }
+        return deepestNid;
     }
 
     /**
@@ -2,6 +2,7 @@
 
 import dev.ikm.komet.kview.controls.skin.ConceptNavigatorHelper;
 import dev.ikm.komet.kview.controls.skin.KLConceptNavigatorTreeViewSkin;
+import dev.ikm.komet.navigator.graph.ChildPager;
 import dev.ikm.komet.navigator.graph.Navigator;
 import dev.ikm.tinkar.common.service.TinkExecutor;
 import dev.ikm.tinkar.entity.Entity;
@@ -22,8 +23,10 @@
 import javafx.util.Duration;
 
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -138,6 +141,12 @@ public ConceptNavigatorTreeItem getConceptNavigatorTreeItem(KLConceptNavigatorCo
 
     private KLConceptNavigatorTreeViewSkin conceptNavigatorTreeViewSkin;
 
+    /**
+     * Parent tree items with a page of children currently being generated, accessed only from the
+     * JavaFX Application Thread.
+     */
+    private final Set<ConceptNavigatorTreeItem> pagesBeingFetched = new HashSet<>();
+
     /**
      * <p>Creates a {@link KLConceptNavigatorControl} instance, and sets by default a hidden root tree item, and a
      * multiple selection mode.
@@ -392,16 +401,53 @@ private List<ConceptNavigatorTreeItem> getConceptNavigatorRoot() {
     }
 
     /**
-     * For a given nid of a parent concept, {@link Navigator#getChildNids(int)} provides a list of
-     * {@link dev.ikm.tinkar.coordinate.navigation.calculator.Edge}, that is used to generate a
-     * list of {@link ConceptNavigatorTreeItem} as children of that concept.
-     * @param nid the nid of a parent concept
-     * @return a list of {@link ConceptNavigatorTreeItem} with the children of that parent
+     * <p>For a given parent {@link ConceptNavigatorTreeItem}, {@link Navigator#getChildEdges(int)} provides a list of
+     * {@link dev.ikm.tinkar.coordinate.navigation.calculator.Edge}, that is sorted by description and used to
+     * generate the first page of {@link ConceptNavigatorTreeItem} as children of that concept.
+     * </p>
+     * <p>A {@link ChildPager} is set on the parent, so the remaining children are only generated when the
+     * last child of the previous page is displayed.
+     * </p>
+     * @param parent the parent concept tree item
+     * @return a list of {@link ConceptNavigatorTreeItem} with the first page of children of that parent
+     * @see #fetchNextPageOfChildren(ConceptNavigatorTreeItem)
      */
-    private List<ConceptNavigatorTreeItem> getChildren(int nid) {
-        return getNavigator().getChildEdges(nid).stream()
-                .map(edge -> getConceptNavigatorTreeItem(edge.destinationNid(), nid))
-                .toList();
+    private List<ConceptNavigatorTreeItem> getFirstPageOfChildren(ConceptNavigatorTreeItem parent) {
+        int nid = parent.getValue().nid();
+        ChildPager<ConceptNavigatorTreeItem> pager = ChildPager.sorted(getNavigator().getChildEdges(nid),
+                getNavigator().getViewCalculator()::getDescriptionTextOrNid, ChildPager.DEFAULT_PAGE_SIZE,
+                edges -> edges.collect(edge -> getConceptNavigatorTreeItem(edge.destinationNid(), nid)).castToList());
+        List<ConceptNavigatorTreeItem> children = pager.nextPage();
+        if (Platform.isFxApplicationThread()) {
+            parent.setChildPager(pager);
+        } else {
+            Platform.runLater(() -> parent.setChildPager(pager));
+        }
+        return children;
+    }
+
+    /**
+     * <p>Appends the next page of children to a {@link ConceptNavigatorTreeItem} that has more children than
+     * those already added, generating them in a background thread. Does nothing if there are no more children
+     * or a page is already being fetched.
+     * </p>
+     * @param parent the parent concept tree item
+     */
+    void fetchNextPageOfChildren(ConceptNavigatorTreeItem parent) {
+        ChildPager<ConceptNavigatorTreeItem> pager = parent.getChildPager();
+        if (pager == null || !pager.hasMore() || pagesBeingFetched.contains(parent)) {
+            return;
+        }
+        pagesBeingFetched.add(parent);
+        TinkExecutor.threadPool().execute(() -> {
+            List<ConceptNavigatorTreeItem> page = pager.nextPage();
+            Platform.runLater(() -> {
+                pagesBeingFetched.remove(parent);
+                if (parent.getChildPager() == pager) {
+                    parent.getChildren().addAll(page);
+                }
+            });
+        });
     }
 
     /**
@@ -423,6 +469,7 @@ private ConceptNavigatorTreeItem getConceptNavigatorTreeItem(int nid, int parent
                 if (getRoot() != null) {
                     ConceptNavigatorUtils.iterateTree((ConceptNavigatorTreeItem) getRoot(), i -> {
                         if (i != null && i.getValue().nid() != nid && !i.getChildren().isEmpty() && !i.isExpanded()) {
+                            i.setChildPager(null);
                             i.getChildren().clear();
                         }
                     });
@@ -454,7 +501,7 @@ private ConceptNavigatorTreeItem getConceptNavigatorTreeItem(int nid, int parent
     private void fetchChildren(ConceptNavigatorTreeItem conceptNavigatorTreeItem) {
         int nid = conceptNavigatorTreeItem.getValue().nid();
         if (!getNavigator().getChildEdges(nid).isEmpty()) {
-            conceptNavigatorTreeItem.getChildren().addAll(getChildren(nid));
+            conceptNavigatorTreeItem.getChildren().addAll(getFirstPageOfChildren(conceptNavigatorTreeItem));
         }
     }
 
@@ -473,7 +520,7 @@ private Future<Boolean> fetchChildrenTask(ConceptNavigatorTreeItem conceptNaviga
             return null;
         }
         return TinkExecutor.threadPool().submit(() -> {
-            List<ConceptNavigatorTreeItem> children = getChildren(nid);
+            List<ConceptNavigatorTreeItem> children = getFirstPageOfChildren(conceptNavigatorTreeItem);
             CountDownLatch latch = new CountDownLatch(1);
             Platform.runLater(() -> {
                 conceptNavigatorTreeItem.getChildren().addAll(children);
@@ -208,6 +208,7 @@ protected void updateItem(ConceptFacade item, boolean empty) {
             setGraphic(conceptTile);
             updateState(model.getBitSet());
             conceptTile.updateTooltip();
+            fetchMoreSiblingsIfLast(model);
         } else {
             cleanup();
             setGraphic(null);
@@ -302,6 +303,19 @@ private void cleanup() {
                 .forEach(p -> pseudoClassStateChanged(p, false));
     }
 
+    /**
+     * <p>Children of concepts with many children are added in pages. When the last loaded child of
+     * a parent is displayed, the next page of its siblings is requested.
+     * </p>
+     * @param model the {@link ConceptNavigatorTreeItem} displayed by this cell
+     */
+    private void fetchMoreSiblingsIfLast(ConceptNavigatorTreeItem model) {
+        if (model.getParent() instanceof ConceptNavigatorTreeItem parent && parent.getChildPager() != null &&
+                parent.getChildPager().hasMore() && parent.getChildren().getLast() == model) {
+            treeView.fetchNextPageOfChildren(parent);
+        }
+    }
+
     private boolean itemDirty = false;
     private void markCellDirty() {
         itemDirty = true;
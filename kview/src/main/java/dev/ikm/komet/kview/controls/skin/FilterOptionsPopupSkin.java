@@ -138,7 +138,7 @@ public FilterOptionsPopupSkin(FilterOptionsPopup control) {
                 byte[] data = serialize(currentFilterOptionsProperty.get());
                 kometPreferences.putByteArray(key, data);
                 savedFilters.add(key);
-                kometPreferences.putList(SAVED_FILTERS_KEY, savedFilters);
+                kometPreferences.putStringList(SAVED_FILTERS_KEY, savedFilters);
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -499,7 +499,7 @@ private void removeFilter(String i) {
         kometPreferences.remove(i);
         List<String> list = kometPreferences.getList(SAVED_FILTERS_KEY);
         list.remove(i);
-        kometPreferences.putList(SAVED_FILTERS_KEY, list);
+        kometPreferences.putStringList(SAVED_FILTERS_KEY, list);
         updateCurrentFilterOptions();
     }
 
@@ -15,16 +15,24 @@
  */
 package dev.ikm.komet.kview.mvvm.view.changeset.exchange;
 
+import dev.ikm.komet.framework.EditedConceptTracker;
 import dev.ikm.komet.framework.events.appevents.RefreshCalculatorCacheEvent;
 import dev.ikm.komet.kview.mvvm.model.GitHubPreferences;
 import dev.ikm.komet.kview.mvvm.model.GitHubPreferencesDao;
 import dev.ikm.komet.kview.mvvm.view.changeset.exchange.credentials.GitHubCredentialsProvider;
 import dev.ikm.komet.kview.mvvm.view.changeset.exchange.credentials.GitSslValidationCredentialsProvider;
+import dev.ikm.komet.reasoner.AxiomChangeCollector;
+import dev.ikm.komet.reasoner.ReasonerMetrics;
+import dev.ikm.komet.reasoner.ReasonerRunMetrics;
+import dev.ikm.komet.reasoner.ClassificationWatermark;
+import dev.ikm.komet.reasoner.SharedReasonerServices;
+import dev.ikm.komet.reasoner.StatedAxiomState;
 import dev.ikm.tinkar.common.service.PluggableService;
 import dev.ikm.tinkar.common.service.SaveState;
 import dev.ikm.tinkar.common.service.TrackingCallable;
 import dev.ikm.tinkar.coordinate.Calculators;
 import dev.ikm.tinkar.entity.ChangeSetWriterService;
+import dev.ikm.tinkar.entity.SemanticEntityVersion;
 import dev.ikm.tinkar.common.service.EntityCountSummary;
 import dev.ikm.tinkar.entity.load.LoadEntitiesFromProtobufFile;
 import dev.ikm.tinkar.events.EvtBusFactory;
@@ -67,12 +75,14 @@
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Stream;
@@ -750,13 +760,20 @@ private boolean executeSync(boolean pushChanges) throws GitAPIException, IOExcep
         // Pull phase - now returns a list of added files
         ImmutableList<String> addedFiles = pull(validationPhase.getEnd(), pullPhase.getEnd(), new GitSyncFileSorter());
 
-        // Load changesets phase - pass the list of added files
-        loadChangesets(pullPhase.getEnd(), loadPhase.getEnd(), addedFiles);
+        // Load changesets phase - pass the list of added files, recording the axioms they change
+        int loadedChangesets;
+        AxiomChangeCollector axiomChanges = AxiomChangeCollector.start(TinkarTerm.EL_PLUS_PLUS_STATED_AXIOMS_PATTERN.nid());
+        try {
+            loadedChangesets = loadChangesets(pullPhase.getEnd(), loadPhase.getEnd(), addedFiles);
+        } finally {
+            axiomChanges.close();
+        }
         //Refresh UI after changesets are loaded
         EvtBusFactory.getDefaultEvtBus().publish(CALCULATOR_CACHE_TOPIC, new RefreshCalculatorCacheEvent(this, GLOBAL_REFRESH));
 
-        // Run reasoner phase
-        runReasoner(loadPhase.getEnd(), reasonerPhase.getEnd());
+        // Run reasoner phase. The collected axiom changes can only be trusted if changes were observed for what was loaded.
+        boolean axiomChangesKnown = loadedChangesets == 0 || axiomChanges.observedChangeCount() > 0;
+        runReasoner(loadPhase.getEnd(), reasonerPhase.getEnd(), axiomChangesKnown ? axiomChanges : null);
 
         // Push phase (if enabled)
         if (pushChanges) {
@@ -956,12 +973,13 @@ private List<DiffEntry> getChangedFiles(Repository repository,
      * @param startPercentage   the progress percentage at the start of this phase
      * @param endPercentage     the progress percentage at the end of this phase
      * @param relativeFilePaths list of relative paths to changeset files to load
+     * @return the number of changesets loaded
      */
-    private void loadChangesets(double startPercentage, double endPercentage,
-                                ImmutableList<String> relativeFilePaths) {
+    private int loadChangesets(double startPercentage, double endPercentage,
+                               ImmutableList<String> relativeFilePaths) {
         if (isCancelled()) {
             updateMessage("Operation cancelled by user.");
-            return;
+            return 0;
         }
 
         updatePhaseProgress(startPercentage, endPercentage, 0.0);
@@ -970,7 +988,7 @@ private void loadChangesets(double startPercentage, double endPercentage,
         if (relativeFilePaths.isEmpty()) {
             updateMessage("No changeset files found to load.");
             updatePhaseProgress(startPercentage, endPercentage, 1.0);
-            return;
+            return 0;
         }
 
         int total = relativeFilePaths.size();
@@ -996,6 +1014,7 @@ private void loadChangesets(double startPercentage, double endPercentage,
 
         updateMessage("Successfully loaded " + loadResults.size() + " of " + total + " changesets.");
         updatePhaseProgress(startPercentage, endPercentage, 1.0);
+        return loadResults.size();
     }
 
     /**
@@ -1003,8 +1022,9 @@ private void loadChangesets(double startPercentage, double endPercentage,
      *
      * @param startPercentage the progress percentage at the start of this phase
      * @param endPercentage   the progress percentage at the end of this phase
+     * @param axiomChanges    the axioms changed by the loaded changesets, or null if they are not known
      */
-    private void runReasoner(double startPercentage, double endPercentage) {
+    private void runReasoner(double startPercentage, double endPercentage, AxiomChangeCollector axiomChanges) {
         if (isCancelled()) {
             updateMessage("Operation cancelled by user.");
             return;
@@ -1013,8 +1033,25 @@ private void runReasoner(double startPercentage, double endPercentage) {
         updateMessage("Starting reasoning process...");
         updatePhaseProgress(startPercentage, endPercentage, 0.0);
 
+        if (ClassificationWatermark.isEagerClassificationRunning()) {
+            updateMessage("Waiting for the eager background classification to complete...");
+            try {
+                ClassificationWatermark.awaitEagerClassification();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                updateMessage("Operation interrupted.");
+                return;
+            }
+        }
+
         ImmutableList<ReasonerService> reasoners = loadReasonerServices();
-        processWithReasoners(reasoners, startPercentage, endPercentage);
+        // Wait for any classification of the shared reasoners, such as one following local edits, to finish.
+        SharedReasonerServices.classificationLock().lock();
+        try {
+            processWithReasoners(reasoners, axiomChanges, startPercentage, endPercentage);
+        } finally {
+            SharedReasonerServices.classificationLock().unlock();
+        }
 
         updateMessage("Reasoning process completed successfully.");
         updatePhaseProgress(startPercentage, endPercentage, 1.0);
@@ -1027,11 +1064,8 @@ private void runReasoner(double startPercentage, double endPercentage) {
      */
     private ImmutableList<ReasonerService> loadReasonerServices() {
         final String reasonerType = "ElkSnomedReasoner";
-        ImmutableList<ReasonerService> reasoners = Lists.immutable
-                .ofAll(PluggableService.load(ReasonerService.class).stream()
-                        .map(ServiceLoader.Provider::get)
-                        .filter(reasoner -> reasoner.getName().contains(reasonerType))
-                        .sorted(Comparator.comparing(ReasonerService::getName)).toList());
+        // Shared instances keep the state of their last classification, which incremental runs build on.
+        ImmutableList<ReasonerService> reasoners = SharedReasonerServices.named(reasonerType);
 
         LOG.info("Number of reasoners {}", reasoners.size());
         return reasoners;
@@ -1039,14 +1073,23 @@ private ImmutableList<ReasonerService> loadReasonerServices() {
 
     /**
      * Processes data with the available reasoners.
+     * <p>
+     * A reasoner that holds the state of a previous classification, and for which the changed axioms are known,
+     * classifies just the changed axioms, and is skipped if no axioms changed. Otherwise a full classification
+     * is run.
      *
      * @param reasoners       The list of reasoners to use
+     * @param axiomChanges    The axioms changed by the loaded changesets, or null if they are not known
      * @param startPercentage The start percentage for this phase
      * @param endPercentage   The end percentage for this phase
      */
-    private void processWithReasoners(ImmutableList<ReasonerService> reasoners, double startPercentage, double endPercentage) {
+    private void processWithReasoners(ImmutableList<ReasonerService> reasoners, AxiomChangeCollector axiomChanges,
+                                      double startPercentage, double endPercentage) {
         MutableList<ClassifierResults> resultList = Lists.mutable.empty();
         int reasonerCount = reasoners.size();
+        // Taken rather than read and removed, so edits made while classifying are kept for the next run.
+        List<SemanticEntityVersion> localEdits = EditedConceptTracker.takeEdits();
+        boolean localEditsClassified = reasonerCount > 0;
 
         // Give 10% of the reasoning phase to loading reasoners
         double reasoningWorkStart = startPercentage + ((endPercentage - startPercentage) * 0.1);
@@ -1061,42 +1104,52 @@ private void processWithReasoners(ImmutableList<ReasonerService> reasoners, doub
             double reasonerStartPercent = reasoningWorkStart + ((remainingReasoning / reasonerCount) * i);
             double reasonerEndPercent = reasoningWorkStart + ((remainingReasoning / reasonerCount) * (i + 1));
 
-            rs.init(Calculators.View.Default(), TinkarTerm.EL_PLUS_PLUS_STATED_AXIOMS_PATTERN, TinkarTerm.EL_PLUS_PLUS_INFERRED_AXIOMS_PATTERN);
-
+            ReasonerMetrics.Recorder metrics = null;
             try {
-                // Extract
-                updateMessage("Extracting data for reasoning...");
-                rs.extractData(new TrackingCallable<Object>() {
-                    @Override
-                    protected Object compute() throws Exception {
-                        return null;
-                    }
-                });
-                updatePhaseProgress(reasonerStartPercent, reasonerEndPercent, 0.25);
-
-                // Load
-                updateMessage("Loading data for reasoning...");
-                rs.loadData(new TrackingCallable<Object>() {
-                    @Override
-                    protected Object compute() throws Exception {
-                        return null;
+                long classifiedTime = System.currentTimeMillis();
+                int axiomCount;
+                StatedAxiomState classifiedAxioms;
+                if (axiomChanges != null && rs.isIncrementalReady()) {
+                    List<SemanticEntityVersion> updates = incrementalUpdates(rs, localEdits, axiomChanges);
+                    if (updates.isEmpty()) {
+                        updateMessage("No axioms changed, classification is up to date.");
+                        updatePhaseProgress(reasonerStartPercent, reasonerEndPercent, 1.0);
+                        continue;
                     }
-                });
-                updatePhaseProgress(reasonerStartPercent, reasonerEndPercent, 0.5);
+                    // Load only the changed axioms into the existing reasoner state
+                    metrics = ReasonerMetrics.start(rs, ReasonerRunMetrics.Mode.INCREMENTAL, "Git pull");
+                    metrics.phase("load");
+                    updateMessage("Loading " + updates.size() + " changed axioms for incremental reasoning...");
+                    classifiedAxioms = ClassificationWatermark.classifiedAxiomsAfter(rs, updates);
+                    rs.processIncremental(List.of(), updates);
+                    axiomCount = updates.size();
+                    updatePhaseProgress(reasonerStartPercent, reasonerEndPercent, 0.5);
+                } else {
+                    metrics = ReasonerMetrics.start(rs, ReasonerRunMetrics.Mode.FULL, "Git pull");
+                    metrics.phase("load");
+                    classifiedAxioms = StatedAxiomState.scan(TinkarTerm.EL_PLUS_PLUS_STATED_AXIOMS_PATTERN.nid());
+                    loadForFullClassification(rs, reasonerStartPercent, reasonerEndPercent);
+                    axiomCount = ReasonerMetrics.statedAxiomCount(rs);
+                }
 
                 // Compute
+                metrics.phase("compute");
                 updateMessage("Computing inferences...");
                 rs.computeInferences();
                 updatePhaseProgress(reasonerStartPercent, reasonerEndPercent, 0.75);
 
                 // Build NNF
+                metrics.phase("nnf");
                 updateMessage("Building necessary normal form...");
                 rs.buildNecessaryNormalForm(this);
                 updatePhaseProgress(reasonerStartPercent, reasonerEndPercent, 0.9);
 
                 // Write inferred results
+                metrics.phase("write");
                 updateMessage("Writing inferred results...");
                 ClassifierResults results = rs.writeInferredResults(this);
+                metrics.finish(rs.getConceptCount(), axiomCount);
+                ClassificationWatermark.save(rs, classifiedTime, classifiedAxioms);
                 updatePhaseProgress(reasonerStartPercent, reasonerEndPercent, 1.0);
 
                 LOG.info("After Size of ConceptSet: {}", rs.getReasonerConceptSet().size());
@@ -1106,8 +1159,59 @@ protected Object compute() throws Exception {
                 resultList.add(results);
             } catch (Exception ex) {
                 LOG.error("Failed to load data for reasoning", ex);
+                localEditsClassified = false;
+            } finally {
+                if (metrics != null) {
+                    metrics.failed();
+                }
             }
         }
+        if (!localEditsClassified) {
+            EditedConceptTracker.requeueEdits(localEdits);
+        }
+    }
+
+    /**
+     * Initializes a reasoner and loads all axioms into it, for a full classification.
+     */
+    private void loadForFullClassification(ReasonerService rs, double reasonerStartPercent, double reasonerEndPercent) throws Exception {
+        rs.init(Calculators.View.Default(), TinkarTerm.EL_PLUS_PLUS_STATED_AXIOMS_PATTERN, TinkarTerm.EL_PLUS_PLUS_INFERRED_AXIOMS_PATTERN);
+
+        // Extract
+        updateMessage("Extracting data for reasoning...");
+        rs.extractData(new TrackingCallable<Object>() {
+            @Override
+            protected Object compute() throws Exception {
+                return null;
+            }
+        });
+        updatePhaseProgress(reasonerStartPercent, reasonerEndPercent, 0.25);
+
+        // Load
+        updateMessage("Loading data for reasoning...");
+        rs.loadData(new TrackingCallable<Object>() {
+            @Override
+            protected Object compute() throws Exception {
+                return null;
+            }
+        });
+        updatePhaseProgress(reasonerStartPercent, reasonerEndPercent, 0.5);
+    }
+
+    /**
+     * Collects the axioms changed by the loaded changesets, together with the local edits not yet classified,
+     * keeping one axiom per concept.
+     */
+    private static List<SemanticEntityVersion> incrementalUpdates(ReasonerService rs, List<SemanticEntityVersion> localEdits,
+                                                                  AxiomChangeCollector axiomChanges) {
+        Map<Integer, SemanticEntityVersion> updatesByConcept = new LinkedHashMap<>();
+        for (SemanticEntityVersion edit : localEdits) {
+            updatesByConcept.put(edit.referencedComponentNid(), edit);
+        }
+        for (SemanticEntityVersion loaded : axiomChanges.latestVersions(rs.getViewCalculator())) {
+            updatesByConcept.put(loaded.referencedComponentNid(), loaded);
+        }
+        return new ArrayList<>(updatesByConcept.values());
     }
 
     /**
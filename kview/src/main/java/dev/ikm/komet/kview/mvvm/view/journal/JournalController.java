@@ -1551,7 +1551,7 @@ public void saveWindows(KometPreferences journalWindowPreferences) {
                 .atZone(ZoneId.systemDefault()).toEpochSecond());
 
         // Putting the list of windows in our preferences.
-        journalWindowPreferences.putList(WINDOW_NAMES, windowNames.castToList());
+        journalWindowPreferences.putStringList(WINDOW_NAMES, windowNames.castToList());
         try {
             journalWindowPreferences.flush();
             LOG.info("Saved state for {} window(s) in journal '{}'", windowNames.size(), getTitle());
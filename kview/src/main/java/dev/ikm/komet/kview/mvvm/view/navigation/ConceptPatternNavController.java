@@ -18,7 +18,7 @@
 import dev.ikm.komet.kview.mvvm.viewmodel.PatternNavViewModel;
 import dev.ikm.komet.navigator.graph.Navigator;
 import dev.ikm.komet.navigator.graph.ViewNavigator;
-import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.komet.navigator.pattern.PatternSemanticIndex;
 import dev.ikm.tinkar.common.service.TinkExecutor;
 import dev.ikm.tinkar.coordinate.stamp.calculator.LatestVersionSearchResult;
 import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
@@ -46,14 +46,12 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import static dev.ikm.komet.kview.events.EventTopics.SAVE_PATTERN_TOPIC;
 import static dev.ikm.komet.kview.mvvm.model.DragAndDropType.PATTERN;
@@ -169,17 +167,15 @@ public void initialize() {
                 int patternNid = patternItem.nid();
                 // load the pattern instances into an observable list
                 ObservableList<Object> patternChildren = FXCollections.observableArrayList();
-                AtomicInteger childCount = new AtomicInteger();
-                // populate the collection of instance for each pattern
-                PrimitiveData.get().forEachSemanticNidOfPattern(patternNid, semanticNid -> {
-                    if (childCount.incrementAndGet() < maxChildrenInPatternViewer) {
-                        patternChildren.add(semanticNid);
-                    }
-                });
+                // populate the collection of instance for each pattern from the summary kept by the index
+                int[] firstPage = PatternSemanticIndex.get().firstPage(patternNid, maxChildrenInPatternViewer);
+                for (int semanticNid : firstPage) {
+                    patternChildren.add(semanticNid);
+                }
 
-                if (childCount.get() >= maxChildrenInPatternViewer) {
-                    NumberFormat numberFormat = NumberFormat.getInstance();
-                    patternChildren.add(numberFormat.format(childCount.get() - maxChildrenInPatternViewer) + " additional semantics suppressed...");
+                int suppressed = PatternSemanticIndex.get().count(patternNid) - firstPage.length;
+                if (suppressed > 0) {
+                    patternChildren.add(PatternSemanticIndex.suppressedText(suppressed));
                 }
 
                 Platform.runLater(() -> {
@@ -1,7 +1,7 @@
 package dev.ikm.komet.kview.mvvm.view.pattern;
 
 import dev.ikm.komet.kview.mvvm.viewmodel.PatternViewModel;
-import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.komet.navigator.pattern.PatternSemanticIndex;
 import dev.ikm.tinkar.entity.Entity;
 import dev.ikm.tinkar.terms.EntityFacade;
 import javafx.collections.FXCollections;
@@ -11,9 +11,6 @@
 import javafx.scene.control.ListView;
 import org.carlfx.cognitive.loader.InjectViewModel;
 
-import java.text.NumberFormat;
-import java.util.concurrent.atomic.AtomicInteger;
-
 import static dev.ikm.komet.kview.mvvm.viewmodel.PatternViewModel.PATTERN;
 
 public class InstancesController {
@@ -50,17 +47,14 @@ private void loadInstances() {
         EntityFacade patternItem = patternViewModel.getPropertyValue(PATTERN);
         setMetaTitle(patternItem.description());
         int patternNid = patternItem.nid();
-        AtomicInteger childCount = new AtomicInteger();
 
-        // populate the collection of instance for each pattern
-        PrimitiveData.get().forEachSemanticNidOfPattern(patternNid, semanticNid -> {
-            if (childCount.incrementAndGet() < MAX_INSTANCES) {
-                patternChildren.add(semanticNid);
-            }
-        });
-        if (childCount.get() >= MAX_INSTANCES) {
-            NumberFormat numberFormat = NumberFormat.getInstance();
-            patternChildren.add(numberFormat.format(childCount.get() - MAX_INSTANCES) + " additional semantics suppressed...");
+        // populate the collection of instance for each pattern from the first page of the index
+        PatternSemanticIndex.Cursor cursor = PatternSemanticIndex.get().cursor(patternNid);
+        for (int semanticNid : cursor.nextPage(MAX_INSTANCES)) {
+            patternChildren.add(semanticNid);
+        }
+        if (cursor.hasMore()) {
+            patternChildren.add(cursor.remainingText());
         }
         boolean hasChildren = patternChildren.size() > 0;
 
@@ -32,9 +32,7 @@
 import javafx.stage.FileChooser;
 import org.eclipse.collections.api.list.ImmutableList;
 import org.eclipse.collections.api.list.primitive.MutableIntList;
-import org.eclipse.collections.api.set.primitive.MutableIntSet;
 import org.eclipse.collections.impl.factory.primitive.IntLists;
-import org.eclipse.collections.impl.factory.primitive.IntSets;
 import dev.ikm.komet.framework.ExplorationNodeAbstract;
 import dev.ikm.komet.framework.TopPanelFactory;
 import dev.ikm.komet.framework.activity.ActivityStream;
@@ -147,8 +145,9 @@ public CollectionNode(ViewProperties viewProperties, KometPreferences nodePrefer
 
     private void copyItems(ActionEvent actionEvent) {
         if (!collectionEditor.getSelectionModel().getSelectedIndices().isEmpty()) {
-            List<EntityProxy> entityProxyList = new ArrayList<>();
-            for (Integer nid : collectionEditor.getSelectionModel().getSelectedItems()) {
+            int[] selectedNids = collectionEditor.getSelectedNids();
+            List<EntityProxy> entityProxyList = new ArrayList<>(selectedNids.length);
+            for (int nid : selectedNids) {
                 entityProxyList.add(Entity.getFast(nid).toProxy());
             }
             KometClipboard content = new KometClipboard(entityProxyList);
@@ -161,26 +160,12 @@ private void pasteItems(ActionEvent actionEvent) {
         for (EntityProxy proxy : ClipboardHelper.getEntityProxyList()) {
             newItems.add(proxy.nid());
         }
-        collectionEditor.setValue((T) collectionEditor.getValue().with(newItems.toArray()));
+        collectionEditor.addNids(newItems.toArray());
     }
 
     private void deleteItems(ActionEvent actionEvent) {
         if (!collectionEditor.getSelectionModel().getSelectedIndices().isEmpty()) {
-            if (collectionEditor.getValue() instanceof IntIdSet idSet) {
-                MutableIntSet mutableIntSet = IntSets.mutable.of(idSet.toArray());
-                for (Integer nid : collectionEditor.getSelectionModel().getSelectedItems()) {
-                    mutableIntSet.remove(nid);
-                }
-                collectionEditor.setValue((T) IntIds.set.of(mutableIntSet.toArray()));
-            } else if (collectionEditor.getValue() instanceof IntIdList idList) {
-                MutableIntList mutableIntList = IntLists.mutable.of(idList.toArray());
-                List<Integer> indexesToRemove = new ArrayList<>(collectionEditor.getSelectionModel().getSelectedIndices());
-                indexesToRemove.sort((x, y) -> Integer.compare(y, x));
-                for (Integer index : indexesToRemove) {
-                    mutableIntList.removeAtIndex(index);
-                }
-                collectionEditor.setValue((T) IntIds.list.of(mutableIntList.toArray()));
-            }
+            collectionEditor.removeSelectedItems();
         }
     }
 
@@ -323,8 +308,9 @@ private void saveCollection() {
             writer.newLine();
             writer.write(UuidUtil.toString(collectionKeyProperty.get().getPublicId().asUuidArray()));
             writer.newLine();
-            for (int nid : this.collectionEditor.getItems()) {
-                writer.write(Entity.getFast(nid).toXmlFragment());
+            MutableIntList nids = this.collectionEditor.getIntItems().getBackingList();
+            for (int i = 0; i < nids.size(); i++) {
+                writer.write(Entity.getFast(nids.get(i)).toXmlFragment());
                 writer.newLine();
             }
         } catch (IOException e) {
@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.table;
+
+import dev.ikm.tinkar.coordinate.stamp.calculator.Latest;
+import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.SemanticEntity;
+import dev.ikm.tinkar.entity.SemanticEntityVersion;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * One row of a {@link SemanticTableModel}: a version of a semantic, identified by the semantic nid and a
+ * version index. The semantic is only read, and a column only decoded, when a cell of the row asks for it,
+ * and the decoded text of each column is retained for as long as the row is.
+ */
+public final class SemanticRow {
+    /**
+     * Version index of a row that shows the latest version of its semantic for the view.
+     */
+    public static final int LATEST_VERSION = -1;
+
+    private final int semanticNid;
+    private final int versionIndex;
+    private final String[] cellText;
+    private volatile SemanticEntityVersion version;
+    private volatile boolean versionResolved;
+
+    SemanticRow(int semanticNid, int versionIndex, int columnCount) {
+        this.semanticNid = semanticNid;
+        this.versionIndex = versionIndex;
+        this.cellText = new String[columnCount];
+    }
+
+    public int semanticNid() {
+        return semanticNid;
+    }
+
+    public int versionIndex() {
+        return versionIndex;
+    }
+
+    /**
+     * @param viewCalculator the calculator used to choose the latest version
+     * @return the version shown by this row, if the semantic has a version for the view
+     */
+    public Optional<SemanticEntityVersion> version(ViewCalculator viewCalculator) {
+        if (!versionResolved) {
+            if (versionIndex == LATEST_VERSION) {
+                Latest<SemanticEntityVersion> latest = viewCalculator.latest(semanticNid);
+                version = latest.isPresent() ? latest.get() : null;
+            } else {
+                SemanticEntity<?> semanticEntity = Entity.getFast(semanticNid);
+                version = semanticEntity.versions().get(versionIndex);
+            }
+            versionResolved = true;
+        }
+        return Optional.ofNullable(version);
+    }
+
+    /**
+     * Gets the text of a column of this row, decoding it with the column's projection the first time.
+     *
+     * @param column     the index of the column
+     * @param projection decodes the text of the column from a row
+     * @return the text of the column
+     */
+    public String cell(int column, Function<SemanticRow, String> projection) {
+        String text = cellText[column];
+        if (text == null) {
+            text = projection.apply(this);
+            if (text == null) {
+                text = "";
+            }
+            cellText[column] = text;
+        }
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return "SemanticRow{" + semanticNid + (versionIndex == LATEST_VERSION ? ", latest" : ", v" + versionIndex) + "}";
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.table;
+
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.TableCell;
+import dev.ikm.komet.framework.graphics.Icon;
+
+/**
+ * Cell for the first column of the semantic table, showing the component a semantic refers to.
+ */
+public class SemanticTableCell extends TableCell<SemanticRow, String> {
+    @Override
+    protected void updateItem(String item, boolean empty) {
+        super.updateItem(item, empty);
+        if (empty || item == null) {
+            setGraphic(null);
+            setText(null);
+        } else {
+            setContentDisplay(ContentDisplay.LEFT);
+            setGraphic(Icon.PAPER_CLIP.makeIcon());
+            setText(item);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.table;
+
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.common.service.TinkExecutor;
+import dev.ikm.tinkar.entity.SemanticEntity;
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Virtual row model for the semantic table. Only the nids of the semantics to show are held for every row;
+ * {@link SemanticRow} objects are created for the rows the table actually asks for, and each row decodes
+ * only the columns that are displayed.
+ * <p>
+ * Rows are kept in a bounded cache. When the table asks for a row that is not cached, the rows around it
+ * are decoded ahead of the viewport on a low priority background thread, so scrolling rarely has to wait
+ * for decoding.
+ * <p>
+ * The semantics of a pattern are enumerated in the background and added to the model in chunks, each chunk
+ * producing a single change event, so that the table can show the first rows of a pattern with millions
+ * of semantics while the rest are still being enumerated.
+ */
+public class SemanticTableModel {
+    private static final Logger LOG = LoggerFactory.getLogger(SemanticTableModel.class);
+
+    /**
+     * Number of rows retained in the row cache.
+     */
+    public static final int DEFAULT_ROW_CACHE_SIZE = 4096;
+
+    /**
+     * Number of rows decoded ahead of, and behind, a requested row that was not cached.
+     */
+    public static final int DEFAULT_PREFETCH_DISTANCE = 100;
+
+    /**
+     * Number of semantic nids added to the model per change event while a pattern is enumerated.
+     */
+    public static final int CHUNK_SIZE = 10_000;
+
+    private static final ExecutorService BACKGROUND_EXECUTOR = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform()
+                    .name("Komet-semantic-table-", 1)
+                    .daemon(true)
+                    .priority(Thread.MIN_PRIORITY)
+                    .factory());
+
+    private final MutableIntList semanticNids = IntLists.mutable.empty();
+    private final MutableIntList versionIndexes = IntLists.mutable.empty();
+    private final Map<Integer, SemanticRow> rowCache;
+    private final RowList rowList = new RowList();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong prefetchGeneration = new AtomicLong();
+    private List<Function<SemanticRow, String>> columns = List.of();
+
+    public SemanticTableModel() {
+        this.rowCache = new LinkedHashMap<>(DEFAULT_ROW_CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, SemanticRow> eldest) {
+                return size() > DEFAULT_ROW_CACHE_SIZE;
+            }
+        };
+    }
+
+    /**
+     * @return the rows of the model, to be used as the items of a table view
+     */
+    public ObservableList<SemanticRow> rows() {
+        return rowList;
+    }
+
+    /**
+     * Sets the column projections of the model. The index of a projection in the list is the column index
+     * passed to {@link SemanticRow#cell(int, Function)}. Must be called on the FX application thread, and
+     * clears the model.
+     *
+     * @param columns the projections that decode the text of each column from a row
+     */
+    public void setColumns(List<Function<SemanticRow, String>> columns) {
+        clear();
+        this.columns = List.copyOf(columns);
+    }
+
+    /**
+     * @param column the index of the column
+     * @return the projection of the column
+     */
+    public Function<SemanticRow, String> column(int column) {
+        return columns.get(column);
+    }
+
+    /**
+     * Removes all rows and cancels any enumeration in progress. Must be called on the FX application thread.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        prefetchGeneration.incrementAndGet();
+        int removed = semanticNids.size();
+        semanticNids.clear();
+        versionIndexes.clear();
+        synchronized (rowCache) {
+            rowCache.clear();
+        }
+        if (removed > 0) {
+            rowList.fireRemoved(removed);
+        }
+    }
+
+    /**
+     * Replaces the rows with the latest version of each semantic of a pattern, enumerated in the background.
+     * Must be called on the FX application thread.
+     *
+     * @param patternNid the pattern whose semantics are shown
+     */
+    public void showPattern(int patternNid) {
+        clear();
+        final long thisGeneration = generation.get();
+        TinkExecutor.threadPool().execute(() -> {
+            long start = System.currentTimeMillis();
+            MutableIntList[] chunk = {IntLists.mutable.withInitialCapacity(CHUNK_SIZE)};
+            int[] count = {0};
+            PrimitiveData.get().forEachSemanticNidOfPattern(patternNid, semanticNid -> {
+                if (generation.get() != thisGeneration) {
+                    return;
+                }
+                chunk[0].add(semanticNid);
+                count[0]++;
+                if (chunk[0].size() == CHUNK_SIZE) {
+                    appendLater(chunk[0], thisGeneration);
+                    chunk[0] = IntLists.mutable.withInitialCapacity(CHUNK_SIZE);
+                }
+            });
+            if (!chunk[0].isEmpty()) {
+                appendLater(chunk[0], thisGeneration);
+            }
+            LOG.debug("Enumerated {} semantics of pattern {} in {} ms", count[0], patternNid,
+                    System.currentTimeMillis() - start);
+        });
+    }
+
+    /**
+     * Replaces the rows with every version of a semantic. Must be called on the FX application thread.
+     *
+     * @param semanticEntity the semantic whose versions are shown
+     */
+    public void showVersions(SemanticEntity<?> semanticEntity) {
+        clear();
+        int versionCount = semanticEntity.versions().size();
+        for (int versionIndex = 0; versionIndex < versionCount; versionIndex++) {
+            semanticNids.add(semanticEntity.nid());
+            versionIndexes.add(versionIndex);
+        }
+        if (versionCount > 0) {
+            rowList.fireAdded(0, versionCount);
+        }
+    }
+
+    private void appendLater(MutableIntList chunk, long thisGeneration) {
+        Platform.runLater(() -> {
+            if (generation.get() != thisGeneration) {
+                return;
+            }
+            int from = semanticNids.size();
+            semanticNids.addAll(chunk);
+            for (int i = 0; i < chunk.size(); i++) {
+                versionIndexes.add(SemanticRow.LATEST_VERSION);
+            }
+            rowList.fireAdded(from, semanticNids.size());
+        });
+    }
+
+    private SemanticRow row(int index) {
+        SemanticRow row;
+        synchronized (rowCache) {
+            row = rowCache.get(index);
+        }
+        if (row == null) {
+            row = makeRow(index);
+            prefetchAround(index);
+        }
+        return row;
+    }
+
+    private SemanticRow makeRow(int index) {
+        SemanticRow row = new SemanticRow(semanticNids.get(index), versionIndexes.get(index), columns.size());
+        synchronized (rowCache) {
+            SemanticRow existing = rowCache.putIfAbsent(index, row);
+            return existing == null ? row : existing;
+        }
+    }
+
+    /**
+     * Decodes, in the background, the displayed columns of the rows within {@link #DEFAULT_PREFETCH_DISTANCE}
+     * of a row. A new prefetch supersedes any that has not yet run.
+     */
+    private void prefetchAround(int index) {
+        final long thisGeneration = prefetchGeneration.incrementAndGet();
+        int from = Math.max(0, index - DEFAULT_PREFETCH_DISTANCE);
+        int to = Math.min(semanticNids.size(), index + DEFAULT_PREFETCH_DISTANCE);
+        // Capture the rows on the calling thread, since the nid lists are only modified on the FX thread.
+        List<SemanticRow> rows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            rows.add(makeRow(i));
+        }
+        final List<Function<SemanticRow, String>> projections = columns;
+        BACKGROUND_EXECUTOR.execute(() -> {
+            for (SemanticRow row : rows) {
+                if (prefetchGeneration.get() != thisGeneration) {
+                    return;
+                }
+                try {
+                    for (int column = 0; column < projections.size(); column++) {
+                        row.cell(column, projections.get(column));
+                    }
+                } catch (RuntimeException e) {
+                    // The cell will be decoded, and any problem surfaced, when it is displayed.
+                    LOG.debug("Unable to prefetch " + row, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the number of rows
+     */
+    public int size() {
+        return semanticNids.size();
+    }
+
+    /**
+     * Read only list view of the rows, creating row objects only for the indexes that are requested.
+     */
+    private final class RowList extends ObservableListBase<SemanticRow> {
+        @Override
+        public SemanticRow get(int index) {
+            return row(index);
+        }
+
+        @Override
+        public int size() {
+            return semanticNids.size();
+        }
+
+        private void fireAdded(int from, int to) {
+            beginChange();
+            nextAdd(from, to);
+            endChange();
+        }
+
+        private void fireRemoved(int count) {
+            beginChange();
+            // The removed rows are not retained; report placeholders so listeners see the correct count.
+            nextRemove(0, Collections.nCopies(count, (SemanticRow) null));
+            endChange();
+        }
+    }
+}
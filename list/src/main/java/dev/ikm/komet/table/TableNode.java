@@ -17,44 +17,43 @@
 
 import javafx.application.Platform;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.value.ObservableValue;
+import javafx.collections.ObservableList;
 import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.layout.BorderPane;
-import javafx.util.Callback;
 import org.eclipse.collections.api.list.ImmutableList;
 import dev.ikm.komet.framework.ExplorationNodeAbstract;
 import dev.ikm.komet.framework.TopPanelFactory;
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.komet.preferences.KometPreferences;
-import dev.ikm.tinkar.common.service.TinkExecutor;
-import dev.ikm.tinkar.common.service.PrimitiveData;
 import dev.ikm.tinkar.common.util.time.DateTimeUtil;
-import dev.ikm.tinkar.component.Component;
 import dev.ikm.tinkar.coordinate.stamp.StampFields;
 import dev.ikm.tinkar.entity.*;
 import dev.ikm.tinkar.terms.EntityFacade;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 public class TableNode extends ExplorationNodeAbstract {
     protected static final String STYLE_ID = "table-node";
     protected static final String TITLE = "Semantic table";
     final SimpleObjectProperty<EntityFacade> entityFocusProperty = new SimpleObjectProperty<>();
-    private final TreeItem<Component> root;
     private final BorderPane contentPane = new BorderPane();
-    private final TreeTableView<Component> treeTableView;
+    private final TableView<SemanticRow> tableView;
+    /**
+     * Virtual model of the rows; only the rows and columns the table displays are decoded.
+     */
+    private final SemanticTableModel tableModel = new SemanticTableModel();
 
     public TableNode(ViewProperties viewProperties, KometPreferences nodePreferences) {
         super(viewProperties, nodePreferences);
 
-        this.root = new TreeItem<>();
-        root.setExpanded(true);
-        this.treeTableView = new TreeTableView<>(root);
-        this.treeTableView.setTableMenuButtonVisible(true);
-        this.treeTableView.setShowRoot(false);
+        this.tableView = makeTableView(tableModel.rows());
 
         entityFocusProperty.addListener(this::focusChanged);
         Platform.runLater(() -> {
@@ -65,7 +64,7 @@ public TableNode(ViewProperties viewProperties, KometPreferences nodePreferences
     }
 
     private void focusChanged(ObservableValue<? extends EntityFacade> observable, EntityFacade oldValue, EntityFacade newValue) {
-        this.root.getChildren().clear();
+        this.tableModel.clear();
         Optional<? extends Entity<? extends EntityVersion>> optionalNewEntity = Entity.get(newValue);
         optionalNewEntity.ifPresent(newEntity -> {
             if (newEntity instanceof ConceptEntity conceptEntity) {
@@ -79,144 +78,115 @@ private void focusChanged(ObservableValue<? extends EntityFacade> observable, En
     }
 
     private void setupTopPanel(ViewProperties viewProperties) {
-        this.contentPane.setCenter(this.treeTableView);
+        this.contentPane.setCenter(this.tableView);
         Node topPanel = TopPanelFactory.make(viewProperties, entityFocusProperty,
                 activityStreamKeyProperty, optionForActivityStreamKeyProperty, true);
         this.contentPane.setTop(topPanel);
     }
 
     private void setupPattern(PatternEntity patternEntity, boolean populate) {
-        this.treeTableView.getColumns().clear();
-        this.root.getChildren().clear();
+        this.tableView.getColumns().clear();
+        this.tableModel.setColumns(List.of());
         this.viewProperties.calculator().latestPatternEntityVersion(patternEntity).ifPresent(patternEntityVersion -> {
+            List<TableColumn<SemanticRow, String>> columns = new ArrayList<>();
+            List<Function<SemanticRow, String>> projections = new ArrayList<>();
             {
                 String meaningText = viewCalculator().getPreferredDescriptionTextWithFallbackOrNid(patternEntityVersion.semanticMeaningNid());
                 String purposeText = viewCalculator().getPreferredDescriptionTextWithFallbackOrNid(patternEntityVersion.semanticPurposeNid());
-
-                TreeTableColumn<Component, Object> column = makeColumn(meaningText + " of ", purposeText);
-                column.setCellValueFactory(param -> {
-                    Component component = param.getValue().getValue();
-                    if (component instanceof Entity entity) {
-                        return new SimpleObjectProperty(languageCalculator().getPreferredDescriptionTextWithFallbackOrNid(entity));
-                    } else if (component instanceof SemanticEntityVersion entityVersion) {
-                        // Suppress display for the semantic version...
-                        return new SimpleObjectProperty();
-                    }
-                    if (component != null) {
-                        new SimpleObjectProperty<>("Can't handle: " + component);
-                    }
-                    return new SimpleObjectProperty<>();
-                });
-                column.setCellFactory(new Callback<TreeTableColumn<Component, Object>, TreeTableCell<Component, Object>>() {
-                    @Override
-                    public TreeTableCell<Component, Object> call(TreeTableColumn<Component, Object> param) {
-                        return new SemanticTreeTableCell();
-                    }
+                TableColumn<SemanticRow, String> column = makeColumn(meaningText + " of ", purposeText, projections.size());
+                column.setCellFactory(param -> new SemanticTableCell());
+                columns.add(column);
+                projections.add(row -> {
+                    SemanticEntity<?> semanticEntity = Entity.getFast(row.semanticNid());
+                    return languageCalculator().getPreferredDescriptionTextWithFallbackOrNid(semanticEntity.referencedComponentNid());
                 });
-
-                this.treeTableView.getColumns().add(column);
             }
             ImmutableList<? extends FieldDefinitionForEntity> fieldDefinitions = patternEntityVersion.fieldDefinitions();
             for (int i = 0; i < fieldDefinitions.size(); i++) {
                 FieldDefinitionForEntity fieldDef = fieldDefinitions.get(i);
                 String meaningText = viewCalculator().getPreferredDescriptionTextWithFallbackOrNid(fieldDef.meaningNid());
                 String purposeText = viewCalculator().getPreferredDescriptionTextWithFallbackOrNid(fieldDef.purposeNid());
-                TreeTableColumn<Component, Object> fieldColumn = makeColumn(meaningText, purposeText, fieldDef, i);
-                this.treeTableView.getColumns().add(fieldColumn);
+                columns.add(makeColumn(meaningText, purposeText, projections.size()));
+                projections.add(fieldProjection(i));
             }
-            this.treeTableView.getColumns().add(makeColumn("Status", "Define the status of this version", StampFields.STATUS));
-            this.treeTableView.getColumns().add(makeColumn("Time", "Represents the time this version was committed", StampFields.TIME));
-            this.treeTableView.getColumns().add(makeColumn("Author", "Represents the author of this version", StampFields.AUTHOR));
-            this.treeTableView.getColumns().add(makeColumn("Module", "Represents the module this version is part of", StampFields.MODULE));
-            this.treeTableView.getColumns().add(makeColumn("Path", "Define path that this version is created on", StampFields.PATH));
+            addStampColumn(columns, projections, "Status", "Define the status of this version", StampFields.STATUS);
+            addStampColumn(columns, projections, "Time", "Represents the time this version was committed", StampFields.TIME);
+            addStampColumn(columns, projections, "Author", "Represents the author of this version", StampFields.AUTHOR);
+            addStampColumn(columns, projections, "Module", "Represents the module this version is part of", StampFields.MODULE);
+            addStampColumn(columns, projections, "Path", "Define path that this version is created on", StampFields.PATH);
+            this.tableModel.setColumns(projections);
+            this.tableView.getColumns().setAll(columns);
             if (populate) {
-                TinkExecutor.threadPool().execute(() -> {
-                    AtomicInteger count = new AtomicInteger();
-                    PrimitiveData.get().forEachSemanticNidOfPattern(patternEntity.nid(), semanticNid -> {
-                        if (count.getAndIncrement() < 5000) {
-                            SemanticEntity semanticEntity = Entity.getFast(semanticNid);
-                            TreeItem semanticParent = new TreeItem(Entity.getFast(semanticEntity.referencedComponentNid()));
-                            semanticParent.setExpanded(true);
-                            Platform.runLater(() -> this.root.getChildren().add(semanticParent));
-                            semanticEntity.versions().forEach(semanticEntityVersion -> {
-                                TreeItem semanticVersionItem = new TreeItem(semanticEntityVersion);
-                                Platform.runLater(() -> semanticParent.getChildren().add(semanticVersionItem));
-                            });
-                        }
-                    });
-                });
+                this.tableModel.showPattern(patternEntity.nid());
             }
         });
     }
 
     private void setupSemantic(SemanticEntity semanticEntity) {
         setupPattern(Entity.getFast(semanticEntity.patternNid()), false);
-        TreeItem semanticParent = new TreeItem(Entity.getFast(semanticEntity.referencedComponentNid()));
-        semanticParent.setExpanded(true);
-        Platform.runLater(() -> this.root.getChildren().add(semanticParent));
-        semanticEntity.versions().forEach(semanticEntityVersion -> {
-            TreeItem semanticVersionItem = new TreeItem(semanticEntityVersion);
-            Platform.runLater(() -> semanticParent.getChildren().add(semanticVersionItem));
-        });
+        this.tableModel.showVersions(semanticEntity);
     }
 
-    private TreeTableColumn<Component, Object> makeColumn(String meaningText, String purposeText) {
-        TreeTableColumn<Component, Object> fieldColumn = new TreeTableColumn<>(meaningText);
+    /**
+     * Makes the table view over the rows of a {@link SemanticTableModel}. The rows are a read only, virtual list,
+     * so the table does not sort: sorting would decode every row only to fail when setting the sorted rows.
+     */
+    static TableView<SemanticRow> makeTableView(ObservableList<SemanticRow> rows) {
+        TableView<SemanticRow> tableView = new TableView<>(rows);
+        tableView.setTableMenuButtonVisible(true);
+        tableView.setFixedCellSize(24);
+        tableView.setSortPolicy(table -> false);
+        return tableView;
+    }
+
+    private TableColumn<SemanticRow, String> makeColumn(String meaningText, String purposeText, int columnIndex) {
+        return makeColumn(tableModel, meaningText, purposeText, columnIndex);
+    }
+
+    static TableColumn<SemanticRow, String> makeColumn(SemanticTableModel tableModel, String meaningText,
+                                                       String purposeText, int columnIndex) {
+        TableColumn<SemanticRow, String> fieldColumn = new TableColumn<>(meaningText);
         fieldColumn.setMinWidth(50);
         fieldColumn.setPrefWidth(150);
         fieldColumn.setMaxWidth(1000);
+        fieldColumn.setSortable(false);
         Label fieldLabelWithTooltip = new Label();
         fieldLabelWithTooltip.setTooltip(new Tooltip(purposeText));
         fieldColumn.setGraphic(fieldLabelWithTooltip);
-        return fieldColumn;
-    }
-
-    private TreeTableColumn<Component, Object> makeColumn(String meaningText, String purposeText, FieldDefinitionForEntity fieldDef, int fieldIndex) {
-        TreeTableColumn<Component, Object> fieldColumn = makeColumn(meaningText, purposeText);
+        // Cells decode only their own column of a row, when they are displayed.
         fieldColumn.setCellValueFactory(param -> {
-            Component component = param.getValue().getValue();
-            if (component instanceof SemanticEntityVersion entityVersion) {
-                Object obj = entityVersion.fieldValues().get(fieldIndex);
-                if (obj instanceof EntityFacade entityFacade) {
-                    return new SimpleObjectProperty(languageCalculator().getPreferredDescriptionTextWithFallbackOrNid(entityFacade));
-                } else if (obj instanceof Instant instant) {
-                    return new SimpleObjectProperty(DateTimeUtil.format(instant));
-                }
-                return new SimpleObjectProperty(obj.toString());
-            } else if (component instanceof Entity entity) {
-                // Suppress the parent for all the other columns...
-                return new SimpleObjectProperty();
-            }
-            if (component != null) {
-                return new SimpleObjectProperty<>("Can't handle: " + component);
+            SemanticRow row = param.getValue();
+            if (row == null) {
+                return new SimpleStringProperty();
             }
-            return new SimpleObjectProperty<>();
+            return new SimpleStringProperty(row.cell(columnIndex, tableModel.column(columnIndex)));
         });
         return fieldColumn;
     }
 
-    private TreeTableColumn<Component, Object> makeColumn(String meaningText, String purposeText, StampFields stampField) {
-        TreeTableColumn<Component, Object> fieldColumn = makeColumn(meaningText, purposeText);
-        fieldColumn.setCellValueFactory(param -> {
-            Component component = param.getValue().getValue();
-            if (component instanceof EntityVersion entityVersion) {
-                switch (stampField) {
-                    case STATUS:
-                        return new SimpleObjectProperty(languageCalculator().getPreferredDescriptionTextWithFallbackOrNid(entityVersion.stamp().stateNid()));
-                    case TIME:
-                        return new SimpleObjectProperty<>(DateTimeUtil.format(entityVersion.time()));
-                    case AUTHOR:
-                        return new SimpleObjectProperty(languageCalculator().getPreferredDescriptionTextWithFallbackOrNid(entityVersion.stamp().authorNid()));
-                    case MODULE:
-                        return new SimpleObjectProperty(languageCalculator().getPreferredDescriptionTextWithFallbackOrNid(entityVersion.stamp().moduleNid()));
-                    case PATH:
-                        return new SimpleObjectProperty(languageCalculator().getPreferredDescriptionTextWithFallbackOrNid(entityVersion.stamp().pathNid()));
-                }
+    private Function<SemanticRow, String> fieldProjection(int fieldIndex) {
+        return row -> row.version(viewCalculator()).map(entityVersion -> {
+            Object obj = entityVersion.fieldValues().get(fieldIndex);
+            if (obj instanceof EntityFacade entityFacade) {
+                return languageCalculator().getPreferredDescriptionTextWithFallbackOrNid(entityFacade);
+            } else if (obj instanceof Instant instant) {
+                return DateTimeUtil.format(instant);
             }
-            // Suppress the parent for all the other columns...
-            return new SimpleObjectProperty();
-        });
-        return fieldColumn;
+            return String.valueOf(obj);
+        }).orElse("");
+    }
+
+    private void addStampColumn(List<TableColumn<SemanticRow, String>> columns, List<Function<SemanticRow, String>> projections,
+                                String meaningText, String purposeText, StampFields stampField) {
+        columns.add(makeColumn(meaningText, purposeText, projections.size()));
+        projections.add(row -> row.version(viewCalculator()).map(entityVersion -> switch (stampField) {
+            case STATUS -> languageCalculator().getPreferredDescriptionTextWithFallbackOrNid(entityVersion.stamp().stateNid());
+            case TIME -> DateTimeUtil.format(entityVersion.time());
+            case AUTHOR -> languageCalculator().getPreferredDescriptionTextWithFallbackOrNid(entityVersion.stamp().authorNid());
+            case MODULE -> languageCalculator().getPreferredDescriptionTextWithFallbackOrNid(entityVersion.stamp().moduleNid());
+            case PATH -> languageCalculator().getPreferredDescriptionTextWithFallbackOrNid(entityVersion.stamp().pathNid());
+            default -> "";
+        }).orElse(""));
     }
 
     @Override
@@ -251,7 +221,7 @@ public Node getNode() {
 
     @Override
     public void close() {
-
+        this.tableModel.clear();
     }
 
     @Override
@@ -15,11 +15,77 @@
  */
 package dev.ikm.komet.table;
 
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
 public class TableNodeTest {
+    @BeforeAll
+    public static void startPlatform() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        try {
+            Platform.startup(latch::countDown);
+        } catch (IllegalStateException alreadyStarted) {
+            latch.countDown();
+        }
+        latch.await(5, TimeUnit.SECONDS);
+    }
+
     @Test
     public void testSimple() {
         assert true;
     }
+
+    @Test
+    public void sortDoesNotReadRows() throws Exception {
+        FutureTask<Void> sort = new FutureTask<>(() -> {
+            CountingRows rows = new CountingRows(100_000);
+            TableView<SemanticRow> tableView = TableNode.makeTableView(rows);
+            TableColumn<SemanticRow, String> column = TableNode.makeColumn(new SemanticTableModel(), "Field", "Purpose", 0);
+            tableView.getColumns().add(column);
+            assertFalse(column.isSortable());
+
+            tableView.getSortOrder().add(column);
+            column.setSortType(TableColumn.SortType.DESCENDING);
+            assertDoesNotThrow(tableView::sort);
+            assertEquals(0, rows.reads, "Sorting read rows of the virtual model");
+            return null;
+        });
+        Platform.runLater(sort);
+        sort.get(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Read only list like the rows of a {@link SemanticTableModel}, counting the rows read.
+     */
+    private static final class CountingRows extends ObservableListBase<SemanticRow> {
+        private final int size;
+        private int reads;
+
+        private CountingRows(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public SemanticRow get(int index) {
+            reads++;
+            return new SemanticRow(index, SemanticRow.LATEST_VERSION, 1);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
 }
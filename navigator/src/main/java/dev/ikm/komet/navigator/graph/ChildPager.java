@@ -0,0 +1,240 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.navigator.graph;
+
+import dev.ikm.tinkar.common.service.TinkExecutor;
+import dev.ikm.tinkar.common.util.text.NaturalOrder;
+import dev.ikm.tinkar.coordinate.navigation.calculator.Edge;
+import org.eclipse.collections.api.collection.ImmutableCollection;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+/**
+ * Hands out the children of a navigator vertex one page at a time, so that concepts with tens of
+ * thousands of direct children do not have a tree item built for every child before anything is shown.
+ * <p>
+ * The child edges are sorted once, by the display text of their destination, which is the same order
+ * the navigator cells are sorted in. Each page is turned into tree items by the supplied page builder,
+ * and the page after the one just handed out is built on a background thread, so that asking for
+ * "more" is usually answered without waiting.
+ *
+ * @param <T> the tree item type built for each page
+ */
+public class ChildPager<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(ChildPager.class);
+
+    /**
+     * Number of children built per page unless otherwise specified.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 250;
+
+    private final Edge[] sortedEdges;
+    private final int pageSize;
+    private final Function<ImmutableList<Edge>, List<T>> pageBuilder;
+    private final ExecutorService prefetchExecutor;
+    private int nextIndex = 0;
+    private Future<List<T>> prefetchedPage;
+    private volatile boolean cancelled = false;
+
+    private ChildPager(Edge[] sortedEdges, int pageSize, Function<ImmutableList<Edge>, List<T>> pageBuilder,
+                       ExecutorService prefetchExecutor) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        this.sortedEdges = sortedEdges;
+        this.pageSize = pageSize;
+        this.pageBuilder = pageBuilder;
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    /**
+     * Creates a pager over the given child edges, sorted by the display text of their destination concepts.
+     *
+     * @param childEdges  the unsorted child edges of a vertex
+     * @param textForNid  function providing the display text of a concept
+     * @param pageSize    the maximum number of edges handed to the page builder at once
+     * @param pageBuilder turns a page of edges into tree items
+     * @param <T>         the tree item type
+     * @return a pager positioned before the first page
+     */
+    public static <T> ChildPager<T> sorted(ImmutableCollection<Edge> childEdges, IntFunction<String> textForNid,
+                                           int pageSize, Function<ImmutableList<Edge>, List<T>> pageBuilder) {
+        return sorted(childEdges, textForNid, pageSize, pageBuilder, TinkExecutor.threadPool());
+    }
+
+    /**
+     * Creates a pager over the given child edges, sorted by the display text of their destination concepts,
+     * that builds the next page with the given executor.
+     *
+     * @param childEdges       the unsorted child edges of a vertex
+     * @param textForNid       function providing the display text of a concept
+     * @param pageSize         the maximum number of edges handed to the page builder at once
+     * @param pageBuilder      turns a page of edges into tree items
+     * @param prefetchExecutor builds the page after the one handed out
+     * @param <T>              the tree item type
+     * @return a pager positioned before the first page
+     */
+    static <T> ChildPager<T> sorted(ImmutableCollection<Edge> childEdges, IntFunction<String> textForNid,
+                                    int pageSize, Function<ImmutableList<Edge>, List<T>> pageBuilder,
+                                    ExecutorService prefetchExecutor) {
+        Edge[] edges = childEdges.toArray(new Edge[childEdges.size()]);
+        String[] keys = new String[edges.length];
+        Integer[] order = new Integer[edges.length];
+        for (int i = 0; i < edges.length; i++) {
+            keys[i] = textForNid.apply(edges[i].destinationNid());
+            order[i] = i;
+        }
+        Arrays.sort(order, (i1, i2) -> {
+            int compare = NaturalOrder.compareStrings(keys[i1], keys[i2]);
+            if (compare != 0) {
+                return compare;
+            }
+            return Integer.compare(edges[i1].destinationNid(), edges[i2].destinationNid());
+        });
+        Edge[] sortedEdges = new Edge[edges.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedEdges[i] = edges[order[i]];
+        }
+        return new ChildPager<>(sortedEdges, pageSize, pageBuilder, prefetchExecutor);
+    }
+
+    /**
+     * Returns the next page of tree items, using the prefetched page when one is ready, and starts
+     * building the page after it in the background.
+     *
+     * @return the next page, or an empty list when all children have been handed out or the pager was cancelled
+     */
+    public synchronized List<T> nextPage() {
+        if (cancelled || !hasMore()) {
+            return List.of();
+        }
+        List<T> page = null;
+        if (prefetchedPage != null) {
+            try {
+                page = prefetchedPage.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return List.of();
+            } catch (ExecutionException | CancellationException e) {
+                LOG.warn("Prefetch of child page failed, building it now", e);
+            }
+            prefetchedPage = null;
+        }
+        if (page == null) {
+            page = pageBuilder.apply(edgesForPage(nextIndex));
+        }
+        nextIndex = Math.min(sortedEdges.length, nextIndex + pageSize);
+        prefetchNextPage();
+        return page;
+    }
+
+    private void prefetchNextPage() {
+        if (cancelled || !hasMore()) {
+            return;
+        }
+        final ImmutableList<Edge> nextEdges = edgesForPage(nextIndex);
+        prefetchedPage = prefetchExecutor.submit(() -> pageBuilder.apply(nextEdges));
+    }
+
+    /**
+     * Hands out the pages up to and including the one holding the child at the given position, so that a child
+     * beyond the loaded pages can be shown.
+     *
+     * @param index the position of the child in display order, as given by {@link #lastIndexOf(IntPredicate)}
+     * @return the tree items of the pages handed out, or an empty list if the child was already handed out
+     */
+    public synchronized List<T> pagesThrough(int index) {
+        List<T> pages = new ArrayList<>();
+        while (nextIndex <= index && hasMore() && !cancelled && !Thread.currentThread().isInterrupted()) {
+            pages.addAll(nextPage());
+        }
+        return pages;
+    }
+
+    /**
+     * @param destinationNids the nids of the children looked for
+     * @return the position in display order of the last child whose nid is accepted, or -1 if there is none
+     */
+    public int lastIndexOf(IntPredicate destinationNids) {
+        for (int i = sortedEdges.length - 1; i >= 0; i--) {
+            if (destinationNids.test(sortedEdges[i].destinationNid())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private ImmutableList<Edge> edgesForPage(int start) {
+        int end = Math.min(sortedEdges.length, start + pageSize);
+        return Lists.immutable.of(Arrays.copyOfRange(sortedEdges, start, end));
+    }
+
+    /**
+     * @return true if there are children that have not yet been handed out
+     */
+    public synchronized boolean hasMore() {
+        return nextIndex < sortedEdges.length;
+    }
+
+    /**
+     * @return the number of children that have not yet been handed out
+     */
+    public synchronized int remaining() {
+        return sortedEdges.length - nextIndex;
+    }
+
+    /**
+     * @return the total number of children, loaded or not
+     */
+    public int size() {
+        return sortedEdges.length;
+    }
+
+    /**
+     * @return the number of children per page
+     */
+    public int pageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Stops handing out pages and discards any page being prefetched.
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        if (prefetchedPage != null) {
+            prefetchedPage.cancel(false);
+            prefetchedPage = null;
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
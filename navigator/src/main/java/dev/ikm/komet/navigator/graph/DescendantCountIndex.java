@@ -0,0 +1,265 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.navigator.graph;
+
+import dev.ikm.tinkar.common.service.TinkExecutor;
+import dev.ikm.tinkar.common.util.broadcast.Subscriber;
+import dev.ikm.tinkar.coordinate.view.ViewCoordinateRecord;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.SemanticEntity;
+import org.eclipse.collections.api.map.primitive.MutableIntIntMap;
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.factory.primitive.IntIntMaps;
+import org.eclipse.collections.impl.factory.primitive.IntObjectMaps;
+import org.eclipse.collections.impl.factory.primitive.IntSets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Index of the number of distinct descendants and the height of the subtree below each concept of a taxonomy,
+ * so that badges and summaries can show subtree sizes without walking the graph.
+ * <p>
+ * Entries are computed on demand in the background, see {@link #request(int, Consumer)}, and retained. Computing
+ * the entry of a concept records the height of every concept in its subtree as a side effect, so the heights
+ * below an indexed concept are available immediately.
+ * <p>
+ * The index is updated incrementally: when a concept, or a semantic referencing a concept, changes, the entries
+ * of that concept and of all its ancestors, through both its current parents and the parents it had when it was
+ * indexed, are discarded and recomputed on the next request. Entries for unrelated parts of the taxonomy are kept.
+ */
+public final class DescendantCountIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(DescendantCountIndex.class);
+
+    /**
+     * Maximum number of view coordinates for which an index is retained.
+     */
+    private static final int MAX_INDEXES = 8;
+
+    private static final Map<ViewCoordinateRecord, DescendantCountIndex> INDEXES = new LinkedHashMap<>(MAX_INDEXES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ViewCoordinateRecord, DescendantCountIndex> eldest) {
+            if (size() > MAX_INDEXES) {
+                eldest.getValue().close();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private volatile Navigator navigator;
+    private final ConcurrentHashMap<Integer, SubtreeStats> stats = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, CompletableFuture<SubtreeStats>> inFlight = new ConcurrentHashMap<>();
+    /**
+     * Height of every concept visited while computing entries, guarded by itself.
+     */
+    private final MutableIntIntMap heights = IntIntMaps.mutable.empty();
+    /**
+     * Parents through which each visited concept was reached, guarded by {@link #heights}.
+     */
+    private final MutableIntObjectMap<MutableIntSet> indexedParents = IntObjectMaps.mutable.empty();
+    private final Subscriber<Integer> entityChangeSubscriber = this::invalidate;
+
+    private DescendantCountIndex(Navigator navigator) {
+        this.navigator = navigator;
+        Entity.provider().addSubscriberWithWeakReference(entityChangeSubscriber);
+    }
+
+    /**
+     * Gets the index for the view coordinate of a navigator, creating it if necessary. The navigator is
+     * used for any subsequent computation.
+     *
+     * @param navigator the navigator whose taxonomy is indexed
+     * @return the index for the navigator's view coordinate
+     */
+    public static DescendantCountIndex forNavigator(Navigator navigator) {
+        ViewCoordinateRecord viewCoordinate = navigator.getViewCalculator().viewCoordinateRecord();
+        synchronized (INDEXES) {
+            DescendantCountIndex index = INDEXES.computeIfAbsent(viewCoordinate, key -> new DescendantCountIndex(navigator));
+            index.navigator = navigator;
+            return index;
+        }
+    }
+
+    /**
+     * @param conceptNid the concept
+     * @return the subtree statistics for the concept, if already indexed
+     */
+    public Optional<SubtreeStats> get(int conceptNid) {
+        return Optional.ofNullable(stats.get(conceptNid));
+    }
+
+    /**
+     * Gets the subtree statistics for a concept, computing them in the background if not yet indexed.
+     *
+     * @param conceptNid the concept
+     * @param onComputed called with the statistics once they are available, on the computing thread,
+     *                   or immediately on the calling thread if already indexed
+     */
+    public void request(int conceptNid, Consumer<SubtreeStats> onComputed) {
+        SubtreeStats subtreeStats = stats.get(conceptNid);
+        if (subtreeStats != null) {
+            onComputed.accept(subtreeStats);
+            return;
+        }
+        inFlight.computeIfAbsent(conceptNid, nid -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return compute(nid);
+                    } finally {
+                        inFlight.remove(nid);
+                    }
+                }, TinkExecutor.threadPool()))
+                .thenAccept(onComputed)
+                .exceptionally(throwable -> {
+                    LOG.warn("Unable to index descendants of " + conceptNid, throwable);
+                    return null;
+                });
+    }
+
+    /**
+     * Gets the subtree statistics for a concept, computing them on the calling thread if not yet indexed.
+     *
+     * @param conceptNid the concept
+     * @return the subtree statistics
+     */
+    public SubtreeStats getOrCompute(int conceptNid) {
+        SubtreeStats subtreeStats = stats.get(conceptNid);
+        if (subtreeStats != null) {
+            return subtreeStats;
+        }
+        return compute(conceptNid);
+    }
+
+    /**
+     * @param conceptNid the concept
+     * @return the height of the subtree below the concept if known from a previous computation, or -1
+     */
+    public int knownHeight(int conceptNid) {
+        synchronized (heights) {
+            return heights.getIfAbsent(conceptNid, -1);
+        }
+    }
+
+    private SubtreeStats compute(int conceptNid) {
+        Navigator currentNavigator = this.navigator;
+        MutableIntSet descendants = IntSets.mutable.empty();
+        int height = visit(conceptNid, currentNavigator, descendants, IntSets.mutable.empty());
+        SubtreeStats subtreeStats = new SubtreeStats(descendants.size(), height);
+        if (currentNavigator == this.navigator) {
+            stats.put(conceptNid, subtreeStats);
+        }
+        return subtreeStats;
+    }
+
+    /**
+     * Depth first walk that collects the distinct descendants of a concept and returns its height, reusing
+     * the heights already known for concepts of the subtree.
+     */
+    private int visit(int nid, Navigator currentNavigator, MutableIntSet descendants, MutableIntSet onPath) {
+        int maxChildHeight = -1;
+        onPath.add(nid);
+        for (int childNid : currentNavigator.getChildNids(nid)) {
+            synchronized (heights) {
+                MutableIntSet parents = indexedParents.getIfAbsentPut(childNid, IntSets.mutable::empty);
+                parents.add(nid);
+            }
+            if (onPath.contains(childNid)) {
+                // A cycle in the data, do not follow it.
+                continue;
+            }
+            boolean firstVisit = descendants.add(childNid);
+            int childHeight = knownHeight(childNid);
+            if (firstVisit || childHeight < 0) {
+                childHeight = visit(childNid, currentNavigator, descendants, onPath);
+            }
+            maxChildHeight = Math.max(maxChildHeight, childHeight);
+        }
+        onPath.remove(nid);
+        int height = maxChildHeight + 1;
+        synchronized (heights) {
+            heights.put(nid, height);
+        }
+        return height;
+    }
+
+    private void invalidate(Integer changedNid) {
+        int nid = changedNid;
+        try {
+            if (Entity.getFast(nid) instanceof SemanticEntity<?> semanticEntity) {
+                nid = semanticEntity.referencedComponentNid();
+            }
+        } catch (RuntimeException e) {
+            LOG.debug("Unable to resolve changed component " + nid, e);
+        }
+        MutableIntSet toVisit = IntSets.mutable.of(nid);
+        MutableIntSet invalidated = IntSets.mutable.empty();
+        Navigator currentNavigator = this.navigator;
+        while (!toVisit.isEmpty()) {
+            int next = toVisit.intIterator().next();
+            toVisit.remove(next);
+            if (!invalidated.add(next)) {
+                continue;
+            }
+            stats.remove(next);
+            MutableIntSet formerParents;
+            synchronized (heights) {
+                heights.remove(next);
+                formerParents = indexedParents.remove(next);
+            }
+            if (formerParents != null) {
+                formerParents.forEach(parentNid -> {
+                    if (!invalidated.contains(parentNid)) {
+                        toVisit.add(parentNid);
+                    }
+                });
+            }
+            try {
+                for (int parentNid : currentNavigator.getParentNids(next)) {
+                    if (!invalidated.contains(parentNid)) {
+                        toVisit.add(parentNid);
+                    }
+                }
+            } catch (RuntimeException e) {
+                LOG.debug("Unable to get parents of " + next, e);
+            }
+        }
+        LOG.trace("Invalidated {} descendant count entries for change to {}", invalidated.size(), changedNid);
+    }
+
+    private void close() {
+        stats.clear();
+        synchronized (heights) {
+            heights.clear();
+            indexedParents.clear();
+        }
+    }
+
+    /**
+     * Size and shape of the subtree below a concept.
+     *
+     * @param descendantCount the number of distinct descendants, not counting the concept itself
+     * @param height          the number of levels below the concept, 0 for a leaf
+     */
+    public record SubtreeStats(int descendantCount, int height) {
+    }
+}
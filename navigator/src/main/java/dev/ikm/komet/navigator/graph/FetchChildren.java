@@ -16,23 +16,18 @@
 package dev.ikm.komet.navigator.graph;
 
 
-import dev.ikm.komet.framework.view.ObservableView;
-import dev.ikm.tinkar.common.alert.AlertStreams;
-import dev.ikm.tinkar.common.service.TinkExecutor;
 import dev.ikm.tinkar.common.service.TrackingCallable;
-import dev.ikm.tinkar.common.util.thread.TaskCountManager;
 import dev.ikm.tinkar.coordinate.navigation.calculator.Edge;
 import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
-import dev.ikm.tinkar.entity.ConceptEntity;
-import dev.ikm.tinkar.entity.Entity;
 import dev.ikm.tinkar.terms.ConceptFacade;
 import javafx.application.Platform;
 import org.eclipse.collections.api.collection.ImmutableCollection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -79,66 +74,49 @@ public Void compute() throws Exception {
             if (conceptFacade == null) {
                 LOG.debug("addChildren(): ConceptEntity={}", conceptFacade);
             } else {  // if (ConceptEntity != null)
-                // Gather the children
-                ConcurrentSkipListSet<MultiParentVertexImpl> childrenToAdd = new ConcurrentSkipListSet<>();
+                // Gather the first page of children, the rest are loaded on demand.
                 Navigator navigator = parentGraphItem.getGraphController().getNavigator();
-                ObservableView observableView = parentGraphItem.getGraphController().getObservableView();
-                ImmutableCollection<Edge> children = navigator.getChildEdges(conceptFacade.nid());
-
-                addToTotalWork(children.size() + 1);
-
-                TaskCountManager taskCountManager = TaskCountManager.get();
-                for (Edge childLink : children) {
-                    taskCountManager.acquire();
-                    TinkExecutor.threadPool().execute(() -> {
-                        try {
-                            ConceptEntity childChronology = Entity.getFast(childLink.destinationNid());
-                            MultiParentVertexImpl childItem = new MultiParentVertexImpl(childChronology, parentGraphItem.getGraphController(), childLink.typeNids(), null);
-                            try {
-                                childItem.setDefined(this.viewCalculator.hasSufficientSet(childChronology));
-                            } catch (Throwable e) {
-                                // TODO remove when better handling for: More than one set of axioms for concept: ConceptRecord{SNOMED CT July 2002 Release: 20020731 [R] <-2142333838>
-                                // dev.ikm.tinkar.coordinate.logic.calculator.LogicCalculatorWithCache.hasSufficientSet(LogicCalculatorWithCache.java:101)
-                                AlertStreams.dispatchToRoot(e);
-                            }
-                            childItem.toString();
-                            childItem.setMultiParent(navigator.getParentNids(childLink.destinationNid()).length > 1);
-                            childItem.isLeaf();
-
-                            if (childItem.shouldDisplay()) {
-                                childrenToAdd.add(childItem);
-                            } else {
-                                LOG.debug(
-                                        "item.shouldDisplay() == false: not adding " + childItem.getConceptPublicId() + " as child of "
-                                                + parentGraphItem.getConceptPublicId());
-                            }
-                        } finally {
-                            taskCountManager.release();
-                        }
-                    });
-
-                    completedUnitOfWork();
-                    if (isCancelled()) return null;
+                SpeculativePrefetcher prefetcher = parentGraphItem.getGraphController().getPrefetcher();
+                ImmutableCollection<Edge> children = prefetcher.takeChildEdges(conceptFacade.nid())
+                        .orElseGet(() -> navigator.getChildEdges(conceptFacade.nid()));
+                ChildPager<MultiParentVertexImpl> pager = parentGraphItem.makeChildPager(children);
+
+                addToTotalWork(2);
+                List<MultiParentVertexImpl> childrenToAdd = pager.nextPage();
+                completedUnitOfWork();
+                if (isCancelled()) {
+                    pager.cancel();
+                    return null;
                 }
-                taskCountManager.waitForCompletion();
-                if (isCancelled()) return null;
                 Platform.runLater(
                         () -> {
                             if (!FetchChildren.this.isCancelled()) {
                                 LOG.trace("Adding children for: " + parentGraphItem.getValue().nid()
                                         + " from: " + fetcherId);
-                                parentGraphItem.getChildren().setAll(childrenToAdd);
+                                parentGraphItem.setChildPager(pager);
+                                if (pager.hasMore()) {
+                                    List<MultiParentVertexImpl> childrenWithSentinel = new ArrayList<>(childrenToAdd);
+                                    childrenWithSentinel.add(new MoreChildrenVertex(parentGraphItem, pager));
+                                    parentGraphItem.getChildren().setAll(childrenWithSentinel);
+                                } else {
+                                    parentGraphItem.getChildren().setAll(childrenToAdd);
+                                }
                                 try {
                                     parentGraphItem.setExpanded(true);
                                 } catch (IllegalStateException e) {
                                     LOG.error("IllegalStateException checking leaf", e);
                                 }
+                                // The next expansion is most likely one of these children
+                                prefetcher.prefetchChildrenOf(childrenToAdd.stream()
+                                        .mapToInt(MultiParentVertexImpl::getConceptNid).toArray());
                                 completedUnitOfWork();
+                            } else {
+                                pager.cancel();
                             }
 
                         });
 
-                childrenFound = childrenToAdd.size();
+                childrenFound = children.size();
             }
             updateTitle("Fetched " + childrenFound + " children for " + this.parentName);
             updateMessage("In " + durationString());
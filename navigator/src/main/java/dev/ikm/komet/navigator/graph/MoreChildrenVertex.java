@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.navigator.graph;
+
+import dev.ikm.tinkar.common.service.TinkExecutor;
+import javafx.application.Platform;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sentinel vertex placed after the last loaded child of a vertex whose children are
+ * loaded in pages. Activating it replaces the sentinel with the next page of children
+ * (and a new sentinel, if more remain).
+ *
+ * @see ChildPager
+ */
+public final class MoreChildrenVertex extends MultiParentVertexImpl {
+
+    private final MultiParentVertexImpl parentVertex;
+    private final ChildPager<MultiParentVertexImpl> pager;
+    private final AtomicBoolean loading = new AtomicBoolean(false);
+
+    MoreChildrenVertex(MultiParentVertexImpl parentVertex, ChildPager<MultiParentVertexImpl> pager) {
+        super(parentVertex.getGraphController());
+        this.parentVertex = parentVertex;
+        this.pager = pager;
+    }
+
+    /**
+     * Loads the next page of children in the background, and replaces this sentinel with
+     * them on the FX thread. Repeated calls while a page is loading are ignored.
+     */
+    public void loadMore() {
+        if (!loading.compareAndSet(false, true)) {
+            return;
+        }
+        TinkExecutor.threadPool().execute(() -> {
+            List<MultiParentVertexImpl> page = pager.nextPage();
+            Platform.runLater(() -> parentVertex.addChildPage(page, pager));
+        });
+    }
+
+    @Override
+    public boolean isLeaf() {
+        return true;
+    }
+
+    @Override
+    public boolean shouldDisplay() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        if (loading.get()) {
+            return "Loading more children...";
+        }
+        return "Show " + Math.min(pager.remaining(), pager.pageSize()) + " more of " + pager.remaining() + " remaining children...";
+    }
+}
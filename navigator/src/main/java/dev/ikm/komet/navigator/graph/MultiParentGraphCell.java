@@ -26,6 +26,7 @@
 import dev.ikm.tinkar.entity.ConceptEntity;
 import dev.ikm.tinkar.entity.Entity;
 import dev.ikm.tinkar.terms.ConceptFacade;
+import javafx.application.Platform;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.geometry.Rectangle2D;
@@ -60,6 +61,7 @@
     private double dragOffset = 0;
     private TilePane graphicTilePane;
     private String conceptDescriptionText; // Cached to speed up updates
+    private final Tooltip subtreeTooltip = new Tooltip();
 
     //~--- constructors --------------------------------------------------------
 
@@ -74,6 +76,17 @@
         this.setOnDragDetected(new DragDetectedCellEventHandler());
         this.setOnDragDone(new DragDoneEventHandler());
 
+        // Load the next page of children when the "more" sentinel is clicked
+        this.setOnMouseClicked(event -> {
+            if (getTreeItem() instanceof MoreChildrenVertex moreChildrenVertex) {
+                moreChildrenVertex.loadMore();
+                setText(moreChildrenVertex.toString());
+                event.consume();
+            }
+        });
+
+        // Count the descendants only when the tooltip is about to be shown, not for every cell scrolled past
+        this.subtreeTooltip.setOnShowing(event -> requestSubtreeStats());
     }
 
     //~--- methods -------------------------------------------------------------
@@ -92,10 +105,18 @@ protected void updateItem(ConceptFacade concept, boolean empty) {
                 setText("");
                 conceptDescriptionText = null;
                 setGraphic(null);
+                setTooltip(null);
                 this.pseudoClassStateChanged(PseudoClasses.INACTIVE_PSEUDO_CLASS, false);
             } else {
                 final MultiParentVertexImpl treeItem = (MultiParentVertexImpl) getTreeItem();
                 conceptDescriptionText = treeItem.toString();
+                if (treeItem instanceof MoreChildrenVertex) {
+                    this.pseudoClassStateChanged(PseudoClasses.INACTIVE_PSEUDO_CLASS, true);
+                    setText(conceptDescriptionText);
+                    setGraphic(null);
+                    setTooltip(null);
+                    return;
+                }
 
                 try {
                     if (!treeItem.isLeaf()) {
@@ -112,13 +133,59 @@ protected void updateItem(ConceptFacade concept, boolean empty) {
                     this.pseudoClassStateChanged(PseudoClasses.INACTIVE_PSEUDO_CLASS, !conceptActive);
                     setText(conceptDescriptionText);
                     setGraphic(treeItem.computeGraphic());
+                    updateSubtreeTooltip(treeItem, concept);
                 }
             }
         } catch (Exception e) {
             LOG.error("Unexpected error updating cell", e);
             setText("Internal error!");
             setGraphic(null);
+            setTooltip(null);
+        }
+    }
+
+    /**
+     * Installs the subtree size tooltip on non-leaf concepts. The size is only looked up in the descendant count
+     * index here; computing it is deferred until the tooltip is shown, see {@link #requestSubtreeStats()}.
+     */
+    private void updateSubtreeTooltip(MultiParentVertexImpl treeItem, ConceptFacade concept) {
+        Navigator navigator = treeItem.getGraphController().getNavigator();
+        if (treeItem.isLeaf() || navigator == null) {
+            setTooltip(null);
+            return;
         }
+        DescendantCountIndex.forNavigator(navigator).get(concept.nid()).ifPresentOrElse(
+                this::showSubtreeStats,
+                () -> subtreeTooltip.setText("Counting descendants..."));
+        setTooltip(subtreeTooltip);
+    }
+
+    private void requestSubtreeStats() {
+        ConceptFacade concept = getItem();
+        if (concept == null || !(getTreeItem() instanceof MultiParentVertexImpl treeItem)) {
+            return;
+        }
+        Navigator navigator = treeItem.getGraphController().getNavigator();
+        if (navigator == null) {
+            return;
+        }
+        DescendantCountIndex.forNavigator(navigator).request(concept.nid(), subtreeStats -> {
+            Runnable showTooltip = () -> {
+                if (getItem() == concept) {
+                    showSubtreeStats(subtreeStats);
+                }
+            };
+            if (Platform.isFxApplicationThread()) {
+                showTooltip.run();
+            } else {
+                Platform.runLater(showTooltip);
+            }
+        });
+    }
+
+    private void showSubtreeStats(DescendantCountIndex.SubtreeStats subtreeStats) {
+        subtreeTooltip.setText(subtreeStats.descendantCount() + " descendants, "
+                + subtreeStats.height() + " levels deep");
     }
 
     private ContextMenu buildContextMenu(ConceptEntity concept) {
@@ -31,6 +31,7 @@
 import dev.ikm.komet.framework.view.ViewMenuModel;
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.komet.navigator.graph.treetasks.ExpandTask;
+import dev.ikm.komet.navigator.graph.treetasks.RestoreTask;
 import dev.ikm.komet.preferences.KometPreferences;
 import dev.ikm.tinkar.common.alert.AlertCategory;
 import dev.ikm.tinkar.common.alert.AlertObject;
@@ -109,6 +110,8 @@ public class MultiParentGraphViewController implements RefreshListener {
     private final LayoutAnimator alertsAnimator = new LayoutAnimator();
     private final SimpleObjectProperty<Navigator> navigatorProperty = new SimpleObjectProperty<>();
     private final UUID uuid = UUID.randomUUID();
+    private final SpeculativePrefetcher prefetcher = new SpeculativePrefetcher(this);
+    private RestoreTask restoreTask;
 
     /** Maintains a mapping between tree items and their corresponding visual cell components. */
     private final Map<TreeItem<ConceptFacade>, TreeCell<ConceptFacade>> cellMap = new WeakHashMap<>();
@@ -173,6 +176,10 @@ private void sceneChanged(ObservableValue<? extends Scene> observableValue, Scen
     public void shutdownInstance() {
         LOG.info("Shutdown graph view instance");
         this.getObservableView().removeListener(this.viewChangedListener);
+        this.prefetcher.clear();
+        if (this.restoreTask != null) {
+            this.restoreTask.cancel();
+        }
         if (rootTreeItem != null) {
             rootTreeItem.clearChildren();  // This recursively cancels any active lookups
         }
@@ -234,6 +241,8 @@ void initialize() {
         rootTreeItem.addEventHandler(
                 TreeItem.branchCollapsedEvent(),
                 (TreeItem.TreeModificationEvent<ConceptFacade> t) -> {
+                    // Navigating away, speculative work for the collapsed branch is no longer useful
+                    this.prefetcher.cancel();
                     ((MultiParentVertexImpl) t.getSource()).removeChildren();
                 });
         rootTreeItem.addEventHandler(
@@ -475,7 +484,9 @@ private WritableImage createCompositeSnapshot(List<WritableImage> snapshots, Sna
     void copySelectedConcepts(ActionEvent event) {
         List<EntityProxy> identifiedObjects = new ArrayList<>();
         for (TreeItem<ConceptFacade> ConceptEntityTreeItem : this.treeView.getSelectionModel().getSelectedItems()) {
-            identifiedObjects.add(ConceptEntityTreeItem.getValue().toProxy());
+            if (ConceptEntityTreeItem.getValue() != null) {
+                identifiedObjects.add(ConceptEntityTreeItem.getValue().toProxy());
+            }
         }
         Clipboard.getSystemClipboard().setContent(new KometClipboard(identifiedObjects));
     }
@@ -643,14 +654,10 @@ protected MultiParentVertexImpl findChild(final MultiParentVertexImpl item,
             found.set(item);
         } else {
             item.blockUntilChildrenReady();
-
-            // Iterate through children and look for child with target UUID.
-            for (TreeItem<ConceptFacade> child : item.getChildren()) {
-                if ((child != null) && (child.getValue() != null) && child.getValue().nid() == targetChildNid) {
-                    // Found it.
-                    found.set((MultiParentVertexImpl) child);
-                    break;
-                }
+            found.set(loadedChild(item, targetChildNid));
+            // Children are loaded in pages; the target may be in a page not loaded yet.
+            if (found.get() == null && item.loadChildrenThrough(targetChildNid)) {
+                found.set(loadedChild(item, targetChildNid));
             }
         }
 
@@ -673,6 +680,15 @@ protected MultiParentVertexImpl findChild(final MultiParentVertexImpl item,
         return found.get();
     }
 
+    private static MultiParentVertexImpl loadedChild(MultiParentVertexImpl item, int childNid) {
+        for (TreeItem<ConceptFacade> child : item.getChildren()) {
+            if ((child != null) && (child.getValue() != null) && child.getValue().nid() == childNid) {
+                return (MultiParentVertexImpl) child;
+            }
+        }
+        return null;
+    }
+
     //~--- methods -------------------------------------------------------------
 
     private void onChanged(ListChangeListener.Change<? extends AlertObject> change) {
@@ -682,51 +698,17 @@ private void onChanged(ListChangeListener.Change<? extends AlertObject> change)
     private void restoreExpanded() {
         treeView.getSelectionModel()
                 .clearSelection();
-        TinkExecutor.threadPool()
-                .execute(
-                        () -> {
-                            try {
-                                SimpleObjectProperty<MultiParentVertexImpl> scrollTo = new SimpleObjectProperty<>();
-                                if (scrollTo.get() != null) {
-
-                                    restoreExpanded(rootTreeItem, scrollTo);
-                                    expandedNids.clear();
-                                    selectedItemNidOptional = OptionalInt.empty();
-
-                                    if (scrollTo.get() != null) {
-                                        Platform.runLater(
-                                                () -> {
-                                                    treeView.scrollTo(treeView.getRow(scrollTo.get()));
-                                                    treeView.getSelectionModel()
-                                                            .select(scrollTo.get());
-                                                });
-                                    }
-                                }
-                            } catch (InterruptedException e) {
-                                LOG.info("Interrupted while looking restoring expanded items");
-                            }
-                        });
-    }
-
-    private void restoreExpanded(MultiParentVertexImpl item,
-                                 SimpleObjectProperty<MultiParentVertexImpl> scrollTo)
-            throws InterruptedException {
-        if (expandedNids.contains(item.getConceptNid())) {
-            item.addChildren();
-            item.blockUntilChildrenReady();
-            Platform.runLater(() -> item.setExpanded(true));
-
-            List<TreeItem<ConceptFacade>> list = new ArrayList<>(item.getChildren());
-
-            for (TreeItem<ConceptFacade> child : list) {
-                restoreExpanded((MultiParentVertexImpl) child, scrollTo);
-            }
+        if (this.restoreTask != null) {
+            this.restoreTask.cancel();
         }
-        selectedItemNidOptional.ifPresent(nid -> {
-            if (nid == item.getConceptNid()) {
-                scrollTo.set(item);
-            }
-        });
+        List<MultiParentVertexImpl> rootVertices = new ArrayList<>();
+        for (TreeItem<ConceptFacade> rootChild : this.rootTreeItem.getChildren()) {
+            rootVertices.add((MultiParentVertexImpl) rootChild);
+        }
+        this.restoreTask = new RestoreTask(this, rootVertices, IntSets.immutable.ofAll(expandedNids), selectedItemNidOptional);
+        expandedNids.clear();
+        selectedItemNidOptional = OptionalInt.empty();
+        TinkExecutor.threadPool().submit(this.restoreTask);
     }
 
     public void expandAndSelect(IntIdList expansionPath) {
@@ -760,7 +742,7 @@ private void saveExpanded() {
 
         TreeItem<ConceptFacade> selected = treeView.getSelectionModel().getSelectedItem();
 
-        if (selected == null) {
+        if (selected == null || selected.getValue() == null) {
             selectedItemNidOptional = OptionalInt.empty();
         } else {
             selectedItemNidOptional = OptionalInt.of(selected.getValue().nid());
@@ -898,6 +880,7 @@ private void refreshTaxonomy() {
         } catch (IllegalStateException ex) {
             Dialogs.showErrorDialog("Error computing view navigator", "Do you have more that one premise type selected?", ex, topGridPane.getScene().getWindow());
         }
+        this.prefetcher.clear();
         this.navigatorProperty.set(navigator);
         this.rootTreeItem.clearChildren();
         if (this.navigatorProperty.get().getRootNids().length > 1) {
@@ -911,13 +894,9 @@ private void refreshTaxonomy() {
                     Icon.TAXONOMY_ROOT_ICON.makeIcon());
             this.rootTreeItem.getChildren().add(graphRoot);
         }
-        for (TreeItem<ConceptFacade> rootChild : this.rootTreeItem.getChildren()) {
-            ((MultiParentVertexImpl) rootChild).clearChildren();
-            TinkExecutor.threadPool().execute(() -> ((MultiParentVertexImpl) rootChild).addChildren());
-        }
-
         this.rootTreeItem.invalidate();
         this.alertList.clear();
+        // Resolves the children of the roots and of previously expanded vertices in one background pass.
         restoreExpanded();
     }
 
@@ -939,6 +918,10 @@ public Navigator getNavigator() {
         return navigatorProperty.get();
     }
 
+    public SpeculativePrefetcher getPrefetcher() {
+        return prefetcher;
+    }
+
     public BorderPane getPane() {
         return topBorderPane;
     }
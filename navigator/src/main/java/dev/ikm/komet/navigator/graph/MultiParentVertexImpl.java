@@ -22,12 +22,14 @@
 import javafx.scene.Node;
 import javafx.scene.control.TreeItem;
 import org.eclipse.collections.api.collection.ImmutableCollection;
+import org.eclipse.collections.api.list.ImmutableList;
 import dev.ikm.komet.framework.view.ObservableView;
 import dev.ikm.tinkar.common.id.IntIdSet;
 import dev.ikm.tinkar.common.id.IntIds;
 import dev.ikm.tinkar.common.id.PublicId;
 import dev.ikm.tinkar.common.service.TinkExecutor;
 import dev.ikm.tinkar.common.util.text.NaturalOrder;
+import dev.ikm.tinkar.common.util.thread.TaskCountManager;
 import dev.ikm.tinkar.coordinate.navigation.calculator.Edge;
 import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
 import dev.ikm.tinkar.entity.ConceptEntity;
@@ -38,10 +40,11 @@
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.CountDownLatch;
+import java.util.function.IntPredicate;
 import java.util.regex.Pattern;
 
 /**
@@ -77,6 +80,7 @@
     private MultiParentGraphViewController graphController;
     private String conceptDescriptionText;  // Cached to speed up comparisons with toString method.
     private ImmutableCollection<Edge> childLinks;
+    private ChildPager<MultiParentVertexImpl> childPager;
     private LeafStatus leafStatus = LeafStatus.UNKNOWN;
 
     //~--- constructors --------------------------------------------------------
@@ -128,6 +132,7 @@ public void blockUntilChildrenReady()
     public void clearChildren() {
         cancelLookup = true;
         childrenLoadedLatch.countDown();
+        setChildPager(null);
         getChildren().forEach(
                 (child) -> {
                     ((MultiParentVertexImpl) child).clearChildren();
@@ -190,45 +195,25 @@ void addChildrenNow() {
                 } else if (conceptFacade == null) {
                     LOG.atTrace().log("addChildren(): conceptEntity=" + conceptFacade);
                 } else {  // if (conceptEntity != null)
-                    // Gather the children
+                    // Gather the first page of children
                     LOG.info("addChildrenNOW(): conceptEntity=" + conceptFacade);
-                    ArrayList<MultiParentVertexImpl> childrenToAdd = new ArrayList<>();
                     Navigator navigator = graphController.getNavigator();
 
                     if (childLinks == null) {
                         childLinks = navigator.getChildEdges(conceptFacade.nid());
                     }
-
-                    for (Edge childLink : childLinks) {
-                        ConceptEntity childChronology = Entity.getFast(childLink.destinationNid());
-                        MultiParentVertexImpl childItem = new MultiParentVertexImpl(childChronology, graphController, childLink.typeNids(), null);
-                        ObservableView observableView = graphController.getObservableView();
-
-                        try {
-                            childItem.setDefined(observableView.calculator().hasSufficientSet(childChronology.nid()));
-                        } catch (Throwable e) {
-                            //TODO remove catch after better handing of: More than one set of axioms for concept: ConceptRecord{Model concept <-2142333842>
-                            AlertStreams.dispatchToRoot(e);
-                            childItem.setDefined(false);
-                        }
-                        childItem.toString();
-                        childItem.setMultiParent(navigator.getParentNids(childLink.destinationNid()).length > 1);
-
-                        if (childItem.shouldDisplay()) {
-                            childrenToAdd.add(childItem);
-                        } else {
-                            LOG.atTrace().log(
-                                    "item.shouldDisplay() == false: not adding " + childItem.getConceptPublicId() + " as child of "
-                                            + this.getConceptPublicId());
-                        }
-                    }
-
-                    Collections.sort(childrenToAdd);
+                    ChildPager<MultiParentVertexImpl> pager = makeChildPager(childLinks);
+                    List<MultiParentVertexImpl> childrenToAdd = pager.nextPage();
 
                     if (cancelLookup) {
+                        pager.cancel();
                         return;
                     }
+                    setChildPager(pager);
                     getChildren().addAll(childrenToAdd);
+                    if (pager.hasMore()) {
+                        getChildren().add(new MoreChildrenVertex(this, pager));
+                    }
                 }
             } catch (Exception e) {
                 LOG.error("Unexpected error computing children and/or grandchildren for " + this.conceptDescriptionText, e);
@@ -238,6 +223,195 @@ void addChildrenNow() {
         }
     }
 
+    /**
+     * Builds the first page of children of this vertex on the calling thread, without adding
+     * them to the tree, followed by a {@link MoreChildrenVertex} if more pages remain. The pager
+     * supplying the remaining pages is retained by this vertex.
+     * <p>
+     * Used to resolve children in the background, so they can be applied to the tree in bulk
+     * with {@link #restoreChildren(List)}.
+     *
+     * @return the first page of children, possibly followed by a sentinel
+     */
+    public List<MultiParentVertexImpl> buildFirstPageOfChildren() {
+        return buildChildrenThrough(nid -> false);
+    }
+
+    /**
+     * Builds the children of this vertex on the calling thread, as {@link #buildFirstPageOfChildren()} does, but
+     * with as many further pages as it takes to include every child whose nid is wanted.
+     *
+     * @param wantedNids accepts the nids of the children that must be built
+     * @return the first pages of children, possibly followed by a sentinel
+     */
+    public List<MultiParentVertexImpl> buildChildrenThrough(IntPredicate wantedNids) {
+        if (getValue() == null || !shouldDisplay()) {
+            return List.of();
+        }
+        if (childLinks == null) {
+            childLinks = graphController.getNavigator().getChildEdges(getValue().nid());
+        }
+        ChildPager<MultiParentVertexImpl> pager = makeChildPager(childLinks);
+        List<MultiParentVertexImpl> children = new ArrayList<>(pager.nextPage());
+        children.addAll(pager.pagesThrough(pager.lastIndexOf(wantedNids)));
+        setChildPager(pager);
+        if (pager.hasMore()) {
+            children.add(new MoreChildrenVertex(this, pager));
+        }
+        return children;
+    }
+
+    /**
+     * Loads the pages of children of this vertex up to the page holding the given child, if that child is
+     * not loaded yet, and waits until they are in the tree. Must be called on a background thread, once the
+     * first page of children is loaded.
+     *
+     * @param childNid the nid of the child
+     * @return true if pages were loaded
+     * @throws InterruptedException if interrupted while waiting for the pages to be added to the tree
+     */
+    public boolean loadChildrenThrough(int childNid) throws InterruptedException {
+        ChildPager<MultiParentVertexImpl> pager = getChildPager();
+        if (pager == null) {
+            return false;
+        }
+        List<MultiParentVertexImpl> pages = pager.pagesThrough(pager.lastIndexOf(nid -> nid == childNid));
+        if (pages.isEmpty()) {
+            return false;
+        }
+        CountDownLatch added = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                addChildPage(pages, pager);
+            } finally {
+                added.countDown();
+            }
+        });
+        added.await();
+        return true;
+    }
+
+    /**
+     * Adds a further page of children in place of the {@link MoreChildrenVertex} that ends the children of this
+     * vertex, followed by a new sentinel if the pager has more. Must be called on the FX application thread.
+     *
+     * @param page  the children to add
+     * @param pager the pager that handed out the page
+     */
+    void addChildPage(List<MultiParentVertexImpl> page, ChildPager<MultiParentVertexImpl> pager) {
+        if (pager.isCancelled()) {
+            return;
+        }
+        List<TreeItem<ConceptFacade>> children = getChildren();
+        int index = children.size();
+        if (index > 0 && children.get(index - 1) instanceof MoreChildrenVertex) {
+            index--;
+            if (pager.hasMore()) {
+                children.set(index, new MoreChildrenVertex(this, pager));
+            } else {
+                children.remove(index);
+            }
+        }
+        children.addAll(index, page);
+    }
+
+    /**
+     * Sets the children of this vertex, as built by {@link #buildFirstPageOfChildren()}, marks the
+     * children as loaded, and expands this vertex. Must be called on the FX application thread.
+     *
+     * @param children the children of this vertex
+     */
+    public void restoreChildren(List<MultiParentVertexImpl> children) {
+        getChildren().setAll(children);
+        childrenLoadedLatch.countDown();
+        setExpanded(true);
+    }
+
+    /**
+     * Creates a pager over the given child edges of this vertex, that builds one page of
+     * child vertices at a time, sorted in display order.
+     *
+     * @param childEdges the child edges of this vertex
+     * @return a pager positioned before the first page of children
+     */
+    ChildPager<MultiParentVertexImpl> makeChildPager(ImmutableCollection<Edge> childEdges) {
+        ObservableView observableView = graphController.getObservableView();
+        return ChildPager.sorted(childEdges, observableView::getDescriptionTextOrNid,
+                ChildPager.DEFAULT_PAGE_SIZE, this::makeChildVertices);
+    }
+
+    /**
+     * Builds the child vertices for a page of child edges in parallel, skipping children
+     * that the display policies say should not be displayed.
+     *
+     * @param childEdges the edges to build vertices for
+     * @return the child vertices, sorted in display order
+     */
+    List<MultiParentVertexImpl> makeChildVertices(ImmutableList<Edge> childEdges) {
+        ConcurrentSkipListSet<MultiParentVertexImpl> childrenToAdd = new ConcurrentSkipListSet<>();
+        Navigator navigator = graphController.getNavigator();
+        ViewCalculator viewCalculator = getViewCalculator();
+        TaskCountManager taskCountManager = TaskCountManager.get();
+        for (Edge childLink : childEdges) {
+            if (cancelLookup) {
+                break;
+            }
+            taskCountManager.acquire();
+            TinkExecutor.threadPool().execute(() -> {
+                try {
+                    ConceptEntity childChronology = Entity.getFast(childLink.destinationNid());
+                    MultiParentVertexImpl childItem = new MultiParentVertexImpl(childChronology, graphController, childLink.typeNids(), null);
+                    try {
+                        childItem.setDefined(viewCalculator.hasSufficientSet(childChronology));
+                    } catch (Throwable e) {
+                        // TODO remove when better handling for: More than one set of axioms for concept: ConceptRecord{SNOMED CT July 2002 Release: 20020731 [R] <-2142333838>
+                        AlertStreams.dispatchToRoot(e);
+                        childItem.setDefined(false);
+                    }
+                    childItem.toString();
+                    childItem.setMultiParent(navigator.getParentNids(childLink.destinationNid()).length > 1);
+                    childItem.isLeaf();
+
+                    if (childItem.shouldDisplay()) {
+                        childrenToAdd.add(childItem);
+                    } else {
+                        LOG.atTrace().log(
+                                "item.shouldDisplay() == false: not adding " + childItem.getConceptPublicId() + " as child of "
+                                        + this.getConceptPublicId());
+                    }
+                } finally {
+                    taskCountManager.release();
+                }
+            });
+        }
+        try {
+            taskCountManager.waitForCompletion();
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            LOG.warn("Interrupted while building children for " + this.conceptDescriptionText, e);
+        }
+        return new ArrayList<>(childrenToAdd);
+    }
+
+    ChildPager<MultiParentVertexImpl> getChildPager() {
+        return childPager;
+    }
+
+    /**
+     * Replaces the pager supplying further pages of children, cancelling any previous pager.
+     *
+     * @param childPager the new pager, or null
+     */
+    void setChildPager(ChildPager<MultiParentVertexImpl> childPager) {
+        ChildPager<MultiParentVertexImpl> oldPager = this.childPager;
+        this.childPager = childPager;
+        if (oldPager != null && oldPager != childPager) {
+            oldPager.cancel();
+        }
+    }
+
     public boolean shouldDisplay() {
         if (graphController == null || graphController.getDisplayPolicies() == null) {
             return false;
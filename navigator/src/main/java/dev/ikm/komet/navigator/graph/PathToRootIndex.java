@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.navigator.graph;
+
+import dev.ikm.tinkar.common.util.broadcast.Subscriber;
+import dev.ikm.tinkar.coordinate.view.ViewCoordinateRecord;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.SemanticEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the preferred path from the navigator root to a concept, keyed by concept nid and the
+ * view coordinate (which carries the navigation coordinate) the path was computed with.
+ * <p>
+ * Computing the preferred path requires enumerating every path to root and scoring each of them, which
+ * is expensive for concepts deep in a multi-parent taxonomy. Recently used paths are retained here so
+ * that showing a recently focused concept in the navigator does not repeat that work.
+ * <p>
+ * An entry is dropped when the concept or any concept on its path changes, or when a semantic referencing
+ * one of them changes, since such a change may alter the taxonomy.
+ */
+public final class PathToRootIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(PathToRootIndex.class);
+
+    /**
+     * Maximum number of retained paths.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final PathToRootIndex SINGLETON = new PathToRootIndex(DEFAULT_CAPACITY);
+
+    private final Map<Key, int[]> paths;
+    private final Subscriber<Integer> entityChangeSubscriber = this::invalidate;
+
+    private PathToRootIndex(int capacity) {
+        this.paths = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, int[]> eldest) {
+                return size() > capacity;
+            }
+        };
+        Entity.provider().addSubscriberWithWeakReference(entityChangeSubscriber);
+    }
+
+    public static PathToRootIndex get() {
+        return SINGLETON;
+    }
+
+    /**
+     * Gets the preferred path from the root to a concept, computing and retaining it if not present.
+     *
+     * @param conceptNid          the concept at the end of the path
+     * @param viewCoordinate      the view coordinate the navigator was computed with
+     * @param preferredPathSupplier computes the preferred path, ordered from root to concept
+     * @return the preferred path ordered from root to concept; callers must not modify the array
+     */
+    public int[] preferredPath(int conceptNid, ViewCoordinateRecord viewCoordinate, Supplier<int[]> preferredPathSupplier) {
+        Key key = new Key(conceptNid, viewCoordinate);
+        synchronized (paths) {
+            int[] path = paths.get(key);
+            if (path != null) {
+                return path;
+            }
+        }
+        int[] path = preferredPathSupplier.get();
+        synchronized (paths) {
+            paths.put(key, path);
+        }
+        return path;
+    }
+
+    /**
+     * @param conceptNid     the concept at the end of the path
+     * @param viewCoordinate the view coordinate the navigator was computed with
+     * @return the depth of the concept below the root along its preferred path, or -1 if the path is not indexed
+     */
+    public int depth(int conceptNid, ViewCoordinateRecord viewCoordinate) {
+        synchronized (paths) {
+            int[] path = paths.get(new Key(conceptNid, viewCoordinate));
+            return path == null ? -1 : path.length - 1;
+        }
+    }
+
+    private void invalidate(Integer changedNid) {
+        int nid = changedNid;
+        int referencedNid = nid;
+        try {
+            if (Entity.getFast(nid) instanceof SemanticEntity<?> semanticEntity) {
+                referencedNid = semanticEntity.referencedComponentNid();
+            }
+        } catch (RuntimeException e) {
+            LOG.debug("Unable to resolve changed component " + nid, e);
+        }
+        final int componentNid = referencedNid;
+        synchronized (paths) {
+            paths.values().removeIf(path -> contains(path, nid) || contains(path, componentNid));
+        }
+    }
+
+    private static boolean contains(int[] path, int nid) {
+        for (int pathNid : path) {
+            if (pathNid == nid) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Discards all retained paths.
+     */
+    public void clear() {
+        synchronized (paths) {
+            paths.clear();
+        }
+    }
+
+    private record Key(int conceptNid, ViewCoordinateRecord viewCoordinate) {
+    }
+
+    @Override
+    public String toString() {
+        synchronized (paths) {
+            return "PathToRootIndex{" + paths.size() + " paths, " +
+                    paths.values().stream().mapToInt(path -> path.length).summaryStatistics() + "}";
+        }
+    }
+}
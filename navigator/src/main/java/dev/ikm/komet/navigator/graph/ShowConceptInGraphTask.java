@@ -60,6 +60,15 @@ public ShowConceptInGraphTask(MultiParentGraphViewController multiParentGraphVie
     protected Void compute() throws Exception {
         // await() init() completion.
 
+        int[] pathFromRoot = PathToRootIndex.get().preferredPath(conceptNid,
+                multiParentGraphView.getViewCalculator().viewCoordinateRecord(), this::computePathFromRoot);
+        final IntIdList reversedPathToRoot = IntIds.list.of(pathFromRoot);
+        LOG.atInfo().log(() -> String.format("Calculated root path: " + Arrays.toString(PrimitiveData.textList(reversedPathToRoot.toArray()).toArray())));
+        this.multiParentGraphView.expandAndSelect(reversedPathToRoot);
+        return null;
+    }
+
+    private int[] computePathFromRoot() {
         IntIdList pathSeed = IntIds.list.of(conceptNid);
         ImmutableList<IntIdList> pathsToRoot = findPathsToRoot(conceptNid, Lists.immutable.of(pathSeed));
 
@@ -87,12 +96,7 @@ protected Void compute() throws Exception {
                 }
             }
         }
-
-
-        final IntIdList reversedPathToRoot = IntIds.list.of(IntLists.mutable.of(bestPath.toArray()).reverseThis().toArray());
-        LOG.atInfo().log(() -> String.format("Calculated root path: " + Arrays.toString(PrimitiveData.textList(reversedPathToRoot.toArray()).toArray())));
-        this.multiParentGraphView.expandAndSelect(reversedPathToRoot);
-        return null;
+        return IntLists.mutable.of(bestPath.toArray()).reverseThis().toArray();
     }
 
     private ImmutableList<IntIdList> findPathsToRoot(int conceptNid, ImmutableList<IntIdList> incomingLists) {
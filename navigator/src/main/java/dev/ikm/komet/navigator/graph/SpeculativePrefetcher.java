@@ -0,0 +1,243 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.navigator.graph;
+
+import dev.ikm.tinkar.coordinate.navigation.calculator.Edge;
+import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Warms the data the navigator needs to expand the children of the vertex that was just expanded,
+ * on the assumption that the next click is almost always on one of those children.
+ * <p>
+ * For up to {@link #DEFAULT_VERTEX_BUDGET} children of an expanded vertex, the child edges are fetched,
+ * and the descriptions and defined status of the grandchildren are computed, on a low priority
+ * background thread. The child edges are kept in a bounded cache that {@link FetchChildren} consults
+ * before asking the {@link Navigator}. Outstanding work is cancelled when the user expands another
+ * vertex, collapses one, or the navigator is refreshed.
+ * <p>
+ * Hit and miss counts are kept so the budget can be tuned, see {@link #metrics()}.
+ */
+public class SpeculativePrefetcher {
+    private static final Logger LOG = LoggerFactory.getLogger(SpeculativePrefetcher.class);
+
+    /**
+     * Maximum number of children of an expanded vertex that are warmed.
+     */
+    public static final int DEFAULT_VERTEX_BUDGET = 32;
+
+    /**
+     * Maximum number of grandchildren per warmed child whose description and defined status are computed.
+     */
+    public static final int DEFAULT_GRANDCHILD_BUDGET = 64;
+
+    /**
+     * Maximum number of warmed child edge lists retained.
+     */
+    public static final int DEFAULT_CACHE_CAPACITY = 256;
+
+    private static final ExecutorService BACKGROUND_EXECUTOR = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform()
+                    .name("Komet-navigator-prefetch-", 1)
+                    .daemon(true)
+                    .priority(Thread.MIN_PRIORITY)
+                    .factory());
+
+    private final MultiParentGraphViewController graphController;
+    private final int vertexBudget;
+    private final int grandchildBudget;
+    private final Map<Integer, ImmutableList<Edge>> warmedChildEdges;
+    private final List<Future<?>> pending = new ArrayList<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong warmed = new AtomicLong();
+    private final AtomicLong evictedUnused = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+
+    public SpeculativePrefetcher(MultiParentGraphViewController graphController) {
+        this(graphController, DEFAULT_VERTEX_BUDGET, DEFAULT_GRANDCHILD_BUDGET, DEFAULT_CACHE_CAPACITY);
+    }
+
+    public SpeculativePrefetcher(MultiParentGraphViewController graphController, int vertexBudget,
+                                 int grandchildBudget, int cacheCapacity) {
+        this.graphController = graphController;
+        this.vertexBudget = vertexBudget;
+        this.grandchildBudget = grandchildBudget;
+        this.warmedChildEdges = new LinkedHashMap<>(cacheCapacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, ImmutableList<Edge>> eldest) {
+                if (size() > cacheCapacity) {
+                    evictedUnused.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Cancels any outstanding prefetch, and schedules warming of the given children of a vertex
+     * that was just expanded.
+     *
+     * @param childNids the nids of the children of the expanded vertex, in display order
+     */
+    public void prefetchChildrenOf(int[] childNids) {
+        final long thisGeneration = cancel();
+        final Navigator navigator = graphController.getNavigator();
+        if (navigator == null) {
+            return;
+        }
+        final ViewCalculator viewCalculator = graphController.getViewCalculator();
+        int budget = Math.min(vertexBudget, childNids.length);
+        synchronized (pending) {
+            for (int i = 0; i < budget; i++) {
+                final int childNid = childNids[i];
+                pending.add(BACKGROUND_EXECUTOR.submit(() -> warm(childNid, thisGeneration, navigator, viewCalculator)));
+            }
+        }
+    }
+
+    private void warm(int childNid, long thisGeneration, Navigator navigator, ViewCalculator viewCalculator) {
+        if (generation.get() != thisGeneration || navigator != graphController.getNavigator()) {
+            return;
+        }
+        synchronized (warmedChildEdges) {
+            if (warmedChildEdges.containsKey(childNid)) {
+                return;
+            }
+        }
+        try {
+            if (navigator.isLeaf(childNid)) {
+                return;
+            }
+            ImmutableList<Edge> childEdges = navigator.getChildEdges(childNid);
+            int grandchildCount = 0;
+            for (Edge edge : childEdges) {
+                if (grandchildCount++ >= grandchildBudget || generation.get() != thisGeneration) {
+                    break;
+                }
+                viewCalculator.getDescriptionTextOrNid(edge.destinationNid());
+                viewCalculator.hasSufficientSet(edge.destinationNid());
+            }
+            if (generation.get() == thisGeneration) {
+                synchronized (warmedChildEdges) {
+                    warmedChildEdges.put(childNid, childEdges);
+                }
+                warmed.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            // Speculative work must never disturb the user, the real fetch will surface any problem.
+            LOG.debug("Unable to prefetch children of " + childNid, e);
+        }
+    }
+
+    /**
+     * Returns, and removes from the cache, the child edges of a vertex if they were warmed. Every call
+     * counts as a request for the purpose of the hit rate.
+     *
+     * @param parentNid the nid of the vertex being expanded
+     * @return the warmed child edges, or empty if the vertex was not warmed
+     */
+    public Optional<ImmutableList<Edge>> takeChildEdges(int parentNid) {
+        requests.incrementAndGet();
+        ImmutableList<Edge> childEdges;
+        synchronized (warmedChildEdges) {
+            childEdges = warmedChildEdges.remove(parentNid);
+        }
+        if (childEdges != null) {
+            hits.incrementAndGet();
+        }
+        return Optional.ofNullable(childEdges);
+    }
+
+    /**
+     * Cancels outstanding prefetch work, leaving already warmed entries in place.
+     *
+     * @return the generation of work that may be scheduled after this call
+     */
+    public long cancel() {
+        long newGeneration = generation.incrementAndGet();
+        synchronized (pending) {
+            for (Future<?> future : pending) {
+                if (future.cancel(false)) {
+                    cancelled.incrementAndGet();
+                }
+            }
+            pending.clear();
+        }
+        return newGeneration;
+    }
+
+    /**
+     * Cancels outstanding prefetch work and discards warmed entries, for use when the navigator
+     * or view coordinate changes.
+     */
+    public void clear() {
+        cancel();
+        synchronized (warmedChildEdges) {
+            evictedUnused.addAndGet(warmedChildEdges.size());
+            warmedChildEdges.clear();
+        }
+        LOG.debug("Prefetch metrics: {}", metrics());
+    }
+
+    /**
+     * @return a snapshot of the prefetch counters
+     */
+    public Metrics metrics() {
+        return new Metrics(requests.get(), hits.get(), warmed.get(), evictedUnused.get(), cancelled.get());
+    }
+
+    /**
+     * Snapshot of the speculative prefetch counters.
+     *
+     * @param requests      expansions that consulted the prefetch cache
+     * @param hits          expansions that were answered from the prefetch cache
+     * @param warmed        vertices whose children were warmed
+     * @param evictedUnused warmed vertices discarded without being expanded
+     * @param cancelled     scheduled warm-ups cancelled before they ran
+     */
+    public record Metrics(long requests, long hits, long warmed, long evictedUnused, long cancelled) {
+
+        /**
+         * @return the fraction of expansions answered from the prefetch cache
+         */
+        public double hitRate() {
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+
+        /**
+         * @return the fraction of warmed vertices that were subsequently expanded
+         */
+        public double usefulRate() {
+            return warmed == 0 ? 0 : (double) hits / warmed;
+        }
+    }
+}
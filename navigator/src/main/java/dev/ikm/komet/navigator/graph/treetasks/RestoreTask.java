@@ -15,5 +15,113 @@
  */
 package dev.ikm.komet.navigator.graph.treetasks;
 
-public class RestoreTask {
+import dev.ikm.komet.navigator.graph.MultiParentGraphViewController;
+import dev.ikm.komet.navigator.graph.MultiParentVertexImpl;
+import dev.ikm.tinkar.common.service.TrackingCallable;
+import dev.ikm.tinkar.terms.ConceptFacade;
+import javafx.application.Platform;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeView;
+import org.eclipse.collections.api.set.primitive.ImmutableIntSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * Restores the expanded state of a navigator after it is refreshed.
+ * <p>
+ * The children of every vertex that was expanded are resolved in the background, top down, without touching
+ * the tree; a vertex whose children are paged gets as many pages as hold its saved expanded and selected children. The resolved children are then applied to the tree in a single pass on the FX application thread,
+ * children first and expansion second, so that no expansion triggers a separate fetch of children.
+ * The root vertices are always expanded.
+ */
+public class RestoreTask extends TrackingCallable<Void> {
+    private static final Logger LOG = LoggerFactory.getLogger(RestoreTask.class);
+
+    private final MultiParentGraphViewController graphController;
+    private final List<MultiParentVertexImpl> rootVertices;
+    private final ImmutableIntSet expandedNids;
+    private final OptionalInt selectedNid;
+
+    /**
+     * @param graphController the navigator to restore
+     * @param rootVertices    the root vertices of the navigator, which must already be in the tree
+     * @param expandedNids    the nids of the vertices that were expanded
+     * @param selectedNid     the nid of the vertex that was selected, if any
+     */
+    public RestoreTask(MultiParentGraphViewController graphController, List<MultiParentVertexImpl> rootVertices,
+                       ImmutableIntSet expandedNids, OptionalInt selectedNid) {
+        super(false, true);
+        this.graphController = graphController;
+        this.rootVertices = List.copyOf(rootVertices);
+        this.expandedNids = expandedNids;
+        this.selectedNid = selectedNid;
+        updateTitle("Restoring navigator");
+    }
+
+    @Override
+    protected Void compute() throws Exception {
+        Map<MultiParentVertexImpl, List<MultiParentVertexImpl>> resolvedChildren = new LinkedHashMap<>();
+        Deque<MultiParentVertexImpl> toResolve = new ArrayDeque<>(rootVertices);
+        MultiParentVertexImpl vertexToSelect = null;
+        addToTotalWork(rootVertices.size() + expandedNids.size() + 1);
+
+        while (!toResolve.isEmpty()) {
+            if (isCancelled()) {
+                return null;
+            }
+            MultiParentVertexImpl vertex = toResolve.removeFirst();
+            if (vertexToSelect == null && selectedNid.isPresent() && selectedNid.getAsInt() == vertex.getConceptNid()) {
+                vertexToSelect = vertex;
+            }
+            // Children are built in pages; build as many as it takes to reach the saved expanded and selected ones.
+            List<MultiParentVertexImpl> children = vertex.buildChildrenThrough(this::isSaved);
+            resolvedChildren.put(vertex, children);
+            completedUnitOfWork();
+            for (MultiParentVertexImpl child : children) {
+                if (expandedNids.contains(child.getConceptNid())) {
+                    toResolve.addLast(child);
+                } else if (vertexToSelect == null && selectedNid.isPresent()
+                        && selectedNid.getAsInt() == child.getConceptNid()) {
+                    vertexToSelect = child;
+                }
+            }
+        }
+        LOG.debug("Resolved children of {} vertices for restore", resolvedChildren.size());
+
+        final MultiParentVertexImpl selection = vertexToSelect;
+        Platform.runLater(() -> {
+            if (isCancelled()) {
+                return;
+            }
+            TreeView<ConceptFacade> treeView = graphController.getTreeView();
+            List<TreeItem<ConceptFacade>> currentRoots = new ArrayList<>(graphController.getRoot().getChildren());
+            if (!currentRoots.containsAll(rootVertices)) {
+                // The navigator was refreshed again while resolving.
+                return;
+            }
+            resolvedChildren.forEach(MultiParentVertexImpl::restoreChildren);
+            if (selection != null) {
+                int row = treeView.getRow(selection);
+                if (row >= 0) {
+                    treeView.getSelectionModel().select(selection);
+                    treeView.scrollTo(row);
+                }
+            }
+            completedUnitOfWork();
+        });
+        updateMessage("Restored " + resolvedChildren.size() + " expanded vertices in " + durationString());
+        return null;
+    }
+
+    private boolean isSaved(int nid) {
+        return expandedNids.contains(nid) || (selectedNid.isPresent() && selectedNid.getAsInt() == nid);
+    }
 }
@@ -90,6 +90,11 @@ public EntityNidTreeCell(ViewProperties viewProperties) {
 
         this.setOnDragDetected(new DragDetectedCellEventHandler());
         this.setOnDragDone(new DragDoneEventHandler());
+        this.setOnMouseClicked(event -> {
+            if (getTreeItem() instanceof PatternTreeItem.MoreSemanticsTreeItem moreSemanticsTreeItem) {
+                moreSemanticsTreeItem.loadMore();
+            }
+        });
     }
 
     @Override
@@ -0,0 +1,326 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.navigator.pattern;
+
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.common.util.broadcast.Subscriber;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.SemanticEntity;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.eclipse.collections.impl.factory.primitive.IntSets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.text.NumberFormat;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Index of the semantics of each pattern, so that pattern navigators can show the number of semantics of a
+ * pattern, and its first page, without scanning every semantic of the pattern on each reload.
+ * <p>
+ * For each pattern requested, the index keeps a summary: the number of semantics of the pattern and the first
+ * {@link #SUMMARY_PAGE_SIZE} of them. A summary is computed by scanning the pattern once, and is kept for as long
+ * as the index, so the memory held is proportional to the number of patterns rather than to their semantics.
+ * The entity change subscriber marks the summary of a pattern out of date when one of its semantics is written;
+ * it is computed again when next requested, so a reload scans only the patterns that changed.
+ * <p>
+ * A {@link Cursor} pages through the semantics of a pattern. It returns the first page from the summary, and only
+ * when paged beyond it enumerates the semantics of the pattern into a list of its own, held for as long as the
+ * cursor, such as while a pattern is expanded. Semantics added while such a cursor is open are returned at its end.
+ */
+public final class PatternSemanticIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(PatternSemanticIndex.class);
+
+    /**
+     * Number of semantics of each pattern kept with its summary, and returned by a cursor without enumerating
+     * the pattern.
+     */
+    public static final int SUMMARY_PAGE_SIZE = 150;
+
+    private static final PatternSemanticIndex SINGLETON = new PatternSemanticIndex();
+
+    private final ConcurrentMap<Integer, PatternEntry> entries = new ConcurrentHashMap<>();
+    private final Subscriber<Integer> entityChangeSubscriber = this::entityChanged;
+
+    private PatternSemanticIndex() {
+        Entity.provider().addSubscriberWithWeakReference(entityChangeSubscriber);
+    }
+
+    public static PatternSemanticIndex get() {
+        return SINGLETON;
+    }
+
+    /**
+     * @param patternNid the pattern
+     * @return the number of semantics of the pattern, scanning it if its summary is missing or out of date
+     */
+    public int count(int patternNid) {
+        return entry(patternNid).summary().count();
+    }
+
+    /**
+     * @param patternNid the pattern
+     * @return the number of semantics of the pattern when it was last scanned, or -1 if it has not been scanned
+     */
+    public int knownCount(int patternNid) {
+        PatternEntry entry = entries.get(patternNid);
+        Summary summary = entry == null ? null : entry.lastSummary;
+        return summary == null ? -1 : summary.count();
+    }
+
+    /**
+     * @param patternNid the pattern
+     * @param pageSize   the maximum number of semantics to return
+     * @return the nids of the first semantics of the pattern, from its summary if the page is no larger than
+     * {@link #SUMMARY_PAGE_SIZE}
+     */
+    public int[] firstPage(int patternNid, int pageSize) {
+        return cursor(patternNid).nextPage(pageSize);
+    }
+
+    /**
+     * Opens a cursor over the semantics of a pattern, scanning the pattern first if its summary is missing or out
+     * of date.
+     *
+     * @param patternNid the pattern
+     * @return a cursor positioned before the first semantic of the pattern
+     */
+    public Cursor cursor(int patternNid) {
+        PatternEntry entry = entry(patternNid);
+        return new Cursor(entry, entry.summary());
+    }
+
+    /**
+     * Marks the summaries of all patterns out of date; they are computed again when next requested.
+     */
+    public void clear() {
+        entries.values().forEach(PatternEntry::changed);
+    }
+
+    /**
+     * @param remaining a number of semantics not shown
+     * @return text describing the semantics not shown, for display after a page
+     */
+    public static String suppressedText(int remaining) {
+        return NumberFormat.getInstance().format(remaining) + " additional semantics suppressed...";
+    }
+
+    private PatternEntry entry(int patternNid) {
+        return entries.computeIfAbsent(patternNid, PatternEntry::new);
+    }
+
+    private void entityChanged(Integer nid) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            if (Entity.getFast(nid) instanceof SemanticEntity<?> semanticEntity) {
+                PatternEntry entry = entries.get(semanticEntity.patternNid());
+                if (entry != null) {
+                    entry.changed();
+                    entry.openCursors().forEach(cursor -> cursor.add(nid));
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.debug("Unable to resolve changed component " + nid, e);
+        }
+    }
+
+    /**
+     * The number of semantics of a pattern, and the first of them, as of one scan.
+     */
+    private record Summary(int count, int[] firstPage) {
+    }
+
+    /**
+     * The summary of one pattern, and the cursors that enumerated it.
+     */
+    private static final class PatternEntry {
+        private final int patternNid;
+        /**
+         * Incremented for every write of a semantic of the pattern.
+         */
+        private final AtomicInteger changes = new AtomicInteger();
+        /**
+         * Cursors that enumerated the pattern, guarded by itself.
+         */
+        private final Set<Cursor> openCursors = Collections.newSetFromMap(new WeakHashMap<>());
+        private volatile Summary lastSummary;
+        /**
+         * The value of {@link #changes} before the scan of the last summary, guarded by this entry.
+         */
+        private int summaryChanges = -1;
+
+        private PatternEntry(int patternNid) {
+            this.patternNid = patternNid;
+        }
+
+        private void changed() {
+            changes.incrementAndGet();
+        }
+
+        /**
+         * Scans the pattern if the last summary is missing or out of date. A write during the scan leaves the new
+         * summary out of date, so it is scanned again on the next request.
+         */
+        private synchronized Summary summary() {
+            int changesBeforeScan = changes.get();
+            if (lastSummary != null && summaryChanges == changesBeforeScan) {
+                return lastSummary;
+            }
+            long start = System.currentTimeMillis();
+            int[] count = new int[1];
+            MutableIntList firstPage = IntLists.mutable.empty();
+            PrimitiveData.get().forEachSemanticNidOfPattern(patternNid, semanticNid -> {
+                synchronized (count) {
+                    if (count[0]++ < SUMMARY_PAGE_SIZE) {
+                        firstPage.add(semanticNid);
+                    }
+                }
+            });
+            lastSummary = new Summary(count[0], firstPage.toArray());
+            summaryChanges = changesBeforeScan;
+            LOG.debug("Counted {} semantics of pattern {} in {} ms", count[0], patternNid,
+                    System.currentTimeMillis() - start);
+            return lastSummary;
+        }
+
+        private void register(Cursor cursor) {
+            synchronized (openCursors) {
+                openCursors.add(cursor);
+            }
+        }
+
+        private Set<Cursor> openCursors() {
+            synchronized (openCursors) {
+                return openCursors.isEmpty() ? Set.of() : Set.copyOf(openCursors);
+            }
+        }
+    }
+
+    /**
+     * Pages through the semantics of a pattern. A cursor is not thread safe, except that semantics written while it
+     * is open are added to it.
+     */
+    public static final class Cursor {
+        private final PatternEntry entry;
+        private final int[] firstPage;
+        private final int summaryCount;
+        /**
+         * The semantics of the pattern after the first page, once enumerated, guarded by this cursor.
+         */
+        private MutableIntList rest;
+        private MutableIntSet restSet;
+        private int position;
+
+        private Cursor(PatternEntry entry, Summary summary) {
+            this.entry = entry;
+            this.firstPage = summary.firstPage();
+            this.summaryCount = summary.count();
+        }
+
+        /**
+         * @param pageSize the maximum number of semantics to return
+         * @return the nids of the next semantics, empty if there are no more
+         */
+        public int[] nextPage(int pageSize) {
+            int end = position + pageSize;
+            if (end > firstPage.length && summaryCount > firstPage.length) {
+                enumerate();
+            }
+            int[] page = range(position, end);
+            position += page.length;
+            return page;
+        }
+
+        /**
+         * @return true if {@link #nextPage(int)} would return at least one semantic
+         */
+        public boolean hasMore() {
+            return position < total();
+        }
+
+        /**
+         * @return the number of semantics already returned
+         */
+        public int position() {
+            return position;
+        }
+
+        /**
+         * @return the number of semantics not yet returned
+         */
+        public int remaining() {
+            return Math.max(0, total() - position);
+        }
+
+        /**
+         * @return the total number of semantics of the pattern
+         */
+        public synchronized int total() {
+            return rest == null ? summaryCount : firstPage.length + rest.size();
+        }
+
+        /**
+         * @return text describing the semantics not yet returned, for display after a page
+         */
+        public String remainingText() {
+            return suppressedText(remaining());
+        }
+
+        /**
+         * Enumerates the semantics of the pattern not in the first page, registering first so that semantics
+         * written meanwhile are added.
+         */
+        private void enumerate() {
+            synchronized (this) {
+                if (rest != null) {
+                    return;
+                }
+                restSet = IntSets.mutable.of(firstPage);
+                rest = IntLists.mutable.empty();
+            }
+            entry.register(this);
+            PrimitiveData.get().forEachSemanticNidOfPattern(entry.patternNid, this::add);
+        }
+
+        private synchronized void add(int semanticNid) {
+            if (restSet != null && restSet.add(semanticNid)) {
+                rest.add(semanticNid);
+            }
+        }
+
+        private synchronized int[] range(int from, int to) {
+            int total = total();
+            int end = Math.min(to, total);
+            if (from >= end) {
+                return new int[0];
+            }
+            int[] page = new int[end - from];
+            for (int i = from; i < end; i++) {
+                page[i - from] = i < firstPage.length ? firstPage[i] : rest.get(i - firstPage.length);
+            }
+            return page;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.navigator.pattern;
+
+import dev.ikm.tinkar.common.service.TinkExecutor;
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TreeItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tree item for a pattern whose semantics are loaded lazily, in pages, when the item is expanded.
+ * <p>
+ * Expanding the item opens a {@link PatternSemanticIndex.Cursor} in the background and adds the first page
+ * of semantics, followed by a {@link MoreSemanticsTreeItem} if more remain. Activating that item loads the
+ * next page in its place. Collapsing the item discards its children and the cursor, so that the memory held
+ * by the tree is proportional to what has been expanded rather than to the size of the pattern.
+ */
+public class PatternTreeItem extends TreeItem<Object> {
+    private static final Logger LOG = LoggerFactory.getLogger(PatternTreeItem.class);
+
+    /**
+     * Number of semantics loaded per page.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 150;
+
+    private final int patternNid;
+    private final int pageSize;
+    private PatternSemanticIndex.Cursor cursor;
+    /**
+     * Incremented whenever the children are discarded, so that pages loaded for a previous expansion are ignored.
+     */
+    private int loadGeneration;
+
+    public PatternTreeItem(int patternNid) {
+        this(patternNid, DEFAULT_PAGE_SIZE);
+    }
+
+    public PatternTreeItem(int patternNid, int pageSize) {
+        super(patternNid);
+        this.patternNid = patternNid;
+        this.pageSize = pageSize;
+        expandedProperty().addListener((observable, wasExpanded, isExpanded) -> {
+            if (isExpanded) {
+                loadFirstPage();
+            } else {
+                discardChildren();
+            }
+        });
+    }
+
+    public int getPatternNid() {
+        return patternNid;
+    }
+
+    @Override
+    public boolean isLeaf() {
+        // Only known to be a leaf once the pattern is indexed, otherwise allow expansion.
+        return PatternSemanticIndex.get().knownCount(patternNid) == 0;
+    }
+
+    private void loadFirstPage() {
+        if (cursor != null) {
+            return;
+        }
+        final int generation = loadGeneration;
+        TinkExecutor.threadPool().execute(() -> {
+            try {
+                PatternSemanticIndex.Cursor newCursor = PatternSemanticIndex.get().cursor(patternNid);
+                List<TreeItem<Object>> page = makePage(newCursor);
+                Platform.runLater(() -> {
+                    if (generation != loadGeneration || !isExpanded()) {
+                        return;
+                    }
+                    this.cursor = newCursor;
+                    getChildren().setAll(page);
+                });
+            } catch (RuntimeException e) {
+                LOG.error("Unable to load semantics of pattern " + patternNid, e);
+            }
+        });
+    }
+
+    private List<TreeItem<Object>> makePage(PatternSemanticIndex.Cursor pageCursor) {
+        int[] semanticNids = pageCursor.nextPage(pageSize);
+        List<TreeItem<Object>> page = new ArrayList<>(semanticNids.length + 1);
+        for (int semanticNid : semanticNids) {
+            page.add(new TreeItem<>(semanticNid));
+        }
+        if (pageCursor.hasMore()) {
+            page.add(new MoreSemanticsTreeItem(this, pageCursor));
+        }
+        return page;
+    }
+
+    private void discardChildren() {
+        loadGeneration++;
+        cursor = null;
+        getChildren().clear();
+    }
+
+    /**
+     * Placeholder shown after the last loaded semantic of a pattern when more remain. Its value is the text to
+     * display; {@link #loadMore()} replaces it with the next page of semantics.
+     */
+    public static final class MoreSemanticsTreeItem extends TreeItem<Object> {
+        private final PatternTreeItem patternItem;
+        private final PatternSemanticIndex.Cursor pageCursor;
+        private final int generation;
+        private final AtomicBoolean loading = new AtomicBoolean(false);
+
+        private MoreSemanticsTreeItem(PatternTreeItem patternItem, PatternSemanticIndex.Cursor pageCursor) {
+            super("Show " + NumberFormat.getInstance().format(Math.min(pageCursor.remaining(), patternItem.pageSize)) +
+                    " more of " + NumberFormat.getInstance().format(pageCursor.remaining()) + " remaining semantics...");
+            this.patternItem = patternItem;
+            this.pageCursor = pageCursor;
+            this.generation = patternItem.loadGeneration;
+        }
+
+        /**
+         * Loads the next page of semantics in the background, and replaces this item with them on the FX thread.
+         * Repeated calls while a page is loading are ignored.
+         */
+        public void loadMore() {
+            if (!loading.compareAndSet(false, true)) {
+                return;
+            }
+            setValue("Loading more semantics...");
+            TinkExecutor.threadPool().execute(() -> {
+                List<TreeItem<Object>> page = patternItem.makePage(pageCursor);
+                Platform.runLater(() -> {
+                    if (generation != patternItem.loadGeneration) {
+                        return;
+                    }
+                    ObservableList<TreeItem<Object>> siblings = patternItem.getChildren();
+                    int index = siblings.indexOf(this);
+                    if (index >= 0) {
+                        siblings.remove(index);
+                        siblings.addAll(index, page);
+                    }
+                });
+            });
+        }
+    }
+}
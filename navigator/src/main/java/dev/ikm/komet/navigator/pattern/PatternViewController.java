@@ -51,11 +51,9 @@
 import org.slf4j.LoggerFactory;
 
 import java.net.URL;
-import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.OptionalInt;
 import java.util.ResourceBundle;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class PatternViewController {
     private static final Logger LOG = LoggerFactory.getLogger(PatternViewController.class);
@@ -158,7 +156,8 @@ private void refreshTaxonomy() {
             PrimitiveData.get().forEachPatternNid(patternNid -> {
                 Latest<PatternEntityVersion> latestPattern = viewProperties.calculator().latest(patternNid);
                 latestPattern.ifPresent(patternEntityVersion -> {
-                    patternItems.add(new TreeItem<>(patternNid));
+                    // Semantics of the pattern are loaded in pages when the item is expanded.
+                    patternItems.add(new PatternTreeItem(patternNid, maxChildrenInPatternViewer));
                 });
             });
             patternItems.sort((o1, o2) -> {
@@ -170,21 +169,6 @@ private void refreshTaxonomy() {
                 }
             });
             Platform.runLater(() -> this.rootTreeItem.getChildren().setAll(patternItems));
-            for (TreeItem<Object> patternItem : patternItems) {
-                ArrayList<TreeItem<Object>> patternChildren = new ArrayList<>();
-                int patternNid = (Integer) patternItem.getValue();
-                AtomicInteger childCount = new AtomicInteger();
-                PrimitiveData.get().forEachSemanticNidOfPattern(patternNid, semanticNid -> {
-                    if (childCount.incrementAndGet() < maxChildrenInPatternViewer) {
-                        patternChildren.add(new TreeItem<>(semanticNid));
-                    }
-                });
-                if (childCount.get() >= maxChildrenInPatternViewer) {
-                    NumberFormat numberFormat = NumberFormat.getInstance();
-                    patternChildren.add(new TreeItem<>(numberFormat.format(childCount.get() - maxChildrenInPatternViewer) + " additional semantics suppressed..."));
-                }
-                Platform.runLater(() -> patternItem.getChildren().setAll(patternChildren));
-            }
         });
     }
 
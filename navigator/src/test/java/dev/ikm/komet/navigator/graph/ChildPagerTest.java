@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.navigator.graph;
+
+import dev.ikm.tinkar.common.id.IntIds;
+import dev.ikm.tinkar.coordinate.navigation.calculator.Edge;
+import dev.ikm.tinkar.coordinate.navigation.calculator.EdgeRecord;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChildPagerTest {
+    // More children than fit in four pages, so that the last page is partial.
+    private static final int CHILD_COUNT = ChildPager.DEFAULT_PAGE_SIZE * 4 + 17;
+
+    private ExecutorService prefetchExecutor;
+
+    @BeforeEach
+    public void startExecutor() {
+        prefetchExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void stopExecutor() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    /**
+     * A pager over children with nids 1 to CHILD_COUNT, handed out in reverse, whose display text sorts them
+     * by nid, and whose pages are the nids of their children.
+     */
+    private ChildPager<Integer> pager() {
+        MutableList<Edge> edges = Lists.mutable.empty();
+        for (int nid = CHILD_COUNT; nid > 0; nid--) {
+            edges.add(new EdgeRecord(IntIds.set.empty(), nid));
+        }
+        return ChildPager.sorted(edges.toImmutable(), nid -> String.format("Child %06d", nid),
+                ChildPager.DEFAULT_PAGE_SIZE, ChildPagerTest::nids, prefetchExecutor);
+    }
+
+    private static List<Integer> nids(ImmutableList<Edge> edges) {
+        return edges.collect(Edge::destinationNid).castToList();
+    }
+
+    @Test
+    public void testPagesInDisplayOrder() {
+        ChildPager<Integer> pager = pager();
+        List<Integer> first = pager.nextPage();
+        assertEquals(ChildPager.DEFAULT_PAGE_SIZE, first.size());
+        assertEquals(1, first.getFirst());
+        assertEquals(ChildPager.DEFAULT_PAGE_SIZE, first.getLast());
+        assertEquals(CHILD_COUNT - ChildPager.DEFAULT_PAGE_SIZE, pager.remaining());
+    }
+
+    @Test
+    public void testPagesThroughChildBeyondFirstPage() {
+        ChildPager<Integer> pager = pager();
+        pager.nextPage();
+        int target = ChildPager.DEFAULT_PAGE_SIZE * 3 + 5;
+        int index = pager.lastIndexOf(nid -> nid == target);
+        assertEquals(target - 1, index);
+
+        List<Integer> pages = pager.pagesThrough(index);
+        // The second, third and fourth pages, which holds the target.
+        assertEquals(ChildPager.DEFAULT_PAGE_SIZE * 3, pages.size());
+        assertEquals(ChildPager.DEFAULT_PAGE_SIZE + 1, pages.getFirst());
+        assertTrue(pages.contains(target));
+        assertEquals(17, pager.remaining());
+
+        // Already handed out.
+        assertTrue(pager.pagesThrough(index).isEmpty());
+        assertEquals(17, pager.remaining());
+    }
+
+    @Test
+    public void testPagesThroughLastOfSeveralChildren() {
+        ChildPager<Integer> pager = pager();
+        List<Integer> children = new ArrayList<>(pager.nextPage());
+        children.addAll(pager.pagesThrough(pager.lastIndexOf(nid -> nid == 3 || nid == CHILD_COUNT)));
+        assertEquals(CHILD_COUNT, children.size());
+        assertFalse(pager.hasMore());
+    }
+
+    @Test
+    public void testAbsentChild() {
+        ChildPager<Integer> pager = pager();
+        pager.nextPage();
+        int index = pager.lastIndexOf(nid -> nid == CHILD_COUNT + 1);
+        assertEquals(-1, index);
+        assertTrue(pager.pagesThrough(index).isEmpty());
+        assertEquals(CHILD_COUNT - ChildPager.DEFAULT_PAGE_SIZE, pager.remaining());
+    }
+}
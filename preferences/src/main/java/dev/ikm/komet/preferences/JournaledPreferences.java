@@ -0,0 +1,156 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.preferences;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.prefs.BackingStoreException;
+
+/**
+ * Configuration preferences kept in a {@link PreferencesJournal}, a single append-only file holding the whole
+ * tree, rather than in a directory per node as by {@link KometPreferencesImpl}.
+ * <p>
+ * Selected with the {@link PreferencesBackend#JOURNAL} backend. The first time the journal is opened in a data
+ * store folder, the preferences of the directory layout are migrated to it; the directory layout is left in
+ * place, but is no longer updated.
+ */
+public class JournaledPreferences extends KometPreferencesNode {
+    private static final Logger LOG = LoggerFactory.getLogger(JournaledPreferences.class);
+
+    private static volatile KometPreferencesWrapper rootWrapper;
+
+    private final PreferencesJournal journal;
+
+    private JournaledPreferences(PreferencesJournal journal) {
+        super(null, "");
+        this.journal = journal;
+    }
+
+    private JournaledPreferences(JournaledPreferences parent, String name) {
+        super(parent, name);
+        this.journal = parent.journal;
+        journal.createNode(absolutePath());
+    }
+
+    /**
+     * Opens the preferences kept in the journal of a directory.
+     *
+     * @param directory the directory holding the journal
+     * @return the root node of the preferences
+     */
+    public static JournaledPreferences open(Path directory) throws IOException {
+        return new JournaledPreferences(PreferencesJournal.open(directory));
+    }
+
+    /**
+     * @return the root of the configuration preferences of the data store folder, opened on first use
+     */
+    static KometPreferences getConfigurationRootPreferences() {
+        KometPreferencesWrapper wrapper = rootWrapper;
+        if (wrapper == null) {
+            synchronized (JournaledPreferences.class) {
+                wrapper = rootWrapper;
+                if (wrapper == null) {
+                    Path directory = KometPreferencesImpl.preferencesDirectory().toPath();
+                    LOG.info("Opening configuration preferences journal from location: " + directory.toAbsolutePath());
+                    try {
+                        wrapper = new KometPreferencesWrapper(open(directory));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    rootWrapper = wrapper;
+                }
+            }
+        }
+        return wrapper;
+    }
+
+    static void reloadConfigurationPreferences() {
+        KometPreferencesWrapper wrapper = rootWrapper;
+        if (wrapper != null) {
+            try {
+                ((JournaledPreferences) wrapper.delegate).journal.reload();
+            } catch (IOException e) {
+                LOG.error("Unable to reload configuration preferences", e);
+            }
+        }
+    }
+
+    public PreferencesJournal journal() {
+        return journal;
+    }
+
+    @Override
+    protected void putSpi(String key, String value) {
+        journal.put(absolutePath(), key, value);
+    }
+
+    @Override
+    protected String getSpi(String key) {
+        return journal.get(absolutePath(), key);
+    }
+
+    @Override
+    protected void removeSpi(String key) {
+        journal.remove(absolutePath(), key);
+    }
+
+    @Override
+    protected void removeNodeSpi() {
+        journal.removeNode(absolutePath());
+    }
+
+    @Override
+    protected String[] keysSpi() {
+        return journal.keys(absolutePath());
+    }
+
+    @Override
+    protected String[] childrenNamesSpi() {
+        return journal.childrenNames(absolutePath());
+    }
+
+    @Override
+    protected JournaledPreferences childSpi(String name) {
+        return new JournaledPreferences(this, name);
+    }
+
+    /**
+     * The journal is only written by this process, so syncing amounts to flushing.
+     */
+    @Override
+    protected void syncSpi() throws BackingStoreException {
+        flushSpi();
+    }
+
+    @Override
+    protected void flushSpi() throws BackingStoreException {
+        try {
+            journal.flush();
+        } catch (IOException e) {
+            throw new BackingStoreException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Journaled Configuration Preference Node: " + this.absolutePath();
+    }
+}
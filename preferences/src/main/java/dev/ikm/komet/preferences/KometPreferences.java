@@ -851,7 +851,8 @@ default void putDoubleArray(String key, double[] array) {
 
     /**
      * Stores a list of strings associated with a given key, concatenating list elements
-     * into a single string separated by the delimiter "|!%|".
+     * into a single string separated by the delimiter "|!%|". Elements must not contain the delimiter;
+     * {@link #putStringList(String, List)} stores any strings, more compactly.
      *
      * @param key the key to associate with the concatenated string
      * @param list the list of strings to be concatenated and stored
@@ -867,6 +868,153 @@ default void putList(String key, List<String> list) {
         put(key, builder.toString());
     }
 
+    /**
+     * Stores a list of strings, each prefixed by its length, so that elements may contain any character.
+     * The list is read by {@link #getStringList(String)}, and by {@link #getList(String)}.
+     *
+     * @param key the key to associate with the list
+     * @param list the list of strings to be stored
+     */
+    default void putStringList(String key, List<String> list) {
+        put(key, PreferenceListEncoding.encodeStrings(list));
+    }
+
+    /**
+     * Stores a list of strings associated with the specified enum key, see {@link #putStringList(String, List)}.
+     *
+     * @param key the enumeration key to associate with the list
+     * @param list the list of strings to be stored
+     */
+    default void putStringList(Enum key, List<String> list) {
+        putStringList(enumToGeneralKey(key), list);
+    }
+
+    /**
+     * Retrieves a list of strings stored by {@link #putStringList(String, List)} or by {@link #putList(String, List)}.
+     *
+     * @param key the key of the list
+     * @return a mutable list of the strings, empty if no value is associated with the key
+     */
+    default List<String> getStringList(String key) {
+        return getList(key);
+    }
+
+    /**
+     * Retrieves a list of strings associated with the specified enum key, see {@link #getStringList(String)}.
+     *
+     * @param key the enumeration key of the list
+     * @return a mutable list of the strings, empty if no value is associated with the key
+     */
+    default List<String> getStringList(Enum key) {
+        return getStringList(enumToGeneralKey(key));
+    }
+
+    /**
+     * Stores an int array, such as a list of nids, in a compact binary encoding.
+     *
+     * @param key the key to associate with the array
+     * @param array the array to be stored
+     */
+    default void putIntArray(String key, int[] array) {
+        put(key, PreferenceListEncoding.encodeInts(array));
+    }
+
+    /**
+     * Stores an int array associated with the specified enum key, see {@link #putIntArray(String, int[])}.
+     *
+     * @param key the enumeration key to associate with the array
+     * @param array the array to be stored
+     */
+    default void putIntArray(Enum key, int[] array) {
+        putIntArray(enumToGeneralKey(key), array);
+    }
+
+    /**
+     * Retrieves an int array stored by {@link #putIntArray(String, int[])}, or stored as a delimited list of
+     * decimal strings by {@link #putList(String, List)}.
+     *
+     * @param key the key of the array
+     * @return an {@code Optional} containing the array, or an empty {@code Optional} if no value is associated
+     * with the key
+     */
+    default Optional<int[]> getIntArray(String key) {
+        return get(key).map(PreferenceListEncoding::decodeInts);
+    }
+
+    /**
+     * Retrieves an int array, or the provided default array if no value is associated with the key.
+     *
+     * @param key the key of the array
+     * @param defaultArray the array to return if no value is associated with the key
+     * @return the array associated with the key, or the default array
+     */
+    default int[] getIntArray(String key, int[] defaultArray) {
+        return getIntArray(key).orElse(defaultArray);
+    }
+
+    /**
+     * Retrieves an int array associated with the specified enum key, see {@link #getIntArray(String)}.
+     *
+     * @param key the enumeration key of the array
+     * @return an {@code Optional} containing the array, or an empty {@code Optional}
+     */
+    default Optional<int[]> getIntArray(Enum key) {
+        return getIntArray(enumToGeneralKey(key));
+    }
+
+    /**
+     * Stores a long array in a compact binary encoding.
+     *
+     * @param key the key to associate with the array
+     * @param array the array to be stored
+     */
+    default void putLongArray(String key, long[] array) {
+        put(key, PreferenceListEncoding.encodeLongs(array));
+    }
+
+    /**
+     * Stores a long array associated with the specified enum key, see {@link #putLongArray(String, long[])}.
+     *
+     * @param key the enumeration key to associate with the array
+     * @param array the array to be stored
+     */
+    default void putLongArray(Enum key, long[] array) {
+        putLongArray(enumToGeneralKey(key), array);
+    }
+
+    /**
+     * Retrieves a long array stored by {@link #putLongArray(String, long[])} or {@link #putIntArray(String, int[])},
+     * or stored as a delimited list of decimal strings by {@link #putList(String, List)}.
+     *
+     * @param key the key of the array
+     * @return an {@code Optional} containing the array, or an empty {@code Optional} if no value is associated
+     * with the key
+     */
+    default Optional<long[]> getLongArray(String key) {
+        return get(key).map(PreferenceListEncoding::decodeLongs);
+    }
+
+    /**
+     * Retrieves a long array, or the provided default array if no value is associated with the key.
+     *
+     * @param key the key of the array
+     * @param defaultArray the array to return if no value is associated with the key
+     * @return the array associated with the key, or the default array
+     */
+    default long[] getLongArray(String key, long[] defaultArray) {
+        return getLongArray(key).orElse(defaultArray);
+    }
+
+    /**
+     * Retrieves a long array associated with the specified enum key, see {@link #getLongArray(String)}.
+     *
+     * @param key the enumeration key of the array
+     * @return an {@code Optional} containing the array, or an empty {@code Optional}
+     */
+    default Optional<long[]> getLongArray(Enum key) {
+        return getLongArray(enumToGeneralKey(key));
+    }
+
     /**
      * Retrieves a double array associated with the specified Enum key.
      * If no value is associated with the key, returns the provided default array.
@@ -935,7 +1083,8 @@ default Optional<List<String>> getOptionalList(String key) {
     }
 
     /**
-     * Retrieves a list of strings by splitting the value associated with the specified key.
+     * Retrieves a list of strings by splitting the value associated with the specified key, or by decoding it
+     * if it was stored by {@link #putStringList(String, List)}.
      * If no value is present for the key or the value is empty, an empty list is returned.
      *
      * @param key the key whose associated value is to be retrieved and processed
@@ -945,13 +1094,8 @@ default Optional<List<String>> getOptionalList(String key) {
     default List<String> getList(String key) {
         Optional<String> value = get(key);
         if (value.isPresent()) {
-            String strValue = value.get();
-            if (strValue.equals("")) {
-                // nothing to do.
-            } else {
-                String[] elements = strValue.split("\\|!%\\|");
-                return new ArrayList(Arrays.asList(elements));
-            }
+            // Reads both delimited lists and lists written by putStringList.
+            return PreferenceListEncoding.decodeStrings(value.get());
         }
         return new ArrayList<>();
     }
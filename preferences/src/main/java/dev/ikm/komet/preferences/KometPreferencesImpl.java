@@ -24,11 +24,13 @@
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Paths;
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.Arrays;
-import java.util.List;
 import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.prefs.AbstractPreferences;
 import java.util.prefs.BackingStoreException;
 
@@ -40,40 +42,104 @@
  * 
  */
 public class KometPreferencesImpl
-        extends AbstractPreferences {
+        extends KometPreferencesNode {
     private static final Logger LOG = LoggerFactory.getLogger(KometPreferencesImpl.class);
 
     public static final String DB_PREFERENCES_FOLDER = "preferences";
-    public static final KometPreferencesImpl preferencesImpl = new KometPreferencesImpl();
-    public static final KometPreferencesWrapper preferencesWrapper = new KometPreferencesWrapper(preferencesImpl);
+    /**
+     * The root of the configuration preferences of the data store folder, created on first use with the
+     * {@link PreferencesBackend#DIRECTORY} backend, and never with the journal.
+     */
+    private static volatile KometPreferencesWrapper rootWrapper;
     //~--- fieldValues --------------------------------------------------------------
     private final ConcurrentSkipListMap<String, String> preferencesTree = new ConcurrentSkipListMap<>();
     private final File directory;
     private final File preferencesFile;
     private final File temporaryFile;
+    private final PreferencesWriteBehind writeBehind;
+    /**
+     * True if the values of this node differ from its file, or it has no file yet.
+     */
+    private volatile boolean dirty;
+    /**
+     * The failure of the last write of this node, if it failed, until it is reported by a flush or a sync.
+     */
+    private volatile BackingStoreException writeFailure;
+    /**
+     * True once the values of this node have been read from its file; nodes are read on first access.
+     */
+    private volatile boolean loaded;
+    /**
+     * The names of the child directories, listed on first use and kept as children are added and removed.
+     * Guarded by the lock of this node.
+     */
+    private SortedSet<String> childNames;
+    private final LongAdder fileReadCount;
 
     //~--- constructors --------------------------------------------------------
 
     private KometPreferencesImpl() {
+        this(preferencesDirectory(), PreferencesWriteBehind.fromSystemProperty());
+    }
+
+    /**
+     * Creates a root node stored in a directory, rather than in the data store folder, whose nodes are written
+     * when flushed.
+     *
+     * @param directory the directory of the root node
+     */
+    KometPreferencesImpl(File directory) {
+        this(directory, new PreferencesWriteBehind(Duration.ZERO));
+    }
+
+    /**
+     * Creates a root node stored in a directory, rather than in the data store folder.
+     *
+     * @param directory   the directory of the root node
+     * @param writeBehind the writer of the flushed nodes of the tree
+     */
+    KometPreferencesImpl(File directory, PreferencesWriteBehind writeBehind) {
         super(null, "");
-        File configuredRoot = ServiceProperties.get(ServiceKeys.DATA_STORE_ROOT, new File("target/IsaacPreferencesDefault"));
-        this.directory = new File(configuredRoot, DB_PREFERENCES_FOLDER);
+        this.directory = directory;
+        this.writeBehind = writeBehind;
+        this.fileReadCount = new LongAdder();
         LOG.info("Opening configuration preferences from location: " + this.directory.getAbsolutePath());
         this.preferencesFile = new File(this.directory, "preferences.xml");
         this.temporaryFile = new File(this.directory, "preferences-tmp.xml");
         init();
     }
 
+    /**
+     * Discards the values and child listing of this node, to be read from disk again on next access.
+     */
     private void init() {
-        preferencesTree.clear();
-        if (preferencesFile.exists()) {
-            try (FileInputStream fis = new FileInputStream(preferencesFile)) {
-                importMap(fis, preferencesTree);
-            } catch (Exception ex) {
-                LOG.error(ex.getLocalizedMessage(), ex);
+        synchronized (lock) {
+            preferencesTree.clear();
+            loaded = false;
+            childNames = null;
+            dirty = !preferencesFile.exists();
+            writeFailure = null;
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (lock) {
+                if (!loaded) {
+                    if (preferencesFile.exists()) {
+                        fileReadCount.increment();
+                        try (FileInputStream fis = new FileInputStream(preferencesFile)) {
+                            importMap(fis, preferencesTree);
+                        } catch (Exception ex) {
+                            LOG.error(ex.getLocalizedMessage(), ex);
+                        }
+                    }
+                    loaded = true;
+                }
             }
         }
     }
+
     /**
      * Initializes the current instance with the preference data of a nodeToCopy {@code KometPreferencesImpl}.
      * This method clears the current preferences data and replaces it by merging with the preferences
@@ -84,7 +150,10 @@ private void init() {
      */
     private void init(KometPreferencesImpl nodeToCopy) {
         init();
+        ensureLoaded();
+        nodeToCopy.ensureLoaded();
         this.preferencesTree.putAll(nodeToCopy.preferencesTree);
+        this.dirty = true;
     }
 
     static void importMap(InputStream is, Map<String, String> map)
@@ -102,11 +171,21 @@ private KometPreferencesImpl(KometPreferencesImpl parent, String name) {
         }
 
         this.directory = new File(parent.directory, name);
+        this.writeBehind = parent.writeBehind;
+        this.fileReadCount = parent.fileReadCount;
         this.preferencesFile = new File(this.directory, "preferences.xml");
         this.temporaryFile = new File(this.directory, "preferences-tmp.xml");
         init();
     }
 
+    /**
+     * @return the folder of the configuration preferences within the data store folder
+     */
+    static File preferencesDirectory() {
+        File configuredRoot = ServiceProperties.get(ServiceKeys.DATA_STORE_ROOT, new File("target/IsaacPreferencesDefault"));
+        return new File(configuredRoot, DB_PREFERENCES_FOLDER);
+    }
+
     public static boolean isValidPath(String path) {
         try {
             Paths.get(path);
@@ -118,18 +197,71 @@ public static boolean isValidPath(String path) {
 
     /**
      * The public mechanism to get a handle to a preferences store that stores its data inside the datastore folder.
+     * The store is kept by the {@link PreferencesBackend#selected() selected backend}.
      *
-     * @return This class, wrapped by a {@link KometPreferencesWrapper}
+     * @return This class, or the journaled store, wrapped by a {@link KometPreferencesWrapper}
      */
     public static KometPreferences getConfigurationRootPreferences() {
-        return preferencesWrapper;
+        return switch (PreferencesBackend.selected()) {
+            case DIRECTORY -> directoryRootPreferences();
+            case JOURNAL -> JournaledPreferences.getConfigurationRootPreferences();
+        };
+    }
+
+    /**
+     * @return the root of the configuration preferences of the data store folder, created on first use
+     */
+    private static KometPreferencesWrapper directoryRootPreferences() {
+        KometPreferencesWrapper wrapper = rootWrapper;
+        if (wrapper == null) {
+            synchronized (KometPreferencesImpl.class) {
+                wrapper = rootWrapper;
+                if (wrapper == null) {
+                    wrapper = new KometPreferencesWrapper(new KometPreferencesImpl());
+                    rootWrapper = wrapper;
+                }
+            }
+        }
+        return wrapper;
     }
     //~--- methods -------------------------------------------------------------
 
+    /**
+     * Writes the configuration preferences flushed but not yet written, see {@link PreferencesWriteBehind}.
+     */
+    public static void awaitPendingWrites() {
+        KometPreferencesWrapper wrapper = rootWrapper;
+        if (wrapper != null) {
+            ((KometPreferencesImpl) wrapper.delegate).writeBehind.awaitPendingWrites();
+        }
+    }
+
     public static void reloadConfigurationPreferences() {
-        recursiveInit(preferencesImpl);
+        switch (PreferencesBackend.selected()) {
+            case DIRECTORY -> {
+                KometPreferencesWrapper wrapper = rootWrapper;
+                if (wrapper != null) {
+                    reload((KometPreferencesImpl) wrapper.delegate);
+                }
+            }
+            case JOURNAL -> JournaledPreferences.reloadConfigurationPreferences();
+        }
     }
 
+    /**
+     * Writes the pending nodes of a tree, then discards the values of its loaded nodes, which are read again
+     * when next accessed. Without the writes, a node flushed but not yet written would lose its changes.
+     *
+     * @param root the root node of the tree
+     */
+    static void reload(KometPreferencesImpl root) {
+        root.writeBehind.awaitPendingWrites();
+        recursiveInit(root);
+    }
+
+    /**
+     * Discards the values of the node and of its loaded descendants, which are read again when next accessed.
+     */
     private static void recursiveInit(KometPreferencesImpl preferences) {
         preferences.init();
         for (AbstractPreferences childPreferences : preferences.cachedChildren()) {
@@ -137,28 +269,37 @@ private static void recursiveInit(KometPreferencesImpl preferences) {
         }
     }
 
-    public Object getLock() {
-        return lock;
-    }
-
     @Override
     protected void putSpi(String key, String value) {
+        ensureLoaded();
         preferencesTree.put(key, value);
+        dirty = true;
     }
 
     @Override
     protected String getSpi(String key) {
+        ensureLoaded();
         return preferencesTree.get(key);
     }
 
     @Override
     protected void removeSpi(String key) {
+        ensureLoaded();
         preferencesTree.remove(key);
+        dirty = true;
     }
 
     @Override
     protected void removeNodeSpi()
             throws BackingStoreException {
+        dirty = false;
+        if (parent() instanceof KometPreferencesImpl parentNode) {
+            parentNode.childRemoved(name());
+        }
+        if (!directory.exists()) {
+            // Flushed, but removed before it was written.
+            return;
+        }
         if (this.preferencesFile.exists()) {
             this.preferencesFile.delete();
         }
@@ -185,6 +326,7 @@ protected void removeNodeSpi()
     @Override
     protected String[] keysSpi()
             throws BackingStoreException {
+        ensureLoaded();
         return preferencesTree.keySet()
                 .toArray(new String[preferencesTree.size()]);
     }
@@ -192,23 +334,50 @@ protected String[] keysSpi()
     @Override
     protected String[] childrenNamesSpi()
             throws BackingStoreException {
-        List<String> result = new ArrayList<>();
-        File[] dirContents = directory.listFiles();
+        synchronized (lock) {
+            return childNames().toArray(new String[0]);
+        }
+    }
 
-        if (dirContents != null) {
-            for (File dirContent : dirContents) {
-                if (dirContent.isDirectory()) {
-                    result.add(dirContent.getName());
+    private SortedSet<String> childNames() {
+        if (childNames == null) {
+            childNames = new TreeSet<>();
+            File[] dirContents = directory.listFiles();
+
+            if (dirContents != null) {
+                for (File dirContent : dirContents) {
+                    if (dirContent.isDirectory()) {
+                        childNames.add(dirContent.getName());
+                    }
                 }
             }
         }
+        return childNames;
+    }
 
-        return result.toArray(new String[result.size()]);
+    private void childRemoved(String name) {
+        synchronized (lock) {
+            if (childNames != null) {
+                childNames.remove(name);
+            }
+        }
     }
 
     @Override
     protected KometPreferencesImpl childSpi(String name) {
-        return new KometPreferencesImpl(this, name);
+        // The child is only read when its values are accessed.
+        KometPreferencesImpl child = new KometPreferencesImpl(this, name);
+        if (childNames != null) {
+            childNames.add(name);
+        }
+        return child;
+    }
+
+    /**
+     * @return the number of preferences files read by the nodes of this tree
+     */
+    long fileReadCount() {
+        return fileReadCount.sum();
     }
 
     @Override
@@ -219,7 +388,49 @@ public String toString() {
     @Override
     protected void syncSpi()
             throws BackingStoreException {
-        writeToDisk();
+        // Unlike a flush, a sync writes the node now, and throws if that fails.
+        writeBehind.writeNow(this);
+    }
+
+    /**
+     * Schedules the write of this node if it changed. Writes happen later, on the writer's thread, so the failure
+     * of an earlier write, or of this one if it was written at once, is thrown here; the node stays dirty, and is
+     * written again by the next flush or sync.
+     */
+    private void scheduleWrite() throws BackingStoreException {
+        if (dirty) {
+            writeBehind.schedule(this);
+        }
+        BackingStoreException failure = writeFailure;
+        if (failure != null) {
+            writeFailure = null;
+            throw new BackingStoreException(failure);
+        }
+    }
+
+    /**
+     * Writes this node to its file if it changed since it was last written.
+     *
+     * @return true if the node was written
+     */
+    boolean writeIfDirty() throws BackingStoreException {
+        synchronized (lock) {
+            if (!dirty || isRemoved()) {
+                return false;
+            }
+            ensureLoaded();
+            // Cleared first, so that a change made while writing is written by the next flush.
+            dirty = false;
+            try {
+                writeToDisk();
+                writeFailure = null;
+            } catch (BackingStoreException e) {
+                dirty = true;
+                writeFailure = e;
+                throw e;
+            }
+            return true;
+        }
     }
 
     private void writeToDisk() throws BackingStoreException {
@@ -251,11 +462,6 @@ static void exportMap(OutputStream os, Map<String, String> map)
     @Override
     protected void flushSpi()
             throws BackingStoreException {
-        writeToDisk();
-    }
-
-    @Override
-    public boolean isRemoved() {
-        return super.isRemoved();
+        scheduleWrite();
     }
 }
@@ -28,9 +28,9 @@
  * 
  */
 public class KometPreferencesWrapper implements KometPreferences {
-    final KometPreferencesImpl delegate;
+    final KometPreferencesNode delegate;
 
-    public KometPreferencesWrapper(KometPreferencesImpl delegate) {
+    public KometPreferencesWrapper(KometPreferencesNode delegate) {
         this.delegate = delegate;
     }
 
@@ -131,12 +131,12 @@ public String[] childrenNames() throws BackingStoreException {
 
     @Override
     public KometPreferences parent() {
-        return new KometPreferencesWrapper((KometPreferencesImpl) delegate.parent());
+        return new KometPreferencesWrapper((KometPreferencesNode) delegate.parent());
     }
 
     @Override
     public KometPreferences node(String pathName) {
-        return new KometPreferencesWrapper((KometPreferencesImpl) delegate.node(pathName));
+        return new KometPreferencesWrapper((KometPreferencesNode) delegate.node(pathName));
     }
 
     @Override
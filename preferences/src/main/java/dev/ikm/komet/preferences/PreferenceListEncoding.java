@@ -0,0 +1,222 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.preferences;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Encodes list-valued preferences in a single preference string, without a delimiter that an element could
+ * contain, and decodes both this encoding and the "|!%|" delimited form written by
+ * {@link KometPreferences#putList(String, List)}.
+ * <p>
+ * An encoded value starts with a tag naming its type. Int and long arrays follow with their length and their
+ * elements as zig-zag variable length integers, in Base64, so that nids take at most seven characters rather
+ * than up to eleven digits and a delimiter. String lists follow with their size and each string prefixed by
+ * its length, which decodes with one substring per element.
+ */
+final class PreferenceListEncoding {
+    static final String INT_ARRAY_TAG = "~I1~";
+    static final String LONG_ARRAY_TAG = "~J1~";
+    static final String STRING_LIST_TAG = "~S1~";
+    static final String DELIMITER = "|!%|";
+
+    private static final char LENGTH_END = ':';
+
+    private PreferenceListEncoding() {
+    }
+
+    static String encodeInts(int[] values) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(values.length * 3 + 5);
+        writeVarLong(bytes, values.length);
+        for (int value : values) {
+            writeVarLong(bytes, zigZag(value));
+        }
+        return INT_ARRAY_TAG + Base64.getEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    static String encodeLongs(long[] values) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(values.length * 5 + 5);
+        writeVarLong(bytes, values.length);
+        for (long value : values) {
+            writeVarLong(bytes, zigZag(value));
+        }
+        return LONG_ARRAY_TAG + Base64.getEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    static String encodeStrings(List<String> values) {
+        int capacity = STRING_LIST_TAG.length() + 8;
+        for (String value : values) {
+            capacity += value.length() + 4;
+        }
+        StringBuilder builder = new StringBuilder(capacity).append(STRING_LIST_TAG);
+        builder.append(values.size()).append(LENGTH_END);
+        for (String value : values) {
+            builder.append(value.length()).append(LENGTH_END).append(value);
+        }
+        return builder.toString();
+    }
+
+    static int[] decodeInts(String value) {
+        if (value.startsWith(INT_ARRAY_TAG)) {
+            Decoder decoder = new Decoder(value, INT_ARRAY_TAG);
+            int[] values = new int[decoder.count()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (int) unZigZag(decoder.nextVarLong());
+            }
+            return values;
+        }
+        if (value.startsWith(LONG_ARRAY_TAG)) {
+            long[] longs = decodeLongs(value);
+            int[] values = new int[longs.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Math.toIntExact(longs[i]);
+            }
+            return values;
+        }
+        List<String> strings = decodeStrings(value);
+        int[] values = new int[strings.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Integer.parseInt(strings.get(i));
+        }
+        return values;
+    }
+
+    static long[] decodeLongs(String value) {
+        if (value.startsWith(LONG_ARRAY_TAG) || value.startsWith(INT_ARRAY_TAG)) {
+            Decoder decoder = new Decoder(value, value.startsWith(LONG_ARRAY_TAG) ? LONG_ARRAY_TAG : INT_ARRAY_TAG);
+            long[] values = new long[decoder.count()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = unZigZag(decoder.nextVarLong());
+            }
+            return values;
+        }
+        List<String> strings = decodeStrings(value);
+        long[] values = new long[strings.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Long.parseLong(strings.get(i));
+        }
+        return values;
+    }
+
+    /**
+     * @return the strings of a string list, the decimal strings of an int or long array, or the elements of a
+     * delimited value
+     */
+    static List<String> decodeStrings(String value) {
+        if (value.startsWith(STRING_LIST_TAG)) {
+            int position = STRING_LIST_TAG.length();
+            int end = lengthEnd(value, position);
+            int count = Integer.parseInt(value, position, end, 10);
+            position = end + 1;
+            List<String> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                end = lengthEnd(value, position);
+                int length = Integer.parseInt(value, position, end, 10);
+                position = end + 1;
+                values.add(value.substring(position, position + length));
+                position += length;
+            }
+            return values;
+        }
+        if (value.startsWith(INT_ARRAY_TAG) || value.startsWith(LONG_ARRAY_TAG)) {
+            long[] longs = decodeLongs(value);
+            List<String> values = new ArrayList<>(longs.length);
+            for (long element : longs) {
+                values.add(Long.toString(element));
+            }
+            return values;
+        }
+        return splitDelimited(value);
+    }
+
+    /**
+     * Splits a delimited value as {@code value.split("\\|!%\\|")} did: an empty value has no elements, and
+     * trailing empty elements are dropped.
+     */
+    static List<String> splitDelimited(String value) {
+        List<String> values = new ArrayList<>();
+        if (value.isEmpty()) {
+            return values;
+        }
+        int start = 0;
+        int index;
+        while ((index = value.indexOf(DELIMITER, start)) >= 0) {
+            values.add(value.substring(start, index));
+            start = index + DELIMITER.length();
+        }
+        values.add(value.substring(start));
+        int size = values.size();
+        while (size > 0 && values.get(size - 1).isEmpty()) {
+            values.remove(--size);
+        }
+        return values;
+    }
+
+    private static int lengthEnd(String value, int position) {
+        int end = value.indexOf(LENGTH_END, position);
+        if (end < 0) {
+            throw new IllegalArgumentException("Malformed string list preference: " + value);
+        }
+        return end;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream bytes, long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        bytes.write((int) value);
+    }
+
+    private static final class Decoder {
+        private final byte[] bytes;
+        private int position;
+
+        private Decoder(String value, String tag) {
+            this.bytes = Base64.getDecoder().decode(value.substring(tag.length()));
+        }
+
+        private int count() {
+            return Math.toIntExact(nextVarLong());
+        }
+
+        private long nextVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= bytes.length) {
+                    throw new IllegalArgumentException("Truncated list preference");
+                }
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed list preference");
+        }
+    }
+}
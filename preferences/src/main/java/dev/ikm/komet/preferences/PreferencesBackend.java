@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.preferences;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The stores the configuration preferences can be kept in, selected at startup with the
+ * {@value #BACKEND_PROPERTY} system property.
+ */
+public enum PreferencesBackend {
+    /**
+     * One preferences.xml file per node, in a directory per node. The default.
+     */
+    DIRECTORY,
+    /**
+     * The whole tree in a single append-only journal file, see {@link PreferencesJournal}.
+     */
+    JOURNAL;
+
+    /**
+     * System property naming the backend, {@code directory} or {@code journal}.
+     */
+    public static final String BACKEND_PROPERTY = "komet.preferences.backend";
+
+    private static final Logger LOG = LoggerFactory.getLogger(PreferencesBackend.class);
+
+    private static volatile PreferencesBackend selected;
+
+    /**
+     * @return the backend named by the {@value #BACKEND_PROPERTY} system property when first called, or
+     * {@link #DIRECTORY} if it names none
+     */
+    public static PreferencesBackend selected() {
+        PreferencesBackend backend = selected;
+        if (backend == null) {
+            synchronized (PreferencesBackend.class) {
+                backend = selected;
+                if (backend == null) {
+                    backend = fromProperty(System.getProperty(BACKEND_PROPERTY));
+                    LOG.info("Configuration preferences backend: " + backend);
+                    selected = backend;
+                }
+            }
+        }
+        return backend;
+    }
+
+    static PreferencesBackend fromProperty(String value) {
+        if (value == null || value.isBlank()) {
+            return DIRECTORY;
+        }
+        try {
+            return valueOf(value.strip().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Unknown preferences backend \"" + value + "\", using " + DIRECTORY);
+            return DIRECTORY;
+        }
+    }
+}
@@ -0,0 +1,446 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.preferences;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * A preference tree kept in a single append-only file, so that opening the tree reads one file, and flushing
+ * appends the changes made since the last flush instead of rewriting a file per node.
+ * <p>
+ * Each change, the creation or removal of a node, or the put or removal of a key, is a record of the journal.
+ * Records are buffered as the tree changes, and appended and forced to disk by {@link #flush()}. Each record
+ * is written as its length, a CRC32 checksum, and its payload; when the journal is opened its records are
+ * replayed, and a record cut short or corrupted by a crash, which can only be the last one written, is
+ * discarded with anything after it.
+ * <p>
+ * As records of changed values accumulate the journal grows beyond the size of the tree it describes. When it
+ * holds more than {@value #COMPACTION_MIN_RECORDS} records, and more than twice as many records as it takes to
+ * describe the tree, it is compacted: the tree is written to a new file, which then replaces the journal. The
+ * journal is never modified in place, so a crash during compaction leaves the previous journal intact.
+ * <p>
+ * Node paths are absolute, {@code /} for the root. The journal is thread safe.
+ */
+public final class PreferencesJournal implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(PreferencesJournal.class);
+
+    public static final String JOURNAL_FILE = "preferences.journal";
+    private static final String COMPACTION_FILE = "preferences.journal.tmp";
+    private static final String XML_FILE = "preferences.xml";
+    private static final String ROOT_PATH = "/";
+
+    /**
+     * Minimum number of records in the journal before it is compacted.
+     */
+    public static final int COMPACTION_MIN_RECORDS = 10_000;
+
+    private static final int MAGIC = 0x4B504A31; // "KPJ1"
+    private static final int HEADER_BYTES = Integer.BYTES;
+    private static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+
+    private static final byte NODE = 1;
+    private static final byte PUT = 2;
+    private static final byte REMOVE = 3;
+    private static final byte REMOVE_NODE = 4;
+
+    private final Path journalFile;
+    private final Path compactionFile;
+    private final ConcurrentSkipListMap<String, ConcurrentSkipListMap<String, String>> tree =
+            new ConcurrentSkipListMap<>();
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private final CRC32 crc = new CRC32();
+    private FileChannel channel;
+    private int pendingRecords;
+    private long recordsInLog;
+    private long compactionCount;
+
+    private PreferencesJournal(Path directory) {
+        this.journalFile = directory.resolve(JOURNAL_FILE);
+        this.compactionFile = directory.resolve(COMPACTION_FILE);
+    }
+
+    /**
+     * Opens the journal of a directory, replaying its records. If the directory has no journal, one is created,
+     * holding the preferences of the directory layout of {@link KometPreferencesImpl} if the directory has any.
+     *
+     * @param directory the directory holding the journal
+     * @return the open journal
+     */
+    public static PreferencesJournal open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        PreferencesJournal journal = new PreferencesJournal(directory);
+        // A compaction interrupted before replacing the journal leaves the journal itself intact.
+        Files.deleteIfExists(journal.compactionFile);
+        synchronized (journal) {
+            if (Files.exists(journal.journalFile)) {
+                journal.recover();
+            } else {
+                int migrated = importDirectoryLayout(directory, journal.tree);
+                if (migrated > 0) {
+                    LOG.info("Migrated " + migrated + " preference nodes from " + directory + " to " + JOURNAL_FILE);
+                }
+                journal.tree.computeIfAbsent(ROOT_PATH, path -> new ConcurrentSkipListMap<>());
+                journal.compact();
+            }
+            journal.compactIfWasteful();
+        }
+        return journal;
+    }
+
+    /**
+     * Reads the nodes of the directory layout of {@link KometPreferencesImpl}, a directory per node holding
+     * the values of the node in a preferences.xml file.
+     *
+     * @return the number of nodes read
+     */
+    static int importDirectoryLayout(Path directory, Map<String, ConcurrentSkipListMap<String, String>> nodes)
+            throws IOException {
+        if (!Files.exists(directory.resolve(XML_FILE)) && !hasSubdirectory(directory)) {
+            return 0;
+        }
+        List<Path> nodeDirectories;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            nodeDirectories = paths.filter(Files::isDirectory).toList();
+        }
+        for (Path nodeDirectory : nodeDirectories) {
+            ConcurrentSkipListMap<String, String> values = new ConcurrentSkipListMap<>();
+            Path xmlFile = nodeDirectory.resolve(XML_FILE);
+            if (Files.exists(xmlFile)) {
+                try (InputStream is = Files.newInputStream(xmlFile)) {
+                    XmlForKometPreferences.importMap(is, values);
+                } catch (Exception e) {
+                    LOG.error("Unable to migrate " + xmlFile, e);
+                }
+            }
+            nodes.put(pathOf(directory, nodeDirectory), values);
+        }
+        return nodeDirectories.size();
+    }
+
+    private static boolean hasSubdirectory(Path directory) throws IOException {
+        try (Stream<Path> children = Files.list(directory)) {
+            return children.anyMatch(Files::isDirectory);
+        }
+    }
+
+    private static String pathOf(Path rootDirectory, Path nodeDirectory) {
+        StringBuilder path = new StringBuilder();
+        for (Path name : rootDirectory.relativize(nodeDirectory)) {
+            if (!name.toString().isEmpty()) {
+                path.append('/').append(name);
+            }
+        }
+        return path.isEmpty() ? ROOT_PATH : path.toString();
+    }
+
+    private void recover() throws IOException {
+        byte[] bytes = Files.readAllBytes(journalFile);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException(journalFile + " is not a preferences journal");
+        }
+        long validLength = HEADER_BYTES;
+        while (buffer.remaining() >= RECORD_HEADER_BYTES) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                break;
+            }
+            crc.reset();
+            crc.update(bytes, buffer.position(), length);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            ByteBuffer payload = buffer.slice(buffer.position(), length);
+            buffer.position(buffer.position() + length);
+            byte type = payload.get();
+            String path = readString(payload);
+            String key = type == PUT || type == REMOVE ? readString(payload) : null;
+            String value = type == PUT ? readString(payload) : null;
+            apply(type, path, key, value);
+            recordsInLog++;
+            validLength = buffer.position();
+        }
+        tree.computeIfAbsent(ROOT_PATH, path -> new ConcurrentSkipListMap<>());
+        channel = FileChannel.open(journalFile, StandardOpenOption.WRITE);
+        if (validLength < bytes.length) {
+            LOG.warn("Discarding " + (bytes.length - validLength) + " bytes of incomplete records at the end of "
+                    + journalFile);
+            channel.truncate(validLength);
+            channel.force(true);
+        }
+        channel.position(validLength);
+    }
+
+    private static String readString(ByteBuffer payload) {
+        int length = payload.getInt();
+        String string = new String(payload.array(), payload.arrayOffset() + payload.position(), length,
+                StandardCharsets.UTF_8);
+        payload.position(payload.position() + length);
+        return string;
+    }
+
+    private void apply(byte type, String path, String key, String value) {
+        switch (type) {
+            case NODE -> tree.computeIfAbsent(path, p -> new ConcurrentSkipListMap<>());
+            case PUT -> tree.computeIfAbsent(path, p -> new ConcurrentSkipListMap<>()).put(key, value);
+            case REMOVE -> {
+                ConcurrentSkipListMap<String, String> values = tree.get(path);
+                if (values != null) {
+                    values.remove(key);
+                }
+            }
+            case REMOVE_NODE -> tree.remove(path);
+            default -> throw new IllegalStateException("Unknown preferences journal record: " + type);
+        }
+    }
+
+    private synchronized void record(byte type, String path, String key, String value) {
+        apply(type, path, key, value);
+        try {
+            writeRecord(new DataOutputStream(pending), type, path, key, value);
+        } catch (IOException e) {
+            // Writing to a byte array does not fail.
+            throw new IllegalStateException(e);
+        }
+        pendingRecords++;
+    }
+
+    private void writeRecord(DataOutputStream out, byte type, String path, String key, String value)
+            throws IOException {
+        ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(64);
+        DataOutputStream payload = new DataOutputStream(payloadBytes);
+        payload.writeByte(type);
+        writeString(payload, path);
+        if (key != null) {
+            writeString(payload, key);
+        }
+        if (value != null) {
+            writeString(payload, value);
+        }
+        byte[] bytes = payloadBytes.toByteArray();
+        crc.reset();
+        crc.update(bytes);
+        out.writeInt(bytes.length);
+        out.writeInt((int) crc.getValue());
+        out.write(bytes);
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public boolean nodeExists(String path) {
+        return tree.containsKey(path);
+    }
+
+    /**
+     * Records a node, unless it exists.
+     */
+    public synchronized void createNode(String path) {
+        if (!tree.containsKey(path)) {
+            record(NODE, path, null, null);
+        }
+    }
+
+    public void removeNode(String path) {
+        record(REMOVE_NODE, path, null, null);
+    }
+
+    public String get(String path, String key) {
+        ConcurrentSkipListMap<String, String> values = tree.get(path);
+        return values == null ? null : values.get(key);
+    }
+
+    public void put(String path, String key, String value) {
+        record(PUT, path, key, value);
+    }
+
+    public void remove(String path, String key) {
+        record(REMOVE, path, key, null);
+    }
+
+    public String[] keys(String path) {
+        ConcurrentSkipListMap<String, String> values = tree.get(path);
+        return values == null ? new String[0] : values.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * @return the names of the children of a node
+     */
+    public String[] childrenNames(String path) {
+        String prefix = path.equals(ROOT_PATH) ? ROOT_PATH : path + "/";
+        List<String> names = new ArrayList<>();
+        for (String descendant : tree.subMap(prefix, false, prefix + Character.MAX_VALUE, false).keySet()) {
+            String name = descendant.substring(prefix.length());
+            if (name.indexOf('/') < 0) {
+                names.add(name);
+            }
+        }
+        return names.toArray(new String[0]);
+    }
+
+    /**
+     * Appends the changes made since the last flush to the journal and forces them to disk, compacting the
+     * journal if it has grown wasteful.
+     */
+    public synchronized void flush() throws IOException {
+        if (pendingRecords == 0) {
+            return;
+        }
+        channel.write(ByteBuffer.wrap(pending.toByteArray()));
+        channel.force(false);
+        recordsInLog += pendingRecords;
+        pending.reset();
+        pendingRecords = 0;
+        compactIfWasteful();
+    }
+
+    private void compactIfWasteful() throws IOException {
+        if (recordsInLog >= COMPACTION_MIN_RECORDS && recordsInLog > 2 * liveRecordCount()) {
+            compact();
+        }
+    }
+
+    private long liveRecordCount() {
+        long count = 0;
+        for (SortedMap<String, String> values : tree.values()) {
+            count += 1 + values.size();
+        }
+        return count;
+    }
+
+    /**
+     * Replaces the journal by the records describing the current tree, including changes not yet flushed.
+     */
+    public synchronized void compact() throws IOException {
+        long records = 0;
+        try (FileChannel compacted = FileChannel.open(compactionFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream os = new BufferedOutputStream(Channels.newOutputStream(compacted), 1 << 16);
+            DataOutputStream out = new DataOutputStream(os);
+            out.writeInt(MAGIC);
+            for (Map.Entry<String, ConcurrentSkipListMap<String, String>> node : tree.entrySet()) {
+                writeRecord(out, NODE, node.getKey(), null, null);
+                records++;
+                for (Map.Entry<String, String> entry : node.getValue().entrySet()) {
+                    writeRecord(out, PUT, node.getKey(), entry.getKey(), entry.getValue());
+                    records++;
+                }
+            }
+            out.flush();
+            compacted.force(true);
+        }
+        if (channel != null) {
+            channel.close();
+        }
+        Files.move(compactionFile, journalFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        forceDirectory(journalFile.getParent());
+        channel = FileChannel.open(journalFile, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        recordsInLog = records;
+        pending.reset();
+        pendingRecords = 0;
+        compactionCount++;
+    }
+
+    /**
+     * Forces a directory to disk, so that a file renamed into it survives a crash: the rename is a change of the
+     * directory, not of the file. Windows can't force a directory; there the rename is left to the file system.
+     */
+    private static void forceDirectory(Path directory) throws IOException {
+        try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        } catch (IOException e) {
+            if (!System.getProperty("os.name", "").startsWith("Windows")) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Discards the changes not yet flushed, and reads the tree from the journal again, for example after the
+     * journal was replaced by a fetch of the preferences.
+     */
+    public synchronized void reload() throws IOException {
+        channel.close();
+        tree.clear();
+        pending.reset();
+        pendingRecords = 0;
+        recordsInLog = 0;
+        recover();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    public int nodeCount() {
+        return tree.size();
+    }
+
+    /**
+     * @return the number of records in the journal file, excluding those not yet flushed
+     */
+    public synchronized long recordsInLog() {
+        return recordsInLog;
+    }
+
+    public synchronized long compactionCount() {
+        return compactionCount;
+    }
+
+    public File file() {
+        return journalFile.toFile();
+    }
+
+    @Override
+    public String toString() {
+        return "PreferencesJournal{" + journalFile + ", nodes: " + nodeCount() + ", records: " + recordsInLog() +
+                ", compactions: " + compactionCount() + "}";
+    }
+}
@@ -63,6 +63,8 @@ public void stop() {
         try {
             LOG.info("Syncing preferences during shutdown");
             KometPreferencesImpl.getConfigurationRootPreferences().sync();
+            // Nodes are written behind the sync; wait for the writes before the process exits.
+            KometPreferencesImpl.awaitPendingWrites();
             LOG.info("Preferences synced successfully");
         } catch (Throwable ex) {
             LOG.error("Error syncing preferences during shutdown", ex);
@@ -0,0 +1,189 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.preferences;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.prefs.BackingStoreException;
+
+/**
+ * Coalesces the writes of {@link KometPreferencesImpl} nodes: a flushed node that has changed is written once,
+ * after a delay, however many times it is flushed within that delay. Callers flush eagerly, often several
+ * times per user gesture, so a burst of changes costs one write per changed node rather than one per flush.
+ * <p>
+ * The delay is read from the {@value #DELAY_PROPERTY} system property, in milliseconds, and defaults to
+ * {@value #DEFAULT_DELAY_MILLIS}; a delay of zero writes nodes when they are flushed. Pending writes are
+ * completed by {@link #awaitPendingWrites()}, which the preferences service calls when it stops, and by a
+ * shutdown hook for the configuration preferences. A sync does not wait for the delay: it writes the synced
+ * nodes at once, see {@link #writeNow(KometPreferencesImpl)}. A node whose write fails stays dirty, and the failure
+ * is thrown by its next flush or sync.
+ */
+public final class PreferencesWriteBehind {
+    private static final Logger LOG = LoggerFactory.getLogger(PreferencesWriteBehind.class);
+
+    /**
+     * System property giving the write delay, in milliseconds.
+     */
+    public static final String DELAY_PROPERTY = "komet.preferences.writeBehindMillis";
+    public static final long DEFAULT_DELAY_MILLIS = 250;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Komet-preferences-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Duration delay;
+    private final Set<KometPreferencesImpl> pendingNodes = new LinkedHashSet<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder writeCount = new LongAdder();
+    private boolean drainScheduled;
+
+    /**
+     * @param delay the time a flushed node waits for further flushes before it is written
+     */
+    public PreferencesWriteBehind(Duration delay) {
+        this.delay = delay;
+    }
+
+    /**
+     * @return a write-behind with the delay of the {@value #DELAY_PROPERTY} system property
+     */
+    static PreferencesWriteBehind fromSystemProperty() {
+        long delayMillis = DEFAULT_DELAY_MILLIS;
+        String property = System.getProperty(DELAY_PROPERTY);
+        if (property != null && !property.isBlank()) {
+            try {
+                delayMillis = Math.max(0, Long.parseLong(property.strip()));
+            } catch (NumberFormatException e) {
+                LOG.warn("Invalid " + DELAY_PROPERTY + " \"" + property + "\", using " + DEFAULT_DELAY_MILLIS + " ms");
+            }
+        }
+        PreferencesWriteBehind writeBehind = new PreferencesWriteBehind(Duration.ofMillis(delayMillis));
+        Runtime.getRuntime().addShutdownHook(new Thread(writeBehind::awaitPendingWrites, "Komet-preferences-shutdown"));
+        return writeBehind;
+    }
+
+    /**
+     * Writes a flushed node after the delay, with any other node flushed in the meantime.
+     */
+    void schedule(KometPreferencesImpl node) {
+        requestCount.increment();
+        if (delay.isZero()) {
+            write(node);
+            return;
+        }
+        synchronized (pendingNodes) {
+            pendingNodes.add(node);
+            if (!drainScheduled) {
+                drainScheduled = true;
+                SCHEDULER.schedule(this::drain, delay.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Writes a node on the calling thread if it changed, whether or not it is pending. The node's lock, rather
+     * than the lock of the drain, orders this with a write of the same node on the writer's thread: the caller may
+     * hold the locks of other nodes, which the drain takes, so it must not wait for the drain. On return the node
+     * is on disk.
+     *
+     * @throws BackingStoreException if the node could not be written
+     */
+    void writeNow(KometPreferencesImpl node) throws BackingStoreException {
+        requestCount.increment();
+        if (node.writeIfDirty()) {
+            writeCount.increment();
+        }
+    }
+
+    /**
+     * Writes every pending node on the calling thread, after any write in progress; on return, every node
+     * flushed before the call is on disk.
+     */
+    public void awaitPendingWrites() {
+        drain();
+    }
+
+    private void drain() {
+        writeLock.lock();
+        try {
+            List<KometPreferencesImpl> nodes;
+            synchronized (pendingNodes) {
+                nodes = new ArrayList<>(pendingNodes);
+                pendingNodes.clear();
+                drainScheduled = false;
+            }
+            for (KometPreferencesImpl node : nodes) {
+                write(node);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void write(KometPreferencesImpl node) {
+        try {
+            if (node.writeIfDirty()) {
+                writeCount.increment();
+            }
+        } catch (Exception e) {
+            LOG.error("Unable to write preferences " + node.absolutePath(), e);
+        }
+    }
+
+    public Duration delay() {
+        return delay;
+    }
+
+    /**
+     * @return the number of times nodes were flushed
+     */
+    public long requestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * @return the number of node files written
+     */
+    public long writeCount() {
+        return writeCount.sum();
+    }
+
+    public int pendingCount() {
+        synchronized (pendingNodes) {
+            return pendingNodes.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PreferencesWriteBehind{delay: " + delay.toMillis() + " ms, flushes: " + requestCount() +
+                ", writes: " + writeCount() + ", pending: " + pendingCount() + "}";
+    }
+}
@@ -108,7 +108,7 @@ public class XmlForKometPreferences {
      */
     static void export(OutputStream os, final Preferences p, boolean subTree)
             throws IOException, BackingStoreException {
-        if (((KometPreferencesImpl)p).isRemoved()) {
+        if (((KometPreferencesNode) p).isRemoved()) {
             throw new IllegalStateException("Node has been removed");
         }
         Document doc = createPrefsDoc("preferences");
@@ -157,10 +157,10 @@ private static void putPreferencesInXml(Element elt, Document doc,
         // Node is locked to export its contents and get a
         // copy of children, then lock is released,
         // and, if subTree = true, recursive calls are made on children
-        synchronized (((KometPreferencesImpl)prefs).getLock()) {
+        synchronized (((KometPreferencesNode)prefs).getLock()) {
             // Check if this node was concurrently removed. If yes
             // remove it from XML Document and return.
-            if (((KometPreferencesImpl)prefs).isRemoved()) {
+            if (((KometPreferencesNode) prefs).isRemoved()) {
                 elt.getParentNode().removeChild(elt);
                 return;
             }
@@ -311,9 +311,9 @@ private static void ImportSubtree(Preferences prefsNode, Element xmlNode) {
          */
         Preferences[] prefsKids;
         /* Lock the node */
-        synchronized (((KometPreferencesImpl)prefsNode).getLock()) {
+        synchronized (((KometPreferencesNode)prefsNode).getLock()) {
             //If removed, return silently
-            if (((KometPreferencesImpl)prefsNode).isRemoved()) {
+            if (((KometPreferencesNode) prefsNode).isRemoved()) {
                 return;
             }
 
@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.preferences;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.prefs.BackingStoreException;
+import java.util.prefs.Preferences;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("KometPreferencesImpl Tests")
+class KometPreferencesImplTest {
+    private static final int JOURNALS = 3;
+    private static final int WINDOWS = 4;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void writeTree() throws BackingStoreException {
+        KometPreferencesImpl root = new KometPreferencesImpl(directory.toFile());
+        root.put("journal-count", Integer.toString(JOURNALS));
+        for (int journal = 1; journal <= JOURNALS; journal++) {
+            Preferences journalNode = root.node("journal-" + journal);
+            journalNode.put("name", "Journal " + journal);
+            for (int window = 1; window <= WINDOWS; window++) {
+                journalNode.node("window-" + window).put("title", "Window " + window);
+            }
+        }
+        root.flush();
+    }
+
+    @Test
+    @DisplayName("Opening one journal reads only the files of the nodes accessed")
+    void testLazyLoading() throws BackingStoreException {
+        KometPreferencesImpl root = new KometPreferencesImpl(directory.toFile());
+        assertEquals(0, root.fileReadCount());
+
+        Preferences journal = root.node("journal-2");
+        assertArrayEquals(new String[]{"window-1", "window-2", "window-3", "window-4"}, journal.childrenNames());
+        assertEquals(0, root.fileReadCount());
+
+        assertEquals("Journal 2", journal.get("name", null));
+        assertEquals(1, root.fileReadCount());
+        for (String windowName : journal.childrenNames()) {
+            assertTrue(journal.node(windowName).get("title", "").startsWith("Window"));
+        }
+        assertEquals(1 + WINDOWS, root.fileReadCount());
+
+        // Values already read are not read again.
+        journal.node("window-1").get("title", null);
+        assertEquals(1 + WINDOWS, root.fileReadCount());
+    }
+
+    @Test
+    @DisplayName("Flushing an opened journal writes and reads nothing else")
+    void testFlushTouchesOnlyAccessedNodes() throws BackingStoreException {
+        PreferencesWriteBehind writeBehind = new PreferencesWriteBehind(Duration.ZERO);
+        KometPreferencesImpl root = new KometPreferencesImpl(directory.toFile(), writeBehind);
+        root.node("journal-1/window-1").put("title", "Changed");
+        root.flush();
+        assertEquals(1, root.fileReadCount());
+        assertEquals(1, writeBehind.writeCount());
+        assertEquals("Changed", new KometPreferencesImpl(directory.toFile()).node("journal-1/window-1").get("title", null));
+    }
+
+    @Test
+    @DisplayName("The cached child listing follows added and removed nodes")
+    void testChildListing() throws BackingStoreException {
+        KometPreferencesImpl root = new KometPreferencesImpl(directory.toFile());
+        Preferences journal = root.node("journal-1");
+        assertEquals(WINDOWS, journal.childrenNames().length);
+
+        journal.node("window-1").removeNode();
+        journal.node("window-5");
+        assertArrayEquals(new String[]{"window-2", "window-3", "window-4", "window-5"}, journal.childrenNames());
+        journal.flush();
+
+        KometPreferencesImpl reopened = new KometPreferencesImpl(directory.toFile());
+        assertArrayEquals(new String[]{"window-2", "window-3", "window-4", "window-5"},
+                reopened.node("journal-1").childrenNames());
+        assertTrue(reopened.nodeExists("journal-3/window-4"));
+        assertFalse(reopened.nodeExists("journal-1/window-1"));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.preferences;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PreferenceListEncoding Tests")
+class PreferenceListEncodingTest {
+
+    @Test
+    @DisplayName("Int and long arrays round trip")
+    void testNumericRoundTrip() {
+        int[] ints = {0, 1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, -2_147_483_000, 42};
+        assertArrayEquals(ints, PreferenceListEncoding.decodeInts(PreferenceListEncoding.encodeInts(ints)));
+        long[] longs = {0L, -1L, Long.MAX_VALUE, Long.MIN_VALUE, 1_700_000_000_000L};
+        assertArrayEquals(longs, PreferenceListEncoding.decodeLongs(PreferenceListEncoding.encodeLongs(longs)));
+        assertArrayEquals(new int[0], PreferenceListEncoding.decodeInts(PreferenceListEncoding.encodeInts(new int[0])));
+    }
+
+    @Test
+    @DisplayName("String lists round trip, whatever characters the strings hold")
+    void testStringRoundTrip() {
+        List<String> strings = List.of("plain", "", "with|!%|delimiter", "12:colon", "~S1~tag", "ünïcødé ✓");
+        List<String> decoded = PreferenceListEncoding.decodeStrings(PreferenceListEncoding.encodeStrings(strings));
+        assertEquals(strings, decoded);
+        assertTrue(decoded instanceof ArrayList, "Callers add to and remove from the returned list");
+        assertEquals(List.of(), PreferenceListEncoding.decodeStrings(PreferenceListEncoding.encodeStrings(List.of())));
+    }
+
+    @Test
+    @DisplayName("Delimited values are read as String.split read them")
+    void testLegacyValues() {
+        assertEquals(List.of("a", "b", "c"), PreferenceListEncoding.decodeStrings("a|!%|b|!%|c"));
+        assertEquals(List.of(), PreferenceListEncoding.decodeStrings(""));
+        assertEquals(List.of("a", "", "b"), PreferenceListEncoding.decodeStrings("a|!%||!%|b|!%|"));
+        assertArrayEquals(new int[]{-2147483600, 7}, PreferenceListEncoding.decodeInts("-2147483600|!%|7"));
+        assertArrayEquals(new long[]{5L, -6L}, PreferenceListEncoding.decodeLongs("5|!%|-6"));
+    }
+
+    @Test
+    @DisplayName("Numeric arrays are readable as strings, and ints as longs")
+    void testCrossTypeReads() {
+        String ints = PreferenceListEncoding.encodeInts(new int[]{3, -4});
+        assertEquals(List.of("3", "-4"), PreferenceListEncoding.decodeStrings(ints));
+        assertArrayEquals(new long[]{3L, -4L}, PreferenceListEncoding.decodeLongs(ints));
+        assertArrayEquals(new int[]{5, 6}, PreferenceListEncoding.decodeInts(PreferenceListEncoding.encodeStrings(List.of("5", "6"))));
+    }
+
+    @Test
+    @DisplayName("Nid arrays are more compact than delimited decimal strings")
+    void testCompactness() {
+        int[] nids = new int[1_000];
+        List<String> strings = new ArrayList<>(nids.length);
+        for (int i = 0; i < nids.length; i++) {
+            nids[i] = Integer.MIN_VALUE + 1_000_000 + i * 7919;
+            strings.add(Integer.toString(nids[i]));
+        }
+        String delimited = String.join(PreferenceListEncoding.DELIMITER, strings);
+        String encoded = PreferenceListEncoding.encodeInts(nids);
+        assertTrue(encoded.length() * 2 < delimited.length(), encoded.length() + " vs " + delimited.length());
+    }
+}
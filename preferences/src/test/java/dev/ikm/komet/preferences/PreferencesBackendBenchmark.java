@@ -0,0 +1,140 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.preferences;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.prefs.AbstractPreferences;
+import java.util.prefs.BackingStoreException;
+import java.util.stream.Stream;
+
+/**
+ * Compares the directory and journal backends of the configuration preferences on a tree of 10,000 window
+ * nodes: the time to flush the tree when first written, to open it and read every node, and to flush a few
+ * changed nodes.
+ * <p>
+ * Run with the main method; arguments optionally give the number of journals and of windows per journal.
+ */
+public class PreferencesBackendBenchmark {
+    private static final int KEYS_PER_WINDOW = 5;
+    private static final int CHANGED_WINDOWS = 10;
+
+    private final int journals;
+    private final int windowsPerJournal;
+
+    PreferencesBackendBenchmark(int journals, int windowsPerJournal) {
+        this.journals = journals;
+        this.windowsPerJournal = windowsPerJournal;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int journals = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int windowsPerJournal = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        PreferencesBackendBenchmark benchmark = new PreferencesBackendBenchmark(journals, windowsPerJournal);
+        System.out.printf("Tree of %,d journals with %,d windows each, %d keys per window%n",
+                journals, windowsPerJournal, KEYS_PER_WINDOW);
+        benchmark.run(PreferencesBackend.DIRECTORY);
+        benchmark.run(PreferencesBackend.JOURNAL);
+    }
+
+    private void run(PreferencesBackend backend) throws Exception {
+        Path directory = Files.createTempDirectory("komet-preferences-" + backend.name().toLowerCase());
+        try {
+            AbstractPreferences root = open(backend, directory);
+            fill(root);
+            long start = System.nanoTime();
+            root.flush();
+            long initialFlushNanos = System.nanoTime() - start;
+            close(root);
+
+            start = System.nanoTime();
+            root = open(backend, directory);
+            int nodes = readAll(root);
+            long loadNanos = System.nanoTime() - start;
+
+            for (int i = 0; i < CHANGED_WINDOWS; i++) {
+                root.node(windowPath(i % journals, i)).put("title", "Changed " + i);
+            }
+            start = System.nanoTime();
+            root.flush();
+            long changeFlushNanos = System.nanoTime() - start;
+            close(root);
+
+            System.out.printf("%-9s nodes: %,d, initial flush: %,d ms, load: %,d ms, flush of %d changed nodes: %,d ms, on disk: %,d KB%n",
+                    backend, nodes, initialFlushNanos / 1_000_000, loadNanos / 1_000_000, CHANGED_WINDOWS,
+                    changeFlushNanos / 1_000_000, sizeOf(directory) / 1024);
+        } finally {
+            delete(directory);
+        }
+    }
+
+    private static AbstractPreferences open(PreferencesBackend backend, Path directory) throws IOException {
+        return switch (backend) {
+            case DIRECTORY -> new KometPreferencesImpl(directory.toFile());
+            case JOURNAL -> JournaledPreferences.open(directory);
+        };
+    }
+
+    private static void close(AbstractPreferences root) throws IOException {
+        if (root instanceof JournaledPreferences journaled) {
+            journaled.journal().close();
+        }
+    }
+
+    private void fill(AbstractPreferences root) {
+        for (int journal = 0; journal < journals; journal++) {
+            for (int window = 0; window < windowsPerJournal; window++) {
+                AbstractPreferences node = (AbstractPreferences) root.node(windowPath(journal, window));
+                node.put("title", "Window " + window);
+                node.putDouble("x", window * 10.0);
+                node.putDouble("y", window * 20.0);
+                node.putBoolean("visible", window % 2 == 0);
+                node.put("factory", "dev.ikm.komet.details.DetailsNodeFactory");
+            }
+        }
+    }
+
+    private static String windowPath(int journal, int window) {
+        return "journal-" + journal + "/window-" + window;
+    }
+
+    private static int readAll(AbstractPreferences node) throws BackingStoreException {
+        int count = 1;
+        for (String key : node.keys()) {
+            node.get(key, null);
+        }
+        for (String childName : node.childrenNames()) {
+            count += readAll((AbstractPreferences) node.node(childName));
+        }
+        return count;
+    }
+
+    private static long sizeOf(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.preferences;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.prefs.BackingStoreException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PreferencesJournal Tests")
+class PreferencesJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Flushed preferences are read back when the journal is opened again")
+    void testReopen() throws Exception {
+        JournaledPreferences root = JournaledPreferences.open(directory);
+        root.node("journal-1/window-1").put("title", "First");
+        root.node("journal-1/window-2").putInt("width", 800);
+        root.node("journal-2").put("name", "Second");
+        root.node("journal-1/window-2").remove("absent");
+        root.node("journal-2").removeNode();
+        root.flush();
+        root.journal().close();
+
+        JournaledPreferences reopened = JournaledPreferences.open(directory);
+        assertArrayEquals(new String[]{"journal-1"}, reopened.childrenNames());
+        assertArrayEquals(new String[]{"window-1", "window-2"}, reopened.node("journal-1").childrenNames());
+        assertEquals("First", reopened.node("journal-1/window-1").get("title", null));
+        assertEquals(800, reopened.node("journal-1/window-2").getInt("width", 0));
+        assertFalse(reopened.nodeExists("journal-2"));
+        reopened.journal().close();
+    }
+
+    @Test
+    @DisplayName("Changes that were not flushed are lost, and a torn record is discarded")
+    void testRecovery() throws Exception {
+        JournaledPreferences root = JournaledPreferences.open(directory);
+        root.node("window").put("title", "Flushed");
+        root.flush();
+        long flushedLength = Files.size(directory.resolve(PreferencesJournal.JOURNAL_FILE));
+        root.node("window").put("title", "Torn");
+        root.flush();
+        root.journal().close();
+
+        // Simulate a crash part way through appending the last record.
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve(PreferencesJournal.JOURNAL_FILE).toFile(), "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        JournaledPreferences recovered = JournaledPreferences.open(directory);
+        assertEquals("Flushed", recovered.node("window").get("title", null));
+        assertEquals(flushedLength, Files.size(directory.resolve(PreferencesJournal.JOURNAL_FILE)));
+
+        // The journal can be appended to after recovery.
+        recovered.node("window").put("title", "After recovery");
+        recovered.flush();
+        recovered.journal().close();
+        JournaledPreferences reopened = JournaledPreferences.open(directory);
+        assertEquals("After recovery", reopened.node("window").get("title", null));
+        reopened.journal().close();
+    }
+
+    @Test
+    @DisplayName("The journal is compacted once overwritten values dominate it")
+    void testCompaction() throws Exception {
+        JournaledPreferences root = JournaledPreferences.open(directory);
+        JournaledPreferences window = (JournaledPreferences) root.node("window");
+        for (int i = 0; i < PreferencesJournal.COMPACTION_MIN_RECORDS * 3; i++) {
+            window.putInt("x", i);
+            if (i % 100 == 0) {
+                root.flush();
+            }
+        }
+        root.flush();
+        PreferencesJournal journal = root.journal();
+        assertTrue(journal.compactionCount() > 1, journal.toString());
+        assertTrue(journal.recordsInLog() < PreferencesJournal.COMPACTION_MIN_RECORDS, journal.toString());
+        journal.close();
+
+        JournaledPreferences reopened = JournaledPreferences.open(directory);
+        assertEquals(PreferencesJournal.COMPACTION_MIN_RECORDS * 3 - 1, reopened.node("window").getInt("x", -1));
+        reopened.journal().close();
+    }
+
+    @Test
+    @DisplayName("A journaled subtree is exported as XML")
+    void testExport() throws Exception {
+        JournaledPreferences root = JournaledPreferences.open(directory);
+        root.node("journal-1/window-1").put("title", "Exported");
+        ByteArrayOutputStream xml = new ByteArrayOutputStream();
+        XmlForKometPreferences.export(xml, root.node("journal-1"), true);
+        String exported = xml.toString(StandardCharsets.UTF_8);
+        assertTrue(exported.contains("<node name=\"window-1\">"));
+        assertTrue(exported.contains("<entry key=\"title\" value=\"Exported\"/>"));
+        root.journal().close();
+    }
+
+    @Test
+    @DisplayName("Preferences of the directory layout are migrated to a new journal")
+    void testMigration() throws IOException, BackingStoreException {
+        KometPreferencesImpl directoryRoot = new KometPreferencesImpl(directory.toFile());
+        directoryRoot.put("root-key", "root-value");
+        directoryRoot.node("journal-1/window-1").put("title", "Migrated");
+        directoryRoot.node("journal-1/window-1").putLong("stamp", 42L);
+        directoryRoot.node("empty");
+        directoryRoot.flush();
+
+        JournaledPreferences root = JournaledPreferences.open(directory);
+        assertEquals("root-value", root.get("root-key", null));
+        assertEquals("Migrated", root.node("journal-1/window-1").get("title", null));
+        assertEquals(42L, root.node("journal-1/window-1").getLong("stamp", 0));
+        assertTrue(root.nodeExists("empty"));
+        assertEquals(4, root.journal().nodeCount());
+        root.journal().close();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.preferences;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.prefs.BackingStoreException;
+import java.util.prefs.Preferences;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PreferencesWriteBehind Tests")
+class PreferencesWriteBehindTest {
+
+    @TempDir
+    Path directory;
+
+    private File fileOf(String nodePath) {
+        return directory.resolve(nodePath).resolve("preferences.xml").toFile();
+    }
+
+    @Test
+    @DisplayName("A burst of flushes writes each changed node once")
+    void testCoalescing() throws Exception {
+        // A delay long enough that only the barrier writes.
+        PreferencesWriteBehind writeBehind = new PreferencesWriteBehind(Duration.ofHours(1));
+        KometPreferencesImpl root = new KometPreferencesImpl(directory.toFile(), writeBehind);
+        Preferences window = root.node("window");
+        for (int i = 0; i < 100; i++) {
+            window.putInt("x", i);
+            window.flush();
+            root.flush();
+        }
+        assertFalse(fileOf("window").exists());
+        assertEquals(0, writeBehind.writeCount());
+
+        writeBehind.awaitPendingWrites();
+        // The root and the window, each written once.
+        assertEquals(2, writeBehind.writeCount());
+        assertEquals(0, writeBehind.pendingCount());
+        assertEquals(99, new KometPreferencesImpl(directory.toFile()).node("window").getInt("x", -1));
+    }
+
+    @Test
+    @DisplayName("Only changed nodes are written")
+    void testDirtyTracking() throws Exception {
+        PreferencesWriteBehind writeBehind = new PreferencesWriteBehind(Duration.ofHours(1));
+        KometPreferencesImpl root = new KometPreferencesImpl(directory.toFile(), writeBehind);
+        root.node("a").put("key", "a");
+        root.node("b").put("key", "b");
+        root.node("c").put("key", "c");
+        root.flush();
+        writeBehind.awaitPendingWrites();
+        assertEquals(4, writeBehind.writeCount());
+
+        root.flush();
+        assertEquals(0, writeBehind.pendingCount());
+
+        root.node("b").put("key", "changed");
+        root.flush();
+        assertEquals(1, writeBehind.pendingCount());
+        writeBehind.awaitPendingWrites();
+        assertEquals(5, writeBehind.writeCount());
+        assertEquals("changed", new KometPreferencesImpl(directory.toFile()).node("b").get("key", null));
+    }
+
+    @Test
+    @DisplayName("A node removed before it is written is not written")
+    void testRemovedBeforeWrite() throws Exception {
+        PreferencesWriteBehind writeBehind = new PreferencesWriteBehind(Duration.ofHours(1));
+        KometPreferencesImpl root = new KometPreferencesImpl(directory.toFile(), writeBehind);
+        Preferences transientNode = root.node("transient");
+        transientNode.put("key", "value");
+        transientNode.flush();
+        transientNode.removeNode();
+        writeBehind.awaitPendingWrites();
+        assertFalse(directory.resolve("transient").toFile().exists());
+    }
+
+    @Test
+    @DisplayName("A failed write is thrown by the next flush, and written by the one after")
+    void testWriteFailure() throws Exception {
+        PreferencesWriteBehind writeBehind = new PreferencesWriteBehind(Duration.ofHours(1));
+        KometPreferencesImpl root = new KometPreferencesImpl(directory.toFile(), writeBehind);
+        // A file where the node's directory belongs makes its write fail.
+        File blocker = directory.resolve("blocked").toFile();
+        assertTrue(blocker.createNewFile());
+        Preferences blocked = root.node("blocked");
+        blocked.put("key", "value");
+        root.flush();
+        writeBehind.awaitPendingWrites();
+        assertFalse(fileOf("blocked").exists());
+
+        assertThrows(BackingStoreException.class, blocked::flush);
+
+        assertTrue(blocker.delete());
+        blocked.flush();
+        writeBehind.awaitPendingWrites();
+        assertTrue(fileOf("blocked").exists());
+        assertEquals("value", new KometPreferencesImpl(directory.toFile()).node("blocked").get("key", null));
+    }
+
+    @Test
+    @DisplayName("A sync writes the node without waiting for the delay")
+    void testSyncWritesNow() throws Exception {
+        PreferencesWriteBehind writeBehind = new PreferencesWriteBehind(Duration.ofHours(1));
+        KometPreferencesImpl root = new KometPreferencesImpl(directory.toFile(), writeBehind);
+        Preferences window = root.node("window");
+        window.put("title", "Synced");
+        window.flush();
+        assertFalse(fileOf("window").exists());
+
+        window.sync();
+        assertTrue(fileOf("window").exists());
+        assertEquals("Synced", new KometPreferencesImpl(directory.toFile()).node("window").get("title", null));
+
+        // A failed write is thrown by the sync itself.
+        File blocker = directory.resolve("blocked").toFile();
+        assertTrue(blocker.createNewFile());
+        Preferences blocked = root.node("blocked");
+        blocked.put("key", "value");
+        assertThrows(BackingStoreException.class, blocked::sync);
+    }
+
+    @Test
+    @DisplayName("Reloading writes pending nodes before discarding their values")
+    void testReloadWritesPending() throws Exception {
+        PreferencesWriteBehind writeBehind = new PreferencesWriteBehind(Duration.ofHours(1));
+        KometPreferencesImpl root = new KometPreferencesImpl(directory.toFile(), writeBehind);
+        Preferences window = root.node("window");
+        window.put("title", "Pending");
+        window.flush();
+        assertFalse(fileOf("window").exists());
+
+        KometPreferencesImpl.reload(root);
+        assertEquals(0, writeBehind.pendingCount());
+        assertTrue(fileOf("window").exists());
+        assertEquals("Pending", window.get("title", null));
+    }
+
+    @Test
+    @DisplayName("Flushed nodes are written once the delay has passed")
+    void testDelayedWrite() throws Exception {
+        PreferencesWriteBehind writeBehind = new PreferencesWriteBehind(Duration.ofMillis(20));
+        KometPreferencesImpl root = new KometPreferencesImpl(directory.toFile(), writeBehind);
+        root.node("window").put("title", "Delayed");
+        root.flush();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (writeBehind.writeCount() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, writeBehind.writeCount());
+        assertTrue(fileOf("window").exists());
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.rules.evrete;
+
+import dev.ikm.komet.framework.performance.Observation;
+import dev.ikm.komet.framework.performance.Statement;
+import dev.ikm.komet.framework.performance.Topic;
+import dev.ikm.komet.framework.rulebase.Consequence;
+import dev.ikm.komet.framework.rulebase.ConsequenceAction;
+import dev.ikm.komet.framework.view.ViewProperties;
+import dev.ikm.tinkar.common.util.broadcast.Subscriber;
+import dev.ikm.tinkar.coordinate.edit.EditCoordinate;
+import dev.ikm.tinkar.coordinate.edit.EditCoordinateRecord;
+import dev.ikm.tinkar.coordinate.view.ViewCoordinateRecord;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.EntityVersion;
+import dev.ikm.tinkar.entity.SemanticEntity;
+import dev.ikm.tinkar.entity.SemanticEntityVersion;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of the consequences of evaluating an observation of a component version, so that rendering the same
+ * version again, for example when a details pane is rebuilt, does not evaluate the rules again.
+ * <p>
+ * Entries are keyed by the knowledge base, the topic of the observation, the version observed (its nid and
+ * stamp), and the view and edit coordinates the rules were evaluated with. Only observations of a single
+ * committed version are cached; other statements, such as axiom observations whose subject holds JavaFX
+ * nodes, are always evaluated. Consequences holding a menu are not cached either, since a menu can only be
+ * shown by one parent at a time, whereas actions can back any number of menu items.
+ * <p>
+ * An entry is dropped when the observed component changes, or when a semantic referencing it changes, since
+ * such a change, for example to its membership in a model, may change the consequences.
+ */
+public final class ConsequenceCache {
+    private static final Logger LOG = LoggerFactory.getLogger(ConsequenceCache.class);
+
+    /**
+     * Maximum number of retained consequence lists.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final Map<Key, ImmutableList<Consequence<?>>> consequences;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final Subscriber<Integer> entityChangeSubscriber = this::invalidate;
+    private boolean subscribed;
+
+    public ConsequenceCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ConsequenceCache(int capacity) {
+        this.consequences = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ImmutableList<Consequence<?>>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @return the key of the statements, or empty if their consequences are not cached
+     */
+    public static Optional<Key> keyFor(String knowledgeBaseName, ImmutableList<Statement> statements,
+                                       ViewProperties viewProperties, EditCoordinate editCoordinate) {
+        if (statements.size() != 1 || viewProperties == null || editCoordinate == null
+                || !(statements.getFirst() instanceof Observation observation)
+                || !(observation.subject() instanceof EntityVersion version)
+                || version.uncommitted()) {
+            return Optional.empty();
+        }
+        int referencedNid = version instanceof SemanticEntityVersion semanticVersion
+                ? semanticVersion.referencedComponentNid() : version.nid();
+        return Optional.of(new Key(knowledgeBaseName, observation.topic(), version.nid(), version.stampNid(),
+                referencedNid, viewProperties.calculator().viewCoordinateRecord(),
+                editCoordinate.toEditCoordinateRecord()));
+    }
+
+    /**
+     * @return the invalidation generation, to pass to {@link #put} once the consequences have been evaluated
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public Optional<ImmutableList<Consequence<?>>> get(Key key) {
+        ImmutableList<Consequence<?>> cached;
+        synchronized (consequences) {
+            cached = consequences.get(key);
+        }
+        if (cached == null) {
+            missCount.increment();
+            return Optional.empty();
+        }
+        hitCount.increment();
+        return Optional.of(cached);
+    }
+
+    /**
+     * Retains the consequences evaluated for a key, unless a component changed while they were evaluated, or
+     * they hold a menu.
+     *
+     * @param generation the {@link #generation()} read before the consequences were evaluated
+     */
+    public void put(Key key, ImmutableList<Consequence<?>> evaluated, long generation) {
+        if (!evaluated.allSatisfy(consequence -> consequence instanceof ConsequenceAction)) {
+            return;
+        }
+        synchronized (consequences) {
+            if (!subscribed) {
+                // Subscribed on first use, as the rules service may be created before the data store is started.
+                Entity.provider().addSubscriberWithWeakReference(entityChangeSubscriber);
+                subscribed = true;
+            }
+            if (generation == this.generation.get()) {
+                consequences.put(key, evaluated);
+            }
+        }
+    }
+
+    private void invalidate(Integer changedNid) {
+        int nid = changedNid;
+        int referencedNid = nid;
+        try {
+            if (Entity.getFast(nid) instanceof SemanticEntity<?> semanticEntity) {
+                referencedNid = semanticEntity.referencedComponentNid();
+            }
+        } catch (RuntimeException e) {
+            LOG.debug("Unable to resolve changed component " + nid, e);
+        }
+        final int componentNid = referencedNid;
+        synchronized (consequences) {
+            generation.incrementAndGet();
+            consequences.keySet().removeIf(key -> key.involves(nid) || key.involves(componentNid));
+        }
+    }
+
+    /**
+     * Discards all retained consequences.
+     */
+    public void clear() {
+        synchronized (consequences) {
+            generation.incrementAndGet();
+            consequences.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (consequences) {
+            return consequences.size();
+        }
+    }
+
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @param knowledgeBaseName the knowledge base the observation was evaluated against
+     * @param topic             the topic of the observation
+     * @param nid               the component observed
+     * @param stampNid          the stamp of the version observed
+     * @param referencedNid     the component referenced by an observed semantic, or the component observed
+     * @param viewCoordinate    the view coordinate of the evaluation
+     * @param editCoordinate    the edit coordinate of the evaluation
+     */
+    public record Key(String knowledgeBaseName, Topic topic, int nid, int stampNid, int referencedNid,
+                      ViewCoordinateRecord viewCoordinate, EditCoordinateRecord editCoordinate) {
+        boolean involves(int changedNid) {
+            return nid == changedNid || referencedNid == changedNid;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ConsequenceCache{size: " + size() + ", hits: " + hitCount() + ", misses: " + missCount() + "}";
+    }
+}
@@ -17,7 +17,9 @@
 
 import dev.ikm.komet.framework.performance.Statement;
 import dev.ikm.komet.framework.rulebase.Consequence;
+import dev.ikm.komet.framework.rulebase.RuleExecutor;
 import dev.ikm.komet.framework.rulebase.RuleService;
+import dev.ikm.komet.framework.rulebase.RuleStatistics;
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.komet.rules.annotated.AxiomFocusedRules;
 import dev.ikm.komet.rules.annotated.ComponentFocusRules;
@@ -30,9 +32,9 @@
 import org.eclipse.collections.api.list.MutableList;
 import org.evrete.Configuration;
 import org.evrete.KnowledgeService;
-import org.evrete.api.ActivationMode;
+import org.evrete.api.ActivationManager;
 import org.evrete.api.Knowledge;
-import org.evrete.api.StatelessSession;
+import org.evrete.api.StatefulSession;
 import org.evrete.dsl.Constants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,8 +42,12 @@
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public class EvreteRulesService implements RuleService {
     public static final String ENV_CONSEQUENCES = "ENV_CONSEQUENCES";
@@ -50,9 +56,26 @@ public class EvreteRulesService implements RuleService {
 
     private static final Logger LOG = LoggerFactory.getLogger(EvreteRulesService.class);
 
+    /**
+     * Number of sessions kept for reuse per knowledge base: one per rule executor thread, and one for a caller
+     * evaluating on its own thread.
+     */
+    public static final int DEFAULT_SESSION_POOL_SIZE = RuleExecutor.THREAD_COUNT + 1;
+
     private final Knowledge knowledge;
+    private final int sessionPoolSize;
+    private final ConcurrentHashMap<String, KnowledgeSessionPool> sessionPools = new ConcurrentHashMap<>();
+    private final ConsequenceCache consequenceCache = new ConsequenceCache();
 
     public EvreteRulesService() throws IOException {
+        this(DEFAULT_SESSION_POOL_SIZE);
+    }
+
+    /**
+     * @param sessionPoolSize the number of sessions kept for reuse per knowledge base
+     */
+    public EvreteRulesService(int sessionPoolSize) throws IOException {
+        this.sessionPoolSize = sessionPoolSize;
         Instant t0 = Instant.now();
         Configuration conf = new Configuration();
 
@@ -66,16 +89,18 @@ public EvreteRulesService() throws IOException {
 
         KnowledgeService service = new KnowledgeService(conf);
 
+        List<Class<?>> ruleClasses = List.of(
+                ComponentFocusRules.class,
+                NewConceptRules.class,
+                AxiomFocusedRules.class,
+                NewPatternRules.class
+        );
         this.knowledge = service.newKnowledge()
                 .importRules(
                         Constants.PROVIDER_JAVA_CLASS,
-                        List.of(
-                                ComponentFocusRules.class,
-                                NewConceptRules.class,
-                                AxiomFocusedRules.class,
-                                NewPatternRules.class
-                        )
+                        ruleClasses
                 );
+        RuleMetrics.registerRuleClasses(ruleClasses);
         Instant t1 = Instant.now();
 
         // Log the timing. With literal conditions disabled, the cold start time
@@ -88,23 +113,56 @@ public ImmutableList<Consequence<?>> execute(String knowledgeBaseName,
                                                  ImmutableList<Statement> statements,
                                                  ViewProperties viewProperties, EditCoordinate editCoordinate) {
 
-        StatelessSession session = this.knowledge.newStatelessSession(ActivationMode.CONTINUOUS);
+        // Observations of an unchanged version are answered from the cache.
+        Optional<ConsequenceCache.Key> cacheKey =
+                ConsequenceCache.keyFor(knowledgeBaseName, statements, viewProperties, editCoordinate);
+        if (cacheKey.isPresent()) {
+            Optional<ImmutableList<Consequence<?>>> cached = consequenceCache.get(cacheKey.get());
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+        long cacheGeneration = consequenceCache.generation();
+
+        // Sessions of the compiled knowledge are reused, so that the rule network is not rebuilt for every request.
+        ImmutableList<Consequence<?>> consequences =
+                evaluate(sessionPool(knowledgeBaseName), statements, viewProperties, editCoordinate,
+                        RuleMetrics.isEnabled() ? RuleMetrics::startEvaluation : _ -> RuleMetrics.NOT_RECORDING);
+        cacheKey.ifPresent(key -> consequenceCache.put(key, consequences, cacheGeneration));
+        return consequences;
+    }
+
+    /**
+     * Evaluates statements with a session borrowed from a pool, without consulting the consequence cache.
+     *
+     * @param activationManager makes the activation manager of the evaluation, which is told of each rule that
+     *                          fires, from the collection the rules add their consequences to; it replaces the
+     *                          manager of an earlier evaluation of the pooled session
+     * @return the consequences of the rules that fired, sorted
+     */
+    ImmutableList<Consequence<?>> evaluate(KnowledgeSessionPool pool, ImmutableList<Statement> statements,
+                                           ViewProperties viewProperties, EditCoordinate editCoordinate,
+                                           Function<Collection<?>, ActivationManager> activationManager) {
+        StatefulSession session = pool.borrow();
+        boolean reusable = false;
 
         // Create a collector for resulting consequences
         ConcurrentHashSet<Consequence<?>> globalActionSet = new ConcurrentHashSet<>();
-
-        // Set the collector and other necessary objects as session's environment variables
-        session.set(ENV_CONSEQUENCES, globalActionSet);
-        session.set(ENV_VIEW_PROPERTIES, viewProperties);
-        session.set(ENV_EDIT_COORDINATE, editCoordinate);
-
-        // Insert the statements
-        session.insert(statements.castToList());
-
-        session.fire((handle, object) -> {
-            // Inspect memory objects
-            LOG.atDebug().log("handle: " + handle + " object: " + object);
-        });
+        try {
+            // Set the collector and other necessary objects as session's environment variables
+            session.set(ENV_CONSEQUENCES, globalActionSet);
+            session.set(ENV_VIEW_PROPERTIES, viewProperties);
+            session.set(ENV_EDIT_COORDINATE, editCoordinate);
+            session.setActivationManager(activationManager.apply(globalActionSet));
+
+            // Insert the statements
+            session.insert(statements.castToList());
+
+            session.fire();
+            reusable = true;
+        } finally {
+            pool.release(session, reusable);
+        }
 
         LOG.atDebug().log("Set items: " + globalActionSet.stream().toList());
 
@@ -112,4 +170,56 @@ public ImmutableList<Consequence<?>> execute(String knowledgeBaseName,
         globalActionList.sort(Comparable::compareTo);
         return globalActionList.toImmutableList();
     }
-}
\ No newline at end of file
+
+    /**
+     * @return a task validating every version of a module or pattern against the rules of a knowledge base,
+     * to be run with the executor services of the caller
+     */
+    public RuleValidationTask validationTask(String knowledgeBaseName, RuleValidationTask.Scope scope,
+                                             ViewProperties viewProperties, EditCoordinate editCoordinate) {
+        return new RuleValidationTask(this, knowledgeBaseName, scope, viewProperties, editCoordinate);
+    }
+
+    @Override
+    public ImmutableList<RuleStatistics> ruleStatistics() {
+        return RuleMetrics.statistics();
+    }
+
+    @Override
+    public boolean isRecordingRuleStatistics() {
+        return RuleMetrics.isEnabled();
+    }
+
+    @Override
+    public void setRecordingRuleStatistics(boolean recording) {
+        RuleMetrics.setEnabled(recording);
+    }
+
+    @Override
+    public void resetRuleStatistics() {
+        RuleMetrics.reset();
+    }
+
+    /**
+     * @param knowledgeBaseName the name of the knowledge base
+     * @return the session pool of the knowledge base, created on first use
+     */
+    public KnowledgeSessionPool sessionPool(String knowledgeBaseName) {
+        return sessionPools.computeIfAbsent(knowledgeBaseName,
+                name -> new KnowledgeSessionPool(name, knowledge, sessionPoolSize));
+    }
+
+    /**
+     * @return the cache of consequences of observations of component versions
+     */
+    public ConsequenceCache consequenceCache() {
+        return consequenceCache;
+    }
+
+    /**
+     * @return the compiled rules shared by the session pools
+     */
+    public Knowledge knowledge() {
+        return knowledge;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.rules.evrete;
+
+import org.evrete.api.ActivationMode;
+import org.evrete.api.Knowledge;
+import org.evrete.api.StatefulSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded pool of sessions of a compiled {@link Knowledge}, so that rule evaluation reuses the rule network of
+ * a session instead of building a new one for every request.
+ * <p>
+ * A session is borrowed for one evaluation, and released afterwards. Released sessions have their working
+ * memory cleared, and are kept for reuse up to the size of the pool; sessions borrowed while every pooled
+ * session is in use are created on demand, and closed when released. A session whose evaluation failed is
+ * closed rather than reused.
+ * <p>
+ * Sessions are not thread safe; a borrowed session is used by one thread until it is released.
+ */
+public final class KnowledgeSessionPool implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(KnowledgeSessionPool.class);
+
+    private final String name;
+    private final Knowledge knowledge;
+    private final int maxIdleSessions;
+    private final BlockingQueue<StatefulSession> idleSessions;
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder reusedCount = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * @param name            the name of the knowledge base the sessions evaluate
+     * @param knowledge       the compiled rules
+     * @param maxIdleSessions the maximum number of sessions kept for reuse
+     */
+    public KnowledgeSessionPool(String name, Knowledge knowledge, int maxIdleSessions) {
+        if (maxIdleSessions < 1) {
+            throw new IllegalArgumentException("Pool size must be positive: " + maxIdleSessions);
+        }
+        this.name = name;
+        this.knowledge = knowledge;
+        this.maxIdleSessions = maxIdleSessions;
+        this.idleSessions = new ArrayBlockingQueue<>(maxIdleSessions);
+    }
+
+    /**
+     * @return a session with empty working memory, which must be passed to {@link #release} after use
+     */
+    public StatefulSession borrow() {
+        StatefulSession session = idleSessions.poll();
+        if (session != null) {
+            reusedCount.increment();
+            return session;
+        }
+        createdCount.increment();
+        return knowledge.newStatefulSession(ActivationMode.CONTINUOUS);
+    }
+
+    /**
+     * Returns a borrowed session to the pool.
+     *
+     * @param session  the borrowed session
+     * @param reusable false if the evaluation failed, and the session should not be used again
+     */
+    public void release(StatefulSession session, boolean reusable) {
+        if (reusable && !closed) {
+            try {
+                session.clear();
+                if (idleSessions.offer(session)) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                LOG.warn("Unable to reset rule session of " + name + ", discarding it", e);
+            }
+        }
+        closeSession(session);
+    }
+
+    /**
+     * Closes the idle sessions. Sessions released after the pool is closed are closed rather than kept.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        StatefulSession session;
+        while ((session = idleSessions.poll()) != null) {
+            closeSession(session);
+        }
+    }
+
+    private void closeSession(StatefulSession session) {
+        try {
+            session.close();
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to close rule session of " + name, e);
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int maxIdleSessions() {
+        return maxIdleSessions;
+    }
+
+    public int idleSessionCount() {
+        return idleSessions.size();
+    }
+
+    /**
+     * @return the number of sessions created, including those created on demand beyond the pool size
+     */
+    public long createdCount() {
+        return createdCount.sum();
+    }
+
+    /**
+     * @return the number of borrows served by a pooled session
+     */
+    public long reusedCount() {
+        return reusedCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "KnowledgeSessionPool{" + name + ", idle: " + idleSessionCount() + "/" + maxIdleSessions +
+                ", created: " + createdCount() + ", reused: " + reusedCount() + "}";
+    }
+}
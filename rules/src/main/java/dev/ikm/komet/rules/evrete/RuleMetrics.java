@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.rules.evrete;
+
+import dev.ikm.komet.framework.rulebase.RuleStatistics;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.evrete.api.ActivationManager;
+import org.evrete.api.RuntimeRule;
+import org.evrete.dsl.annotation.Rule;
+import org.evrete.dsl.annotation.RuleSet;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records, for each rule, how often it is activated, the time spent in its action, and the number of consequences
+ * it produces, so that a rule that slows evaluation down can be found without a profiler.
+ * <p>
+ * Everything is measured by the {@link ActivationManager} of each evaluation, which is told before and after
+ * each rule's action runs. Condition time is not recorded per rule: the rete network evaluates a condition once
+ * for all the rules that share it, such as the focus conditions of the annotated rules, so its time does not
+ * belong to any one rule.
+ * <p>
+ * Recording is off unless the {@value #ENABLED_PROPERTY} system property is {@code true}, or it is switched on
+ * with {@link #setEnabled(boolean)}.
+ */
+public final class RuleMetrics {
+
+    /**
+     * The system property that switches recording on at startup.
+     */
+    public static final String ENABLED_PROPERTY = "komet.rules.metrics";
+
+    /**
+     * The activation manager of sessions evaluating while recording is off; it replaces the recording manager
+     * of an earlier evaluation of a pooled session.
+     */
+    static final ActivationManager NOT_RECORDING = new ActivationManager() {
+    };
+
+    private static final Map<String, Counters> ruleCounters = new ConcurrentHashMap<>();
+    private static final Map<String, String> ruleSets = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private RuleMetrics() {
+    }
+
+    /**
+     * Registers the rules of annotated rule classes, with the rule set each belongs to.
+     */
+    public static void registerRuleClasses(List<Class<?>> ruleClasses) {
+        for (Class<?> ruleClass : ruleClasses) {
+            RuleSet ruleSet = ruleClass.getAnnotation(RuleSet.class);
+            String ruleSetName = ruleSet == null || ruleSet.value().isEmpty()
+                    ? ruleClass.getSimpleName() : ruleSet.value();
+            for (Method method : ruleClass.getMethods()) {
+                Rule rule = method.getAnnotation(Rule.class);
+                if (rule != null) {
+                    ruleSets.put(rule.value().isEmpty() ? method.getName() : rule.value(), ruleSetName);
+                }
+            }
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        RuleMetrics.enabled = enabled;
+    }
+
+    /**
+     * @param consequences the collection the rules add their consequences to during the evaluation
+     * @return an activation manager that records one evaluation
+     */
+    static Evaluation startEvaluation(Collection<?> consequences) {
+        return new Evaluation(consequences);
+    }
+
+    /**
+     * @return the statistics of every registered rule, slowest first
+     */
+    public static ImmutableList<RuleStatistics> statistics() {
+        MutableList<RuleStatistics> statistics = Lists.mutable.empty();
+        ruleSets.forEach((ruleName, ruleSet) -> {
+            Counters counters = ruleCounters.getOrDefault(ruleName, Counters.EMPTY);
+            statistics.add(new RuleStatistics(ruleSet, ruleName, counters.activations.sum(),
+                    counters.actionNanos.sum(), counters.consequences.sum()));
+        });
+        statistics.sortThis((s1, s2) -> Long.compare(s2.actionNanos(), s1.actionNanos()));
+        return statistics.toImmutable();
+    }
+
+    /**
+     * Discards the recorded counts and timings. Registered rules are kept.
+     */
+    public static void reset() {
+        ruleCounters.clear();
+    }
+
+    private static Counters counters(RuntimeRule rule) {
+        return ruleCounters.computeIfAbsent(rule.getName(), name -> new Counters());
+    }
+
+    /**
+     * The activation manager of one evaluation. A session fires on one thread, so it is not synchronized.
+     */
+    static final class Evaluation implements ActivationManager {
+        private final Collection<?> consequences;
+        private long actionStart;
+        private int consequencesBefore;
+
+        private Evaluation(Collection<?> consequences) {
+            this.consequences = consequences;
+        }
+
+        @Override
+        public boolean test(RuntimeRule rule) {
+            consequencesBefore = consequences.size();
+            actionStart = System.nanoTime();
+            return true;
+        }
+
+        @Override
+        public void onActivation(RuntimeRule rule, long count) {
+            long nanos = System.nanoTime() - actionStart;
+            Counters counters = counters(rule);
+            counters.activations.add(count);
+            counters.actionNanos.add(nanos);
+            counters.consequences.add(consequences.size() - consequencesBefore);
+        }
+    }
+
+    private static final class Counters {
+        private static final Counters EMPTY = new Counters();
+
+        private final LongAdder activations = new LongAdder();
+        private final LongAdder actionNanos = new LongAdder();
+        private final LongAdder consequences = new LongAdder();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.rules.evrete;
+
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.primitive.ImmutableIntList;
+
+/**
+ * The outcome of validating the versions of a module or pattern against the rule base, with the consequences
+ * aggregated by the rule that produced them.
+ *
+ * @param scope                    the module or pattern validated
+ * @param componentsScanned        the number of components read
+ * @param versionsEvaluated        the number of versions in scope evaluated against the rules
+ * @param versionsWithConsequences the number of evaluated versions for which at least one rule fired
+ * @param failedEvaluations        the number of versions whose evaluation threw an exception
+ * @param durationMillis           the time taken by the validation
+ * @param findings                 the consequences of each rule that fired, most frequent first
+ */
+public record RuleValidationReport(RuleValidationTask.Scope scope,
+                                   long componentsScanned,
+                                   long versionsEvaluated,
+                                   long versionsWithConsequences,
+                                   long failedEvaluations,
+                                   long durationMillis,
+                                   ImmutableList<RuleFinding> findings) {
+
+    /**
+     * @param rule                the name of the rule that fired
+     * @param versionCount        the number of versions for which the rule fired
+     * @param consequenceCount    the number of consequences the rule produced
+     * @param sampleComponentNids the first components for which the rule fired, up to
+     *                            {@link RuleValidationTask#SAMPLE_SIZE}
+     */
+    public record RuleFinding(String rule, long versionCount, long consequenceCount,
+                              ImmutableIntList sampleComponentNids) {
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format(
+                "RuleValidationReport{%s, scanned: %,d, evaluated: %,d, with consequences: %,d, failed: %,d, %,d ms",
+                scope, componentsScanned, versionsEvaluated, versionsWithConsequences, failedEvaluations,
+                durationMillis));
+        for (RuleFinding finding : findings) {
+            sb.append(String.format("%n  %s: %,d versions, %,d consequences",
+                    finding.rule(), finding.versionCount(), finding.consequenceCount()));
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.rules.evrete;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.primitive.IntLists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.evrete.api.ActivationManager;
+import org.evrete.api.RuntimeRule;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates the firings of a rule validation by the name of the rule that fired, keeping a sample of the components
+ * each rule fired for. The rules that fire are recorded by the {@link Firings} activation manager of each
+ * evaluation. Versions may be recorded from several threads at once.
+ */
+public final class RuleValidationTally {
+
+    private final int sampleSize;
+    private final ConcurrentHashMap<String, RuleTally> tallies = new ConcurrentHashMap<>();
+
+    /**
+     * @param sampleSize the maximum number of component nids retained for each rule
+     */
+    public RuleValidationTally(int sampleSize) {
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * Records the rules fired by the evaluation of one version.
+     *
+     * @param nid                the nid of the component the version belongs to
+     * @param consequencesByRule the number of consequences produced by each rule that fired, by rule name
+     */
+    public void record(int nid, Map<String, Integer> consequencesByRule) {
+        consequencesByRule.forEach((rule, count) ->
+                tallies.computeIfAbsent(rule, RuleTally::new).record(nid, count, sampleSize));
+    }
+
+    /**
+     * @return the findings of each rule that fired, most consequences first
+     */
+    public ImmutableList<RuleValidationReport.RuleFinding> findings() {
+        MutableList<RuleValidationReport.RuleFinding> findings = Lists.mutable.empty();
+        tallies.values().forEach(tally -> findings.add(tally.toFinding()));
+        findings.sortThis((f1, f2) -> Long.compare(f2.consequenceCount(), f1.consequenceCount()));
+        return findings.toImmutable();
+    }
+
+    /**
+     * The activation manager of one evaluation, recording each rule that fires and the consequences its action
+     * adds. A session fires on one thread, so it is not synchronized.
+     */
+    static final class Firings implements ActivationManager {
+        private final Map<String, Integer> consequencesByRule = new HashMap<>();
+        private Collection<?> consequences;
+        private int consequencesBefore;
+
+        /**
+         * @param consequences the collection the rules add their consequences to during the evaluation
+         * @return this, to be the activation manager of the evaluation
+         */
+        ActivationManager recording(Collection<?> consequences) {
+            this.consequences = consequences;
+            return this;
+        }
+
+        @Override
+        public boolean test(RuntimeRule rule) {
+            consequencesBefore = consequences.size();
+            return true;
+        }
+
+        @Override
+        public void onActivation(RuntimeRule rule, long count) {
+            consequencesByRule.merge(rule.getName(), consequences.size() - consequencesBefore, Integer::sum);
+        }
+
+        /**
+         * @return the number of consequences produced by each rule that fired, by rule name
+         */
+        Map<String, Integer> consequencesByRule() {
+            return consequencesByRule;
+        }
+    }
+
+    private static final class RuleTally {
+        private final String rule;
+        private final LongAdder versionCount = new LongAdder();
+        private final LongAdder consequenceCount = new LongAdder();
+        private final MutableIntList sampleComponentNids = IntLists.mutable.empty();
+
+        private RuleTally(String rule) {
+            this.rule = rule;
+        }
+
+        private void record(int nid, int consequences, int sampleSize) {
+            versionCount.increment();
+            consequenceCount.add(consequences);
+            synchronized (sampleComponentNids) {
+                if (sampleComponentNids.size() < sampleSize && !sampleComponentNids.contains(nid)) {
+                    sampleComponentNids.add(nid);
+                }
+            }
+        }
+
+        private RuleValidationReport.RuleFinding toFinding() {
+            synchronized (sampleComponentNids) {
+                return new RuleValidationReport.RuleFinding(rule, versionCount.sum(), consequenceCount.sum(),
+                        sampleComponentNids.toImmutable());
+            }
+        }
+    }
+}
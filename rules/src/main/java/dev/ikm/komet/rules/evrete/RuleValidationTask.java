@@ -0,0 +1,206 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.rules.evrete;
+
+import dev.ikm.komet.framework.performance.Measures;
+import dev.ikm.komet.framework.performance.Statement;
+import dev.ikm.komet.framework.performance.Topic;
+import dev.ikm.komet.framework.performance.impl.ObservationRecord;
+import dev.ikm.komet.framework.rulebase.Consequence;
+import dev.ikm.komet.framework.view.ViewProperties;
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.common.service.TrackingCallable;
+import dev.ikm.tinkar.coordinate.edit.EditCoordinate;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.EntityService;
+import dev.ikm.tinkar.entity.EntityVersion;
+import dev.ikm.tinkar.entity.StampEntity;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.primitive.IntLists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Validates every version of a module or a pattern against the rule base, so that content can be checked as a
+ * whole rather than one component at a time as it is focused in the user interface.
+ * <p>
+ * The semantics of a pattern are found with the pattern's semantic index and read in parallel. A module has no
+ * such index, so every component is read with {@link PrimitiveData#forEachParallel}, and decoded from the bytes
+ * it passes. Each version in scope is evaluated as a {@link Topic#COMPONENT_FOCUSED} observation, the statement
+ * the details panel makes for a version, with a session borrowed from a pool sized for the parallel readers.
+ * Evaluations bypass the consequence cache, which is kept for versions shown to the user, and are not recorded
+ * in the {@link RuleMetrics} of interactive evaluations. The rules that fire are told by the activation manager of
+ * each evaluation, and their consequences counted by rule.
+ * <p>
+ * Progress of a pattern is reported per semantic, against the size of the index. The number of components is
+ * not known before a module is read, so its progress is only reported in the message. Cancelling the task stops
+ * the evaluation of further versions.
+ */
+public class RuleValidationTask extends TrackingCallable<RuleValidationReport> {
+    private static final Logger LOG = LoggerFactory.getLogger(RuleValidationTask.class);
+
+    /**
+     * Maximum number of component nids retained for each rule in the report.
+     */
+    public static final int SAMPLE_SIZE = 100;
+
+    private static final int MESSAGE_INTERVAL = 10_000;
+
+    public enum ScopeKind {
+        MODULE, PATTERN
+    }
+
+    /**
+     * @param kind the kind of scope
+     * @param nid  the nid of the module, or of the pattern
+     */
+    public record Scope(ScopeKind kind, int nid) {
+        public static Scope module(int moduleNid) {
+            return new Scope(ScopeKind.MODULE, moduleNid);
+        }
+
+        public static Scope pattern(int patternNid) {
+            return new Scope(ScopeKind.PATTERN, patternNid);
+        }
+
+        @Override
+        public String toString() {
+            return kind.name().toLowerCase() + " " + PrimitiveData.text(nid);
+        }
+    }
+
+    private final EvreteRulesService rulesService;
+    private final String knowledgeBaseName;
+    private final Scope scope;
+    private final ViewProperties viewProperties;
+    private final EditCoordinate editCoordinate;
+
+    private final LongAdder componentsScanned = new LongAdder();
+    private final LongAdder versionsEvaluated = new LongAdder();
+    private final LongAdder versionsWithConsequences = new LongAdder();
+    private final LongAdder failedEvaluations = new LongAdder();
+    private final RuleValidationTally tally = new RuleValidationTally(SAMPLE_SIZE);
+
+    /**
+     * @param rulesService      the rules service whose compiled rules are evaluated
+     * @param knowledgeBaseName the name of the knowledge base the sessions evaluate
+     * @param scope             the module or pattern to validate
+     * @param viewProperties    the view the rules evaluate the versions with
+     * @param editCoordinate    the edit coordinate the rules propose changes with
+     */
+    public RuleValidationTask(EvreteRulesService rulesService, String knowledgeBaseName, Scope scope,
+                              ViewProperties viewProperties, EditCoordinate editCoordinate) {
+        super(true, true);
+        this.rulesService = rulesService;
+        this.knowledgeBaseName = knowledgeBaseName;
+        this.scope = scope;
+        this.viewProperties = viewProperties;
+        this.editCoordinate = editCoordinate;
+        updateTitle("Validating " + scope + " against rules");
+    }
+
+    @Override
+    protected RuleValidationReport compute() throws Exception {
+        long start = System.currentTimeMillis();
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        try (KnowledgeSessionPool pool = new KnowledgeSessionPool(knowledgeBaseName + " validation",
+                rulesService.knowledge(), parallelism)) {
+            switch (scope.kind()) {
+                case MODULE -> PrimitiveData.get().forEachParallel((bytes, nid) -> {
+                    if (isCancelled()) {
+                        return;
+                    }
+                    Entity<EntityVersion> entity = EntityService.get().unmarshalChronology(bytes);
+                    validateComponent(pool, entity);
+                    componentRead();
+                });
+                case PATTERN -> {
+                    MutableIntList semanticNids = IntLists.mutable.empty();
+                    PrimitiveData.get().forEachSemanticNidOfPattern(scope.nid(), semanticNids::add);
+                    addToTotalWork(semanticNids.size());
+                    semanticNids.primitiveParallelStream().forEach(nid -> {
+                        if (isCancelled()) {
+                            return;
+                        }
+                        Entity<EntityVersion> entity = Entity.getFast(nid);
+                        validateComponent(pool, entity);
+                        completedUnitOfWork();
+                        componentRead();
+                    });
+                }
+            }
+            LOG.info("Rule validation of {} used {}", scope, pool);
+        }
+        if (isCancelled()) {
+            throw new InterruptedException("Rule validation of " + scope + " cancelled");
+        }
+
+        RuleValidationReport report = new RuleValidationReport(scope, componentsScanned.sum(),
+                versionsEvaluated.sum(), versionsWithConsequences.sum(), failedEvaluations.sum(),
+                System.currentTimeMillis() - start, tally.findings());
+        updateMessage(progressMessage() + " in " + durationString());
+        LOG.info(report.toString());
+        return report;
+    }
+
+    private void componentRead() {
+        componentsScanned.increment();
+        if (componentsScanned.sum() % MESSAGE_INTERVAL == 0) {
+            updateMessage(progressMessage());
+        }
+    }
+
+    private void validateComponent(KnowledgeSessionPool pool, Entity<EntityVersion> entity) {
+        if (entity == null || entity instanceof StampEntity<?>) {
+            return;
+        }
+        for (EntityVersion version : entity.versions()) {
+            if (isCancelled()) {
+                return;
+            }
+            if (scope.kind() == ScopeKind.MODULE && version.moduleNid() != scope.nid()) {
+                // One component may have versions in several modules.
+                continue;
+            }
+            ImmutableList<Statement> statements = Lists.immutable.of(
+                    new ObservationRecord(Topic.COMPONENT_FOCUSED, version, Measures.present()));
+            RuleValidationTally.Firings firings = new RuleValidationTally.Firings();
+            try {
+                ImmutableList<Consequence<?>> consequences =
+                        rulesService.evaluate(pool, statements, viewProperties, editCoordinate, firings::recording);
+                versionsEvaluated.increment();
+                if (consequences.notEmpty()) {
+                    versionsWithConsequences.increment();
+                }
+                tally.record(entity.nid(), firings.consequencesByRule());
+            } catch (RuntimeException e) {
+                if (failedEvaluations.sum() == 0) {
+                    LOG.error("Unable to evaluate rules for " + version, e);
+                }
+                failedEvaluations.increment();
+            }
+        }
+    }
+
+    private String progressMessage() {
+        return String.format("Read %,d components, evaluated %,d versions, %,d with consequences",
+                componentsScanned.sum(), versionsEvaluated.sum(), versionsWithConsequences.sum());
+    }
+}
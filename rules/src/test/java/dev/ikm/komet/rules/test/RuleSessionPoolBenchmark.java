@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.rules.test;
+
+import dev.ikm.komet.framework.performance.Measures;
+import dev.ikm.komet.framework.performance.Statement;
+import dev.ikm.komet.framework.performance.Topic;
+import dev.ikm.komet.framework.performance.impl.ObservationRecord;
+import dev.ikm.komet.framework.rulebase.Consequence;
+import dev.ikm.komet.rules.evrete.EvreteRulesService;
+import dev.ikm.komet.rules.evrete.KnowledgeSessionPool;
+import dev.ikm.tinkar.common.sets.ConcurrentHashSet;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.evrete.api.ActivationMode;
+import org.evrete.api.StatefulSession;
+import org.evrete.api.StatelessSession;
+
+/**
+ * Microbenchmark comparing rule evaluation with a new session per call, as {@link EvreteRulesService} used to
+ * evaluate, against evaluation with sessions reused from a {@link KnowledgeSessionPool}, at steady state.
+ * <p>
+ * The statement evaluated is a component focus observation whose subject is not a component, so the rule
+ * conditions are matched but no rule fires, and the timings are those of the sessions rather than of the
+ * actions the rules generate.
+ * <p>
+ * Usage: {@code RuleSessionPoolBenchmark [iterations]}
+ */
+public class RuleSessionPoolBenchmark {
+
+    private static final int WARM_UP_ITERATIONS = 2_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        EvreteRulesService rulesService = new EvreteRulesService();
+        ImmutableList<Statement> statements = Lists.immutable.of(
+                new ObservationRecord(Topic.COMPONENT_FOCUSED, "Benchmark subject", Measures.present()));
+        KnowledgeSessionPool pool = rulesService.sessionPool("Benchmark");
+
+        perCallSessions(rulesService, statements, WARM_UP_ITERATIONS);
+        pooledSessions(pool, statements, WARM_UP_ITERATIONS);
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            long start = System.nanoTime();
+            perCallSessions(rulesService, statements, iterations);
+            long perCallNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            pooledSessions(pool, statements, iterations);
+            long pooledNanos = System.nanoTime() - start;
+
+            System.out.printf("Round %d: new session per call %,d ns/op, pooled session %,d ns/op, speedup %.1fx%n",
+                    round, perCallNanos / iterations, pooledNanos / iterations, (double) perCallNanos / pooledNanos);
+        }
+        System.out.println(pool);
+        pool.close();
+    }
+
+    private static int perCallSessions(EvreteRulesService rulesService, ImmutableList<Statement> statements,
+                                       int iterations) {
+        int consequenceCount = 0;
+        for (int i = 0; i < iterations; i++) {
+            ConcurrentHashSet<Consequence<?>> consequences = new ConcurrentHashSet<>();
+            StatelessSession session = rulesService.knowledge().newStatelessSession(ActivationMode.CONTINUOUS);
+            session.set(EvreteRulesService.ENV_CONSEQUENCES, consequences);
+            session.insert(statements.castToList());
+            session.fire();
+            consequenceCount += consequences.size();
+        }
+        return consequenceCount;
+    }
+
+    private static int pooledSessions(KnowledgeSessionPool pool, ImmutableList<Statement> statements,
+                                      int iterations) {
+        int consequenceCount = 0;
+        for (int i = 0; i < iterations; i++) {
+            ConcurrentHashSet<Consequence<?>> consequences = new ConcurrentHashSet<>();
+            StatefulSession session = pool.borrow();
+            boolean reusable = false;
+            try {
+                session.set(EvreteRulesService.ENV_CONSEQUENCES, consequences);
+                session.insert(statements.castToList());
+                session.fire();
+                reusable = true;
+            } finally {
+                pool.release(session, reusable);
+            }
+            consequenceCount += consequences.size();
+        }
+        return consequenceCount;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.rules.test;
+
+import dev.ikm.komet.rules.evrete.RuleValidationReport;
+import dev.ikm.komet.rules.evrete.RuleValidationTally;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RuleValidationTally Tests")
+class RuleValidationTallyTest {
+
+    @Test
+    @DisplayName("Firings are counted by rule name, most consequences first")
+    void testCountsByRule() {
+        RuleValidationTally tally = new RuleValidationTally(10);
+        tally.record(1, Map.of("Edit concept", 2, "Retire concept", 1));
+        tally.record(2, Map.of("Edit concept", 1));
+        tally.record(3, Map.of("Retire concept", 1));
+
+        ImmutableList<RuleValidationReport.RuleFinding> findings = tally.findings();
+        assertEquals(2, findings.size());
+        RuleValidationReport.RuleFinding edit = findings.get(0);
+        assertEquals("Edit concept", edit.rule());
+        assertEquals(2, edit.versionCount());
+        assertEquals(3, edit.consequenceCount());
+        assertEquals(2, edit.sampleComponentNids().size());
+        RuleValidationReport.RuleFinding retire = findings.get(1);
+        assertEquals("Retire concept", retire.rule());
+        assertEquals(2, retire.versionCount());
+        assertEquals(2, retire.consequenceCount());
+    }
+
+    @Test
+    @DisplayName("Samples hold each component once, up to the sample size")
+    void testSamples() {
+        RuleValidationTally tally = new RuleValidationTally(3);
+        tally.record(1, Map.of("Edit concept", 1));
+        tally.record(1, Map.of("Edit concept", 1));
+        IntStream.rangeClosed(2, 10).forEach(nid -> tally.record(nid, Map.of("Edit concept", 1)));
+
+        RuleValidationReport.RuleFinding finding = tally.findings().getOnly();
+        assertEquals(11, finding.versionCount());
+        assertEquals(3, finding.sampleComponentNids().size());
+        assertEquals(1, finding.sampleComponentNids().get(0));
+        assertEquals(2, finding.sampleComponentNids().get(1));
+        assertEquals(3, finding.sampleComponentNids().get(2));
+    }
+
+    @Test
+    @DisplayName("Versions recorded from several threads are all counted")
+    void testConcurrentRecording() {
+        RuleValidationTally tally = new RuleValidationTally(100);
+        IntStream.range(0, 10_000).parallel().forEach(nid -> tally.record(nid, Map.of("Edit concept", 1)));
+
+        RuleValidationReport.RuleFinding finding = tally.findings().getOnly();
+        assertEquals(10_000, finding.versionCount());
+        assertEquals(10_000, finding.consequenceCount());
+        assertEquals(100, finding.sampleComponentNids().size());
+    }
+
+    @Test
+    @DisplayName("A rule that fires without consequences is counted")
+    void testFiringWithoutConsequences() {
+        RuleValidationTally tally = new RuleValidationTally(10);
+        tally.record(1, Map.of("Concept version focused", 0));
+
+        RuleValidationReport.RuleFinding finding = tally.findings().getOnly();
+        assertEquals("Concept version focused", finding.rule());
+        assertEquals(1, finding.versionCount());
+        assertEquals(0, finding.consequenceCount());
+    }
+
+    @Test
+    @DisplayName("A tally of evaluations where no rule fired has no findings")
+    void testEmpty() {
+        RuleValidationTally tally = new RuleValidationTally(10);
+        tally.record(1, Map.of());
+        assertTrue(tally.findings().isEmpty());
+    }
+}